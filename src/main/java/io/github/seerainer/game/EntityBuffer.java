@@ -0,0 +1,151 @@
+package io.github.seerainer.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Flat, primitive column storage for one entity category of a
+ * {@link RenderSnapshot}. Arrays only grow, so a buffer that is reused frame
+ * after frame stops allocating once it has seen the peak population.
+ */
+public final class EntityBuffer {
+    private int size;
+    private float[] x = new float[16];
+    private float[] y = new float[16];
+    private float[] width = new float[16];
+    private float[] height = new float[16];
+    private int[] kind = new int[16];
+    private int[] value = new int[16];
+    private int[] maxValue = new int[16];
+    private float[] phase = new float[16];
+
+    void add(final float px, final float py, final float w, final float h, final int k, final int v, final int max,
+	    final float ph) {
+	if (size == x.length) {
+	    grow();
+	}
+	x[size] = px;
+	y[size] = py;
+	width[size] = w;
+	height[size] = h;
+	kind[size] = k;
+	value[size] = v;
+	maxValue[size] = max;
+	phase[size] = ph;
+	size++;
+    }
+
+    void clear() {
+	size = 0;
+    }
+
+    /**
+     * Makes this buffer an exact copy of the other one.
+     */
+    void copyFrom(final EntityBuffer other) {
+	size = 0;
+	while (x.length < other.size) {
+	    grow();
+	}
+	System.arraycopy(other.x, 0, x, 0, other.size);
+	System.arraycopy(other.y, 0, y, 0, other.size);
+	System.arraycopy(other.width, 0, width, 0, other.size);
+	System.arraycopy(other.height, 0, height, 0, other.size);
+	System.arraycopy(other.kind, 0, kind, 0, other.size);
+	System.arraycopy(other.value, 0, value, 0, other.size);
+	System.arraycopy(other.maxValue, 0, maxValue, 0, other.size);
+	System.arraycopy(other.phase, 0, phase, 0, other.size);
+	size = other.size;
+    }
+
+    private void grow() {
+	final var capacity = x.length * 2;
+	x = Arrays.copyOf(x, capacity);
+	y = Arrays.copyOf(y, capacity);
+	width = Arrays.copyOf(width, capacity);
+	height = Arrays.copyOf(height, capacity);
+	kind = Arrays.copyOf(kind, capacity);
+	value = Arrays.copyOf(value, capacity);
+	maxValue = Arrays.copyOf(maxValue, capacity);
+	phase = Arrays.copyOf(phase, capacity);
+    }
+
+    /**
+     * Appends the entries written by {@link #writeTo(DataOutput)}.
+     */
+    void readFrom(final DataInput in) throws IOException {
+	final var count = in.readInt();
+	if (count < 0) {
+	    throw new IOException("Invalid entity count: " + count);
+	}
+	for (var i = 0; i < count; i++) {
+	    add(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readInt(), in.readInt(),
+		    in.readInt(), in.readFloat());
+	}
+    }
+
+    /**
+     * Writes the count followed by every column of each entry.
+     */
+    void writeTo(final DataOutput out) throws IOException {
+	out.writeInt(size);
+	for (var i = 0; i < size; i++) {
+	    out.writeFloat(x[i]);
+	    out.writeFloat(y[i]);
+	    out.writeFloat(width[i]);
+	    out.writeFloat(height[i]);
+	    out.writeInt(kind[i]);
+	    out.writeInt(value[i]);
+	    out.writeInt(maxValue[i]);
+	    out.writeFloat(phase[i]);
+	}
+    }
+
+    public float height(final int i) {
+	return height[i];
+    }
+
+    /**
+     * Category specific discriminator: star layer or the ordinal of the
+     * asteroid, power-up or weapon type.
+     */
+    public int kind(final int i) {
+	return kind[i];
+    }
+
+    public int maxValue(final int i) {
+	return maxValue[i];
+    }
+
+    /**
+     * Category specific animation value: power-up pulse timer or particle alpha.
+     */
+    public float phase(final int i) {
+	return phase[i];
+    }
+
+    public int size() {
+	return size;
+    }
+
+    /**
+     * Category specific integer value: star brightness or asteroid hit points.
+     */
+    public int value(final int i) {
+	return value[i];
+    }
+
+    public float width(final int i) {
+	return width[i];
+    }
+
+    public float x(final int i) {
+	return x[i];
+    }
+
+    public float y(final int i) {
+	return y[i];
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.seerainer.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Display;
+
+import io.github.seerainer.game.perf.StartupTimeline;
+import io.github.seerainer.game.render.SwtRenderer;
+
+/**
+ * Runs any number of game stations in one JVM. The stations share one SWT
+ * {@link Display} and its UI thread, whose event loop paints and paces every
+ * window, and one {@link SwtRenderer} holding the fonts and colors. Each
+ * station keeps its own window, world, simulation thread and statistics. The
+ * host ends when the last station's window is closed.
+ */
+public class GameHost {
+    private final List<GameApp> stations = new ArrayList<>();
+    private volatile Display display;
+    private SwtRenderer renderer;
+    private Thread uiThread;
+    private boolean running;
+    // Set once the UI thread opens stations itself
+    private boolean dispatching;
+
+    /**
+     * Adds a station; it opens right away if the host is already running.
+     */
+    public synchronized void add(final GameApp station) {
+	stations.add(station);
+	if (dispatching) {
+	    display.asyncExec(() -> station.open(this));
+	}
+    }
+
+    /**
+     * Called by a station on the UI thread once its window is closed and its
+     * resources are released.
+     */
+    synchronized void closed(final GameApp station) {
+	stations.remove(station);
+    }
+
+    Display getDisplay() {
+	return display;
+    }
+
+    /**
+     * The renderer shared by all stations. Only used on the UI thread, one
+     * paint event at a time, so the stations can take turns with it.
+     */
+    SwtRenderer getRenderer() {
+	return renderer;
+    }
+
+    private synchronized boolean hasStations() {
+	return !stations.isEmpty();
+    }
+
+    synchronized boolean isRunning() {
+	return running;
+    }
+
+    /**
+     * Whether the caller runs on the UI thread.
+     */
+    boolean isUiThread() {
+	return Thread.currentThread() == uiThread;
+    }
+
+    /**
+     * Runs the task on the UI thread unless the display is already gone.
+     */
+    void runOnUiThread(final Runnable runnable) {
+	final var d = display;
+	if (d == null || d.isDisposed()) {
+	    return;
+	}
+	d.asyncExec(runnable);
+    }
+
+    /**
+     * Starts the UI thread, opens the stations added so far and returns.
+     */
+    public synchronized void start() {
+	if (running) {
+	    return;
+	}
+	running = true;
+	uiThread = new Thread(this::runUi, "swt-ui");
+	uiThread.setDaemon(false);
+	uiThread.start();
+    }
+
+    private void runUi() {
+	display = new Display();
+	StartupTimeline.mark("display");
+	renderer = new SwtRenderer(display);
+	StartupTimeline.mark("resources");
+	final List<GameApp> initial;
+	synchronized (this) {
+	    initial = List.copyOf(stations);
+	    dispatching = true;
+	}
+	for (final var station : initial) {
+	    station.open(this);
+	}
+
+	// SWT event loop, shared by every station's window
+	while (hasStations()) {
+	    if (!display.readAndDispatch()) {
+		display.sleep();
+	    }
+	}
+
+	StartupTimeline.export();
+	renderer.dispose();
+	display.dispose();
+	synchronized (this) {
+	    dispatching = false;
+	    running = false;
+	}
+    }
+}
@@ -1,5 +1,5 @@
 package io.github.seerainer.game;
 
-enum GameState {
+public enum GameState {
     MENU, PLAYING, GAME_OVER, PAUSED
 }
\ No newline at end of file
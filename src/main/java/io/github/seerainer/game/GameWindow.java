@@ -17,9 +17,22 @@ public class GameWindow {
     private final Cursor defaultCursor;
 
     public GameWindow(final Display display) {
+	this(display, 0);
+    }
+
+    /**
+     * Opens the window of the given game station. Stations are spread over the
+     * monitors, one per monitor as far as they go.
+     */
+    public GameWindow(final Display display, final int station) {
 	this.display = display;
 	this.shell = new Shell(display, SWT.SHELL_TRIM);
-	this.shell.setText("Asteroid Dodger");
+	this.shell.setText(station == 0 ? "Asteroid Dodger" : "Asteroid Dodger - Station " + (station + 1));
+	final var monitors = display.getMonitors();
+	if (monitors.length > 1) {
+	    final var bounds = monitors[station % monitors.length].getBounds();
+	    this.shell.setLocation(bounds.x, bounds.y);
+	}
 	this.shell.setSize(800, 600);
 	this.isFullScreen = true;
 	this.shell.setMaximized(isFullScreen);
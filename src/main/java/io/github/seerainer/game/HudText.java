@@ -0,0 +1,26 @@
+package io.github.seerainer.game;
+
+/**
+ * A HUD label showing one number, rebuilt only when the number changes so
+ * drawing the HUD does not create strings every frame. UI thread only.
+ */
+final class HudText {
+    private final String prefix;
+    private final String suffix;
+    private String text;
+    private int value;
+
+    HudText(final String prefix, final String suffix) {
+	this.prefix = prefix;
+	this.suffix = suffix;
+    }
+
+    String get(final int newValue) {
+	if (text == null || newValue != value) {
+	    value = newValue;
+	    text = new StringBuilder(prefix.length() + suffix.length() + 11).append(prefix).append(newValue)
+		    .append(suffix).toString();
+	}
+	return text;
+    }
+}
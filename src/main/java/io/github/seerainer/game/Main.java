@@ -1,11 +1,39 @@
 package io.github.seerainer.game;
 
+import io.github.seerainer.game.headless.HeadlessRunner;
+import io.github.seerainer.game.perf.StartupTimeline;
+import io.github.seerainer.game.perf.StressConfig;
+import io.github.seerainer.game.spectate.SpectatorViewer;
+
 public class Main {
     private Main() {
 	throw new IllegalStateException("Main class");
     }
 
-    public static void main() {
-	new GameApp().start();
+    public static void main(final String[] args) {
+	StartupTimeline.mark("main");
+	if (HeadlessRunner.isRequested(args)) {
+	    HeadlessRunner.run(args);
+	    return;
+	}
+	if (StutterReport.isRequested(args)) {
+	    StutterReport.run(args);
+	    return;
+	}
+	if (SpectatorViewer.isRequested(args)) {
+	    SpectatorViewer.run(args);
+	    return;
+	}
+	// game.stations opens several game windows sharing one display
+	final var stations = Integer.getInteger("game.stations", 1).intValue();
+	if (stations < 1) {
+	    throw new IllegalArgumentException("Station count must be positive: " + stations);
+	}
+	final var stress = StressConfig.fromArgs(args);
+	final var host = new GameHost();
+	for (var i = 0; i < stations; i++) {
+	    host.add(new GameApp(stress, i));
+	}
+	host.start();
     }
 }
\ No newline at end of file
@@ -0,0 +1,363 @@
+package io.github.seerainer.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Everything needed to draw one frame: entity positions and types plus HUD
+ * values. Written by the simulation thread through
+ * {@link World#writeSnapshot(RenderSnapshot)} and treated as immutable once it
+ * has been published through a {@link SnapshotExchange}.
+ */
+public final class RenderSnapshot {
+    private static final GameState[] GAME_STATES = GameState.values();
+    private static final WeaponType[] WEAPON_TYPES = WeaponType.values();
+    private static final StateSubsystem[] SUBSYSTEMS = StateSubsystem.values();
+    final EntityBuffer stars = new EntityBuffer();
+    final EntityBuffer asteroids = new EntityBuffer();
+    final EntityBuffer powerUps = new EntityBuffer();
+    final EntityBuffer weaponUpgrades = new EntityBuffer();
+    final EntityBuffer bullets = new EntityBuffer();
+    final EntityBuffer particles = new EntityBuffer();
+    GameState gameState;
+    int shakeX;
+    int shakeY;
+    // Player
+    float playerX;
+    float playerY;
+    float playerWidth;
+    float playerHeight;
+    boolean shield;
+    boolean invulnerable;
+    // Co-op partner ship, same size as the player's
+    boolean coop;
+    float partnerX;
+    float partnerY;
+    boolean partnerShield;
+    boolean partnerInvulnerable;
+    int partnerHealth;
+    int partnerScore;
+    // HUD
+    int health;
+    int score;
+    int comboCount;
+    float shieldTimer;
+    float scoreMultiplierTimer;
+    float slowMotionTimer;
+    WeaponType weapon;
+    float weaponUpgradeTimer;
+    int level;
+    int asteroidsDodged;
+    int asteroidsDestroyed;
+    // Simulation state behind the picture: the seed and tick to replay to, and
+    // per-subsystem hashes to compare against a hash trace of the replay
+    long seed;
+    long tick;
+    final long[] stateHashes = new long[SUBSYSTEMS.length];
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(DataOutput)}.
+     */
+    public static RenderSnapshot readFrom(final DataInput in) throws IOException {
+	final var snapshot = new RenderSnapshot();
+	snapshot.gameState = GAME_STATES[in.readUnsignedByte()];
+	snapshot.shakeX = in.readInt();
+	snapshot.shakeY = in.readInt();
+	snapshot.playerX = in.readFloat();
+	snapshot.playerY = in.readFloat();
+	snapshot.playerWidth = in.readFloat();
+	snapshot.playerHeight = in.readFloat();
+	snapshot.shield = in.readBoolean();
+	snapshot.invulnerable = in.readBoolean();
+	snapshot.coop = in.readBoolean();
+	snapshot.partnerX = in.readFloat();
+	snapshot.partnerY = in.readFloat();
+	snapshot.partnerShield = in.readBoolean();
+	snapshot.partnerInvulnerable = in.readBoolean();
+	snapshot.partnerHealth = in.readInt();
+	snapshot.partnerScore = in.readInt();
+	snapshot.health = in.readInt();
+	snapshot.score = in.readInt();
+	snapshot.comboCount = in.readInt();
+	snapshot.shieldTimer = in.readFloat();
+	snapshot.scoreMultiplierTimer = in.readFloat();
+	snapshot.slowMotionTimer = in.readFloat();
+	final var weapon = in.readByte();
+	snapshot.weapon = weapon < 0 ? null : WEAPON_TYPES[weapon];
+	snapshot.weaponUpgradeTimer = in.readFloat();
+	snapshot.level = in.readInt();
+	snapshot.asteroidsDodged = in.readInt();
+	snapshot.asteroidsDestroyed = in.readInt();
+	snapshot.seed = in.readLong();
+	snapshot.tick = in.readLong();
+	for (var i = 0; i < SUBSYSTEMS.length; i++) {
+	    snapshot.stateHashes[i] = in.readLong();
+	}
+	snapshot.stars.readFrom(in);
+	snapshot.asteroids.readFrom(in);
+	snapshot.powerUps.readFrom(in);
+	snapshot.weaponUpgrades.readFrom(in);
+	snapshot.bullets.readFrom(in);
+	snapshot.particles.readFrom(in);
+	return snapshot;
+    }
+
+    void clear() {
+	stars.clear();
+	asteroids.clear();
+	powerUps.clear();
+	weaponUpgrades.clear();
+	bullets.clear();
+	particles.clear();
+	shakeX = 0;
+	shakeY = 0;
+	coop = false;
+	partnerX = 0;
+	partnerY = 0;
+	partnerShield = false;
+	partnerInvulnerable = false;
+	partnerHealth = 0;
+	partnerScore = 0;
+    }
+
+    /**
+     * Makes this snapshot an exact copy of the other one, reusing its buffers.
+     */
+    public void copyFrom(final RenderSnapshot other) {
+	stars.copyFrom(other.stars);
+	asteroids.copyFrom(other.asteroids);
+	powerUps.copyFrom(other.powerUps);
+	weaponUpgrades.copyFrom(other.weaponUpgrades);
+	bullets.copyFrom(other.bullets);
+	particles.copyFrom(other.particles);
+	gameState = other.gameState;
+	shakeX = other.shakeX;
+	shakeY = other.shakeY;
+	playerX = other.playerX;
+	playerY = other.playerY;
+	playerWidth = other.playerWidth;
+	playerHeight = other.playerHeight;
+	shield = other.shield;
+	invulnerable = other.invulnerable;
+	coop = other.coop;
+	partnerX = other.partnerX;
+	partnerY = other.partnerY;
+	partnerShield = other.partnerShield;
+	partnerInvulnerable = other.partnerInvulnerable;
+	partnerHealth = other.partnerHealth;
+	partnerScore = other.partnerScore;
+	health = other.health;
+	score = other.score;
+	comboCount = other.comboCount;
+	shieldTimer = other.shieldTimer;
+	scoreMultiplierTimer = other.scoreMultiplierTimer;
+	slowMotionTimer = other.slowMotionTimer;
+	weapon = other.weapon;
+	weaponUpgradeTimer = other.weaponUpgradeTimer;
+	level = other.level;
+	asteroidsDodged = other.asteroidsDodged;
+	asteroidsDestroyed = other.asteroidsDestroyed;
+	seed = other.seed;
+	tick = other.tick;
+	System.arraycopy(other.stateHashes, 0, stateHashes, 0, stateHashes.length);
+    }
+
+    public EntityBuffer getAsteroids() {
+	return asteroids;
+    }
+
+    public int getAsteroidsDestroyed() {
+	return asteroidsDestroyed;
+    }
+
+    public int getAsteroidsDodged() {
+	return asteroidsDodged;
+    }
+
+    public EntityBuffer getBullets() {
+	return bullets;
+    }
+
+    public int getComboCount() {
+	return comboCount;
+    }
+
+    public GameState getGameState() {
+	return gameState;
+    }
+
+    public int getHealth() {
+	return health;
+    }
+
+    public int getLevel() {
+	return level;
+    }
+
+    public EntityBuffer getParticles() {
+	return particles;
+    }
+
+    public int getPartnerHealth() {
+	return partnerHealth;
+    }
+
+    public int getPartnerScore() {
+	return partnerScore;
+    }
+
+    public float getPartnerX() {
+	return partnerX;
+    }
+
+    public float getPartnerY() {
+	return partnerY;
+    }
+
+    public float getPlayerHeight() {
+	return playerHeight;
+    }
+
+    public float getPlayerWidth() {
+	return playerWidth;
+    }
+
+    public float getPlayerX() {
+	return playerX;
+    }
+
+    public float getPlayerY() {
+	return playerY;
+    }
+
+    public EntityBuffer getPowerUps() {
+	return powerUps;
+    }
+
+    public int getScore() {
+	return score;
+    }
+
+    public float getScoreMultiplierTimer() {
+	return scoreMultiplierTimer;
+    }
+
+    /** Seed of the world's random sequence. */
+    public long getSeed() {
+	return seed;
+    }
+
+    public int getShakeX() {
+	return shakeX;
+    }
+
+    public int getShakeY() {
+	return shakeY;
+    }
+
+    public float getShieldTimer() {
+	return shieldTimer;
+    }
+
+    public float getSlowMotionTimer() {
+	return slowMotionTimer;
+    }
+
+    public EntityBuffer getStars() {
+	return stars;
+    }
+
+    /**
+     * Hash of one part of the simulation state at this snapshot, see
+     * {@link World#stateHashes(long[], int)}.
+     */
+    public long getStateHash(final StateSubsystem subsystem) {
+	return stateHashes[subsystem.ordinal()];
+    }
+
+    /** Simulation tick this snapshot was taken at. */
+    public long getTick() {
+	return tick;
+    }
+
+    public WeaponType getWeapon() {
+	return weapon;
+    }
+
+    public float getWeaponUpgradeTimer() {
+	return weaponUpgradeTimer;
+    }
+
+    public EntityBuffer getWeaponUpgrades() {
+	return weaponUpgrades;
+    }
+
+    public boolean hasPartnerShield() {
+	return partnerShield;
+    }
+
+    public boolean hasShield() {
+	return shield;
+    }
+
+    /** Whether a co-op partner ship is in the game, flying or not. */
+    public boolean isCoop() {
+	return coop;
+    }
+
+    public boolean isInvulnerable() {
+	return invulnerable;
+    }
+
+    public boolean isPartnerInvulnerable() {
+	return partnerInvulnerable;
+    }
+
+    /**
+     * Writes the complete snapshot in a compact big-endian binary form, e.g. for
+     * stutter dumps.
+     */
+    public void writeTo(final DataOutput out) throws IOException {
+	out.writeByte(gameState.ordinal());
+	out.writeInt(shakeX);
+	out.writeInt(shakeY);
+	out.writeFloat(playerX);
+	out.writeFloat(playerY);
+	out.writeFloat(playerWidth);
+	out.writeFloat(playerHeight);
+	out.writeBoolean(shield);
+	out.writeBoolean(invulnerable);
+	out.writeBoolean(coop);
+	out.writeFloat(partnerX);
+	out.writeFloat(partnerY);
+	out.writeBoolean(partnerShield);
+	out.writeBoolean(partnerInvulnerable);
+	out.writeInt(partnerHealth);
+	out.writeInt(partnerScore);
+	out.writeInt(health);
+	out.writeInt(score);
+	out.writeInt(comboCount);
+	out.writeFloat(shieldTimer);
+	out.writeFloat(scoreMultiplierTimer);
+	out.writeFloat(slowMotionTimer);
+	out.writeByte(weapon == null ? -1 : weapon.ordinal());
+	out.writeFloat(weaponUpgradeTimer);
+	out.writeInt(level);
+	out.writeInt(asteroidsDodged);
+	out.writeInt(asteroidsDestroyed);
+	out.writeLong(seed);
+	out.writeLong(tick);
+	for (final var hash : stateHashes) {
+	    out.writeLong(hash);
+	}
+	stars.writeTo(out);
+	asteroids.writeTo(out);
+	powerUps.writeTo(out);
+	weaponUpgrades.writeTo(out);
+	bullets.writeTo(out);
+	particles.writeTo(out);
+    }
+}
@@ -0,0 +1,488 @@
+package io.github.seerainer.game;
+
+import io.github.seerainer.game.entities.AsteroidType;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.render.RenderColor;
+import io.github.seerainer.game.render.RenderFont;
+import io.github.seerainer.game.render.Renderer;
+
+/**
+ * Draws a {@link RenderSnapshot} through a {@link Renderer}: the star field,
+ * entities, HUD and the menu, pause and game over screens. Holds no SWT state,
+ * so the full frame can be drawn headless. Animations take the time as a
+ * parameter, which keeps frames reproducible. One instance per painting thread.
+ */
+public class SceneRenderer {
+    private static final AsteroidType[] ASTEROID_TYPES = AsteroidType.values();
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+    private static final WeaponType[] WEAPON_TYPES = WeaponType.values();
+    // HUD labels, rebuilt only when their number changes
+    private final HudText levelText = new HudText("Level: ", "");
+    private final HudText scoreText = new HudText("Score: ", "");
+    private final HudText partnerScoreText = new HudText("P2 Score: ", "");
+    private final HudText comboText = new HudText("", "x COMBO!");
+    private final HudText shieldText = new HudText("SHIELD: ", "s");
+    private final HudText scoreMultiplierText = new HudText("2x SCORE: ", "s");
+    private final HudText slowMotionText = new HudText("SLOW-MO: ", "s");
+    private final HudText[] weaponTexts = new HudText[WEAPON_TYPES.length];
+    // Game over labels, rebuilt only when their number changes
+    private final HudText levelReachedText = new HudText("Level Reached: ", "");
+    private final HudText finalScoreText = new HudText("Final Score: ", "");
+    private final HudText dodgedText = new HudText("Asteroids Dodged: ", "");
+    private final HudText destroyedText = new HudText("Asteroids Destroyed: ", "");
+    // Reused polygon outlines
+    private final int[] diamond = new int[8];
+    private final int[] triangle = new int[6];
+
+    public SceneRenderer() {
+	for (var i = 0; i < weaponTexts.length; i++) {
+	    weaponTexts[i] = new HudText(WEAPON_TYPES[i].getDisplayName() + ": ", "s");
+	}
+    }
+
+    private static void drawAnimatedStars(final Renderer renderer, final RenderSnapshot snapshot, final int shakeX,
+	    final int shakeY) {
+	renderer.setForeground(RenderColor.WHITE);
+
+	final var stars = snapshot.getStars();
+	for (var i = 0; i < stars.size(); i++) {
+	    final var brightness = stars.value(i);
+	    renderer.setAlpha(brightness);
+
+	    final var x = Math.round(stars.x(i) + shakeX);
+	    final var y = Math.round(stars.y(i) + shakeY);
+
+	    if (stars.kind(i) == 2) {
+		renderer.drawPoint(x, y);
+		renderer.drawPoint(x - 1, y);
+		renderer.drawPoint(x + 1, y);
+		renderer.drawPoint(x, y - 1);
+		renderer.drawPoint(x, y + 1);
+	    } else if (stars.kind(i) == 1) {
+		renderer.drawPoint(x, y);
+		renderer.drawPoint(x - 1, y);
+		renderer.drawPoint(x + 1, y);
+	    } else {
+		renderer.drawPoint(x, y);
+	    }
+	}
+
+	renderer.setAlpha(255);
+    }
+
+    /**
+     * Draws the text horizontally centered at the given height.
+     */
+    private static void drawCentered(final Renderer renderer, final String text, final int width, final int y) {
+	renderer.drawText(text, width / 2 - renderer.textWidth(text) / 2, y);
+    }
+
+    private static void drawMenu(final Renderer renderer, final RenderSnapshot snapshot, final int width,
+	    final int height, final long timeMillis) {
+	// Background
+	renderer.setBackground(RenderColor.BLACK);
+	renderer.fillRectangle(0, 0, width, height);
+
+	// Draw animated stars for menu background
+	drawAnimatedStars(renderer, snapshot, 0, 0);
+
+	// Title
+	renderer.setFont(RenderFont.TITLE);
+	renderer.setForeground(RenderColor.CYAN);
+	drawCentered(renderer, "ASTEROID DODGER", width, height / 3);
+
+	// Instructions
+	renderer.setFont(RenderFont.UI);
+	renderer.setForeground(RenderColor.WHITE);
+	drawCentered(renderer, "Survive the asteroid field!", width, height / 2 - 60);
+	drawCentered(renderer, "Collect weapon upgrades and power-ups", width, height / 2 - 30);
+
+	// Controls
+	renderer.setFont(RenderFont.SMALL);
+	var yOffset = height / 2 + 20;
+	drawCentered(renderer, "Controls:", width, yOffset);
+	yOffset += 25;
+	drawCentered(renderer, "Move: Arrow Keys", width, yOffset);
+	yOffset += 20;
+	drawCentered(renderer, "Shoot: SPACE", width, yOffset);
+	yOffset += 20;
+	drawCentered(renderer, "Pause: P", width, yOffset);
+
+	// Start prompt with pulsing effect
+	renderer.setFont(RenderFont.UI);
+	renderer.setForeground(RenderColor.YELLOW);
+	final var pulse = (float) (Math.sin(timeMillis / 300.0) * 0.3 + 0.7);
+	renderer.setAlpha((int) (pulse * 255));
+	drawCentered(renderer, "Press SPACE or ENTER to start", width, height - 100);
+	renderer.setAlpha(255);
+
+	// ESC hint
+	renderer.setFont(RenderFont.SMALL);
+	renderer.setForeground(RenderColor.WHITE);
+	drawCentered(renderer, "Press ESC to quit", width, height - 60);
+    }
+
+    private static void drawPauseScreen(final Renderer renderer, final int width, final int height) {
+	// Semi-transparent overlay
+	renderer.setAlpha(200);
+	renderer.setBackground(RenderColor.BLACK);
+	renderer.fillRectangle(0, 0, width, height);
+	renderer.setAlpha(255);
+
+	renderer.setFont(RenderFont.TITLE);
+	renderer.setForeground(RenderColor.YELLOW);
+	final var text = "PAUSED";
+	drawCentered(renderer, text, width, height / 2 - renderer.textHeight(text) / 2);
+
+	renderer.setFont(RenderFont.UI);
+	renderer.setForeground(RenderColor.WHITE);
+	drawCentered(renderer, "Press P to resume", width, height / 2 + 40);
+    }
+
+    private static void drawStars(final Renderer renderer, final int width, final int height) {
+	// Draw static star field for game over screen
+	renderer.setForeground(RenderColor.WHITE);
+	final var starCount = 50;
+	for (var i = 0; i < starCount; i++) {
+	    final var seed = i * 12345L; // Deterministic positions
+	    final var x = (int) ((seed * 73) % width);
+	    final var y = (int) ((seed * 97) % height);
+	    final var brightness = (int) (100 + (seed % 156));
+	    renderer.setAlpha(brightness);
+	    renderer.drawPoint(x, y);
+	}
+	renderer.setAlpha(255);
+    }
+
+    private void drawGameOver(final Renderer renderer, final RenderSnapshot snapshot, final int width,
+	    final int height) {
+	// Background
+	renderer.setBackground(RenderColor.BLACK);
+	renderer.fillRectangle(0, 0, width, height);
+
+	// Draw static stars for game over screen
+	drawStars(renderer, width, height);
+
+	// Game Over text
+	renderer.setFont(RenderFont.TITLE);
+	renderer.setForeground(RenderColor.RED);
+	drawCentered(renderer, "GAME OVER", width, height / 2 - 120);
+
+	// Stats
+	renderer.setFont(RenderFont.UI);
+	renderer.setForeground(RenderColor.WHITE);
+	drawCentered(renderer, levelReachedText.get(snapshot.getLevel()), width, height / 2 - 60);
+	drawCentered(renderer, finalScoreText.get(snapshot.getScore()), width, height / 2 - 30);
+	drawCentered(renderer, dodgedText.get(snapshot.getAsteroidsDodged()), width, height / 2);
+	drawCentered(renderer, destroyedText.get(snapshot.getAsteroidsDestroyed()), width, height / 2 + 30);
+
+	// Restart hint
+	renderer.setForeground(RenderColor.YELLOW);
+	drawCentered(renderer, "Press R or SPACE to restart", width, height / 2 + 80);
+	drawCentered(renderer, "Press ESC to quit", width, height / 2 + 110);
+    }
+
+    private void drawHUD(final Renderer renderer, final RenderSnapshot snapshot, final int width, final int height) {
+	renderer.setFont(RenderFont.UI);
+	renderer.setForeground(RenderColor.WHITE);
+
+	// Level
+	renderer.drawText(levelText.get(snapshot.getLevel()), 10, 10);
+
+	// Score
+	renderer.drawText(scoreText.get(snapshot.getScore()), 10, 30);
+
+	// Lives (draw hearts)
+	var heartX = 10;
+	final var heartY = 50;
+	renderer.setForeground(RenderColor.RED);
+	for (var i = 0; i < snapshot.getHealth(); i++) {
+	    renderer.drawText("♥", heartX, heartY);
+	    heartX += 20;
+	}
+
+	// Co-op partner score and lives, in the partner's ship color
+	if (snapshot.isCoop()) {
+	    renderer.setForeground(RenderColor.YELLOW);
+	    renderer.drawText(partnerScoreText.get(snapshot.getPartnerScore()), 10, 70);
+	    heartX = 10;
+	    for (var i = 0; i < snapshot.getPartnerHealth(); i++) {
+		renderer.drawText("♥", heartX, 90);
+		heartX += 20;
+	    }
+	}
+
+	// Combo counter
+	if (snapshot.getComboCount() > 1) {
+	    renderer.setFont(RenderFont.TITLE);
+	    renderer.setForeground(RenderColor.YELLOW);
+	    drawCentered(renderer, comboText.get(snapshot.getComboCount()), width, 80);
+	}
+
+	// Active power-ups display
+	var powerUpY = 10;
+	renderer.setFont(RenderFont.SMALL);
+
+	if (snapshot.hasShield()) {
+	    renderer.setForeground(RenderColor.CYAN);
+	    renderer.drawText(shieldText.get((int) Math.ceil(snapshot.getShieldTimer())), width - 120, powerUpY);
+	    powerUpY += 20;
+	}
+
+	if (snapshot.getScoreMultiplierTimer() > 0) {
+	    renderer.setForeground(RenderColor.YELLOW);
+	    renderer.drawText(scoreMultiplierText.get((int) Math.ceil(snapshot.getScoreMultiplierTimer())),
+		    width - 120, powerUpY);
+	    powerUpY += 20;
+	}
+
+	if (snapshot.getSlowMotionTimer() > 0) {
+	    renderer.setForeground(RenderColor.MAGENTA);
+	    renderer.drawText(slowMotionText.get((int) Math.ceil(snapshot.getSlowMotionTimer())), width - 120,
+		    powerUpY);
+	    powerUpY += 20;
+	}
+
+	if (snapshot.getWeaponUpgradeTimer() > 0) {
+	    renderer.setForeground(RenderColor.GREEN);
+	    final var weaponText = weaponTexts[snapshot.getWeapon().ordinal()];
+	    renderer.drawText(weaponText.get((int) Math.ceil(snapshot.getWeaponUpgradeTimer())), width - 120,
+		    powerUpY);
+	}
+
+	// Controls hint
+	renderer.setAlpha(180);
+	renderer.setForeground(RenderColor.WHITE);
+	renderer.drawText("P: Pause | ESC: Quit", width - 150, height - 25);
+	renderer.setAlpha(255);
+    }
+
+    private void drawPlaying(final Renderer renderer, final RenderSnapshot snapshot, final int width,
+	    final int height, final QualityLevel quality, final long timeMillis) {
+	final var shakeX = snapshot.getShakeX();
+	final var shakeY = snapshot.getShakeY();
+
+	// Draw asteroids with type-specific colors
+	final var craterDetail = quality.hasCraterDetail();
+	final var asteroids = snapshot.getAsteroids();
+	for (var i = 0; i < asteroids.size(); i++) {
+	    // Color based on type
+	    final var type = ASTEROID_TYPES[asteroids.kind(i)];
+	    renderer.setBackground(RenderColor.ASTEROID_TYPES[type.ordinal()]);
+
+	    final var x = Math.round(asteroids.x(i) + shakeX);
+	    final var y = Math.round(asteroids.y(i) + shakeY);
+	    final var size = (int) asteroids.width(i);
+	    renderer.fillOval(x, y, size, size);
+
+	    // Health bar for tank asteroids
+	    if (type == AsteroidType.TANK && asteroids.value(i) < asteroids.maxValue(i)) {
+		final var barWidth = size;
+		final var barHeight = 3;
+		final var healthPercent = (float) asteroids.value(i) / asteroids.maxValue(i);
+
+		renderer.setBackground(RenderColor.RED);
+		renderer.fillRectangle(x, y - 5, barWidth, barHeight);
+		renderer.setBackground(RenderColor.GREEN);
+		renderer.fillRectangle(x, y - 5, (int) (barWidth * healthPercent), barHeight);
+	    }
+
+	    // Visual detail
+	    if (craterDetail) {
+		renderer.setForeground(RenderColor.DARK_GRAY);
+		renderer.drawOval(x, y, size, size);
+		renderer.drawOval(x + size / 4, y + size / 4, size / 3, size / 3);
+	    }
+	}
+
+	// Draw power-ups with pulsing effect
+	final var powerUps = snapshot.getPowerUps();
+	for (var i = 0; i < powerUps.size(); i++) {
+	    final var px = Math.round(powerUps.x(i) + shakeX);
+	    final var py = Math.round(powerUps.y(i) + shakeY);
+	    final var pw = (int) powerUps.width(i);
+	    final var ph = (int) powerUps.height(i);
+
+	    // Pulsing effect
+	    final var pulse = (float) (Math.sin(powerUps.phase(i) * 8) * 0.15 + 1);
+	    final var scaledW = (int) (pw * pulse);
+	    final var scaledH = (int) (ph * pulse);
+	    final var offsetX = (pw - scaledW) / 2;
+	    final var offsetY = (ph - scaledH) / 2;
+
+	    // Color and icon based on type
+	    final var powerUpType = POWER_UP_TYPES[powerUps.kind(i)];
+	    renderer.setBackground(switch (powerUpType) {
+	    case SHIELD -> RenderColor.CYAN;
+	    case HEALTH -> RenderColor.GREEN;
+	    case SCORE_MULTIPLIER -> RenderColor.YELLOW;
+	    case SLOW_MOTION -> RenderColor.MAGENTA;
+	    });
+
+	    // Draw as circle
+	    renderer.fillOval(px + offsetX, py + offsetY, scaledW, scaledH);
+	    renderer.setForeground(RenderColor.WHITE);
+	    renderer.drawOval(px + offsetX, py + offsetY, scaledW, scaledH);
+
+	    // Draw icon/letter
+	    renderer.setFont(RenderFont.SMALL);
+	    final var letter = switch (powerUpType) {
+	    case SHIELD -> "S";
+	    case HEALTH -> "+";
+	    case SCORE_MULTIPLIER -> "2x";
+	    case SLOW_MOTION -> "⏱";
+	    };
+	    renderer.drawText(letter, px + pw / 2 - renderer.textWidth(letter) / 2,
+		    py + ph / 2 - renderer.textHeight(letter) / 2);
+	}
+
+	// Draw weapon upgrades
+	final var weaponUpgrades = snapshot.getWeaponUpgrades();
+	for (var i = 0; i < weaponUpgrades.size(); i++) {
+	    final var ux = Math.round(weaponUpgrades.x(i) + shakeX);
+	    final var uy = Math.round(weaponUpgrades.y(i) + shakeY);
+	    final var uw = (int) weaponUpgrades.width(i);
+	    final var uh = (int) weaponUpgrades.height(i);
+
+	    final var weaponType = WEAPON_TYPES[weaponUpgrades.kind(i)];
+	    renderer.setBackground(switch (weaponType) {
+	    case DOUBLE -> RenderColor.GREEN;
+	    case TRIPLE -> RenderColor.BLUE;
+	    case RAPID -> RenderColor.RED;
+	    case SPREAD -> RenderColor.MAGENTA;
+	    default -> RenderColor.WHITE;
+	    });
+
+	    final var centerX = ux + uw / 2;
+	    final var centerY = uy + uh / 2;
+	    final var radius = uw / 2;
+
+	    diamond[0] = centerX;
+	    diamond[1] = centerY - radius;
+	    diamond[2] = centerX + radius;
+	    diamond[3] = centerY;
+	    diamond[4] = centerX;
+	    diamond[5] = centerY + radius;
+	    diamond[6] = centerX - radius;
+	    diamond[7] = centerY;
+	    renderer.fillPolygon(diamond);
+	    renderer.setForeground(RenderColor.WHITE);
+	    renderer.drawPolygon(diamond);
+
+	    renderer.setFont(RenderFont.UI);
+	    final var letter = switch (weaponType) {
+	    case DOUBLE -> "2";
+	    case TRIPLE -> "3";
+	    case RAPID -> "R";
+	    case SPREAD -> "S";
+	    default -> "?";
+	    };
+	    renderer.drawText(letter, centerX - renderer.textWidth(letter) / 2,
+		    centerY - renderer.textHeight(letter) / 2);
+	}
+
+	// Draw bullets
+	renderer.setBackground(RenderColor.YELLOW);
+	renderer.setForeground(RenderColor.WHITE);
+	final var bullets = snapshot.getBullets();
+	for (var i = 0; i < bullets.size(); i++) {
+	    final var bx = Math.round(bullets.x(i) + shakeX);
+	    final var by = Math.round(bullets.y(i) + shakeY);
+	    final var bw = (int) bullets.width(i);
+	    final var bh = (int) bullets.height(i);
+	    renderer.fillRectangle(bx, by, bw, bh);
+	    renderer.drawRectangle(bx, by, bw, bh);
+	}
+
+	// Draw particles, same color as the bullets
+	final var particles = snapshot.getParticles();
+	for (var i = 0; i < particles.size(); i++) {
+	    final var alpha = (int) (particles.phase(i) * 255);
+	    if (alpha > 0) {
+		renderer.setAlpha(alpha);
+		renderer.fillOval(Math.round(particles.x(i) + shakeX), Math.round(particles.y(i) + shakeY),
+			(int) particles.width(i), (int) particles.height(i));
+	    }
+	}
+	renderer.setAlpha(255);
+
+	// Draw player, and the co-op partner while it is still flying
+	drawShip(renderer, snapshot.getPlayerX() + shakeX, snapshot.getPlayerY() + shakeY, snapshot.getPlayerWidth(),
+		snapshot.getPlayerHeight(), snapshot.hasShield(), snapshot.isInvulnerable(), RenderColor.CYAN,
+		timeMillis);
+	if (snapshot.isCoop() && snapshot.getPartnerHealth() > 0) {
+	    drawShip(renderer, snapshot.getPartnerX() + shakeX, snapshot.getPartnerY() + shakeY,
+		    snapshot.getPlayerWidth(), snapshot.getPlayerHeight(), snapshot.hasPartnerShield(),
+		    snapshot.isPartnerInvulnerable(), RenderColor.YELLOW, timeMillis);
+	}
+
+	// Draw HUD
+	drawHUD(renderer, snapshot, width, height);
+	if (snapshot.getGameState() == GameState.PAUSED) {
+	    drawPauseScreen(renderer, width, height);
+	}
+    }
+
+    private void drawShip(final Renderer renderer, final float x, final float y, final float width,
+	    final float height, final boolean shield, final boolean invulnerable, final RenderColor color,
+	    final long timeMillis) {
+	if (shield) {
+	    // Pulsing shield circle
+	    final var shieldPulse = (float) (Math.sin(timeMillis / 100.0) * 0.2 + 1);
+	    final var shieldRadius = (int) (width * shieldPulse);
+	    renderer.setAlpha(100);
+	    renderer.setBackground(RenderColor.CYAN);
+	    renderer.fillOval(Math.round(x + width / 2 - shieldRadius / 2), Math.round(y + height / 2 - shieldRadius / 2),
+		    shieldRadius, shieldRadius);
+	    renderer.setAlpha(255);
+	}
+	if (invulnerable && (timeMillis / 100) % 2 == 0) {
+	    renderer.setAlpha(128);
+	}
+	renderer.setBackground(color);
+	final var px = Math.round(x);
+	final var py = Math.round(y);
+	final var pw = Math.round(width);
+	final var ph = Math.round(height);
+	triangle[0] = px + pw / 2;
+	triangle[1] = py;
+	triangle[2] = px;
+	triangle[3] = py + ph;
+	triangle[4] = px + pw;
+	triangle[5] = py + ph;
+	renderer.fillPolygon(triangle);
+	renderer.setForeground(RenderColor.WHITE);
+	renderer.drawPolygon(triangle);
+	renderer.setAlpha(255);
+    }
+
+    /**
+     * Draws one frame.
+     *
+     * @param width      canvas width in pixels
+     * @param height     canvas height in pixels
+     * @param quality    level deciding optional detail
+     * @param timeMillis wall clock time driving the pulsing and blinking
+     *                   animations
+     */
+    public void render(final Renderer renderer, final RenderSnapshot snapshot, final int width, final int height,
+	    final QualityLevel quality, final long timeMillis) {
+	// Clear background
+	renderer.setBackground(RenderColor.BLACK);
+	renderer.fillRectangle(0, 0, width, height);
+
+	// Draw animated stars background
+	drawAnimatedStars(renderer, snapshot, snapshot.getShakeX(), snapshot.getShakeY());
+
+	switch (snapshot.getGameState()) {
+	case PLAYING, PAUSED -> drawPlaying(renderer, snapshot, width, height, quality, timeMillis);
+	case GAME_OVER -> drawGameOver(renderer, snapshot, width, height);
+	case MENU -> drawMenu(renderer, snapshot, width, height, timeMillis);
+	case null -> {
+	    // Nothing published yet
+	}
+	}
+    }
+}
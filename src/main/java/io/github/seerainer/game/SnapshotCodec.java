@@ -0,0 +1,243 @@
+package io.github.seerainer.game;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Compact binary form of a {@link RenderSnapshot} for sending over the
+ * network. Positions and sizes are quantized to quarter pixels and timers and
+ * animation phases to milliseconds. Every value is written as a zigzag varint
+ * of its difference to the same value in a base snapshot the receiver already
+ * has. Entities are matched by their index within a category; a byte flags
+ * which of their values changed and only those are written, so an entity that
+ * did not change costs one byte. Encoding against {@link #EMPTY} gives a key frame.
+ */
+public final class SnapshotCodec {
+    /** Base of key frames. Never modify. */
+    public static final RenderSnapshot EMPTY = new RenderSnapshot();
+    private static final GameState[] GAME_STATES = GameState.values();
+    private static final WeaponType[] WEAPON_TYPES = WeaponType.values();
+    private static final float POSITION_SCALE = 4f;
+    private static final float TIME_SCALE = 1000f;
+    private static final int HEADER_VALUES = 23;
+    private static final int ENTITY_VALUES = 8;
+    private static final int MAX_VARINT = 5;
+    private static final int MAX_ENTITIES = 1 << 20;
+
+    private SnapshotCodec() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    private static void decode(final ByteBuffer in, final EntityBuffer base, final EntityBuffer target)
+	    throws IOException {
+	final var count = base.size() + readVarInt(in);
+	if (count < 0 || count > MAX_ENTITIES) {
+	    throw new IOException("Invalid entity count: " + count);
+	}
+	final var values = new int[ENTITY_VALUES];
+	for (var i = 0; i < count; i++) {
+	    if (i < base.size()) {
+		values(base, i, values);
+	    } else {
+		Arrays.fill(values, 0);
+	    }
+	    final var changed = in.get();
+	    for (var v = 0; v < ENTITY_VALUES; v++) {
+		if ((changed & (1 << v)) != 0) {
+		    values[v] += readVarInt(in);
+		}
+	    }
+	    target.add(values[0] / POSITION_SCALE, values[1] / POSITION_SCALE, values[2] / POSITION_SCALE,
+		    values[3] / POSITION_SCALE, values[4], values[5], values[6], values[7] / TIME_SCALE);
+	}
+    }
+
+    /**
+     * Reads a snapshot encoded against the given base into the target, which
+     * must not be the base.
+     *
+     * @throws IOException if the data is truncated or malformed
+     */
+    public static void decode(final ByteBuffer in, final RenderSnapshot base, final RenderSnapshot target)
+	    throws IOException {
+	try {
+	    final var gameState = gameState(base) + readVarInt(in);
+	    if (gameState < 0 || gameState > GAME_STATES.length) {
+		throw new IOException("Invalid game state: " + gameState);
+	    }
+	    final var weapon = weapon(base) + readVarInt(in);
+	    if (weapon < 0 || weapon > WEAPON_TYPES.length) {
+		throw new IOException("Invalid weapon: " + weapon);
+	    }
+	    target.clear();
+	    target.gameState = gameState == 0 ? null : GAME_STATES[gameState - 1];
+	    target.weapon = weapon == 0 ? null : WEAPON_TYPES[weapon - 1];
+	    target.shakeX = base.shakeX + readVarInt(in);
+	    target.shakeY = base.shakeY + readVarInt(in);
+	    target.playerX = (position(base.playerX) + readVarInt(in)) / POSITION_SCALE;
+	    target.playerY = (position(base.playerY) + readVarInt(in)) / POSITION_SCALE;
+	    target.playerWidth = (position(base.playerWidth) + readVarInt(in)) / POSITION_SCALE;
+	    target.playerHeight = (position(base.playerHeight) + readVarInt(in)) / POSITION_SCALE;
+	    final var flags = flags(base) + readVarInt(in);
+	    target.shield = (flags & 1) != 0;
+	    target.invulnerable = (flags & 2) != 0;
+	    target.coop = (flags & 4) != 0;
+	    target.partnerShield = (flags & 8) != 0;
+	    target.partnerInvulnerable = (flags & 16) != 0;
+	    target.partnerX = (position(base.partnerX) + readVarInt(in)) / POSITION_SCALE;
+	    target.partnerY = (position(base.partnerY) + readVarInt(in)) / POSITION_SCALE;
+	    target.partnerHealth = base.partnerHealth + readVarInt(in);
+	    target.partnerScore = base.partnerScore + readVarInt(in);
+	    target.health = base.health + readVarInt(in);
+	    target.score = base.score + readVarInt(in);
+	    target.comboCount = base.comboCount + readVarInt(in);
+	    target.shieldTimer = (time(base.shieldTimer) + readVarInt(in)) / TIME_SCALE;
+	    target.scoreMultiplierTimer = (time(base.scoreMultiplierTimer) + readVarInt(in)) / TIME_SCALE;
+	    target.slowMotionTimer = (time(base.slowMotionTimer) + readVarInt(in)) / TIME_SCALE;
+	    target.weaponUpgradeTimer = (time(base.weaponUpgradeTimer) + readVarInt(in)) / TIME_SCALE;
+	    target.level = base.level + readVarInt(in);
+	    target.asteroidsDodged = base.asteroidsDodged + readVarInt(in);
+	    target.asteroidsDestroyed = base.asteroidsDestroyed + readVarInt(in);
+	    decode(in, base.stars, target.stars);
+	    decode(in, base.asteroids, target.asteroids);
+	    decode(in, base.powerUps, target.powerUps);
+	    decode(in, base.weaponUpgrades, target.weaponUpgrades);
+	    decode(in, base.bullets, target.bullets);
+	    decode(in, base.particles, target.particles);
+	} catch (final BufferUnderflowException e) {
+	    throw new IOException("Truncated snapshot", e);
+	}
+    }
+
+    private static void encode(final EntityBuffer current, final EntityBuffer base, final ByteBuffer out) {
+	writeVarInt(out, current.size() - base.size());
+	final var values = new int[ENTITY_VALUES];
+	final var baseValues = new int[ENTITY_VALUES];
+	for (var i = 0; i < current.size(); i++) {
+	    values(current, i, values);
+	    if (i < base.size()) {
+		values(base, i, baseValues);
+	    } else {
+		Arrays.fill(baseValues, 0);
+	    }
+	    // One bit per value that differs, so still entities cost a single byte
+	    var changed = 0;
+	    for (var v = 0; v < ENTITY_VALUES; v++) {
+		if (values[v] != baseValues[v]) {
+		    changed |= 1 << v;
+		}
+	    }
+	    out.put((byte) changed);
+	    for (var v = 0; v < ENTITY_VALUES; v++) {
+		if ((changed & (1 << v)) != 0) {
+		    writeVarInt(out, values[v] - baseValues[v]);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Writes the snapshot as differences to the base. The buffer needs
+     * {@link #maxEncodedSize} bytes left.
+     */
+    public static void encode(final RenderSnapshot current, final RenderSnapshot base, final ByteBuffer out) {
+	writeVarInt(out, gameState(current) - gameState(base));
+	writeVarInt(out, weapon(current) - weapon(base));
+	writeVarInt(out, current.shakeX - base.shakeX);
+	writeVarInt(out, current.shakeY - base.shakeY);
+	writeVarInt(out, position(current.playerX) - position(base.playerX));
+	writeVarInt(out, position(current.playerY) - position(base.playerY));
+	writeVarInt(out, position(current.playerWidth) - position(base.playerWidth));
+	writeVarInt(out, position(current.playerHeight) - position(base.playerHeight));
+	writeVarInt(out, flags(current) - flags(base));
+	writeVarInt(out, position(current.partnerX) - position(base.partnerX));
+	writeVarInt(out, position(current.partnerY) - position(base.partnerY));
+	writeVarInt(out, current.partnerHealth - base.partnerHealth);
+	writeVarInt(out, current.partnerScore - base.partnerScore);
+	writeVarInt(out, current.health - base.health);
+	writeVarInt(out, current.score - base.score);
+	writeVarInt(out, current.comboCount - base.comboCount);
+	writeVarInt(out, time(current.shieldTimer) - time(base.shieldTimer));
+	writeVarInt(out, time(current.scoreMultiplierTimer) - time(base.scoreMultiplierTimer));
+	writeVarInt(out, time(current.slowMotionTimer) - time(base.slowMotionTimer));
+	writeVarInt(out, time(current.weaponUpgradeTimer) - time(base.weaponUpgradeTimer));
+	writeVarInt(out, current.level - base.level);
+	writeVarInt(out, current.asteroidsDodged - base.asteroidsDodged);
+	writeVarInt(out, current.asteroidsDestroyed - base.asteroidsDestroyed);
+	encode(current.stars, base.stars, out);
+	encode(current.asteroids, base.asteroids, out);
+	encode(current.powerUps, base.powerUps, out);
+	encode(current.weaponUpgrades, base.weaponUpgrades, out);
+	encode(current.bullets, base.bullets, out);
+	encode(current.particles, base.particles, out);
+    }
+
+    private static int flags(final RenderSnapshot snapshot) {
+	return (snapshot.shield ? 1 : 0) | (snapshot.invulnerable ? 2 : 0) | (snapshot.coop ? 4 : 0)
+		| (snapshot.partnerShield ? 8 : 0) | (snapshot.partnerInvulnerable ? 16 : 0);
+    }
+
+    private static int gameState(final RenderSnapshot snapshot) {
+	return snapshot.gameState == null ? 0 : snapshot.gameState.ordinal() + 1;
+    }
+
+    /**
+     * Upper bound of the encoded size of the snapshot against any base.
+     */
+    public static int maxEncodedSize(final RenderSnapshot snapshot) {
+	final var entities = snapshot.stars.size() + snapshot.asteroids.size() + snapshot.powerUps.size()
+		+ snapshot.weaponUpgrades.size() + snapshot.bullets.size() + snapshot.particles.size();
+	return MAX_VARINT * (HEADER_VALUES + 6) + entities * (1 + MAX_VARINT * ENTITY_VALUES);
+    }
+
+    private static int position(final float value) {
+	return Math.round(value * POSITION_SCALE);
+    }
+
+    private static int readVarInt(final ByteBuffer in) throws IOException {
+	var result = 0;
+	for (var shift = 0; shift < 35; shift += 7) {
+	    final var b = in.get();
+	    result |= (b & 0x7F) << shift;
+	    if (b >= 0) {
+		return (result >>> 1) ^ -(result & 1);
+	    }
+	}
+	throw new IOException("Varint too long");
+    }
+
+    private static int time(final float seconds) {
+	return Math.round(seconds * TIME_SCALE);
+    }
+
+    /**
+     * Quantizes the entity's values in encoding order.
+     */
+    private static void values(final EntityBuffer buffer, final int i, final int[] values) {
+	values[0] = position(buffer.x(i));
+	values[1] = position(buffer.y(i));
+	values[2] = position(buffer.width(i));
+	values[3] = position(buffer.height(i));
+	values[4] = buffer.kind(i);
+	values[5] = buffer.value(i);
+	values[6] = buffer.maxValue(i);
+	values[7] = time(buffer.phase(i));
+    }
+
+    private static int weapon(final RenderSnapshot snapshot) {
+	return snapshot.weapon == null ? 0 : snapshot.weapon.ordinal() + 1;
+    }
+
+    private static void writeVarInt(final ByteBuffer out, final int value) {
+	var zigzag = (value << 1) ^ (value >> 31);
+	while ((zigzag & ~0x7F) != 0) {
+	    out.put((byte) ((zigzag & 0x7F) | 0x80));
+	    zigzag >>>= 7;
+	}
+	out.put((byte) zigzag);
+    }
+}
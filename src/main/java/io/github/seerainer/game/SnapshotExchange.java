@@ -0,0 +1,53 @@
+package io.github.seerainer.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer between one producer (the simulation thread) and one
+ * consumer (the UI thread). The producer always owns the back buffer, the
+ * consumer always owns the front buffer and the third buffer is swapped between
+ * them atomically, so neither side ever blocks or sees a half-written snapshot.
+ */
+public final class SnapshotExchange {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+    private final RenderSnapshot[] buffers = { new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot() };
+    // Index of the shared buffer, flagged FRESH when it holds an unread snapshot
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int back;
+    private int front = 2;
+
+    /**
+     * Returns the buffer the producer may write to. Only call from the producer
+     * thread.
+     */
+    public RenderSnapshot back() {
+	return buffers[back];
+    }
+
+    /**
+     * Returns true if a snapshot was published since the consumer last called
+     * {@link #latest()}. Only call from the consumer thread.
+     */
+    public boolean hasFresh() {
+	return (shared.get() & FRESH) != 0;
+    }
+
+    /**
+     * Returns the most recently published snapshot. Only call from the consumer
+     * thread; the result stays valid until the next call.
+     */
+    public RenderSnapshot latest() {
+	if ((shared.get() & FRESH) != 0) {
+	    front = shared.getAndSet(front) & INDEX_MASK;
+	}
+	return buffers[front];
+    }
+
+    /**
+     * Publishes the back buffer and hands the producer a new one to write.
+     */
+    public void publish() {
+	back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.seerainer.game;
+
+/**
+ * Parts of the simulation state hashed separately by
+ * {@link World#stateHashes(long[], int)}, so a divergence between two runs can be traced
+ * to the part that went wrong first.
+ */
+public enum StateSubsystem {
+    WORLD, // Game state, field size, level, counters and difficulty
+    RANDOM, // Random generator state
+    TIMERS, // Timer wheel position and every world and ship timer
+    PLAYERS, // Ship positions, health, score, weapon and combo
+    ASTEROIDS, // Positions, velocities, types and hit points
+    BULLETS, // Positions, velocities and owners
+    PICKUPS, // Weapon upgrades and power-ups
+    EFFECTS // Particle and star counts
+}
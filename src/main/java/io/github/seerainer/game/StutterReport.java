@@ -0,0 +1,71 @@
+package io.github.seerainer.game;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import io.github.seerainer.game.perf.StutterDetector;
+
+/**
+ * Prints a stutter dump written by {@link StutterDetector} as text. Started
+ * with {@code --stutter-report=<file>}.
+ */
+public class StutterReport {
+    private static final String ARGUMENT = "--stutter-report=";
+
+    private StutterReport() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isRequested(final String[] args) {
+	return Arrays.stream(args).anyMatch(arg -> arg.startsWith(ARGUMENT));
+    }
+
+    private static void printBuffer(final PrintStream out, final String name, final EntityBuffer buffer) {
+	out.printf("  %-15s %d%n", name, Integer.valueOf(buffer.size()));
+    }
+
+    public static void print(final Path file, final PrintStream out) throws IOException {
+	try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+	    final var state = StutterDetector.describe(in, out);
+	    final var snapshot = RenderSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(state)));
+	    out.println("World at the spike:");
+	    out.printf("  %s, level %d, score %d, health %d, player at %.0f,%.0f%n", snapshot.getGameState(),
+		    Integer.valueOf(snapshot.getLevel()), Integer.valueOf(snapshot.getScore()),
+		    Integer.valueOf(snapshot.getHealth()), Double.valueOf(snapshot.getPlayerX()),
+		    Double.valueOf(snapshot.getPlayerY()));
+	    if (snapshot.isCoop()) {
+		out.printf("  partner score %d, health %d, at %.0f,%.0f%n", Integer.valueOf(snapshot.getPartnerScore()),
+			Integer.valueOf(snapshot.getPartnerHealth()), Double.valueOf(snapshot.getPartnerX()),
+			Double.valueOf(snapshot.getPartnerY()));
+	    }
+	    printBuffer(out, "stars", snapshot.getStars());
+	    printBuffer(out, "asteroids", snapshot.getAsteroids());
+	    printBuffer(out, "power-ups", snapshot.getPowerUps());
+	    printBuffer(out, "weapon upgrades", snapshot.getWeaponUpgrades());
+	    printBuffer(out, "bullets", snapshot.getBullets());
+	    printBuffer(out, "particles", snapshot.getParticles());
+	    out.printf("  seed %d, tick %d%n", Long.valueOf(snapshot.getSeed()), Long.valueOf(snapshot.getTick()));
+	    for (final var subsystem : StateSubsystem.values()) {
+		out.printf("  %-15s %016x%n", subsystem.name().toLowerCase(Locale.ROOT),
+			Long.valueOf(snapshot.getStateHash(subsystem)));
+	    }
+	}
+    }
+
+    public static void run(final String[] args) {
+	final var file = Arrays.stream(args).filter(arg -> arg.startsWith(ARGUMENT)).findFirst().orElseThrow()
+		.substring(ARGUMENT.length());
+	try {
+	    print(Path.of(file), System.out);
+	} catch (final IOException e) {
+	    System.err.println("Could not read stutter dump " + file + ": " + e.getMessage());
+	}
+    }
+}
@@ -0,0 +1,1345 @@
+package io.github.seerainer.game;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import io.github.seerainer.game.entities.Asteroid;
+import io.github.seerainer.game.entities.AsteroidType;
+import io.github.seerainer.game.entities.Bullet;
+import io.github.seerainer.game.entities.Entity;
+import io.github.seerainer.game.entities.Particle;
+import io.github.seerainer.game.entities.Player;
+import io.github.seerainer.game.entities.PowerUp;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.Star;
+import io.github.seerainer.game.entities.WeaponType;
+import io.github.seerainer.game.entities.WeaponUpgrade;
+import io.github.seerainer.game.event.EventBuffer;
+import io.github.seerainer.game.jfr.ExplosionEvent;
+import io.github.seerainer.game.jfr.GameStateEvent;
+import io.github.seerainer.game.jfr.LevelEvent;
+import io.github.seerainer.game.jfr.SpawnEvent;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.perf.StressConfig;
+import io.github.seerainer.game.spawn.SpawnDirector;
+import io.github.seerainer.game.util.ObjectPool;
+import io.github.seerainer.game.util.Rng;
+import io.github.seerainer.game.util.StateHash;
+import io.github.seerainer.game.util.TimerWheel;
+import io.github.seerainer.game.util.TimerWheel.Timer;
+
+/**
+ * Complete simulation state of one game. The world has no SWT dependency and is
+ * only ever touched by the simulation thread; the UI sees it exclusively
+ * through {@link RenderSnapshot}s written by {@link #writeSnapshot}. Bots read
+ * it through the {@link WorldView} methods.
+ * <p>
+ * Every world rolls its own random numbers, so worlds on different threads do
+ * not interfere, and {@link #copyTo} makes an independent copy that continues
+ * exactly like the original until it is {@linkplain #reseed reseeded}.
+ */
+public class World implements WorldView {
+
+    /** Fixed simulation rate used by every loop driving a world. */
+    public static final int TICKS_PER_SECOND = 120;
+    private static final float STAR_SPAWN_INTERVAL = 0.05f;
+    private static final int MAX_STARS = 128;
+    private static final float PLAYER_SPEED = 400f; // pixels per second
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+    private static final WeaponType[] WEAPON_TYPES = WeaponType.values();
+    private static final StateSubsystem[] SUBSYSTEMS = StateSubsystem.values();
+    // Level system
+    private static final int ASTEROIDS_PER_LEVEL = 15;
+    private static final float LEVEL_SPEED_MULTIPLIER = 1.15f;
+    private static final float LEVEL_SPAWN_REDUCTION = 0.85f;
+    private static final float DIFFICULTY_INTERVAL = 5.0f;
+    private static final float SCREEN_SHAKE_TIME = 0.3f;
+    private final Rng random;
+    // Screen shake offsets are rolled per snapshot, and snapshots are taken at
+    // varying rates, so they must not draw from the gameplay sequence
+    private final Rng shakeRandom;
+    // Start of the random sequence, kept so stutter dumps can name the run
+    private long seed;
+    // Asteroid mix, multi-spawn odds and pickup rates per level
+    private SpawnDirector spawnDirector;
+    private int width;
+    private int height;
+    // Game state
+    private GameState gameState = GameState.MENU;
+    private Player player;
+    // Second ship in co-op, null otherwise
+    private Player partner;
+    // Created up front, so every world has the same timers in the same order
+    // and copies can take over the timer wheel as it is
+    private final Player partnerShip;
+    private final List<Asteroid> asteroids;
+    private final List<Bullet> bullets;
+    private final List<Particle> particles;
+    private final List<Star> stars;
+    private final List<WeaponUpgrade> weaponUpgrades;
+    private final List<PowerUp> powerUps;
+    // Consequences of collisions, applied after the collision phase
+    private final EventBuffer events = new EventBuffer(256);
+    // Recycled entities, so steady-state play does not allocate
+    private final ObjectPool<Asteroid> asteroidPool = new ObjectPool<>("asteroids", Asteroid::new, 64);
+    private final ObjectPool<Bullet> bulletPool = new ObjectPool<>("bullets", Bullet::new, 128);
+    private final ObjectPool<Particle> particlePool = new ObjectPool<>("particles", Particle::new, 512);
+    private final ObjectPool<Star> starPool = new ObjectPool<>("stars", Star::new, MAX_STARS);
+    private final ObjectPool<WeaponUpgrade> weaponUpgradePool = new ObjectPool<>("weapon_upgrades",
+	    WeaponUpgrade::new, 4);
+    private final ObjectPool<PowerUp> powerUpPool = new ObjectPool<>("power_ups", PowerUp::new, 4);
+    private final List<ObjectPool<?>> pools = List.of(asteroidPool, bulletPool, particlePool, starPool,
+	    weaponUpgradePool, powerUpPool);
+    // Gameplay timers, counted in whole ticks while playing
+    private final TimerWheel timers = new TimerWheel(TICKS_PER_SECOND);
+    private double pendingTicks;
+    private final Timer asteroidSpawn = timers.timer(this::asteroidSpawnDue);
+    private final Timer difficulty = timers.timer(this::difficultyDue);
+    private final Timer weaponSpawn = timers.timer(this::weaponSpawnDue);
+    private final Timer powerUpSpawn = timers.timer(this::powerUpSpawnDue);
+    private final Timer screenShake = timers.timer();
+    // Spawning and difficulty
+    private final float initialSpawnInterval = 1.5f;
+    private final float minSpawnInterval = 0.2f;
+    private float spawnInterval;
+    private int asteroidsDodged;
+    private int asteroidsDestroyed;
+    // Level system
+    private int currentLevel;
+    private int asteroidsDestroyedThisLevel;
+    private float asteroidSpeedMultiplier;
+    // Star spawning
+    private float starSpawnTimer;
+    // Screen shake
+    private float screenShakeIntensity;
+    // Load mode, null during normal play
+    private StressConfig stress;
+    // Visual effect budget chosen by the quality governor
+    private QualityLevel quality = QualityLevel.HIGH;
+    // Copies made for planning do not emit JFR events, nor do ticks played
+    // again after a rollback
+    private boolean copy;
+    private boolean resimulating;
+    // Running totals for monitoring; explosions and spawns can come by the
+    // thousand per tick under load, so their own events are off by default
+    private long explosionTotal;
+    private long requestedParticleTotal;
+    private long createdParticleTotal;
+    private long spawnTotal;
+
+    public World(final int width, final int height) {
+	this(width, height, SpawnDirector.getDefault());
+    }
+
+    public World(final int width, final int height, final SpawnDirector spawnDirector) {
+	this(width, height, spawnDirector, newSeed(0));
+    }
+
+    /**
+     * @param seed start of the world's random sequence, see {@link #newSeed}
+     */
+    public World(final int width, final int height, final SpawnDirector spawnDirector, final long seed) {
+	this.width = width;
+	this.height = height;
+	this.asteroids = new ArrayList<>();
+	this.bullets = new ArrayList<>();
+	this.particles = new ArrayList<>();
+	this.stars = new ArrayList<>();
+	this.weaponUpgrades = new ArrayList<>();
+	this.powerUps = new ArrayList<>();
+	this.spawnDirector = spawnDirector;
+	this.seed = seed;
+	this.random = new Rng(seed);
+	this.shakeRandom = new Rng(~seed);
+	reset();
+	this.partnerShip = new Player(0, 0, timers);
+    }
+
+    private void addBullet(final float x, final float y, final int owner) {
+	final var bullet = bulletPool.obtain();
+	bullet.reset(x, y);
+	bullet.setOwner(owner);
+	bullets.add(bullet);
+    }
+
+    private void addScreenShake(final float intensity) {
+	if (!quality.hasScreenShake()) {
+	    return;
+	}
+	screenShakeIntensity = intensity;
+	screenShake.scheduleSeconds(SCREEN_SHAKE_TIME);
+    }
+
+    private void advanceLevel() {
+	currentLevel++;
+
+	// Increase asteroid speed only up to level 10
+	if (currentLevel <= 10) {
+	    asteroidSpeedMultiplier *= LEVEL_SPEED_MULTIPLIER;
+	    spawnInterval = Math.max(minSpawnInterval, spawnInterval * LEVEL_SPAWN_REDUCTION);
+	} else {
+	    // After level 10, keep speed constant but spawn asteroids faster
+	    spawnInterval = Math.max(minSpawnInterval * 0.3f, spawnInterval * 0.95f);
+	}
+
+	// Restart the difficulty timer to prevent double-dipping
+	difficulty.scheduleSeconds(DIFFICULTY_INTERVAL);
+
+	// Give player a health bonus every 10 levels
+	if (currentLevel % 10 == 0) {
+	    for (var i = 0; i < getPlayerCount(); i++) {
+		if (ship(i).isAlive()) {
+		    ship(i).addHealth(1);
+		}
+	    }
+	}
+	if (emitsEvents()) {
+	    LevelEvent.emit(currentLevel, asteroidSpeedMultiplier, spawnInterval);
+	}
+    }
+
+    private void asteroidSpawnDue() {
+	spawnAsteroid(-50);
+	// A changed interval takes effect from the next spawn on
+	asteroidSpawn.scheduleSeconds(spawnInterval);
+    }
+
+    private void difficultyDue() {
+	// Increase difficulty over time
+	spawnInterval = Math.max(minSpawnInterval, spawnInterval - 0.05f);
+	difficulty.scheduleSeconds(DIFFICULTY_INTERVAL);
+    }
+
+    private void powerUpSpawnDue() {
+	spawnPowerUp();
+	powerUpSpawn.scheduleSeconds(spawnDirector.forLevel(currentLevel).getPowerUpInterval());
+    }
+
+    private void weaponSpawnDue() {
+	spawnWeaponUpgrade();
+	weaponSpawn.scheduleSeconds(spawnDirector.forLevel(currentLevel).getWeaponInterval());
+    }
+
+    /**
+     * Keeps the stress populations topped up and the player alive and firing.
+     */
+    private void applyStress() {
+	if (!player.hasShield()) {
+	    player.activatePowerUp(PowerUpType.SHIELD);
+	}
+	if (stress.spreadFire()) {
+	    if (player.getCurrentWeapon() != WeaponType.SPREAD || player.getWeaponUpgradeTimeRemaining() < 1) {
+		player.upgradeWeapon(WeaponType.SPREAD);
+	    }
+	    fire(0);
+	}
+	while (asteroids.size() < stress.asteroids()) {
+	    // Spread new arrivals over one screen height above the top edge
+	    spawnAsteroid(-50 - random.nextFloat() * height);
+	}
+	while (particles.size() < stress.particles()) {
+	    if (createExplosion(random.nextFloat() * width, random.nextFloat() * height, 20) == 0) {
+		break; // Capped by the quality level
+	    }
+	}
+    }
+
+    private static <T> void copyEntities(final List<T> from, final List<T> to, final ObjectPool<T> pool,
+	    final BiConsumer<T, T> copier) {
+	pool.freeAll(to);
+	for (var i = 0; i < from.size(); i++) {
+	    final var entity = pool.obtain();
+	    copier.accept(entity, from.get(i));
+	    to.add(entity);
+	}
+    }
+
+    @Override
+    public void copyTo(final World target) {
+	copyState(target);
+	target.copy = true;
+    }
+
+    private void copyState(final World target) {
+	target.width = width;
+	target.height = height;
+	target.spawnDirector = spawnDirector;
+	target.gameState = gameState;
+	target.player.copyFrom(player);
+	target.setPartner(partner != null);
+	if (partner != null) {
+	    target.partner.copyFrom(partner);
+	}
+	copyEntities(asteroids, target.asteroids, target.asteroidPool, Asteroid::copyFrom);
+	copyEntities(bullets, target.bullets, target.bulletPool, Bullet::copyFrom);
+	copyEntities(particles, target.particles, target.particlePool, Particle::copyFrom);
+	copyEntities(stars, target.stars, target.starPool, Star::copyFrom);
+	copyEntities(weaponUpgrades, target.weaponUpgrades, target.weaponUpgradePool, WeaponUpgrade::copyFrom);
+	copyEntities(powerUps, target.powerUps, target.powerUpPool, PowerUp::copyFrom);
+	target.events.clear();
+	// The whole wheel, ships' timers included, so timers due on the same tick
+	// fire in the same order in both worlds
+	target.timers.copyFrom(timers);
+	target.pendingTicks = pendingTicks;
+	target.spawnInterval = spawnInterval;
+	target.asteroidsDodged = asteroidsDodged;
+	target.asteroidsDestroyed = asteroidsDestroyed;
+	target.currentLevel = currentLevel;
+	target.asteroidsDestroyedThisLevel = asteroidsDestroyedThisLevel;
+	target.asteroidSpeedMultiplier = asteroidSpeedMultiplier;
+	target.starSpawnTimer = starSpawnTimer;
+	target.screenShakeIntensity = screenShakeIntensity;
+	target.stress = stress;
+	target.quality = quality;
+	target.seed = seed;
+	target.random.copyFrom(random);
+	// Totals too, so ticks played again after a rollback are not counted twice
+	target.explosionTotal = explosionTotal;
+	target.requestedParticleTotal = requestedParticleTotal;
+	target.createdParticleTotal = createdParticleTotal;
+	target.spawnTotal = spawnTotal;
+    }
+
+    /**
+     * Emits an explosion thinned and capped according to the quality level and
+     * returns the number of particles actually created.
+     */
+    private int createExplosion(final float x, final float y, final int particleCount) {
+	final var scaled = Math.max(1, Math.round(particleCount * quality.getParticleScale()));
+	final var count = Math.min(scaled, quality.getParticleCap() - particles.size());
+	for (var i = 0; i < count; i++) {
+	    final var angle = random.nextFloat() * (float) (2 * Math.PI);
+	    final var speed = 50f + random.nextFloat() * 150f;
+	    final var vx = (float) StrictMath.cos(angle) * speed;
+	    final var vy = (float) StrictMath.sin(angle) * speed;
+	    final var lifetime = 0.3f + random.nextFloat() * 0.5f;
+	    final var particle = particlePool.obtain();
+	    particle.reset(x, y, vx, vy, lifetime);
+	    particles.add(particle);
+	}
+	final var created = Math.max(0, count);
+	explosionTotal++;
+	requestedParticleTotal += particleCount;
+	createdParticleTotal += created;
+	if (emitsEvents()) {
+	    ExplosionEvent.emit(particleCount, created, particles.size());
+	}
+	return created;
+    }
+
+    private boolean emitsEvents() {
+	return !copy && !resimulating;
+    }
+
+    /**
+     * Index of the first ship still flying that overlaps the entity, or -1.
+     */
+    private int collidingShip(final Entity entity) {
+	for (var i = 0; i < getPlayerCount(); i++) {
+	    final var ship = ship(i);
+	    if (ship.isAlive() && entity.getX() < ship.getX() + ship.getWidth()
+		    && entity.getX() + entity.getWidth() > ship.getX() && entity.getY() < ship.getY() + ship.getHeight()
+		    && entity.getY() + entity.getHeight() > ship.getY()) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Fires the player's current weapon if the shoot cooldown allows it.
+     */
+    public void fire() {
+	fire(0);
+    }
+
+    /**
+     * Fires the given ship's current weapon if it is still flying and the shoot
+     * cooldown allows it.
+     */
+    public void fire(final int index) {
+	final var ship = getPlayer(index);
+	if (gameState != GameState.PLAYING || !ship.isAlive() || !ship.canShoot()) {
+	    return;
+	}
+	ship.shoot();
+
+	// Create bullets based on weapon type
+	final var weaponType = ship.getCurrentWeapon();
+	final var centerX = ship.getX() + ship.getWidth() / 2;
+	final var bulletY = ship.getY();
+
+	switch (weaponType) {
+	case SINGLE -> addBullet(centerX - 2, bulletY, index);
+	case DOUBLE -> {
+	    addBullet(centerX - 10, bulletY, index);
+	    addBullet(centerX + 6, bulletY, index);
+	}
+	case TRIPLE -> {
+	    addBullet(centerX - 14, bulletY, index);
+	    addBullet(centerX - 2, bulletY, index);
+	    addBullet(centerX + 10, bulletY, index);
+	}
+	case RAPID -> addBullet(centerX - 2, bulletY, index);
+	case SPREAD -> {
+	    // Create 5 bullets in a spread pattern
+	    for (var i = 0; i < 5; i++) {
+		final var angle = Math.toRadians(-60 + i * 30); // -60 to +60 degrees
+		addBullet(centerX - 2, bulletY, index);
+		bullets.get(bullets.size() - 1).setAngle((float) angle);
+	    }
+	}
+	default -> throw new IllegalArgumentException("Unexpected value: " + weaponType);
+	}
+    }
+
+    @Override
+    public int getAsteroidCount() {
+	return asteroids.size();
+    }
+
+    @Override
+    public float getAsteroidSize(final int index) {
+	return asteroids.get(index).getSize();
+    }
+
+    @Override
+    public float getAsteroidVelocityX(final int index) {
+	return asteroids.get(index).getVelocityX() * getAsteroidSpeedFactor();
+    }
+
+    @Override
+    public float getAsteroidVelocityY(final int index) {
+	return asteroids.get(index).getVelocityY() * getAsteroidSpeedFactor();
+    }
+
+    @Override
+    public float getAsteroidX(final int index) {
+	return asteroids.get(index).getX();
+    }
+
+    @Override
+    public float getAsteroidY(final int index) {
+	return asteroids.get(index).getY();
+    }
+
+    private float getAsteroidSpeedFactor() {
+	return asteroidSpeedMultiplier * (hasSlowMotion() ? 0.5f : 1.0f);
+    }
+
+    public int getAsteroidsDestroyed() {
+	return asteroidsDestroyed;
+    }
+
+    public int getAsteroidsDodged() {
+	return asteroidsDodged;
+    }
+
+    public int getBulletCount() {
+	return bullets.size();
+    }
+
+    @Override
+    public int getCurrentLevel() {
+	return currentLevel;
+    }
+
+    @Override
+    public GameState getGameState() {
+	return gameState;
+    }
+
+    @Override
+    public int getHeight() {
+	return height;
+    }
+
+    public int getParticleCount() {
+	return particles.size();
+    }
+
+    @Override
+    public int getPickupCount() {
+	return weaponUpgrades.size() + powerUps.size();
+    }
+
+    @Override
+    public float getPickupX(final int index) {
+	final Entity pickup = index < weaponUpgrades.size() ? weaponUpgrades.get(index)
+		: powerUps.get(index - weaponUpgrades.size());
+	return pickup.getX() + pickup.getWidth() / 2;
+    }
+
+    @Override
+    public float getPickupY(final int index) {
+	final Entity pickup = index < weaponUpgrades.size() ? weaponUpgrades.get(index)
+		: powerUps.get(index - weaponUpgrades.size());
+	return pickup.getY() + pickup.getHeight() / 2;
+    }
+
+    public Player getPlayer() {
+	return player;
+    }
+
+    /**
+     * The ship with the given index: 0 is the player, 1 the co-op partner.
+     */
+    public Player getPlayer(final int index) {
+	if (index < 0 || index >= getPlayerCount()) {
+	    throw new IllegalArgumentException("No ship " + index + " in a world with " + getPlayerCount());
+	}
+	return ship(index);
+    }
+
+    /** Ships in the world, 2 in co-op. */
+    public int getPlayerCount() {
+	return partner != null ? 2 : 1;
+    }
+
+    @Override
+    public float getPlayerHeight() {
+	return player.getHeight();
+    }
+
+    @Override
+    public float getPlayerSpeed() {
+	return PLAYER_SPEED;
+    }
+
+    @Override
+    public float getPlayerWidth() {
+	return player.getWidth();
+    }
+
+    @Override
+    public float getPlayerX() {
+	return player.getX();
+    }
+
+    @Override
+    public float getPlayerY() {
+	return player.getY();
+    }
+
+    /**
+     * Particles created by explosions so far, after quality scaling and
+     * capping, for monitoring.
+     */
+    public long getCreatedParticleTotal() {
+	return createdParticleTotal;
+    }
+
+    /**
+     * The collision event buffer, for monitoring.
+     */
+    public EventBuffer getEvents() {
+	return events;
+    }
+
+    /**
+     * Explosions created so far, for monitoring.
+     */
+    public long getExplosionTotal() {
+	return explosionTotal;
+    }
+
+    /**
+     * The entity pools, for monitoring.
+     */
+    public List<ObjectPool<?>> getPools() {
+	return pools;
+    }
+
+    /**
+     * Particles asked for by explosions so far, for monitoring.
+     */
+    public long getRequestedParticleTotal() {
+	return requestedParticleTotal;
+    }
+
+    /**
+     * Asteroids, power-ups and weapon upgrades spawned so far, for monitoring.
+     */
+    public long getSpawnTotal() {
+	return spawnTotal;
+    }
+
+    @Override
+    public int getWidth() {
+	return width;
+    }
+
+    /**
+     * Slow motion picked up by any ship slows the asteroids for everyone.
+     */
+    private boolean hasSlowMotion() {
+	for (var i = 0; i < getPlayerCount(); i++) {
+	    if (ship(i).hasSlowMotion()) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Whether some ship is still flying; the game is over once none is.
+     */
+    private boolean isAnyShipAlive() {
+	for (var i = 0; i < getPlayerCount(); i++) {
+	    if (ship(i).isAlive()) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    public boolean isCoop() {
+	return partner != null;
+    }
+
+    @Override
+    public boolean isPlayerProtected() {
+	return player.isInvulnerable() || player.hasShield();
+    }
+
+    /**
+     * Moves the player along the given direction (each axis in -1..1) and clamps
+     * it to the world bounds.
+     */
+    public void movePlayer(final float directionX, final float directionY, final double dt) {
+	movePlayer(0, directionX, directionY, dt);
+    }
+
+    /**
+     * Moves the given ship like {@link #movePlayer(float, float, double)}.
+     */
+    public void movePlayer(final int index, final float directionX, final float directionY, final double dt) {
+	final var ship = getPlayer(index);
+	if (gameState != GameState.PLAYING || !ship.isAlive()) {
+	    return;
+	}
+	var dx = directionX;
+	var dy = directionY;
+
+	// Normalize diagonal movement
+	if (dx != 0 && dy != 0) {
+	    final var inv = (float) (1 / Math.sqrt(2));
+	    dx *= inv;
+	    dy *= inv;
+	}
+
+	final var moveX = (float) (dx * PLAYER_SPEED * dt);
+	final var moveY = (float) (dy * PLAYER_SPEED * dt);
+	ship.move(moveX, moveY);
+
+	// Clamp to world bounds
+	final var maxX = Math.max(0, width - ship.getWidth());
+	final var maxY = Math.max(0, height - ship.getHeight());
+	var clampedX = ship.getX();
+	var clampedY = ship.getY();
+	if (clampedX < 0) {
+	    clampedX = 0;
+	} else if (clampedX > maxX) {
+	    clampedX = maxX;
+	}
+	if (clampedY < 0) {
+	    clampedY = 0;
+	} else if (clampedY > maxY) {
+	    clampedY = maxY;
+	}
+	if (clampedX != ship.getX() || clampedY != ship.getY()) {
+	    ship.setPosition(clampedX, clampedY);
+	}
+    }
+
+    /**
+     * Returns a seed for a new world. When {@code game.seed} is set the seed is
+     * derived from it and the stream number, so runs such as stress tests are
+     * reproducible while the worlds of several game stations still differ;
+     * otherwise it is random.
+     */
+    public static long newSeed(final int stream) {
+	final var seed = Long.getLong("game.seed");
+	return seed != null ? Rng.mix(seed.longValue() + stream) : new SecureRandom().nextLong();
+    }
+
+    /**
+     * Restarts the random sequence from the given seed, so copies of one world
+     * can explore different futures.
+     */
+    public void reseed(final long seed) {
+	this.seed = seed;
+	random.setSeed(seed);
+    }
+
+    public final void reset() {
+	// Co-op ships start side by side
+	final var startX = partner != null ? width / 3f - 16f : width / 2f - 16f;
+	if (player == null) {
+	    player = new Player(startX, height - 80f, timers);
+	} else {
+	    player.reset(startX, height - 80f);
+	}
+	if (partner != null) {
+	    partner.reset(width * 2 / 3f - 16f, height - 80f);
+	}
+
+	asteroidPool.freeAll(asteroids);
+	bulletPool.freeAll(bullets);
+	particlePool.freeAll(particles);
+	starPool.freeAll(stars);
+	weaponUpgradePool.freeAll(weaponUpgrades);
+	powerUpPool.freeAll(powerUps);
+
+	// Initialize some stars to fill the screen
+	for (var i = 0; i < 80; i++) {
+	    final var x = random.nextFloat() * width;
+	    final var y = random.nextFloat() * height;
+	    spawnStar(x, y);
+	}
+
+	asteroidSpawn.cancel();
+	difficulty.cancel();
+	weaponSpawn.cancel();
+	powerUpSpawn.cancel();
+	screenShake.cancel();
+	pendingTicks = 0;
+	spawnInterval = initialSpawnInterval;
+	asteroidsDodged = 0;
+	asteroidsDestroyed = 0;
+	starSpawnTimer = 0;
+	currentLevel = 1;
+	asteroidsDestroyedThisLevel = 0;
+	asteroidSpeedMultiplier = 1.0f;
+	screenShakeIntensity = 0;
+	setGameState(GameState.MENU);
+    }
+
+    public void resize(final int newWidth, final int newHeight) {
+	this.width = newWidth;
+	this.height = newHeight;
+    }
+
+    /**
+     * Puts this world back into a state saved earlier with {@link #copyTo},
+     * for rollback. Unlike a copy, the world keeps emitting JFR events, except
+     * while {@link #setResimulating resimulating}.
+     */
+    public void restore(final World saved) {
+	saved.copyState(this);
+    }
+
+    private void spawnAsteroid(final float y) {
+	final var table = spawnDirector.forLevel(currentLevel);
+	final var type = table.asteroidType(random);
+	final var asteroid = asteroidPool.obtain();
+	asteroid.reset(random.nextFloat() * (width - 50), y, type, random);
+	asteroids.add(asteroid);
+
+	// Load mode forces a multi-spawn on every spawn
+	final var extraCount = stress != null && stress.multiSpawn() > 0 ? stress.multiSpawn()
+		: table.extraCount(currentLevel, random);
+	spawnTotal += 1 + extraCount;
+	if (emitsEvents()) {
+	    SpawnEvent.emit("Asteroid", type, 1 + extraCount, currentLevel);
+	}
+	for (var i = 0; i < extraCount; i++) {
+	    final var extra = asteroidPool.obtain();
+	    extra.reset(random.nextFloat() * (width - 50), y - (i + 1) * 30, table.asteroidType(random), random);
+	    asteroids.add(extra);
+	}
+    }
+
+    private void spawnPowerUp() {
+	final var x = random.nextFloat() * (width - 50);
+	final var powerUpType = spawnDirector.forLevel(currentLevel).powerUp(random);
+	final var powerUp = powerUpPool.obtain();
+	powerUp.reset(x, -50, powerUpType);
+	powerUps.add(powerUp);
+	spawnTotal++;
+	if (emitsEvents()) {
+	    SpawnEvent.emit("PowerUp", powerUpType, 1, currentLevel);
+	}
+    }
+
+    private void setGameState(final GameState newState) {
+	if (newState == gameState) {
+	    return;
+	}
+	if (emitsEvents()) {
+	    GameStateEvent.emit(gameState, newState, currentLevel);
+	}
+	gameState = newState;
+    }
+
+    /**
+     * Switches between one ship and two ships sharing the asteroid field. Only
+     * possible in the menu; moves the ships to their start positions.
+     */
+    public void setCoop(final boolean coop) {
+	if (gameState != GameState.MENU) {
+	    throw new IllegalStateException("Co-op can only be changed in the menu");
+	}
+	setPartner(coop);
+	final var startX = coop ? width / 3f - 16f : width / 2f - 16f;
+	player.reset(startX, height - 80f);
+	if (coop) {
+	    partner.reset(width * 2 / 3f - 16f, height - 80f);
+	}
+    }
+
+    private void setPartner(final boolean present) {
+	if (present) {
+	    partner = partnerShip;
+	} else if (partner != null) {
+	    // Its timers must not fire any more
+	    partner.reset(0, 0);
+	    partner = null;
+	}
+    }
+
+    /**
+     * Sets the visual effect budget. Only call from the simulation thread.
+     */
+    public void setQuality(final QualityLevel level) {
+	this.quality = level;
+    }
+
+    /**
+     * Turns JFR events off while ticks that already ran are played again after
+     * a {@link #restore}, so they are not recorded twice.
+     */
+    public void setResimulating(final boolean resimulating) {
+	this.resimulating = resimulating;
+    }
+
+    private Player ship(final int index) {
+	return index == 0 ? player : partner;
+    }
+
+    private void spawnStars(final double dt) {
+	final var starLimit = (int) (MAX_STARS * quality.getStarDensity());
+	// Thin out immediately when the density drops
+	while (stars.size() > starLimit) {
+	    starPool.free(stars.remove(stars.size() - 1));
+	}
+	starSpawnTimer += dt;
+	if (starSpawnTimer >= STAR_SPAWN_INTERVAL && stars.size() < starLimit) {
+	    starSpawnTimer = 0;
+	    final var x = random.nextFloat() * width;
+	    spawnStar(x, -5);
+	}
+    }
+
+    private void spawnStar(final float x, final float y) {
+	final var star = starPool.obtain();
+	star.reset(x, y, random);
+	stars.add(star);
+    }
+
+    private void spawnWeaponUpgrade() {
+	final var x = random.nextFloat() * (width - 50);
+	final var weaponType = spawnDirector.forLevel(currentLevel).weapon(random);
+	final var upgrade = weaponUpgradePool.obtain();
+	upgrade.reset(x, -50, weaponType);
+	weaponUpgrades.add(upgrade);
+	spawnTotal++;
+	if (emitsEvents()) {
+	    SpawnEvent.emit("WeaponUpgrade", weaponType, 1, currentLevel);
+	}
+    }
+
+    /**
+     * Leaves the menu and starts playing.
+     */
+    public void startGame() {
+	startGame(1);
+    }
+
+    /**
+     * Leaves the menu and starts playing at the given level, with the speed and
+     * spawn rate that level would have reached through normal progression.
+     */
+    public void startGame(final int level) {
+	if (gameState != GameState.MENU) {
+	    return;
+	}
+	while (currentLevel < level) {
+	    advanceLevel();
+	}
+	final var table = spawnDirector.forLevel(currentLevel);
+	asteroidSpawn.scheduleSeconds(spawnInterval);
+	difficulty.scheduleSeconds(DIFFICULTY_INTERVAL);
+	weaponSpawn.scheduleSeconds(table.getWeaponInterval());
+	powerUpSpawn.scheduleSeconds(table.getPowerUpInterval());
+	setGameState(GameState.PLAYING);
+    }
+
+    /**
+     * Switches the world into the stress load mode and starts playing at the
+     * configured level.
+     */
+    public void startStress(final StressConfig config) {
+	stress = config;
+	startGame(config.level());
+    }
+
+    /**
+     * Hash of the complete simulation state: the ships, every asteroid, bullet
+     * and pickup by the exact bits of its floats, all timers, the level and
+     * difficulty and the random generator. Worlds started from the same seed
+     * and fed the same inputs hash alike after every tick, which is how peers in
+     * lockstep detect a desync. Particles and stars only count by number; they
+     * do not affect play, and their random draws are covered by the generator.
+     */
+    public long stateHash() {
+	var hash = 0L;
+	for (final var subsystem : SUBSYSTEMS) {
+	    hash = StateHash.add(hash, subsystemHash(subsystem));
+	}
+	return StateHash.finish(hash);
+    }
+
+    /**
+     * Hashes every part of the state separately into the array from the
+     * offset on, in {@link StateSubsystem} order. Covers the same state as
+     * {@link #stateHash()}, allocation-free and cheap enough for every tick.
+     */
+    public void stateHashes(final long[] hashes, final int offset) {
+	for (final var subsystem : SUBSYSTEMS) {
+	    hashes[offset + subsystem.ordinal()] = StateHash.finish(subsystemHash(subsystem));
+	}
+    }
+
+    private long subsystemHash(final StateSubsystem subsystem) {
+	var hash = StateHash.add(0, subsystem.ordinal());
+	switch (subsystem) {
+	case WORLD -> {
+	    hash = StateHash.add(hash, gameState.ordinal());
+	    hash = StateHash.add(hash, width);
+	    hash = StateHash.add(hash, height);
+	    hash = StateHash.add(hash, currentLevel);
+	    hash = StateHash.add(hash, asteroidsDestroyedThisLevel);
+	    hash = StateHash.add(hash, asteroidsDodged);
+	    hash = StateHash.add(hash, asteroidsDestroyed);
+	    hash = StateHash.add(hash, asteroidSpeedMultiplier);
+	    hash = StateHash.add(hash, spawnInterval);
+	    hash = StateHash.add(hash, starSpawnTimer);
+	    hash = StateHash.add(hash, Double.doubleToRawLongBits(pendingTicks));
+	}
+	case RANDOM -> hash = StateHash.add(hash, random.getState());
+	case TIMERS -> {
+	    hash = StateHash.add(hash, timers.getTick());
+	    hash = StateHash.add(hash, asteroidSpawn.remainingTicks());
+	    hash = StateHash.add(hash, difficulty.remainingTicks());
+	    hash = StateHash.add(hash, weaponSpawn.remainingTicks());
+	    hash = StateHash.add(hash, powerUpSpawn.remainingTicks());
+	    hash = StateHash.add(hash, screenShake.remainingTicks());
+	    for (var i = 0; i < getPlayerCount(); i++) {
+		hash = ship(i).hashTimers(hash);
+	    }
+	}
+	case PLAYERS -> {
+	    hash = StateHash.add(hash, getPlayerCount());
+	    for (var i = 0; i < getPlayerCount(); i++) {
+		hash = ship(i).hash(hash);
+	    }
+	}
+	case ASTEROIDS -> {
+	    hash = StateHash.add(hash, asteroids.size());
+	    for (var i = 0; i < asteroids.size(); i++) {
+		final var asteroid = asteroids.get(i);
+		hash = StateHash.add(hash, asteroid.getX());
+		hash = StateHash.add(hash, asteroid.getY());
+		hash = StateHash.add(hash, asteroid.getVelocityX());
+		hash = StateHash.add(hash, asteroid.getVelocityY());
+		hash = StateHash.add(hash, asteroid.getType().ordinal());
+		hash = StateHash.add(hash, asteroid.getHitPoints());
+	    }
+	}
+	case BULLETS -> {
+	    hash = StateHash.add(hash, bullets.size());
+	    for (var i = 0; i < bullets.size(); i++) {
+		final var bullet = bullets.get(i);
+		hash = StateHash.add(hash, bullet.getX());
+		hash = StateHash.add(hash, bullet.getY());
+		hash = StateHash.add(hash, bullet.getVelocityX());
+		hash = StateHash.add(hash, bullet.getVelocityY());
+		hash = StateHash.add(hash, bullet.getOwner());
+	    }
+	}
+	case PICKUPS -> {
+	    hash = StateHash.add(hash, weaponUpgrades.size());
+	    for (var i = 0; i < weaponUpgrades.size(); i++) {
+		final var upgrade = weaponUpgrades.get(i);
+		hash = StateHash.add(hash, upgrade.getX());
+		hash = StateHash.add(hash, upgrade.getY());
+		hash = StateHash.add(hash, upgrade.getWeaponType().ordinal());
+	    }
+	    hash = StateHash.add(hash, powerUps.size());
+	    for (var i = 0; i < powerUps.size(); i++) {
+		final var powerUp = powerUps.get(i);
+		hash = StateHash.add(hash, powerUp.getX());
+		hash = StateHash.add(hash, powerUp.getY());
+		hash = StateHash.add(hash, powerUp.getPowerUpType().ordinal());
+	    }
+	}
+	case EFFECTS -> {
+	    hash = StateHash.add(hash, particles.size());
+	    hash = StateHash.add(hash, stars.size());
+	}
+	}
+	return hash;
+    }
+
+    public void togglePause() {
+	if (gameState == GameState.PLAYING) {
+	    setGameState(GameState.PAUSED);
+	} else if (gameState == GameState.PAUSED) {
+	    setGameState(GameState.PLAYING);
+	}
+    }
+
+    public void update(final double dt) {
+	if (gameState == GameState.PLAYING) {
+	    updatePlaying(dt);
+	} else if (gameState == GameState.MENU) {
+	    // Update stars in menu for animated background
+	    spawnStars(dt);
+	    updateStars(dt);
+	}
+    }
+
+    private void updatePlaying(final double dt) {
+	if (stress != null) {
+	    applyStress();
+	}
+
+	// Fire the player effect, spawn and difficulty timers that are due. The
+	// loops run at TICKS_PER_SECOND, so this is one tick per update.
+	pendingTicks += dt * TICKS_PER_SECOND;
+	final var ticks = Math.round(pendingTicks);
+	pendingTicks -= ticks;
+	timers.advance(ticks);
+
+	// Update screen shake
+	if (screenShake.isActive()) {
+	    screenShakeIntensity *= 0.9f;
+	}
+
+	// Spawn stars
+	spawnStars(dt);
+
+	// Calculate slow-mo effect
+	final var slowMoMultiplier = hasSlowMotion() ? 0.5f : 1.0f;
+
+	// Update stars
+	updateStars(dt);
+
+	// Update weapon upgrades
+	var kept = 0;
+	for (var i = 0; i < weaponUpgrades.size(); i++) {
+	    final var upgrade = weaponUpgrades.get(i);
+	    upgrade.updatePosition(dt);
+
+	    final var collector = collidingShip(upgrade);
+	    if (collector >= 0) {
+		events.pickup(collector, upgrade.getWeaponType());
+		events.explosion(upgrade.getX() + upgrade.getWidth() / 2, upgrade.getY() + upgrade.getHeight() / 2, 10);
+		weaponUpgradePool.free(upgrade);
+		continue;
+	    }
+
+	    if (upgrade.isOffScreen(height)) {
+		weaponUpgradePool.free(upgrade);
+	    } else {
+		weaponUpgrades.set(kept++, upgrade);
+	    }
+	}
+	truncate(weaponUpgrades, kept);
+
+	// Update power-ups
+	kept = 0;
+	for (var i = 0; i < powerUps.size(); i++) {
+	    final var powerUp = powerUps.get(i);
+	    powerUp.updatePosition(dt);
+
+	    final var collector = collidingShip(powerUp);
+	    if (collector >= 0) {
+		events.pickup(collector, powerUp.getPowerUpType());
+		events.explosion(powerUp.getX() + powerUp.getWidth() / 2, powerUp.getY() + powerUp.getHeight() / 2, 15);
+		powerUpPool.free(powerUp);
+		continue;
+	    }
+
+	    if (powerUp.isOffScreen(height)) {
+		powerUpPool.free(powerUp);
+	    } else {
+		powerUps.set(kept++, powerUp);
+	    }
+	}
+	truncate(powerUps, kept);
+
+	// Update bullets
+	kept = 0;
+	for (var i = 0; i < bullets.size(); i++) {
+	    final var bullet = bullets.get(i);
+	    bullet.updatePosition(dt);
+
+	    if (bullet.isOffScreen() || hitAsteroid(bullet)) {
+		bulletPool.free(bullet);
+	    } else {
+		bullets.set(kept++, bullet);
+	    }
+	}
+	truncate(bullets, kept);
+
+	// Apply pickups and hits before the asteroids move, so splitter children
+	// move and collide on the tick they split off and a level-up already
+	// speeds up this tick's asteroids
+	resolveEvents();
+
+	// Update asteroids, dropping those destroyed by bullets
+	kept = 0;
+	for (var i = 0; i < asteroids.size(); i++) {
+	    final var asteroid = asteroids.get(i);
+	    if (asteroid.isDestroyed()) {
+		asteroidPool.free(asteroid);
+		continue;
+	    }
+	    asteroid.updatePosition(dt, asteroidSpeedMultiplier * slowMoMultiplier);
+
+	    final var hit = collidingShip(asteroid);
+	    if (hit >= 0) {
+		events.damage(hit, 1);
+		events.explosion(asteroid.getX() + asteroid.getWidth() / 2, asteroid.getY() + asteroid.getHeight() / 2,
+			20);
+		asteroidPool.free(asteroid);
+		continue;
+	    }
+
+	    if (asteroid.isOffScreen(height)) {
+		asteroidPool.free(asteroid);
+		asteroidsDodged++;
+		for (var s = 0; s < getPlayerCount(); s++) {
+		    if (ship(s).isAlive()) {
+			events.score(s, 2, false);
+		    }
+		}
+		continue;
+	    }
+	    asteroids.set(kept++, asteroid);
+	}
+	truncate(asteroids, kept);
+
+	resolveEvents();
+
+	// Update particles
+	kept = 0;
+	for (var i = 0; i < particles.size(); i++) {
+	    final var particle = particles.get(i);
+	    particle.updatePosition(dt);
+	    if (particle.isExpired()) {
+		particlePool.free(particle);
+	    } else {
+		particles.set(kept++, particle);
+	    }
+	}
+	truncate(particles, kept);
+
+	// Add passive score
+	for (var i = 0; i < getPlayerCount(); i++) {
+	    if (ship(i).isAlive()) {
+		ship(i).addScore((int) (dt * currentLevel));
+	    }
+	}
+    }
+
+    private void updateStars(final double dt) {
+	var kept = 0;
+	for (var i = 0; i < stars.size(); i++) {
+	    final var star = stars.get(i);
+	    star.updatePosition(dt);
+	    if (star.isOffScreen(height)) {
+		starPool.free(star);
+	    } else {
+		stars.set(kept++, star);
+	    }
+	}
+	truncate(stars, kept);
+    }
+
+    /**
+     * Checks one bullet against the asteroids and records the hit, returning
+     * whether the bullet was used up. Explosions, score, splitter children and
+     * level-ups are only recorded here and applied by {@link #resolveEvents}.
+     * A destroyed asteroid stays in the list until the asteroid pass drops it,
+     * so the list is never shifted here.
+     */
+    private boolean hitAsteroid(final Bullet bullet) {
+	for (var i = 0; i < asteroids.size(); i++) {
+	    final var asteroid = asteroids.get(i);
+	    if (asteroid.isDestroyed() || !bullet.collidesWith(asteroid)) {
+		continue;
+	    }
+	    if (!asteroid.takeDamage(1)) {
+		// Hit but not destroyed - smaller explosion
+		events.explosion(bullet.getX(), bullet.getY(), 5);
+		return true;
+	    }
+	    events.explosion(asteroid.getX() + asteroid.getWidth() / 2, asteroid.getY() + asteroid.getHeight() / 2, 15);
+	    if (asteroid.getType() == AsteroidType.SPLITTER && asteroid.getSize() > 20) {
+		events.spawnChildren(asteroid.getX(), asteroid.getY(), 2 + random.nextInt(2));
+	    }
+	    events.score(bullet.getOwner(), asteroid.getType().getScoreValue(), true);
+
+	    asteroidsDestroyed++;
+	    asteroidsDestroyedThisLevel++;
+	    if (asteroidsDestroyedThisLevel >= ASTEROIDS_PER_LEVEL) {
+		asteroidsDestroyedThisLevel = 0;
+		events.levelUp();
+	    }
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * Applies the events recorded so far in the order they happened, then
+     * clears the buffer. Runs after the bullet pass and again after the
+     * asteroid pass.
+     */
+    private void resolveEvents() {
+	for (var i = 0; i < events.size(); i++) {
+	    switch (events.type(i)) {
+	    case EXPLOSION -> createExplosion(events.x(i), events.y(i), events.value(i));
+	    case SCORE -> {
+		final var scorer = ship(events.player(i));
+		if (events.detail(i) != 0) {
+		    scorer.incrementCombo();
+		}
+		// Level factor applied here, so kills after a level-up in the same tick
+		// already count at the new level
+		scorer.addScore(events.value(i) * currentLevel);
+	    }
+	    case SPAWN_CHILD -> {
+		final var count = events.value(i);
+		for (var c = 0; c < count; c++) {
+		    final var angle = (float) (Math.PI * 2 * c / count);
+		    final var child = asteroidPool.obtain();
+		    child.reset(events.x(i) + (float) StrictMath.cos(angle) * 20,
+			    events.y(i) + (float) StrictMath.sin(angle) * 20, AsteroidType.NORMAL, random);
+		    asteroids.add(child);
+		}
+	    }
+	    case DAMAGE -> {
+		ship(events.player(i)).takeDamage(events.value(i));
+		addScreenShake(15f);
+		if (!isAnyShipAlive()) {
+		    setGameState(GameState.GAME_OVER);
+		}
+	    }
+	    case PICKUP -> {
+		final var collector = ship(events.player(i));
+		if (events.detail(i) == EventBuffer.PICKUP_WEAPON) {
+		    collector.upgradeWeapon(WEAPON_TYPES[events.value(i)]);
+		} else {
+		    collector.activatePowerUp(POWER_UP_TYPES[events.value(i)]);
+		}
+	    }
+	    case LEVEL_UP -> advanceLevel();
+	    default -> throw new IllegalArgumentException("Unexpected value: " + events.type(i));
+	    }
+	}
+	events.clear();
+    }
+
+    /**
+     * Drops everything from index {@code size} on, removing from the end so no
+     * elements are shifted and no view is allocated.
+     */
+    private static <T> void truncate(final List<T> list, final int size) {
+	for (var i = list.size() - 1; i >= size; i--) {
+	    list.remove(i);
+	}
+    }
+
+    /**
+     * Copies everything the renderer needs into the given snapshot. Only
+     * primitive data is copied, so the snapshot never references live entities.
+     */
+    public void writeSnapshot(final RenderSnapshot snapshot) {
+	snapshot.clear();
+	snapshot.gameState = gameState;
+
+	// Screen shake offsets are rolled here so the UI thread stays read-only
+	if (screenShake.isActive() && quality.hasScreenShake()) {
+	    snapshot.shakeX = (int) ((shakeRandom.nextFloat() - 0.5f) * 2 * screenShakeIntensity);
+	    snapshot.shakeY = (int) ((shakeRandom.nextFloat() - 0.5f) * 2 * screenShakeIntensity);
+	}
+
+	// Index loops, so copying does not allocate iterators or capturing lambdas
+	for (var i = 0; i < stars.size(); i++) {
+	    final var star = stars.get(i);
+	    snapshot.stars.add(star.getX(), star.getY(), star.getWidth(), star.getHeight(), star.getLayer(),
+		    star.getBrightness(), 0, 0);
+	}
+	for (var i = 0; i < asteroids.size(); i++) {
+	    final var asteroid = asteroids.get(i);
+	    snapshot.asteroids.add(asteroid.getX(), asteroid.getY(), asteroid.getSize(), asteroid.getSize(),
+		    asteroid.getType().ordinal(), asteroid.getHitPoints(), asteroid.getMaxHitPoints(), 0);
+	}
+	for (var i = 0; i < powerUps.size(); i++) {
+	    final var powerUp = powerUps.get(i);
+	    snapshot.powerUps.add(powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight(),
+		    powerUp.getPowerUpType().ordinal(), 0, 0, powerUp.getPulseTimer());
+	}
+	for (var i = 0; i < weaponUpgrades.size(); i++) {
+	    final var upgrade = weaponUpgrades.get(i);
+	    snapshot.weaponUpgrades.add(upgrade.getX(), upgrade.getY(), upgrade.getWidth(), upgrade.getHeight(),
+		    upgrade.getWeaponType().ordinal(), 0, 0, 0);
+	}
+	for (var i = 0; i < bullets.size(); i++) {
+	    final var bullet = bullets.get(i);
+	    snapshot.bullets.add(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight(), 0, 0, 0, 0);
+	}
+	for (var i = 0; i < particles.size(); i++) {
+	    final var particle = particles.get(i);
+	    snapshot.particles.add(particle.getX(), particle.getY(), particle.getWidth(), particle.getHeight(), 0, 0,
+		    0, particle.getAlpha());
+	}
+
+	snapshot.playerX = player.getX();
+	snapshot.playerY = player.getY();
+	snapshot.playerWidth = player.getWidth();
+	snapshot.playerHeight = player.getHeight();
+	snapshot.shield = player.hasShield();
+	snapshot.invulnerable = player.isInvulnerable();
+	snapshot.health = player.getHealth();
+	snapshot.score = player.getScore();
+	snapshot.comboCount = player.getComboCount();
+	snapshot.shieldTimer = player.hasShield() ? player.getShieldTimer() : 0;
+	snapshot.scoreMultiplierTimer = player.hasScoreMultiplier() ? player.getScoreMultiplierTimer() : 0;
+	snapshot.slowMotionTimer = player.hasSlowMotion() ? player.getSlowMotionTimer() : 0;
+	snapshot.weapon = player.getCurrentWeapon();
+	snapshot.weaponUpgradeTimer = player.getWeaponUpgradeTimeRemaining();
+	snapshot.coop = partner != null;
+	if (partner != null) {
+	    snapshot.partnerX = partner.getX();
+	    snapshot.partnerY = partner.getY();
+	    snapshot.partnerShield = partner.hasShield();
+	    snapshot.partnerInvulnerable = partner.isInvulnerable();
+	    snapshot.partnerHealth = partner.getHealth();
+	    snapshot.partnerScore = partner.getScore();
+	}
+	snapshot.level = currentLevel;
+	snapshot.asteroidsDodged = asteroidsDodged;
+	snapshot.asteroidsDestroyed = asteroidsDestroyed;
+	// Identifies the simulation state behind the picture, for stutter dumps
+	snapshot.seed = seed;
+	snapshot.tick = timers.getTick();
+	stateHashes(snapshot.stateHashes, 0);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.seerainer.game;
+
+/**
+ * Read-only view of a {@link World} for code that decides on player input, such
+ * as bots. Positions are in pixels with the origin at the top left, velocities
+ * in pixels per second including the level speed factor and slow motion.
+ * Entity indices are only stable within one tick.
+ */
+public interface WorldView {
+
+    /**
+     * Copies the complete simulation state into the target world, which then
+     * plays on independently of this one. Lets planning bots try inputs
+     * without touching the real game; the target's entity pools are reused, so
+     * copying into the same world again is cheap.
+     */
+    void copyTo(World target);
+
+    int getAsteroidCount();
+
+    float getAsteroidSize(int index);
+
+    float getAsteroidVelocityX(int index);
+
+    float getAsteroidVelocityY(int index);
+
+    float getAsteroidX(int index);
+
+    float getAsteroidY(int index);
+
+    int getCurrentLevel();
+
+    GameState getGameState();
+
+    int getHeight();
+
+    /** Weapon upgrades and power-ups falling towards the player. */
+    int getPickupCount();
+
+    /** Horizontal center of a pickup. */
+    float getPickupX(int index);
+
+    /** Vertical center of a pickup. */
+    float getPickupY(int index);
+
+    float getPlayerHeight();
+
+    /** Distance the player covers per second along each axis. */
+    float getPlayerSpeed();
+
+    float getPlayerWidth();
+
+    float getPlayerX();
+
+    float getPlayerY();
+
+    int getWidth();
+
+    /** Whether a collision would currently cost no health. */
+    boolean isPlayerProtected();
+}
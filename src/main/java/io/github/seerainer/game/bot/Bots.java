@@ -0,0 +1,22 @@
+package io.github.seerainer.game.bot;
+
+import java.util.Locale;
+
+/**
+ * Creates bots by name, for {@code --bot=<name>} and {@code game.bot}.
+ */
+public class Bots {
+    public static final String DEFAULT = "dodge";
+
+    private Bots() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    public static Controller create(final String name) {
+	return switch (name.trim().toLowerCase(Locale.ROOT)) {
+	case "dodge" -> new DodgeBot();
+	case "planner" -> new PlannerBot();
+	default -> throw new IllegalArgumentException("Unknown bot: " + name);
+	};
+    }
+}
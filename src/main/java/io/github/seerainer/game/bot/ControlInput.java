@@ -0,0 +1,38 @@
+package io.github.seerainer.game.bot;
+
+/**
+ * Player input for one tick: a movement direction (each axis in -1..1) and
+ * whether to fire. Reused from tick to tick.
+ */
+public class ControlInput {
+    private float directionX;
+    private float directionY;
+    private boolean fire;
+
+    public void clear() {
+	directionX = 0;
+	directionY = 0;
+	fire = false;
+    }
+
+    public float getDirectionX() {
+	return directionX;
+    }
+
+    public float getDirectionY() {
+	return directionY;
+    }
+
+    public boolean isFire() {
+	return fire;
+    }
+
+    public void move(final float x, final float y) {
+	directionX = Math.clamp(x, -1f, 1f);
+	directionY = Math.clamp(y, -1f, 1f);
+    }
+
+    public void setFire(final boolean fire) {
+	this.fire = fire;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.seerainer.game.bot;
+
+import io.github.seerainer.game.WorldView;
+
+/**
+ * Decides the player's input for one tick from a read-only view of the world;
+ * the automated alternative to the keyboard. Called on the simulation thread
+ * once per tick while a game is being played.
+ */
+public interface Controller {
+
+    /**
+     * Fills in the input for the coming tick. The input starts out cleared.
+     */
+    void control(WorldView world, ControlInput input);
+
+    /**
+     * Called when a new game starts, to drop state kept between ticks.
+     */
+    default void reset() {
+	// Stateless by default
+    }
+}
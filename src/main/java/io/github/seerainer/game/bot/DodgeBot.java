@@ -0,0 +1,174 @@
+package io.github.seerainer.game.bot;
+
+import java.util.Arrays;
+
+import io.github.seerainer.game.WorldView;
+
+/**
+ * Reference bot: fires continuously and picks, each tick, the one of nine
+ * movement directions whose straight-line path over the next moments stays
+ * clear of the asteroids' extrapolated paths. Among safe directions it prefers
+ * staying low on the screen, lining up with the nearest asteroid above and
+ * collecting pickups. Plays long enough to level up, pick things up and split
+ * splitters, without allocating per tick.
+ */
+public class DodgeBot implements Controller {
+    private static final float[] DIRECTIONS_X = { 0, -1, 1, 0, 0, -1, -1, 1, 1 };
+    private static final float[] DIRECTIONS_Y = { 0, 0, 0, -1, 1, -1, 1, -1, 1 };
+    private static final float DIAGONAL = (float) (1 / Math.sqrt(2));
+    // Look-ahead in seconds, checked at STEPS points
+    private static final float HORIZON = 0.6f;
+    private static final int STEPS = 12;
+    // Extra clearance around the player hitbox in pixels
+    private static final float MARGIN = 6f;
+    // Distance above the bottom edge the bot tries to hold
+    private static final float HOME_OFFSET = 40f;
+    private static final float COLLISION_COST = 100f;
+    private static final float TURN_COST = 0.5f;
+    private int[] nearby = new int[64];
+    private int previous;
+
+    private static float clamp(final float value, final float max) {
+	return Math.clamp(value, 0, Math.max(0, max));
+    }
+
+    /**
+     * Collects the asteroids that can reach the area the player can reach
+     * within the horizon.
+     */
+    private int collectNearby(final WorldView world) {
+	final var reach = world.getPlayerSpeed() * HORIZON;
+	final var left = world.getPlayerX() - reach - MARGIN;
+	final var right = world.getPlayerX() + world.getPlayerWidth() + reach + MARGIN;
+	final var top = world.getPlayerY() - reach - MARGIN;
+	final var bottom = world.getPlayerY() + world.getPlayerHeight() + reach + MARGIN;
+	var count = 0;
+	for (var i = 0; i < world.getAsteroidCount(); i++) {
+	    final var size = world.getAsteroidSize(i);
+	    final var x = world.getAsteroidX(i);
+	    final var y = world.getAsteroidY(i);
+	    final var travelX = world.getAsteroidVelocityX(i) * HORIZON;
+	    final var travelY = world.getAsteroidVelocityY(i) * HORIZON;
+	    if (Math.max(x, x + travelX) + size < left || Math.min(x, x + travelX) > right
+		    || Math.max(y, y + travelY) + size < top || Math.min(y, y + travelY) > bottom) {
+		continue;
+	    }
+	    if (count == nearby.length) {
+		nearby = Arrays.copyOf(nearby, count * 2);
+	    }
+	    nearby[count++] = i;
+	}
+	return count;
+    }
+
+    @Override
+    public void control(final WorldView world, final ControlInput input) {
+	input.setFire(true);
+	final var nearbyCount = collectNearby(world);
+	final var target = lowestAsteroidAbove(world);
+	final var pickup = nearestPickup(world);
+
+	var best = 0;
+	var bestCost = Float.MAX_VALUE;
+	for (var d = 0; d < DIRECTIONS_X.length; d++) {
+	    final var cost = cost(world, d, nearbyCount, target, pickup) + (d != previous ? TURN_COST : 0);
+	    if (cost < bestCost) {
+		bestCost = cost;
+		best = d;
+	    }
+	}
+	previous = best;
+	input.move(DIRECTIONS_X[best], DIRECTIONS_Y[best]);
+    }
+
+    private float cost(final WorldView world, final int direction, final int nearbyCount, final int target,
+	    final int pickup) {
+	var dx = DIRECTIONS_X[direction];
+	var dy = DIRECTIONS_Y[direction];
+	if (dx != 0 && dy != 0) {
+	    dx *= DIAGONAL;
+	    dy *= DIAGONAL;
+	}
+	final var speed = world.getPlayerSpeed();
+	final var width = world.getPlayerWidth();
+	final var height = world.getPlayerHeight();
+	final var maxX = world.getWidth() - width;
+	final var maxY = world.getHeight() - height;
+	final var danger = world.isPlayerProtected() ? 0.1f : 1f;
+
+	var cost = 0f;
+	for (var s = 1; s <= STEPS; s++) {
+	    final var t = HORIZON * s / STEPS;
+	    final var x = clamp(world.getPlayerX() + dx * speed * t, maxX);
+	    final var y = clamp(world.getPlayerY() + dy * speed * t, maxY);
+	    for (var n = 0; n < nearbyCount; n++) {
+		final var i = nearby[n];
+		final var size = world.getAsteroidSize(i);
+		final var ax = world.getAsteroidX(i) + world.getAsteroidVelocityX(i) * t;
+		final var ay = world.getAsteroidY(i) + world.getAsteroidVelocityY(i) * t;
+		if (ax < x + width + MARGIN && ax + size + MARGIN > x && ay < y + height + MARGIN
+			&& ay + size + MARGIN > y) {
+		    // Earlier hits are worse; they leave no time to correct
+		    cost += danger * COLLISION_COST * (STEPS - s + 1);
+		}
+	    }
+	}
+
+	// Preferences for where the first step leads
+	final var t = HORIZON / STEPS;
+	final var x = clamp(world.getPlayerX() + dx * speed * t, maxX);
+	final var y = clamp(world.getPlayerY() + dy * speed * t, maxY);
+	final var centerX = x + width / 2;
+	cost += Math.abs(y - (maxY - HOME_OFFSET)) * 0.05f;
+	if (pickup >= 0) {
+	    cost += (Math.abs(world.getPickupX(pickup) - centerX) + Math.abs(world.getPickupY(pickup) - y)) * 0.03f;
+	} else if (target >= 0) {
+	    cost += Math.abs(world.getAsteroidX(target) + world.getAsteroidSize(target) / 2 - centerX) * 0.02f;
+	}
+	return cost;
+    }
+
+    /**
+     * Returns the asteroid above the player that is closest to it, the next one
+     * worth shooting, or -1.
+     */
+    private static int lowestAsteroidAbove(final WorldView world) {
+	var lowest = -1;
+	var lowestY = -Float.MAX_VALUE;
+	for (var i = 0; i < world.getAsteroidCount(); i++) {
+	    final var y = world.getAsteroidY(i);
+	    if (y < world.getPlayerY() && y > lowestY) {
+		lowestY = y;
+		lowest = i;
+	    }
+	}
+	return lowest;
+    }
+
+    /**
+     * Returns the pickup closest to the player that is still above it, or -1.
+     */
+    private static int nearestPickup(final WorldView world) {
+	var nearest = -1;
+	var nearestDistance = Float.MAX_VALUE;
+	final var playerX = world.getPlayerX() + world.getPlayerWidth() / 2;
+	final var playerY = world.getPlayerY();
+	for (var i = 0; i < world.getPickupCount(); i++) {
+	    final var y = world.getPickupY(i);
+	    if (y > playerY + world.getPlayerHeight()) {
+		continue;
+	    }
+	    final var distance = Math.abs(world.getPickupX(i) - playerX) + Math.abs(y - playerY);
+	    if (distance < nearestDistance) {
+		nearestDistance = distance;
+		nearest = i;
+	    }
+	}
+	return nearest;
+    }
+
+    @Override
+    public void reset() {
+	previous = 0;
+    }
+}
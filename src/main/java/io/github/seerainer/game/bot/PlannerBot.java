@@ -0,0 +1,189 @@
+package io.github.seerainer.game.bot;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.WorldView;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.util.Rng;
+
+/**
+ * Monte Carlo planning bot. Every few ticks it copies the world once per
+ * rollout, holds each of the nine movement directions for a moment and then
+ * plays on with random inputs, each rollout with its own random future. The
+ * rollouts run in parallel on a fork-join pool; the direction whose rollouts
+ * lose the least health and gain the most score is played until the next
+ * decision. Fires continuously.
+ * <p>
+ * Costs about {@code 9 * rollouts * horizon / interval} simulation ticks per
+ * game tick, which makes it both a strong player at high levels and a
+ * workload that keeps every core busy. Decisions only depend on the world and
+ * the seed, not on how the pool schedules the rollouts.
+ */
+public class PlannerBot implements Controller {
+    private static final float[] DIRECTIONS_X = { 0, -1, 1, 0, 0, -1, -1, 1, 1 };
+    private static final float[] DIRECTIONS_Y = { 0, 0, 0, -1, 1, -1, 1, -1, 1 };
+    private static final int DEFAULT_ROLLOUTS = 6;
+    private static final int DEFAULT_HORIZON = 90;
+    private static final int DEFAULT_INTERVAL = 6;
+    // Ticks the candidate direction is held before the random policy takes over
+    private static final int COMMIT_TICKS = 30;
+    // Random policy: ticks a random direction is held
+    private static final int MIN_HOLD = 8;
+    private static final int MAX_HOLD = 30;
+    // Destroyed asteroids count on top of their score, so the bot hunts them
+    private static final double KILL_VALUE = 100;
+    private static final double HEALTH_COST = 1000;
+    private static final double GAME_OVER_COST = 10_000;
+    // Preference for the current direction, so near ties do not jitter
+    private static final double KEEP_BONUS = 5;
+    private final ForkJoinPool pool;
+    private final int rollouts;
+    private final int horizon;
+    private final int interval;
+    private final long seed;
+    private final double[] outcomes;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private WorldView source;
+    private long decisions;
+    private int direction;
+    private int ticksUntilDecision;
+
+    public PlannerBot() {
+	this(ForkJoinPool.commonPool(), DEFAULT_ROLLOUTS, DEFAULT_HORIZON, DEFAULT_INTERVAL, 0);
+    }
+
+    /**
+     * @param rollouts copies played per direction and decision
+     * @param horizon  ticks each rollout is played ahead
+     * @param interval ticks between decisions
+     * @param seed     base seed for the rollouts' random futures
+     */
+    public PlannerBot(final ForkJoinPool pool, final int rollouts, final int horizon, final int interval,
+	    final long seed) {
+	if (rollouts < 1 || horizon < 1 || interval < 1) {
+	    throw new IllegalArgumentException(
+		    "Rollouts, horizon and interval must be positive: " + rollouts + ", " + horizon + ", " + interval);
+	}
+	this.pool = pool;
+	this.rollouts = rollouts;
+	this.horizon = horizon;
+	this.interval = interval;
+	this.seed = seed;
+	this.outcomes = new double[DIRECTIONS_X.length * rollouts];
+    }
+
+    @Override
+    public void control(final WorldView world, final ControlInput input) {
+	input.setFire(true);
+	if (--ticksUntilDecision <= 0) {
+	    ticksUntilDecision = interval;
+	    direction = decide(world);
+	}
+	input.move(DIRECTIONS_X[direction], DIRECTIONS_Y[direction]);
+    }
+
+    private int decide(final WorldView world) {
+	source = world;
+	pool.invoke(new Rollouts(0, outcomes.length));
+	source = null;
+	decisions++;
+
+	var best = direction;
+	var bestValue = -Double.MAX_VALUE;
+	for (var d = 0; d < DIRECTIONS_X.length; d++) {
+	    var value = d == direction ? KEEP_BONUS : 0;
+	    for (var r = 0; r < rollouts; r++) {
+		value += outcomes[d * rollouts + r] / rollouts;
+	    }
+	    if (value > bestValue) {
+		bestValue = value;
+		best = d;
+	    }
+	}
+	return best;
+    }
+
+    @Override
+    public void reset() {
+	direction = 0;
+	ticksUntilDecision = 0;
+    }
+
+    /**
+     * Plays one rollout on this thread's copy of the world and returns its
+     * value: score gained minus the cost of lost health and game over.
+     */
+    private double rollout(final int index) {
+	final var local = scratch.get();
+	final var world = local.world;
+	source.copyTo(world);
+	world.setQuality(QualityLevel.MINIMAL);
+	// Same seeds for the same decision and rollout, wherever it runs
+	final var rolloutSeed = Rng.mix(seed + decisions * outcomes.length + index);
+	world.reseed(rolloutSeed);
+	local.policy.setSeed(~rolloutSeed);
+
+	final var player = world.getPlayer();
+	final var startHealth = player.getHealth();
+	final var startScore = player.getScore();
+	final var startKills = world.getAsteroidsDestroyed();
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	var moveX = DIRECTIONS_X[index / rollouts];
+	var moveY = DIRECTIONS_Y[index / rollouts];
+	var hold = COMMIT_TICKS;
+	for (var t = 0; t < horizon && world.getGameState() == GameState.PLAYING; t++) {
+	    if (--hold < 0) {
+		final var random = local.policy.nextInt(DIRECTIONS_X.length);
+		moveX = DIRECTIONS_X[random];
+		moveY = DIRECTIONS_Y[random];
+		hold = MIN_HOLD + local.policy.nextInt(MAX_HOLD - MIN_HOLD + 1);
+	    }
+	    world.movePlayer(moveX, moveY, dt);
+	    world.fire();
+	    world.update(dt);
+	}
+	var value = player.getScore() - startScore + (world.getAsteroidsDestroyed() - startKills) * KILL_VALUE
+		- (startHealth - player.getHealth()) * HEALTH_COST;
+	if (world.getGameState() == GameState.GAME_OVER) {
+	    value -= GAME_OVER_COST;
+	}
+	return value;
+    }
+
+    /**
+     * Splits the rollouts of one decision in halves until single rollouts are
+     * left; each writes only its own outcome slot.
+     */
+    private final class Rollouts extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	private final int from;
+	private final int to;
+
+	Rollouts(final int from, final int to) {
+	    this.from = from;
+	    this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+	    if (to - from == 1) {
+		outcomes[from] = rollout(from);
+		return;
+	    }
+	    final var middle = (from + to) >>> 1;
+	    invokeAll(new Rollouts(from, middle), new Rollouts(middle, to));
+	}
+    }
+
+    /**
+     * Per-thread copy of the world and random policy, reused for every rollout
+     * the thread plays.
+     */
+    private static final class Scratch {
+	private final World world = new World(1, 1);
+	private final Rng policy = new Rng(0);
+    }
+}
@@ -2,39 +2,29 @@ package io.github.seerainer.game.entities;
 
 import java.util.Random;
 
-import io.github.seerainer.game.GameApp;
-
 public class Asteroid extends Entity {
-    private static final Random random = GameApp.getRandom();
-    private final float velocityY;
-    private final float velocityX;
-    private final int size;
-    private final AsteroidType type;
+    private float velocityY;
+    private float velocityX;
+    private int size;
+    private AsteroidType type;
     private int hitPoints;
-    private final int maxHitPoints;
-
-    public Asteroid(final float x, final float y) {
-	this(x, y, AsteroidType.NORMAL);
+    private int maxHitPoints;
+
+    /**
+     * Creates an asteroid for a pool; {@link #reset} places it and rolls its
+     * size and speed.
+     */
+    public Asteroid() {
+	super(0, 0, 0, 0);
     }
 
-    public Asteroid(final float x, final float y, final AsteroidType type) {
-	super(x, y, 0, 0);
-	this.type = type;
-	// Random size between 20-50 pixels (smaller for splitter children)
-	this.size = type == AsteroidType.SPLITTER ? 15 + random.nextInt(26) : 20 + random.nextInt(31);
-	this.width = size;
-	this.height = size;
-
-	// Random downward speed (150-400 pixels per second) modified by type
-	final var baseSpeed = 150f + random.nextFloat() * 250f;
-	this.velocityY = baseSpeed * type.getSpeedMultiplier();
-
-	// Small random horizontal drift (-50 to 50 pixels per second)
-	this.velocityX = -50f + random.nextFloat() * 100f;
+    public Asteroid(final float x, final float y, final Random random) {
+	this(x, y, AsteroidType.NORMAL, random);
+    }
 
-	// Set hit points based on type
-	this.hitPoints = type.getHitPoints();
-	this.maxHitPoints = type.getHitPoints();
+    public Asteroid(final float x, final float y, final AsteroidType type, final Random random) {
+	this();
+	reset(x, y, type, random);
     }
 
     public boolean collidesWith(final Entity other) {
@@ -42,6 +32,16 @@ public class Asteroid extends Entity {
 		&& y + height > other.getY();
     }
 
+    public void copyFrom(final Asteroid other) {
+	super.copyFrom(other);
+	this.velocityX = other.velocityX;
+	this.velocityY = other.velocityY;
+	this.size = other.size;
+	this.type = other.type;
+	this.hitPoints = other.hitPoints;
+	this.maxHitPoints = other.maxHitPoints;
+    }
+
     public int getHitPoints() {
 	return hitPoints;
     }
@@ -58,6 +58,22 @@ public class Asteroid extends Entity {
 	return type;
     }
 
+    public float getVelocityX() {
+	return velocityX;
+    }
+
+    public float getVelocityY() {
+	return velocityY;
+    }
+
+    /**
+     * Whether bullets have used up the hit points; the world drops destroyed
+     * asteroids in its next asteroid pass.
+     */
+    public boolean isDestroyed() {
+	return hitPoints <= 0;
+    }
+
     public boolean isOffScreen(final int canvasHeight) {
 	return y > canvasHeight;
     }
@@ -67,6 +83,31 @@ public class Asteroid extends Entity {
 	// Handled by GameApp
     }
 
+    /**
+     * Places the asteroid and rolls its size and speed from the world's
+     * generator.
+     */
+    public void reset(final float x1, final float y1, final AsteroidType type1, final Random random) {
+	this.x = x1;
+	this.y = y1;
+	this.type = type1;
+	// Random size between 20-50 pixels (smaller for splitter children)
+	this.size = type == AsteroidType.SPLITTER ? 15 + random.nextInt(26) : 20 + random.nextInt(31);
+	this.width = size;
+	this.height = size;
+
+	// Random downward speed (150-400 pixels per second) modified by type
+	final var baseSpeed = 150f + random.nextFloat() * 250f;
+	this.velocityY = baseSpeed * type.getSpeedMultiplier();
+
+	// Small random horizontal drift (-50 to 50 pixels per second)
+	this.velocityX = -50f + random.nextFloat() * 100f;
+
+	// Set hit points based on type
+	this.hitPoints = type.getHitPoints();
+	this.maxHitPoints = type.getHitPoints();
+    }
+
     public boolean takeDamage(final int damage) {
 	hitPoints -= damage;
 	return hitPoints <= 0;
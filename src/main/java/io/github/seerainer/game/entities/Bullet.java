@@ -4,11 +4,19 @@ public class Bullet extends Entity {
     private static final float SPEED = 800f; // pixels per second
     private float velocityY;
     private float velocityX;
+    // Ship that fired the bullet, credited with its hits
+    private int owner;
+
+    /**
+     * Creates a bullet for a pool; {@link #reset} places it.
+     */
+    public Bullet() {
+	super(0, 0, 4, 12);
+    }
 
     public Bullet(final float x, final float y) {
-	super(x, y, 4, 12);
-	this.velocityY = -SPEED; // Move upward
-	this.velocityX = 0;
+	this();
+	reset(x, y);
     }
 
     public boolean collidesWith(final Entity other) {
@@ -16,6 +24,25 @@ public class Bullet extends Entity {
 		&& y + height > other.getY();
     }
 
+    public void copyFrom(final Bullet other) {
+	super.copyFrom(other);
+	this.velocityX = other.velocityX;
+	this.velocityY = other.velocityY;
+	this.owner = other.owner;
+    }
+
+    public int getOwner() {
+	return owner;
+    }
+
+    public float getVelocityX() {
+	return velocityX;
+    }
+
+    public float getVelocityY() {
+	return velocityY;
+    }
+
     public boolean isOffScreen() {
 	return y + height < 0;
     }
@@ -25,11 +52,27 @@ public class Bullet extends Entity {
 	// Handled by GameApp
     }
 
+    /**
+     * Places the bullet and points it straight up.
+     */
+    public void reset(final float x1, final float y1) {
+	this.x = x1;
+	this.y = y1;
+	this.velocityY = -SPEED; // Move upward
+	this.velocityX = 0;
+	this.owner = 0;
+    }
+
     public void setAngle(final float angle) {
 	// Calculate velocity components based on angle
 	// Angle 0 is straight up (-90 degrees in standard math)
-	this.velocityX = (float) (SPEED * Math.sin(angle));
-	this.velocityY = (float) (-SPEED * Math.cos(angle));
+	// StrictMath, so peers in lockstep compute the same bits on any platform
+	this.velocityX = (float) (SPEED * StrictMath.sin(angle));
+	this.velocityY = (float) (-SPEED * StrictMath.cos(angle));
+    }
+
+    public void setOwner(final int owner) {
+	this.owner = owner;
     }
 
     @Override
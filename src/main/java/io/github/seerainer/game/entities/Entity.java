@@ -13,6 +13,16 @@ public abstract class Entity {
 	this.height = height;
     }
 
+    /**
+     * Copies position and size, for subclasses copying simulation state.
+     */
+    protected void copyFrom(final Entity other) {
+	this.x = other.x;
+	this.y = other.y;
+	this.width = other.width;
+	this.height = other.height;
+    }
+
     public float getHeight() {
 	return height;
     }
@@ -1,17 +1,29 @@
 package io.github.seerainer.game.entities;
 
 public class Particle extends Entity {
-    private final float velocityX;
-    private final float velocityY;
-    private final float lifetime;
+    private float velocityX;
+    private float velocityY;
+    private float lifetime;
     private float age;
 
+    /**
+     * Creates an inactive particle for a pool; {@link #reset} brings it to life.
+     */
+    public Particle() {
+	super(0, 0, 3, 3);
+    }
+
     public Particle(final float x, final float y, final float vx, final float vy, final float lifetime) {
-	super(x, y, 3, 3);
-	this.velocityX = vx;
-	this.velocityY = vy;
-	this.lifetime = lifetime;
-	this.age = 0;
+	this();
+	reset(x, y, vx, vy, lifetime);
+    }
+
+    public void copyFrom(final Particle other) {
+	super.copyFrom(other);
+	this.velocityX = other.velocityX;
+	this.velocityY = other.velocityY;
+	this.lifetime = other.lifetime;
+	this.age = other.age;
     }
 
     public float getAlpha() {
@@ -27,6 +39,15 @@ public class Particle extends Entity {
 	// Handled by GameApp
     }
 
+    public void reset(final float x1, final float y1, final float vx, final float vy, final float lifetime1) {
+	this.x = x1;
+	this.y = y1;
+	this.velocityX = vx;
+	this.velocityY = vy;
+	this.lifetime = lifetime1;
+	this.age = 0;
+    }
+
     @Override
     public void update() {
 	// Handled by updatePosition
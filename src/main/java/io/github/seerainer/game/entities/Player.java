@@ -1,62 +1,49 @@
 package io.github.seerainer.game.entities;
 
+import io.github.seerainer.game.util.StateHash;
+import io.github.seerainer.game.util.TimerWheel;
+import io.github.seerainer.game.util.TimerWheel.Timer;
+
 public class Player extends Entity {
     private static final float INVULNERABILITY_TIME = 2.0f;
     private static final float COMBO_WINDOW = 1.5f;
+    private static final float WEAPON_UPGRADE_TIME = 15.0f;
     private int health;
     private int score;
-    private boolean invulnerable;
-    private float invulnerabilityTimer;
-    private float shootCooldownTimer;
     private WeaponType currentWeapon;
-    private float weaponUpgradeTimer;
-    // Power-up system
-    private boolean hasShield;
-    private float shieldTimer;
-    private boolean hasScoreMultiplier;
-    private float scoreMultiplierTimer;
-    private boolean hasSlowMotion;
-    private float slowMotionTimer;
-    // Combo system
     private int comboCount;
-    private float comboTimer;
-
-    public Player(final float startX, final float startY) {
+    // Timed effects, driven by the world's timer wheel
+    private final Timer invulnerability;
+    private final Timer shootCooldown;
+    private final Timer weaponUpgrade;
+    private final Timer shield;
+    private final Timer scoreMultiplier;
+    private final Timer slowMotion;
+    private final Timer combo;
+
+    public Player(final float startX, final float startY, final TimerWheel timers) {
 	super(startX, startY, 32f, 32f);
 	this.health = 3;
 	this.score = 0;
-	this.invulnerable = false;
-	this.invulnerabilityTimer = 0;
-	this.shootCooldownTimer = 0;
 	this.currentWeapon = WeaponType.SINGLE;
-	this.weaponUpgradeTimer = 0;
-	this.hasShield = false;
-	this.shieldTimer = 0;
-	this.hasScoreMultiplier = false;
-	this.scoreMultiplierTimer = 0;
-	this.hasSlowMotion = false;
-	this.slowMotionTimer = 0;
 	this.comboCount = 0;
-	this.comboTimer = 0;
+	this.invulnerability = timers.timer();
+	this.shootCooldown = timers.timer();
+	this.weaponUpgrade = timers.timer(this::weaponUpgradeExpired);
+	this.shield = timers.timer();
+	this.scoreMultiplier = timers.timer();
+	this.slowMotion = timers.timer();
+	this.combo = timers.timer(this::resetCombo);
     }
 
     public void activatePowerUp(final PowerUpType powerUpType) {
 	switch (powerUpType) {
-	case SHIELD -> {
-	    hasShield = true;
-	    shieldTimer = powerUpType.getDuration();
-	}
+	case SHIELD -> shield.scheduleSeconds(powerUpType.getDuration());
 	case HEALTH -> {
 	    health = Math.min(health + 1, 5); // Max health is 5
 	}
-	case SCORE_MULTIPLIER -> {
-	    hasScoreMultiplier = true;
-	    scoreMultiplierTimer = powerUpType.getDuration();
-	}
-	case SLOW_MOTION -> {
-	    hasSlowMotion = true;
-	    slowMotionTimer = powerUpType.getDuration();
-	}
+	case SCORE_MULTIPLIER -> scoreMultiplier.scheduleSeconds(powerUpType.getDuration());
+	case SLOW_MOTION -> slowMotion.scheduleSeconds(powerUpType.getDuration());
 	default -> throw new IllegalArgumentException("Unexpected value: " + powerUpType);
 	}
     }
@@ -67,7 +54,7 @@ public class Player extends Entity {
 
     public void addScore(final int points) {
 	var actualPoints = points;
-	if (hasScoreMultiplier) {
+	if (hasScoreMultiplier()) {
 	    actualPoints *= 2;
 	}
 	if (comboCount > 1) {
@@ -77,7 +64,36 @@ public class Player extends Entity {
     }
 
     public boolean canShoot() {
-	return shootCooldownTimer <= 0;
+	return !shootCooldown.isActive();
+    }
+
+    private void cancelTimers() {
+	invulnerability.cancel();
+	shootCooldown.cancel();
+	weaponUpgrade.cancel();
+	shield.cancel();
+	scoreMultiplier.cancel();
+	slowMotion.cancel();
+	combo.cancel();
+    }
+
+    /**
+     * Takes over the other player's state, including the time left on every
+     * effect. The other player may run on a different timer wheel.
+     */
+    public void copyFrom(final Player other) {
+	super.copyFrom(other);
+	this.health = other.health;
+	this.score = other.score;
+	this.currentWeapon = other.currentWeapon;
+	this.comboCount = other.comboCount;
+	invulnerability.copyFrom(other.invulnerability);
+	shootCooldown.copyFrom(other.shootCooldown);
+	weaponUpgrade.copyFrom(other.weaponUpgrade);
+	shield.copyFrom(other.shield);
+	scoreMultiplier.copyFrom(other.scoreMultiplier);
+	slowMotion.copyFrom(other.slowMotion);
+	combo.copyFrom(other.combo);
     }
 
     public int getComboCount() {
@@ -97,36 +113,62 @@ public class Player extends Entity {
     }
 
     public float getScoreMultiplierTimer() {
-	return scoreMultiplierTimer;
+	return scoreMultiplier.remainingSeconds();
     }
 
     public float getShieldTimer() {
-	return shieldTimer;
+	return shield.remainingSeconds();
     }
 
     public float getSlowMotionTimer() {
-	return slowMotionTimer;
+	return slowMotion.remainingSeconds();
     }
 
     public float getWeaponUpgradeTimeRemaining() {
-	return weaponUpgradeTimer;
+	return weaponUpgrade.remainingSeconds();
     }
 
     public boolean hasScoreMultiplier() {
-	return hasScoreMultiplier;
+	return scoreMultiplier.isActive();
     }
 
     public boolean hasShield() {
-	return hasShield;
+	return shield.isActive();
     }
 
     public boolean hasSlowMotion() {
-	return hasSlowMotion;
+	return slowMotion.isActive();
+    }
+
+    /**
+     * Folds the player's position, health, score, weapon and combo into the
+     * given hash; its effect timers are folded by {@link #hashTimers}.
+     */
+    public long hash(final long seed) {
+	var hash = StateHash.add(seed, x);
+	hash = StateHash.add(hash, y);
+	hash = StateHash.add(hash, health);
+	hash = StateHash.add(hash, score);
+	hash = StateHash.add(hash, currentWeapon.ordinal());
+	return StateHash.add(hash, comboCount);
+    }
+
+    /**
+     * Folds the ticks left on every effect of the player into the given hash.
+     */
+    public long hashTimers(final long seed) {
+	var hash = StateHash.add(seed, invulnerability.remainingTicks());
+	hash = StateHash.add(hash, shootCooldown.remainingTicks());
+	hash = StateHash.add(hash, weaponUpgrade.remainingTicks());
+	hash = StateHash.add(hash, shield.remainingTicks());
+	hash = StateHash.add(hash, scoreMultiplier.remainingTicks());
+	hash = StateHash.add(hash, slowMotion.remainingTicks());
+	return StateHash.add(hash, combo.remainingTicks());
     }
 
     public void incrementCombo() {
 	comboCount++;
-	comboTimer = COMBO_WINDOW;
+	combo.scheduleSeconds(COMBO_WINDOW);
     }
 
     public boolean isAlive() {
@@ -134,7 +176,7 @@ public class Player extends Entity {
     }
 
     public boolean isInvulnerable() {
-	return invulnerable;
+	return invulnerability.isActive();
     }
 
     public void move(final float deltaX, final float deltaY) {
@@ -152,32 +194,22 @@ public class Player extends Entity {
 	this.y = y1;
 	this.health = 3;
 	this.score = 0;
-	this.invulnerable = false;
-	this.invulnerabilityTimer = 0;
-	this.shootCooldownTimer = 0;
 	this.currentWeapon = WeaponType.SINGLE;
-	this.weaponUpgradeTimer = 0;
-	this.hasShield = false;
-	this.shieldTimer = 0;
-	this.hasScoreMultiplier = false;
-	this.scoreMultiplierTimer = 0;
-	this.hasSlowMotion = false;
-	this.slowMotionTimer = 0;
 	this.comboCount = 0;
-	this.comboTimer = 0;
+	cancelTimers();
     }
 
     public void resetCombo() {
 	comboCount = 0;
-	comboTimer = 0;
+	combo.cancel();
     }
 
     public void shoot() {
-	shootCooldownTimer = currentWeapon.getCooldown();
+	shootCooldown.scheduleSeconds(currentWeapon.getCooldown());
     }
 
     public void takeDamage(final int damage) {
-	if (invulnerable || hasShield) {
+	if (isInvulnerable() || hasShield()) {
 	    return;
 	}
 	this.health -= damage;
@@ -187,8 +219,7 @@ public class Player extends Entity {
 	if (this.health <= 0) {
 	    return;
 	}
-	invulnerable = true;
-	invulnerabilityTimer = INVULNERABILITY_TIME;
+	invulnerability.scheduleSeconds(INVULNERABILITY_TIME);
 	resetCombo();
     }
 
@@ -197,80 +228,12 @@ public class Player extends Entity {
 	// No-op for now
     }
 
-    public void updateInvulnerability(final double deltaTime) {
-	if (!invulnerable) {
-	    return;
-	}
-	invulnerabilityTimer -= deltaTime;
-	if (invulnerabilityTimer > 0) {
-	    return;
-	}
-	invulnerable = false;
-	invulnerabilityTimer = 0;
-    }
-
-    public void updatePowerUps(final double deltaTime) {
-	// Update shield
-	if (hasShield) {
-	    shieldTimer -= deltaTime;
-	    if (shieldTimer <= 0) {
-		hasShield = false;
-		shieldTimer = 0;
-	    }
-	}
-
-	// Update score multiplier
-	if (hasScoreMultiplier) {
-	    scoreMultiplierTimer -= deltaTime;
-	    if (scoreMultiplierTimer <= 0) {
-		hasScoreMultiplier = false;
-		scoreMultiplierTimer = 0;
-	    }
-	}
-
-	// Update slow motion
-	if (hasSlowMotion) {
-	    slowMotionTimer -= deltaTime;
-	    if (slowMotionTimer <= 0) {
-		hasSlowMotion = false;
-		slowMotionTimer = 0;
-	    }
-	}
-
-	// Update combo
-	if (comboCount <= 0) {
-	    return;
-	}
-	comboTimer -= deltaTime;
-	if (comboTimer <= 0) {
-	    resetCombo();
-	}
-    }
-
-    public void updateShootCooldown(final double deltaTime) {
-	if (shootCooldownTimer <= 0) {
-	    return;
-	}
-	shootCooldownTimer -= deltaTime;
-	if (shootCooldownTimer < 0) {
-	    shootCooldownTimer = 0;
-	}
+    public void upgradeWeapon(final WeaponType weaponType) {
+	this.currentWeapon = weaponType;
+	weaponUpgrade.scheduleSeconds(WEAPON_UPGRADE_TIME);
     }
 
-    public void updateWeaponUpgrade(final double deltaTime) {
-	if (weaponUpgradeTimer <= 0) {
-	    return;
-	}
-	weaponUpgradeTimer -= deltaTime;
-	if (weaponUpgradeTimer > 0) {
-	    return;
-	}
-	weaponUpgradeTimer = 0;
+    private void weaponUpgradeExpired() {
 	currentWeapon = WeaponType.SINGLE; // Revert to default weapon
     }
-
-    public void upgradeWeapon(final WeaponType weaponType) {
-	this.currentWeapon = weaponType;
-	this.weaponUpgradeTimer = 15.0f; // Weapon upgrade lasts 15 seconds
-    }
 }
\ No newline at end of file
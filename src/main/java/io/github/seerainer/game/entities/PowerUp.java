@@ -2,15 +2,21 @@ package io.github.seerainer.game.entities;
 
 public class PowerUp extends Entity {
     private static final float FALL_SPEED = 120f;
-    private final PowerUpType powerUpType;
+    private PowerUpType powerUpType;
     private final float velocityY;
     private float pulseTimer;
 
-    public PowerUp(final float x, final float y, final PowerUpType powerUpType) {
-	super(x, y, 20, 20);
-	this.powerUpType = powerUpType;
+    /**
+     * Creates a power-up for a pool; {@link #reset} places it.
+     */
+    public PowerUp() {
+	super(0, 0, 20, 20);
 	this.velocityY = FALL_SPEED;
-	this.pulseTimer = 0;
+    }
+
+    public PowerUp(final float x, final float y, final PowerUpType powerUpType) {
+	this();
+	reset(x, y, powerUpType);
     }
 
     public boolean collidesWith(final Entity other) {
@@ -18,6 +24,12 @@ public class PowerUp extends Entity {
 		&& y + height > other.getY();
     }
 
+    public void copyFrom(final PowerUp other) {
+	super.copyFrom(other);
+	this.powerUpType = other.powerUpType;
+	this.pulseTimer = other.pulseTimer;
+    }
+
     public PowerUpType getPowerUpType() {
 	return powerUpType;
     }
@@ -35,6 +47,16 @@ public class PowerUp extends Entity {
 	// Handled by GameApp
     }
 
+    /**
+     * Places the power-up and restarts its pulse.
+     */
+    public void reset(final float x1, final float y1, final PowerUpType powerUpType1) {
+	this.x = x1;
+	this.y = y1;
+	this.powerUpType = powerUpType1;
+	this.pulseTimer = 0;
+    }
+
     @Override
     public void update() {
 	// Handled by updatePosition
@@ -2,34 +2,28 @@ package io.github.seerainer.game.entities;
 
 import java.util.Random;
 
-import io.github.seerainer.game.GameApp;
-
 public class Star extends Entity {
-    private static final Random random = GameApp.getRandom();
-    private final float velocityY;
-    private final int brightness;
-    private final int layer; // 0 = far (slow), 2 = close (fast)
-
-    public Star(final float x, final float y) {
-	super(x, y, 1, 1);
+    private float velocityY;
+    private int brightness;
+    private int layer; // 0 = far (slow), 2 = close (fast)
 
-	// Three layers of parallax
-	this.layer = random.nextInt(3);
+    /**
+     * Creates a star for a pool; {@link #reset} places it and rolls its layer.
+     */
+    public Star() {
+	super(0, 0, 1, 1);
+    }
 
-	// Speed based on layer (parallax effect)
-	// Far stars: 20-40 px/s, mid: 50-80 px/s, close: 100-150 px/s
-	this.velocityY = switch (layer) {
-	case 0 -> 20f + random.nextFloat() * 20f; // Far layer
-	case 1 -> 50f + random.nextFloat() * 30f; // Mid layer
-	default -> 100f + random.nextFloat() * 50f; // Close layer
-	};
+    public Star(final float x, final float y, final Random random) {
+	this();
+	reset(x, y, random);
+    }
 
-	// Brightness based on layer
-	this.brightness = switch (layer) {
-	case 0 -> 80 + random.nextInt(60); // Dimmer far stars
-	case 1 -> 120 + random.nextInt(80); // Medium brightness
-	default -> 180 + random.nextInt(76); // Brighter close stars
-	};
+    public void copyFrom(final Star other) {
+	super.copyFrom(other);
+	this.velocityY = other.velocityY;
+	this.brightness = other.brightness;
+	this.layer = other.layer;
     }
 
     public int getBrightness() {
@@ -49,6 +43,32 @@ public class Star extends Entity {
 	// Handled by GameApp
     }
 
+    /**
+     * Places the star and rolls its layer from the world's generator.
+     */
+    public void reset(final float x1, final float y1, final Random random) {
+	this.x = x1;
+	this.y = y1;
+
+	// Three layers of parallax
+	this.layer = random.nextInt(3);
+
+	// Speed based on layer (parallax effect)
+	// Far stars: 20-40 px/s, mid: 50-80 px/s, close: 100-150 px/s
+	this.velocityY = switch (layer) {
+	case 0 -> 20f + random.nextFloat() * 20f; // Far layer
+	case 1 -> 50f + random.nextFloat() * 30f; // Mid layer
+	default -> 100f + random.nextFloat() * 50f; // Close layer
+	};
+
+	// Brightness based on layer
+	this.brightness = switch (layer) {
+	case 0 -> 80 + random.nextInt(60); // Dimmer far stars
+	case 1 -> 120 + random.nextInt(80); // Medium brightness
+	default -> 180 + random.nextInt(76); // Brighter close stars
+	};
+    }
+
     @Override
     public void update() {
 	// Handled by updatePosition
@@ -2,20 +2,32 @@ package io.github.seerainer.game.entities;
 
 public class WeaponUpgrade extends Entity {
     private static final float FALL_SPEED = 100f;
-    private final WeaponType weaponType;
+    private WeaponType weaponType;
     private final float velocityY;
 
-    public WeaponUpgrade(final float x, final float y, final WeaponType weaponType) {
-	super(x, y, 24, 24);
-	this.weaponType = weaponType;
+    /**
+     * Creates an upgrade for a pool; {@link #reset} places it.
+     */
+    public WeaponUpgrade() {
+	super(0, 0, 24, 24);
 	this.velocityY = FALL_SPEED;
     }
 
+    public WeaponUpgrade(final float x, final float y, final WeaponType weaponType) {
+	this();
+	reset(x, y, weaponType);
+    }
+
     public boolean collidesWith(final Entity other) {
 	return x < other.getX() + other.getWidth() && x + width > other.getX() && y < other.getY() + other.getHeight()
 		&& y + height > other.getY();
     }
 
+    public void copyFrom(final WeaponUpgrade other) {
+	super.copyFrom(other);
+	this.weaponType = other.weaponType;
+    }
+
     public WeaponType getWeaponType() {
 	return weaponType;
     }
@@ -29,6 +41,15 @@ public class WeaponUpgrade extends Entity {
 	// Handled by GameApp
     }
 
+    /**
+     * Places the upgrade.
+     */
+    public void reset(final float x1, final float y1, final WeaponType weaponType1) {
+	this.x = x1;
+	this.y = y1;
+	this.weaponType = weaponType1;
+    }
+
     @Override
     public void update() {
 	// Handled by updatePosition
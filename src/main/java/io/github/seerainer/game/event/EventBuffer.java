@@ -0,0 +1,158 @@
+package io.github.seerainer.game.event;
+
+import java.util.Arrays;
+
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Preallocated, typed buffer of {@link GameEvent}s for one tick. Events are
+ * stored as parallel primitive arrays, so appending never allocates once the
+ * buffer has grown to the busiest tick. Also keeps running totals per event
+ * type for monitoring. Not thread-safe; totals read from other threads are
+ * approximate.
+ */
+public class EventBuffer {
+    public static final int PICKUP_WEAPON = 0;
+    public static final int PICKUP_POWER_UP = 1;
+    private static final GameEvent[] TYPES = GameEvent.values();
+
+    private byte[] types;
+    private float[] xs;
+    private float[] ys;
+    private int[] values;
+    private int[] details;
+    // Ship the event applies to, for co-op
+    private byte[] players;
+    private int size;
+    private int peak;
+    private final long[] totals = new long[TYPES.length];
+
+    public EventBuffer(final int initialCapacity) {
+	final var capacity = Math.max(16, initialCapacity);
+	types = new byte[capacity];
+	xs = new float[capacity];
+	ys = new float[capacity];
+	values = new int[capacity];
+	details = new int[capacity];
+	players = new byte[capacity];
+    }
+
+    private void add(final GameEvent type, final float x, final float y, final int value, final int detail) {
+	add(type, 0, x, y, value, detail);
+    }
+
+    private void add(final GameEvent type, final int player, final float x, final float y, final int value,
+	    final int detail) {
+	if (size == types.length) {
+	    final var capacity = size * 2;
+	    types = Arrays.copyOf(types, capacity);
+	    xs = Arrays.copyOf(xs, capacity);
+	    ys = Arrays.copyOf(ys, capacity);
+	    values = Arrays.copyOf(values, capacity);
+	    details = Arrays.copyOf(details, capacity);
+	    players = Arrays.copyOf(players, capacity);
+	}
+	types[size] = (byte) type.ordinal();
+	xs[size] = x;
+	ys[size] = y;
+	values[size] = value;
+	details[size] = detail;
+	players[size] = (byte) player;
+	size++;
+	totals[type.ordinal()]++;
+    }
+
+    /**
+     * Drops all events, keeping the arrays for the next tick.
+     */
+    public void clear() {
+	if (size > peak) {
+	    peak = size;
+	}
+	size = 0;
+    }
+
+    public void damage(final int amount) {
+	damage(0, amount);
+    }
+
+    public void damage(final int player, final int amount) {
+	add(GameEvent.DAMAGE, player, 0, 0, amount, 0);
+    }
+
+    public int detail(final int index) {
+	return details[index];
+    }
+
+    public void explosion(final float x, final float y, final int particleCount) {
+	add(GameEvent.EXPLOSION, x, y, particleCount, 0);
+    }
+
+    /** Most events buffered in a single tick so far. */
+    public int getPeak() {
+	return Math.max(peak, size);
+    }
+
+    /** Events of the given type recorded since the buffer was created. */
+    public long getTotal(final GameEvent type) {
+	return totals[type.ordinal()];
+    }
+
+    public void levelUp() {
+	add(GameEvent.LEVEL_UP, 0, 0, 0, 0);
+    }
+
+    public void pickup(final int player, final PowerUpType type) {
+	add(GameEvent.PICKUP, player, 0, 0, type.ordinal(), PICKUP_POWER_UP);
+    }
+
+    public void pickup(final int player, final WeaponType type) {
+	add(GameEvent.PICKUP, player, 0, 0, type.ordinal(), PICKUP_WEAPON);
+    }
+
+    public void pickup(final PowerUpType type) {
+	pickup(0, type);
+    }
+
+    public void pickup(final WeaponType type) {
+	pickup(0, type);
+    }
+
+    /** Index of the ship a damage, pickup or score event applies to. */
+    public int player(final int index) {
+	return players[index];
+    }
+
+    public void score(final int player, final int points, final boolean combo) {
+	add(GameEvent.SCORE, player, 0, 0, points, combo ? 1 : 0);
+    }
+
+    public void score(final int points, final boolean combo) {
+	score(0, points, combo);
+    }
+
+    public int size() {
+	return size;
+    }
+
+    public void spawnChildren(final float x, final float y, final int count) {
+	add(GameEvent.SPAWN_CHILD, x, y, count, 0);
+    }
+
+    public GameEvent type(final int index) {
+	return TYPES[types[index]];
+    }
+
+    public int value(final int index) {
+	return values[index];
+    }
+
+    public float x(final int index) {
+	return xs[index];
+    }
+
+    public float y(final int index) {
+	return ys[index];
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.seerainer.game.event;
+
+/**
+ * Gameplay consequences recorded by the collision phase and applied in
+ * batches: those of pickups and bullet hits before the asteroids move, those
+ * of asteroid collisions and dodges after. The comment on each constant lists
+ * the {@link EventBuffer} fields it uses.
+ */
+public enum GameEvent {
+    EXPLOSION, // x, y, value = particle count
+    SCORE, // value = points before the level factor, detail = 1 if it extends the combo
+    SPAWN_CHILD, // x, y, value = number of children split off
+    DAMAGE, // value = damage to the player
+    PICKUP, // value = ordinal of the weapon or power-up type, detail = PICKUP_WEAPON or PICKUP_POWER_UP
+    LEVEL_UP // no fields
+}
@@ -0,0 +1,93 @@
+package io.github.seerainer.game.headless;
+
+import java.util.Locale;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.ControlInput;
+import io.github.seerainer.game.bot.Controller;
+
+/**
+ * Lets a {@link Controller} play a {@link World} game after game, starting
+ * each one from the menu at the given level and restarting after game over.
+ * Keeps survival and score statistics for soak runs and benchmarks.
+ */
+public class BotSession implements Session {
+    private final World world;
+    private final Controller controller;
+    private final int startLevel;
+    private final ControlInput input = new ControlInput();
+    private int games;
+    private long gameTicks;
+    private long finishedGameTicks;
+    private int finishedGames;
+    private int bestScore;
+    private int highestLevel;
+
+    public BotSession(final World world, final Controller controller, final int startLevel) {
+	if (startLevel < 1) {
+	    throw new IllegalArgumentException("Start level must be at least 1: " + startLevel);
+	}
+	this.world = world;
+	this.controller = controller;
+	this.startLevel = startLevel;
+    }
+
+    /** Average length of the finished games in ticks. */
+    public double getAverageGameTicks() {
+	return finishedGames > 0 ? (double) finishedGameTicks / finishedGames : gameTicks;
+    }
+
+    public int getBestScore() {
+	return Math.max(bestScore, world.getPlayer().getScore());
+    }
+
+    @Override
+    public int getGames() {
+	return games;
+    }
+
+    public int getHighestLevel() {
+	return Math.max(highestLevel, world.getCurrentLevel());
+    }
+
+    @Override
+    public void step(final double dt) {
+	switch (world.getGameState()) {
+	case MENU -> {
+	    controller.reset();
+	    world.startGame(startLevel);
+	    games++;
+	    gameTicks = 0;
+	}
+	case PLAYING -> {
+	    input.clear();
+	    controller.control(world, input);
+	    world.movePlayer(input.getDirectionX(), input.getDirectionY(), dt);
+	    if (input.isFire()) {
+		world.fire();
+	    }
+	    gameTicks++;
+	}
+	case PAUSED -> world.togglePause();
+	case GAME_OVER -> {
+	    bestScore = Math.max(bestScore, world.getPlayer().getScore());
+	    highestLevel = Math.max(highestLevel, world.getCurrentLevel());
+	    finishedGameTicks += gameTicks;
+	    finishedGames++;
+	    world.reset();
+	}
+	}
+	world.update(dt);
+    }
+
+    /**
+     * One line of statistics for reports.
+     */
+    public String summary() {
+	return String.format(Locale.ROOT,
+		"%d games (%d finished), average %.1f s per game, best score %d, highest level %d",
+		Integer.valueOf(games), Integer.valueOf(finishedGames),
+		Double.valueOf(getAverageGameTicks() / World.TICKS_PER_SECOND), Integer.valueOf(getBestScore()),
+		Integer.valueOf(getHighestLevel()));
+    }
+}
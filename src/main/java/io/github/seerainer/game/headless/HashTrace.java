@@ -0,0 +1,167 @@
+package io.github.seerainer.game.headless;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import io.github.seerainer.game.StateSubsystem;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.util.StateHash;
+
+/**
+ * Per-tick hashes of every {@link StateSubsystem} of a run, plus a running
+ * hash chaining all ticks, so one number tells whether two runs stayed
+ * identical and the trace tells where they first differed. Traces are written
+ * in big-endian order and every hashed float is taken by its raw bits, so a
+ * trace recorded on one JVM, native image or CPU architecture can be checked
+ * against a run on another.
+ * <p>
+ * The file holds {@code [int magic][short version][long seed][int subsystems]
+ * [int ticks]}, the hashes tick by tick and the chain.
+ */
+public final class HashTrace {
+    static final int MAGIC = 0x41444854; // "ADHT"
+    static final int VERSION = 1;
+    private static final StateSubsystem[] SUBSYSTEMS = StateSubsystem.values();
+    private final long seed;
+    private long[] hashes;
+    private int ticks;
+    private long chain;
+
+    /**
+     * @param seed     seed of the recorded world, so the run can be repeated
+     * @param capacity ticks to preallocate for; more are still recorded
+     */
+    public HashTrace(final long seed, final int capacity) {
+	this.seed = seed;
+	this.hashes = new long[Math.max(1, capacity) * SUBSYSTEMS.length];
+    }
+
+    /**
+     * @throws IOException if the file is not a trace of this version
+     */
+    public static HashTrace read(final Path file) throws IOException {
+	try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+	    if (in.readInt() != MAGIC) {
+		throw new IOException("Not a hash trace");
+	    }
+	    final var version = in.readShort();
+	    if (version != VERSION) {
+		throw new IOException("Unsupported hash trace version " + version);
+	    }
+	    final var seed = in.readLong();
+	    final var subsystems = in.readInt();
+	    if (subsystems != SUBSYSTEMS.length) {
+		throw new IOException("Trace of " + subsystems + " subsystems, expected " + SUBSYSTEMS.length);
+	    }
+	    final var ticks = in.readInt();
+	    if (ticks < 0) {
+		throw new IOException("Invalid tick count: " + ticks);
+	    }
+	    final var trace = new HashTrace(seed, ticks);
+	    for (var i = 0; i < ticks * subsystems; i++) {
+		trace.hashes[i] = in.readLong();
+	    }
+	    trace.ticks = ticks;
+	    trace.chain = in.readLong();
+	    return trace;
+	}
+    }
+
+    /**
+     * Finds the first tick at which the two traces differ, or null if they
+     * match over the ticks both recorded. Within that tick the subsystems are
+     * checked in declaration order.
+     */
+    public Divergence compare(final HashTrace other) {
+	final var common = Math.min(ticks, other.ticks);
+	for (var tick = 0; tick < common; tick++) {
+	    for (var s = 0; s < SUBSYSTEMS.length; s++) {
+		final var i = tick * SUBSYSTEMS.length + s;
+		if (hashes[i] != other.hashes[i]) {
+		    return new Divergence(tick + 1, SUBSYSTEMS[s], hashes[i], other.hashes[i]);
+		}
+	    }
+	}
+	return null;
+    }
+
+    /**
+     * Hash of all ticks recorded so far.
+     */
+    public long getChain() {
+	return chain;
+    }
+
+    public long getSeed() {
+	return seed;
+    }
+
+    /** Ticks recorded so far. */
+    public int getTicks() {
+	return ticks;
+    }
+
+    /**
+     * The subsystem's hash after the given tick, counting from 1.
+     */
+    public long hash(final int tick, final StateSubsystem subsystem) {
+	if (tick < 1 || tick > ticks) {
+	    throw new IllegalArgumentException("Tick " + tick + " not in 1.." + ticks);
+	}
+	return hashes[(tick - 1) * SUBSYSTEMS.length + subsystem.ordinal()];
+    }
+
+    /**
+     * Records the world's state after a tick. Allocation-free while the
+     * preallocated capacity lasts.
+     */
+    public void record(final World world) {
+	final var offset = ticks * SUBSYSTEMS.length;
+	if (offset == hashes.length) {
+	    hashes = Arrays.copyOf(hashes, hashes.length * 2);
+	}
+	world.stateHashes(hashes, offset);
+	for (var s = 0; s < SUBSYSTEMS.length; s++) {
+	    chain = StateHash.add(chain, hashes[offset + s]);
+	}
+	ticks++;
+    }
+
+    public void write(final Path file) throws IOException {
+	try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+	    out.writeInt(MAGIC);
+	    out.writeShort(VERSION);
+	    out.writeLong(seed);
+	    out.writeInt(SUBSYSTEMS.length);
+	    out.writeInt(ticks);
+	    for (var i = 0; i < ticks * SUBSYSTEMS.length; i++) {
+		out.writeLong(hashes[i]);
+	    }
+	    out.writeLong(chain);
+	}
+    }
+
+    /**
+     * Where two runs first differed.
+     *
+     * @param tick      first differing tick, counting from 1
+     * @param subsystem first differing part of the state in that tick
+     * @param expected  hash in this trace
+     * @param actual    hash in the other trace
+     */
+    public record Divergence(int tick, StateSubsystem subsystem, long expected, long actual) {
+
+	@Override
+	public String toString() {
+	    return String.format(Locale.ROOT, "tick %d, %s (%016x != %016x)", Integer.valueOf(tick), subsystem,
+		    Long.valueOf(expected), Long.valueOf(actual));
+	}
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.seerainer.game.headless;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SceneRenderer;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.Bots;
+import io.github.seerainer.game.event.EventBuffer;
+import io.github.seerainer.game.event.GameEvent;
+import io.github.seerainer.game.perf.FrameTimeRecorder;
+import io.github.seerainer.game.perf.HeapStats;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.perf.StartupTimeline;
+import io.github.seerainer.game.render.RecordingRenderer;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+/**
+ * Runs a {@link ScriptedSession} as fast as possible without SWT, writing a
+ * render snapshot every tick like the windowed loop does. Started with
+ * {@code --headless [--ticks=N] [--render] [--bot[=name]]}; used to train and
+ * benchmark native images. With {@code --render} every snapshot is also drawn
+ * through the scene renderer into a {@link RecordingRenderer}, timing the frame
+ * pipeline and counting draw calls without a display; frame times then cover
+ * the tick, the snapshot and the draw, like a windowed frame minus the SWT
+ * paint itself. With {@code --bot} a
+ * {@link BotSession} plays instead of the script, for soak runs that progress
+ * through the levels like a real player; {@code --level=N} starts its games at
+ * level N. Ticks run back to back without waiting for wall time, so half an
+ * hour of game time at level 20 takes seconds.
+ * <p>
+ * Every tick's state is hashed per {@link io.github.seerainer.game.StateSubsystem}
+ * into a {@link HashTrace}. {@code --hash-trace=<file>} writes it;
+ * {@code --hash-check=<file>} replays a written trace's seed and reports the
+ * first tick and subsystem where this run differs, e.g. a native image against
+ * the JVM or one architecture against another.
+ * <p>
+ * The report ends with {@code key=value} lines that the Gradle PGO tasks parse.
+ */
+public class HeadlessRunner {
+    private static final String ARGUMENT = "--headless";
+    private static final String TICKS_ARGUMENT = "--ticks=";
+    private static final String RENDER_ARGUMENT = "--render";
+    private static final String BOT_ARGUMENT = "--bot";
+    private static final String LEVEL_ARGUMENT = "--level=";
+    private static final String HASH_TRACE_ARGUMENT = "--hash-trace=";
+    private static final String HASH_CHECK_ARGUMENT = "--hash-check=";
+    // Ten minutes of game time
+    private static final int DEFAULT_TICKS = World.TICKS_PER_SECOND * 600;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final double TICK_SECONDS = 1.0 / World.TICKS_PER_SECOND;
+    private static final String FIRST_TICK = "first-tick";
+
+    private HeadlessRunner() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isRequested(final String[] args) {
+	return Arrays.asList(args).contains(ARGUMENT);
+    }
+
+    private static String eventSummary(final EventBuffer events) {
+	final var summary = new StringJoiner(", ");
+	for (final var type : GameEvent.values()) {
+	    summary.add(type.name().toLowerCase(Locale.ROOT) + ' ' + events.getTotal(type));
+	}
+	return summary.toString();
+    }
+
+    private static double micros(final long nanos) {
+	return (double) nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * Value of the first argument with the given prefix, or null.
+     */
+    private static String option(final String[] args, final String prefix) {
+	return Arrays.stream(args).filter(arg -> arg.startsWith(prefix)).map(arg -> arg.substring(prefix.length()))
+		.findFirst().orElse(null);
+    }
+
+    private static HashTrace readTrace(final String file) {
+	try {
+	    return HashTrace.read(Path.of(file));
+	} catch (final IOException e) {
+	    throw new UncheckedIOException("Could not read hash trace " + file, e);
+	}
+    }
+
+    public static void run(final String[] args) {
+	final var checkFile = option(args, HASH_CHECK_ARGUMENT);
+	final var expected = checkFile != null ? readTrace(checkFile) : null;
+	final var ticksOption = option(args, TICKS_ARGUMENT);
+	// A check replays the whole trace unless told otherwise
+	final var ticks = ticksOption != null ? Integer.parseInt(ticksOption)
+		: expected != null ? expected.getTicks() : DEFAULT_TICKS;
+	if (ticks <= 0) {
+	    throw new IllegalArgumentException("Tick count must be positive: " + ticks);
+	}
+
+	final var levelOption = option(args, LEVEL_ARGUMENT);
+	final var level = levelOption != null ? Integer.parseInt(levelOption) : 1;
+	final var seed = expected != null ? expected.getSeed() : World.newSeed(0);
+	final var world = new World(WIDTH, HEIGHT, SpawnDirector.getDefault(), seed);
+	final var bot = Arrays.stream(args).filter(arg -> arg.equals(BOT_ARGUMENT) || arg.startsWith(BOT_ARGUMENT + '='))
+		.findFirst().map(arg -> arg.length() > BOT_ARGUMENT.length() ? arg.substring(BOT_ARGUMENT.length() + 1)
+			: Bots.DEFAULT)
+		.map(name -> new BotSession(world, Bots.create(name), level)).orElse(null);
+	final Session session = bot != null ? bot : new ScriptedSession(world);
+	final var snapshot = new RenderSnapshot();
+	final var tickTimes = new FrameTimeRecorder(ticks);
+	final var scene = Arrays.asList(args).contains(RENDER_ARGUMENT) ? new SceneRenderer() : null;
+	final var recorder = new RecordingRenderer();
+	final var renderTimes = new FrameTimeRecorder(scene != null ? ticks : 1);
+	final var frameTimes = new FrameTimeRecorder(scene != null ? ticks : 1);
+	final var trace = new HashTrace(seed, ticks);
+	final var hashTimes = new FrameTimeRecorder(ticks);
+	var primitives = 0L;
+	var stateChanges = 0L;
+	var redundantStateChanges = 0L;
+	var maxLevel = 0;
+
+	final var start = System.nanoTime();
+	for (var i = 0; i < ticks; i++) {
+	    final var tickStart = System.nanoTime();
+	    session.step(TICK_SECONDS);
+	    world.writeSnapshot(snapshot);
+	    final var tickEnd = System.nanoTime();
+	    tickTimes.record(tickEnd - tickStart);
+	    if (scene != null) {
+		recorder.reset();
+		// Game time drives the animations, so frames are reproducible
+		scene.render(recorder, snapshot, WIDTH, HEIGHT, QualityLevel.HIGH, i * 1000L / World.TICKS_PER_SECOND);
+		final var renderEnd = System.nanoTime();
+		renderTimes.record(renderEnd - tickEnd);
+		frameTimes.record(renderEnd - tickStart);
+		primitives += recorder.getPrimitives();
+		stateChanges += recorder.getStateChanges();
+		redundantStateChanges += recorder.getRedundantStateChanges();
+	    }
+	    final var hashStart = System.nanoTime();
+	    trace.record(world);
+	    hashTimes.record(System.nanoTime() - hashStart);
+	    if (i == 0) {
+		StartupTimeline.mark(FIRST_TICK);
+	    }
+	    maxLevel = Math.max(maxLevel, world.getCurrentLevel());
+	}
+	final var seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+	final var out = System.out;
+	final var gameSeconds = (double) ticks / World.TICKS_PER_SECOND;
+	out.printf(Locale.ROOT,
+		"Headless session: %d ticks (%.0f s of game time) in %.2f s (%.0f ticks/s, %.0fx real time), %d games, "
+			+ "highest level %d%n",
+		Integer.valueOf(ticks), Double.valueOf(gameSeconds), Double.valueOf(seconds),
+		Double.valueOf(ticks / seconds), Double.valueOf(gameSeconds / seconds),
+		Integer.valueOf(session.getGames()), Integer.valueOf(maxLevel));
+	out.println("Tick time: " + tickTimes.summary());
+	if (bot != null) {
+	    out.println("Bot: " + bot.summary());
+	}
+	out.println("Events: " + eventSummary(world.getEvents()));
+	if (scene != null) {
+	    out.println("Render time: " + renderTimes.summary());
+	    out.println("Frame time: " + frameTimes.summary());
+	    out.printf(Locale.ROOT, "Draw calls per frame: %.1f primitives, %.1f state changes (%.1f redundant)%n",
+		    Double.valueOf((double) primitives / ticks), Double.valueOf((double) stateChanges / ticks),
+		    Double.valueOf((double) redundantStateChanges / ticks));
+	}
+	out.printf(Locale.ROOT, "State hash: %016x over %d ticks, p50 %.3f us, p99 %.3f us per tick%n",
+		Long.valueOf(trace.getChain()), Integer.valueOf(ticks), Double.valueOf(micros(hashTimes.percentile(50))),
+		Double.valueOf(micros(hashTimes.percentile(99))));
+	final var divergence = expected != null ? expected.compare(trace) : null;
+	if (expected != null) {
+	    out.println(divergence != null ? "Determinism: first divergence from " + checkFile + " at " + divergence
+		    : "Determinism: identical to " + checkFile + " over "
+			    + Math.min(ticks, expected.getTicks()) + " ticks");
+	}
+	final var traceFile = option(args, HASH_TRACE_ARGUMENT);
+	if (traceFile != null) {
+	    try {
+		trace.write(Path.of(traceFile));
+	    } catch (final IOException e) {
+		throw new UncheckedIOException("Could not write hash trace " + traceFile, e);
+	    }
+	    out.println("Hash trace: " + traceFile);
+	}
+	out.println("Heap: " + HeapStats.summary());
+	out.println("Startup: " + StartupTimeline.summary());
+	out.printf(Locale.ROOT, "startupMillis=%.3f%n", Double.valueOf(StartupTimeline.millis(FIRST_TICK)));
+	out.printf(Locale.ROOT, "ticksPerSecond=%.1f%n", Double.valueOf(ticks / seconds));
+	out.printf(Locale.ROOT, "tickP50Micros=%.3f%n", Double.valueOf(micros(tickTimes.percentile(50))));
+	out.printf(Locale.ROOT, "tickP99Micros=%.3f%n", Double.valueOf(micros(tickTimes.percentile(99))));
+	out.printf(Locale.ROOT, "tickMaxMicros=%.3f%n", Double.valueOf(micros(tickTimes.getMax())));
+	out.printf(Locale.ROOT, "hashP50Micros=%.3f%n", Double.valueOf(micros(hashTimes.percentile(50))));
+	out.printf(Locale.ROOT, "stateHash=%016x%n", Long.valueOf(trace.getChain()));
+	if (expected != null) {
+	    out.printf(Locale.ROOT, "divergenceTick=%d%n", Integer.valueOf(divergence != null ? divergence.tick() : 0));
+	}
+	if (scene != null) {
+	    out.printf(Locale.ROOT, "renderP50Micros=%.3f%n", Double.valueOf(micros(renderTimes.percentile(50))));
+	    out.printf(Locale.ROOT, "renderP99Micros=%.3f%n", Double.valueOf(micros(renderTimes.percentile(99))));
+	    out.printf(Locale.ROOT, "frameP50Micros=%.3f%n", Double.valueOf(micros(frameTimes.percentile(50))));
+	    out.printf(Locale.ROOT, "frameP99Micros=%.3f%n", Double.valueOf(micros(frameTimes.percentile(99))));
+	    out.printf(Locale.ROOT, "frameMaxMicros=%.3f%n", Double.valueOf(micros(frameTimes.getMax())));
+	    out.printf(Locale.ROOT, "primitivesPerFrame=%.1f%n", Double.valueOf((double) primitives / ticks));
+	}
+    }
+}
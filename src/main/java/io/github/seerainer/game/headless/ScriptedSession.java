@@ -0,0 +1,83 @@
+package io.github.seerainer.game.headless;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Plays a {@link World} without player input, following a fixed script:
+ * the player sweeps across the screen firing continuously, cycles through every
+ * weapon and power-up, pauses now and then, and every game starts at the next
+ * level in {@link #START_LEVELS} so all asteroid types and multi-spawns come
+ * up. Combined with {@code game.seed} the session is fully deterministic, which
+ * makes it suitable for profile collection and benchmarks.
+ */
+public class ScriptedSession implements Session {
+    private static final WeaponType[] WEAPONS = WeaponType.values();
+    private static final PowerUpType[] POWER_UPS = PowerUpType.values();
+    private static final int[] START_LEVELS = { 1, 4, 7, 10, 13 };
+    // Script periods in ticks
+    private static final int WEAPON_PERIOD = World.TICKS_PER_SECOND * 10;
+    private static final int POWER_UP_PERIOD = World.TICKS_PER_SECOND * 7;
+    private static final int PAUSE_PERIOD = World.TICKS_PER_SECOND * 45;
+    private static final int PAUSE_LENGTH = World.TICKS_PER_SECOND / 2;
+    private final World world;
+    private long tick;
+    private long playingTicks;
+    private int pausedTicks;
+    private int games;
+
+    public ScriptedSession(final World world) {
+	this.world = world;
+    }
+
+    @Override
+    public int getGames() {
+	return games;
+    }
+
+    public long getTick() {
+	return tick;
+    }
+
+    private void play(final double dt) {
+	final var player = world.getPlayer();
+	if (playingTicks % WEAPON_PERIOD == 0) {
+	    player.upgradeWeapon(WEAPONS[(int) (playingTicks / WEAPON_PERIOD % WEAPONS.length)]);
+	}
+	if (playingTicks % POWER_UP_PERIOD == 0) {
+	    player.activatePowerUp(POWER_UPS[(int) (playingTicks / POWER_UP_PERIOD % POWER_UPS.length)]);
+	}
+	if (playingTicks % PAUSE_PERIOD == PAUSE_PERIOD - 1) {
+	    world.togglePause();
+	}
+	// Sweep horizontally with the occasional vertical dodge, firing all the time
+	final var phase = (double) playingTicks / World.TICKS_PER_SECOND;
+	final var dirX = (float) Math.signum(Math.sin(phase * 0.8));
+	final var dirY = (float) Math.signum(Math.sin(phase * 0.3) - 0.7);
+	world.movePlayer(dirX, dirY, dt);
+	world.fire();
+	playingTicks++;
+    }
+
+    /**
+     * Applies the scripted input for one tick and advances the world by
+     * {@code dt} seconds.
+     */
+    @Override
+    public void step(final double dt) {
+	switch (world.getGameState()) {
+	case MENU -> world.startGame(START_LEVELS[games++ % START_LEVELS.length]);
+	case PLAYING -> play(dt);
+	case PAUSED -> {
+	    if (++pausedTicks >= PAUSE_LENGTH) {
+		pausedTicks = 0;
+		world.togglePause();
+	    }
+	}
+	case GAME_OVER -> world.reset();
+	}
+	world.update(dt);
+	tick++;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.seerainer.game.headless;
+
+/**
+ * Plays a world without a human at the keyboard, one tick at a time: starts
+ * games from the menu, supplies the input while playing and restarts after
+ * game over.
+ */
+public interface Session {
+
+    /** Games started so far. */
+    int getGames();
+
+    /**
+     * Applies the input for one tick and advances the world by {@code dt}
+     * seconds.
+     */
+    void step(double dt);
+}
@@ -1,48 +1,132 @@
 package io.github.seerainer.game.input;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
 
+/**
+ * Keyboard state shared between the SWT key filters and the game loop. Keys
+ * are tracked in bit sets indexed by key code, so neither side boxes key codes
+ * or allocates. Character keys below 256 and SWT's special keys (arrows,
+ * function keys, keypad) are tracked; other key codes are ignored.
+ * <p>
+ * Only keys typed into the given shell count, so several game windows can
+ * share one display. Keys are released when the shell loses focus, since it
+ * will not see their key-up events.
+ */
 public class InputHandler {
+    private static final int CHARACTER_KEYS = 256;
+    private static final int SPECIAL_KEY_MASK = 0x3FF;
+    private static final int KEY_SLOTS = CHARACTER_KEYS + SPECIAL_KEY_MASK + 1;
+    private static final int WORDS = (KEY_SLOTS + Long.SIZE - 1) / Long.SIZE;
 
-    private final Set<Integer> keys = ConcurrentHashMap.newKeySet();
-    private final Set<Integer> keysJustPressed = ConcurrentHashMap.newKeySet();
-    private final Set<Integer> previousKeys = ConcurrentHashMap.newKeySet();
+    // Written by the key filters on the UI thread
+    private final AtomicLongArray keys = new AtomicLongArray(WORDS);
+    // Owned by the thread calling update()
+    private final long[] current = new long[WORDS];
+    private final long[] previous = new long[WORDS];
+    private final long[] justPressed = new long[WORDS];
+    private final Runnable onInput;
+    private final Shell shell;
+    private final Listener keyFilter = this::filterKey;
 
-    public InputHandler(final Display display) {
-	initializeKeyListener(display);
+    public InputHandler(final Shell shell) {
+	this(shell, () -> {
+	    // No wake-up needed
+	});
     }
 
-    private void initializeKeyListener(final Display display) {
-	display.addFilter(SWT.KeyDown, event -> keys.add(Integer.valueOf(event.keyCode)));
-	display.addFilter(SWT.KeyUp, event -> keys.remove(Integer.valueOf(event.keyCode)));
+    /**
+     * @param onInput called from the key filters after every key change, e.g. to
+     *                wake up an idle game loop
+     */
+    public InputHandler(final Shell shell, final Runnable onInput) {
+	this.onInput = onInput;
+	this.shell = shell;
+	initializeKeyListener();
+    }
+
+    private static boolean isSet(final long[] bits, final int slot) {
+	return slot >= 0 && (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Maps a key code to its bit, or -1 for untracked keys.
+     */
+    private static int slot(final int keyCode) {
+	if (keyCode >= 0 && keyCode < CHARACTER_KEYS) {
+	    return keyCode;
+	}
+	if ((keyCode & SWT.KEYCODE_BIT) != 0 && (keyCode & ~SWT.KEYCODE_BIT) <= SPECIAL_KEY_MASK) {
+	    return CHARACTER_KEYS + (keyCode & SPECIAL_KEY_MASK);
+	}
+	return -1;
+    }
+
+    private void filterKey(final Event event) {
+	if (!(event.widget instanceof final Control control) || control.getShell() != shell) {
+	    return;
+	}
+	setKey(event.keyCode, event.type == SWT.KeyDown);
+	onInput.run();
+    }
+
+    private void initializeKeyListener() {
+	final var display = shell.getDisplay();
+	display.addFilter(SWT.KeyDown, keyFilter);
+	display.addFilter(SWT.KeyUp, keyFilter);
+	shell.addListener(SWT.Deactivate, _ -> releaseAll());
+	shell.addListener(SWT.Dispose, _ -> {
+	    display.removeFilter(SWT.KeyDown, keyFilter);
+	    display.removeFilter(SWT.KeyUp, keyFilter);
+	});
     }
 
     /**
      * Returns true only on the first frame a key is pressed, not while held.
      */
     public boolean isKeyJustPressed(final int keyCode) {
-	return keysJustPressed.contains(Integer.valueOf(keyCode));
+	return isSet(justPressed, slot(keyCode));
     }
 
     public boolean isKeyPressed(final int keyCode) {
-	return keys.contains(Integer.valueOf(keyCode));
+	return isSet(current, slot(keyCode));
+    }
+
+    private void releaseAll() {
+	for (var i = 0; i < WORDS; i++) {
+	    keys.set(i, 0);
+	}
+	onInput.run();
+    }
+
+    private void setKey(final int keyCode, final boolean down) {
+	final var slot = slot(keyCode);
+	if (slot < 0) {
+	    return;
+	}
+	final var bit = 1L << slot;
+	final var word = slot >>> 6;
+	if (down) {
+	    keys.getAndAccumulate(word, bit, (bits, mask) -> bits | mask);
+	} else {
+	    keys.getAndAccumulate(word, bit, (bits, mask) -> bits & ~mask);
+	}
     }
 
     /**
      * Updates the key state tracking. Call this once per frame.
      */
     public void update() {
-	keysJustPressed.clear();
-
-	// Find keys that are pressed now but weren't pressed in the previous frame
-	keys.stream().filter((final Integer key) -> !previousKeys.contains(key)).forEach(keysJustPressed::add);
-
-	// Update previous keys for next frame
-	previousKeys.clear();
-	previousKeys.addAll(keys);
+	for (var i = 0; i < WORDS; i++) {
+	    previous[i] = current[i];
+	    current[i] = keys.get(i);
+	    // Keys that are pressed now but weren't pressed in the previous frame
+	    justPressed[i] = current[i] & ~previous[i];
+	}
     }
-}
\ No newline at end of file
+}
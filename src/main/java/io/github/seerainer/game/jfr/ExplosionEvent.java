@@ -0,0 +1,50 @@
+package io.github.seerainer.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An explosion, with the particles asked for and those actually created after
+ * quality scaling and capping. Every bullet hit explodes, and stress runs
+ * create thousands per tick, so the event is off by default; the tick event
+ * carries per-tick counts.
+ */
+@Name("io.github.seerainer.game.Explosion")
+@Label("Explosion")
+@Category({ "Asteroid Dodger", "World" })
+@Description("Particle burst created by the world")
+@StackTrace(false)
+@Enabled(false)
+public final class ExplosionEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(ExplosionEvent.class);
+
+    @Label("Requested Particles")
+    int requested;
+
+    @Label("Created Particles")
+    int created;
+
+    @Label("Live Particles")
+    int live;
+
+    public static void emit(final int requestedCount, final int createdCount, final int liveCount) {
+	// Checked before creating the event, as this runs on every hit
+	if (!TYPE.isEnabled()) {
+	    return;
+	}
+	final var event = new ExplosionEvent();
+	if (!event.shouldCommit()) {
+	    return;
+	}
+	event.requested = requestedCount;
+	event.created = createdCount;
+	event.live = liveCount;
+	event.commit();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.seerainer.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * One painted frame. The event duration is the paint itself; the most recent
+ * tick duration and the drawn populations are attached so slow frames can be
+ * told apart from slow simulation. Only frames over the threshold are recorded
+ * by default.
+ */
+@Name("io.github.seerainer.game.Frame")
+@Label("Frame")
+@Category({ "Asteroid Dodger", "Loop" })
+@Description("Painted frame with the last tick duration and drawn entity counts")
+@StackTrace(false)
+@Threshold("10 ms")
+public final class FrameEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(FrameEvent.class);
+
+    @Label("Last Tick")
+    @Timespan
+    long lastTick;
+
+    @Label("Asteroids")
+    int asteroids;
+
+    @Label("Bullets")
+    int bullets;
+
+    @Label("Particles")
+    int particles;
+
+    @Label("Stars")
+    int stars;
+
+    @Label("Quality")
+    String quality;
+
+    @Label("Missed Deadlines")
+    @Description("Frame deadlines missed since startup")
+    long missedDeadlines;
+
+    /**
+     * Begins an event, or returns null if no recording takes frame events, so
+     * frames do not allocate one for nothing.
+     */
+    public static FrameEvent start() {
+	if (!TYPE.isEnabled()) {
+	    return null;
+	}
+	final var event = new FrameEvent();
+	event.begin();
+	return event;
+    }
+
+    /**
+     * Ends the event and commits it if it passed the threshold.
+     */
+    public void complete(final long lastTickNanos, final int asteroidCount, final int bulletCount,
+	    final int particleCount, final int starCount, final String qualityLevel, final long missed) {
+	end();
+	if (!shouldCommit()) {
+	    return;
+	}
+	lastTick = lastTickNanos;
+	asteroids = asteroidCount;
+	bullets = bulletCount;
+	particles = particleCount;
+	stars = starCount;
+	quality = qualityLevel;
+	missedDeadlines = missed;
+	commit();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.seerainer.game.jfr;
+
+import io.github.seerainer.game.GameState;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A change between menu, playing, paused and game over.
+ */
+@Name("io.github.seerainer.game.GameState")
+@Label("Game State Change")
+@Category({ "Asteroid Dodger", "World" })
+@Description("Game state transition")
+@StackTrace(false)
+public final class GameStateEvent extends Event {
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+
+    @Label("Level")
+    int level;
+
+    public static void emit(final GameState oldState, final GameState newState, final int currentLevel) {
+	final var event = new GameStateEvent();
+	if (!event.shouldCommit()) {
+	    return;
+	}
+	event.from = oldState.name();
+	event.to = newState.name();
+	event.level = currentLevel;
+	event.commit();
+    }
+}
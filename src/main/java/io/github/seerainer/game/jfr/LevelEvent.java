@@ -0,0 +1,39 @@
+package io.github.seerainer.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A level transition with the resulting difficulty.
+ */
+@Name("io.github.seerainer.game.Level")
+@Label("Level Transition")
+@Category({ "Asteroid Dodger", "World" })
+@Description("Level reached and the difficulty it brings")
+@StackTrace(false)
+public final class LevelEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Speed Multiplier")
+    float speedMultiplier;
+
+    @Label("Spawn Interval")
+    @Description("Seconds between regular asteroid spawns")
+    float spawnInterval;
+
+    public static void emit(final int newLevel, final float asteroidSpeedMultiplier, final float asteroidSpawnInterval) {
+	final var event = new LevelEvent();
+	if (!event.shouldCommit()) {
+	    return;
+	}
+	event.level = newLevel;
+	event.speedMultiplier = asteroidSpeedMultiplier;
+	event.spawnInterval = asteroidSpawnInterval;
+	event.commit();
+    }
+}
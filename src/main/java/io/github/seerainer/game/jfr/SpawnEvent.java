@@ -0,0 +1,54 @@
+package io.github.seerainer.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An asteroid group, power-up or weapon upgrade entering the field. Stress runs
+ * spawn thousands per tick, so the event is off by default; the tick event
+ * carries per-tick counts.
+ */
+@Name("io.github.seerainer.game.Spawn")
+@Label("Spawn")
+@Category({ "Asteroid Dodger", "World" })
+@Description("Entities spawned by the world")
+@StackTrace(false)
+@Enabled(false)
+public final class SpawnEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(SpawnEvent.class);
+
+    @Label("Kind")
+    @Description("Asteroid, PowerUp or WeaponUpgrade")
+    String kind;
+
+    @Label("Type")
+    String type;
+
+    @Label("Count")
+    int count;
+
+    @Label("Level")
+    int level;
+
+    public static void emit(final String kind, final Enum<?> type, final int count, final int level) {
+	// Checked before creating the event, as this runs on every spawn
+	if (!TYPE.isEnabled()) {
+	    return;
+	}
+	final var event = new SpawnEvent();
+	if (!event.shouldCommit()) {
+	    return;
+	}
+	event.kind = kind;
+	event.type = type.name();
+	event.count = count;
+	event.level = level;
+	event.commit();
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.seerainer.game.jfr;
+
+import io.github.seerainer.game.World;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * One simulation tick, split into input and world update, with the entity
+ * populations after the update and the explosions and spawns during it. Those
+ * can number thousands per tick under load, so they are counted here while
+ * their own events are off by default. Only ticks over the threshold are recorded by
+ * default; the tick budget is 8.3 ms.
+ */
+@Name("io.github.seerainer.game.Tick")
+@Label("Simulation Tick")
+@Category({ "Asteroid Dodger", "Loop" })
+@Description("Simulation tick with phase durations, entity counts, explosions and spawns")
+@StackTrace(false)
+@Threshold("4 ms")
+public final class TickEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(TickEvent.class);
+
+    @Label("Input")
+    @Timespan
+    long input;
+
+    @Label("Update")
+    @Timespan
+    long update;
+
+    @Label("Asteroids")
+    int asteroids;
+
+    @Label("Bullets")
+    int bullets;
+
+    @Label("Particles")
+    int particles;
+
+    @Label("Explosions")
+    int explosions;
+
+    @Label("Requested Particles")
+    @Description("Particles asked for by this tick's explosions")
+    int requestedParticles;
+
+    @Label("Created Particles")
+    @Description("Particles created after quality scaling and capping")
+    int createdParticles;
+
+    @Label("Spawns")
+    @Description("Asteroids, power-ups and weapon upgrades spawned")
+    int spawns;
+
+    // World totals when the tick began, not recorded
+    private transient long explosionTotal;
+    private transient long requestedParticleTotal;
+    private transient long createdParticleTotal;
+    private transient long spawnTotal;
+
+    /**
+     * Ends the event and commits it if it passed the threshold.
+     */
+    public void complete(final long inputNanos, final long updateNanos, final World world) {
+	end();
+	if (!shouldCommit()) {
+	    return;
+	}
+	input = inputNanos;
+	update = updateNanos;
+	asteroids = world.getAsteroidCount();
+	bullets = world.getBulletCount();
+	particles = world.getParticleCount();
+	explosions = (int) (world.getExplosionTotal() - explosionTotal);
+	requestedParticles = (int) (world.getRequestedParticleTotal() - requestedParticleTotal);
+	createdParticles = (int) (world.getCreatedParticleTotal() - createdParticleTotal);
+	spawns = (int) (world.getSpawnTotal() - spawnTotal);
+	commit();
+    }
+
+    /**
+     * Begins an event noting the world's explosion and spawn totals, or returns
+     * null if no recording takes tick events, so ticks do not allocate one for
+     * nothing.
+     */
+    public static TickEvent start(final World world) {
+	if (!TYPE.isEnabled()) {
+	    return null;
+	}
+	final var event = new TickEvent();
+	event.explosionTotal = world.getExplosionTotal();
+	event.requestedParticleTotal = world.getRequestedParticleTotal();
+	event.createdParticleTotal = world.getCreatedParticleTotal();
+	event.spawnTotal = world.getSpawnTotal();
+	event.begin();
+	return event;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.seerainer.game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count.
+ */
+public final class Counter implements Metric {
+    private final String name;
+    private final String help;
+    private final LongAdder value = new LongAdder();
+
+    Counter(final String name, final String help) {
+	this.name = name;
+	this.help = help;
+    }
+
+    public void add(final long amount) {
+	if (amount < 0) {
+	    throw new IllegalArgumentException("Counters only go up: " + amount);
+	}
+	value.add(amount);
+    }
+
+    public long get() {
+	return value.sum();
+    }
+
+    @Override
+    public String getHelp() {
+	return help;
+    }
+
+    @Override
+    public String getName() {
+	return name;
+    }
+
+    public void increment() {
+	value.increment();
+    }
+
+    @Override
+    public void writePrometheus(final StringBuilder out) {
+	out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+	out.append("# TYPE ").append(name).append(" counter\n");
+	out.append(name).append(' ').append(get()).append('\n');
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.seerainer.game.metrics;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.event.EventBuffer;
+import io.github.seerainer.game.event.GameEvent;
+import io.github.seerainer.game.net.LockstepSession;
+import io.github.seerainer.game.util.ObjectPool;
+
+/**
+ * The game's metrics: world state sampled after every tick, tick and paint time
+ * histograms, dropped frames, entity pool occupancy and gameplay event totals.
+ * Registered as the {@code io.github.seerainer.game:type=Metrics} MBean and,
+ * when {@code game.metrics.port} is set, served in Prometheus format on
+ * localhost. Further game stations in the same JVM register under their
+ * station number and serve on the following ports.
+ */
+public class GameMetrics implements AutoCloseable {
+    public static final String OBJECT_NAME = "io.github.seerainer.game:type=Metrics";
+    private static final System.Logger LOGGER = System.getLogger(GameMetrics.class.getName());
+    private static final String PREFIX = "asteroid_dodger_";
+    // Seconds; the tick budget is 8.3 ms, a 60 Hz frame 16.7 ms
+    private static final double[] DURATION_BUCKETS = { 0.0005, 0.001, 0.002, 0.004, 0.0083, 0.0167, 0.0333, 0.1 };
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final Counter ticks = registry.counter(PREFIX + "ticks_total", "Simulation ticks run");
+    private final Counter frames = registry.counter(PREFIX + "frames_total", "Frames painted");
+    private final Counter droppedFrames = registry.counter(PREFIX + "dropped_frames_total",
+	    "Frame deadlines missed by the frame pacer");
+    private final Histogram tickSeconds = registry.histogram(PREFIX + "tick_seconds", "Simulation tick duration",
+	    DURATION_BUCKETS);
+    private final Histogram paintSeconds = registry.histogram(PREFIX + "paint_seconds", "Frame paint duration",
+	    DURATION_BUCKETS);
+    private final Gauge level = registry.gauge(PREFIX + "level", "Current level");
+    private final Gauge asteroidsDestroyed = registry.gauge(PREFIX + "asteroids_destroyed",
+	    "Asteroids destroyed in the current game");
+    private final Gauge asteroidsDodged = registry.gauge(PREFIX + "asteroids_dodged",
+	    "Asteroids dodged in the current game");
+    private final Gauge asteroids = registry.gauge(PREFIX + "asteroids", "Live asteroids");
+    private final Gauge bullets = registry.gauge(PREFIX + "bullets", "Live bullets");
+    private final Gauge particles = registry.gauge(PREFIX + "particles", "Live particles");
+    private ObjectName objectName;
+    private MetricsServer server;
+
+    /**
+     * Registers the MBean and starts the endpoint if configured. Station 0 uses
+     * the plain MBean name and the configured port. Failures are logged; the
+     * game runs without metrics rather than not at all.
+     */
+    public static GameMetrics start(final int station) {
+	final var metrics = new GameMetrics();
+	try {
+	    final var name = new ObjectName(station == 0 ? OBJECT_NAME : OBJECT_NAME + ",station=" + station);
+	    ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(metrics.registry), name);
+	    metrics.objectName = name;
+	} catch (final JMException e) {
+	    LOGGER.log(Level.WARNING, "Could not register metrics MBean", e);
+	}
+	final var port = Integer.getInteger("game.metrics.port", -1).intValue();
+	if (port >= 0) {
+	    try {
+		// Port 0 picks a free port for every station
+		metrics.server = new MetricsServer(metrics.registry, port == 0 ? 0 : port + station);
+		LOGGER.log(Level.INFO, "Metrics at http://localhost:{0,number,#}/metrics",
+			Integer.valueOf(metrics.server.getPort()));
+	    } catch (final IOException e) {
+		LOGGER.log(Level.WARNING, "Could not start metrics endpoint", e);
+	    }
+	}
+	return metrics;
+    }
+
+    @Override
+    public void close() {
+	if (server != null) {
+	    server.close();
+	    server = null;
+	}
+	if (objectName != null) {
+	    try {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+	    } catch (final JMException e) {
+		LOGGER.log(Level.WARNING, "Could not unregister metrics MBean", e);
+	    }
+	    objectName = null;
+	}
+    }
+
+    /**
+     * Records deadlines the frame pacer missed since the last call.
+     */
+    public void droppedFrames(final long count) {
+	if (count > 0) {
+	    droppedFrames.add(count);
+	}
+    }
+
+    /**
+     * Publishes the in-use and created counts of each pool as gauges, read on
+     * scrape.
+     */
+    public void watchPools(final List<ObjectPool<?>> pools) {
+	for (final var pool : pools) {
+	    final var name = PREFIX + "pool_" + pool.getName();
+	    registry.gauge(name + "_in_use", "Pooled " + pool.getName() + " in use", pool::getInUse);
+	    registry.gauge(name + "_created", "Pooled " + pool.getName() + " created so far", pool::getCreated);
+	}
+    }
+
+    /**
+     * Publishes the co-op session's stalls, predictions and rollbacks as
+     * gauges, read on scrape: the rollback rate follows from the totals, the
+     * average depth from resimulated ticks per rollback.
+     */
+    public void watchCoop(final LockstepSession coop) {
+	registry.gauge(PREFIX + "coop_stalls", "Co-op steps that waited for partner input", coop::getStalls);
+	registry.gauge(PREFIX + "coop_predicted_ticks", "Co-op ticks simulated with predicted partner input",
+		coop::getPredictedTicks);
+	registry.gauge(PREFIX + "coop_rollbacks", "Co-op rollbacks after a misprediction", coop::getRollbacks);
+	registry.gauge(PREFIX + "coop_resimulated_ticks", "Co-op ticks simulated again after rollbacks",
+		coop::getResimulatedTicks);
+	registry.gauge(PREFIX + "coop_rollback_max_depth", "Most co-op ticks resimulated by one rollback",
+		coop::getMaxRollbackDepth);
+	registry.gauge(PREFIX + "coop_verified_hashes", "Co-op state hashes that matched the partner's",
+		coop::getVerifiedHashes);
+    }
+
+    /**
+     * Publishes the running total of each gameplay event type as a gauge, read
+     * on scrape.
+     */
+    public void watchEvents(final EventBuffer events) {
+	for (final var type : GameEvent.values()) {
+	    final var name = type.name().toLowerCase(Locale.ROOT);
+	    registry.gauge(PREFIX + "events_" + name, "Gameplay " + name + " events so far",
+		    () -> events.getTotal(type));
+	}
+	registry.gauge(PREFIX + "events_peak_per_tick", "Most gameplay events in a single tick", events::getPeak);
+    }
+
+    /**
+     * Records one painted frame. UI thread.
+     */
+    public void frame(final long paintNanos) {
+	frames.increment();
+	paintSeconds.observeNanos(paintNanos);
+    }
+
+    public MetricsRegistry getRegistry() {
+	return registry;
+    }
+
+    /**
+     * Samples the world after a tick. Simulation thread.
+     */
+    public void tick(final World world, final long tickNanos) {
+	ticks.increment();
+	tickSeconds.observeNanos(tickNanos);
+	level.set(world.getCurrentLevel());
+	asteroidsDestroyed.set(world.getAsteroidsDestroyed());
+	asteroidsDodged.set(world.getAsteroidsDodged());
+	asteroids.set(world.getAsteroidCount());
+	bullets.set(world.getBulletCount());
+	particles.set(world.getParticleCount());
+    }
+}
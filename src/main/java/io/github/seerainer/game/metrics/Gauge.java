@@ -0,0 +1,48 @@
+package io.github.seerainer.game.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value that goes up and down, either set by its owner or read from a supplier
+ * on every scrape.
+ */
+public final class Gauge implements Metric {
+    private final String name;
+    private final String help;
+    private final DoubleSupplier supplier;
+    private volatile double value;
+
+    Gauge(final String name, final String help, final DoubleSupplier supplier) {
+	this.name = name;
+	this.help = help;
+	this.supplier = supplier;
+    }
+
+    public double get() {
+	return supplier != null ? supplier.getAsDouble() : value;
+    }
+
+    @Override
+    public String getHelp() {
+	return help;
+    }
+
+    @Override
+    public String getName() {
+	return name;
+    }
+
+    public void set(final double newValue) {
+	if (supplier != null) {
+	    throw new IllegalStateException(name + " is computed on scrape");
+	}
+	value = newValue;
+    }
+
+    @Override
+    public void writePrometheus(final StringBuilder out) {
+	out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+	out.append("# TYPE ").append(name).append(" gauge\n");
+	out.append(name).append(' ').append(MetricsRegistry.format(get())).append('\n');
+    }
+}
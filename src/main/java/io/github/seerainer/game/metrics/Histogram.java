@@ -0,0 +1,99 @@
+package io.github.seerainer.game.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Distribution of observed values over fixed upper bounds, exported as a
+ * cumulative Prometheus histogram. Observing never allocates.
+ */
+public final class Histogram implements Metric {
+    private final String name;
+    private final String help;
+    private final double[] bounds;
+    // Per-bucket counts, the last one collects everything above the highest bound
+    private final AtomicLongArray buckets;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    Histogram(final String name, final String help, final double... bounds) {
+	if (bounds.length == 0) {
+	    throw new IllegalArgumentException(name + " needs at least one bucket");
+	}
+	for (var i = 1; i < bounds.length; i++) {
+	    if (bounds[i] <= bounds[i - 1]) {
+		throw new IllegalArgumentException(name + " bucket bounds must be ascending");
+	    }
+	}
+	this.name = name;
+	this.help = help;
+	this.bounds = bounds.clone();
+	this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Number of observations at or below the given bucket's upper bound.
+     */
+    public long cumulativeCount(final int bucket) {
+	var cumulative = 0L;
+	for (var i = 0; i <= bucket; i++) {
+	    cumulative += buckets.get(i);
+	}
+	return cumulative;
+    }
+
+    public double[] getBounds() {
+	return bounds.clone();
+    }
+
+    public long getCount() {
+	return cumulativeCount(bounds.length);
+    }
+
+    @Override
+    public String getHelp() {
+	return help;
+    }
+
+    @Override
+    public String getName() {
+	return name;
+    }
+
+    public double getSum() {
+	return sum.sum();
+    }
+
+    public void observe(final double value) {
+	var bucket = Arrays.binarySearch(bounds, value);
+	if (bucket < 0) {
+	    bucket = -bucket - 1;
+	}
+	buckets.incrementAndGet(bucket);
+	sum.add(value);
+    }
+
+    /**
+     * Observes a duration, in seconds as Prometheus expects.
+     */
+    public void observeNanos(final long nanos) {
+	observe((double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public void writePrometheus(final StringBuilder out) {
+	out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+	out.append("# TYPE ").append(name).append(" histogram\n");
+	var cumulative = 0L;
+	for (var i = 0; i < bounds.length; i++) {
+	    cumulative += buckets.get(i);
+	    out.append(name).append("_bucket{le=\"").append(MetricsRegistry.format(bounds[i])).append("\"} ")
+		    .append(cumulative).append('\n');
+	}
+	cumulative += buckets.get(bounds.length);
+	out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+	out.append(name).append("_sum ").append(MetricsRegistry.format(getSum())).append('\n');
+	out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.seerainer.game.metrics;
+
+/**
+ * A named value in the {@link MetricsRegistry}. Updates are lock-free and may
+ * happen on any thread.
+ */
+public sealed interface Metric permits Counter, Gauge, Histogram {
+
+    String getHelp();
+
+    String getName();
+
+    /**
+     * Appends the metric in the Prometheus text exposition format.
+     */
+    void writePrometheus(StringBuilder out);
+}
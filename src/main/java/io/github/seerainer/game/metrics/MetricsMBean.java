@@ -0,0 +1,119 @@
+package io.github.seerainer.game.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Read-only JMX view of a {@link MetricsRegistry}: one attribute per counter
+ * and gauge, and {@code _count} and {@code _sum} attributes per histogram. A
+ * dynamic MBean needs no reflection, so it also works in the native image.
+ * Attributes are looked up in the live registry, so metrics registered after
+ * the MBean, such as pool and co-op gauges, show up as well.
+ */
+public class MetricsMBean implements DynamicMBean {
+    private static final String COUNT_SUFFIX = "_count";
+    private static final String SUM_SUFFIX = "_sum";
+    private final MetricsRegistry registry;
+    // Rebuilt when metrics have been registered since; registration only adds
+    private MBeanInfo info;
+    private int infoMetrics = -1;
+
+    public MetricsMBean(final MetricsRegistry registry) {
+	this.registry = registry;
+    }
+
+    private static void add(final List<MBeanAttributeInfo> infos, final String name, final String description,
+	    final Class<?> type) {
+	infos.add(new MBeanAttributeInfo(name, type.getName(), description, true, false, false));
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+	final var value = read(attribute);
+	if (value == null) {
+	    throw new AttributeNotFoundException(attribute);
+	}
+	return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] names) {
+	final var list = new AttributeList();
+	for (final var name : names) {
+	    final var value = read(name);
+	    if (value != null) {
+		list.add(new Attribute(name, value));
+	    }
+	}
+	return list;
+    }
+
+    @Override
+    public synchronized MBeanInfo getMBeanInfo() {
+	final var metrics = registry.getMetrics();
+	if (metrics.size() != infoMetrics) {
+	    final var infos = new ArrayList<MBeanAttributeInfo>();
+	    for (final var metric : metrics) {
+		switch (metric) {
+		case final Counter counter -> add(infos, counter.getName(), counter.getHelp(), Long.class);
+		case final Gauge gauge -> add(infos, gauge.getName(), gauge.getHelp(), Double.class);
+		case final Histogram histogram -> {
+		    add(infos, histogram.getName() + COUNT_SUFFIX, histogram.getHelp() + " (observations)",
+			    Long.class);
+		    add(infos, histogram.getName() + SUM_SUFFIX, histogram.getHelp() + " (sum)", Double.class);
+		}
+		}
+	    }
+	    info = new MBeanInfo(getClass().getName(), "Asteroid Dodger game metrics",
+		    infos.toArray(MBeanAttributeInfo[]::new), null, null, null);
+	    infoMetrics = metrics.size();
+	}
+	return info;
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+	    throws ReflectionException {
+	throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    /**
+     * Current value of the attribute, or null if there is no such attribute.
+     */
+    private Object read(final String attribute) {
+	final var metric = registry.get(attribute);
+	if (metric instanceof final Counter counter) {
+	    return Long.valueOf(counter.get());
+	}
+	if (metric instanceof final Gauge gauge) {
+	    return Double.valueOf(gauge.get());
+	}
+	if (attribute.endsWith(COUNT_SUFFIX) && registry.get(attribute.substring(0,
+		attribute.length() - COUNT_SUFFIX.length())) instanceof final Histogram histogram) {
+	    return Long.valueOf(histogram.getCount());
+	}
+	if (attribute.endsWith(SUM_SUFFIX) && registry.get(attribute.substring(0,
+		attribute.length() - SUM_SUFFIX.length())) instanceof final Histogram histogram) {
+	    return Double.valueOf(histogram.getSum());
+	}
+	return null;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+	throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList list) {
+	return new AttributeList();
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.seerainer.game.metrics;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Named counters, gauges and histograms. Registration is expected at startup;
+ * updating and reading metrics afterwards is lock-free.
+ */
+public class MetricsRegistry {
+    private static final Pattern VALID_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private final ConcurrentHashMap<String, Metric> byName = new ConcurrentHashMap<>();
+    // Registration order, which is also the export order
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    static String format(final double value) {
+	if (Double.isInfinite(value)) {
+	    return value > 0 ? "+Inf" : "-Inf";
+	}
+	if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+	    return Long.toString((long) value);
+	}
+	return Double.toString(value);
+    }
+
+    public Counter counter(final String name, final String help) {
+	return register(new Counter(name, help));
+    }
+
+    public Gauge gauge(final String name, final String help) {
+	return register(new Gauge(name, help, null));
+    }
+
+    /**
+     * Registers a gauge whose value is computed by {@code supplier} on every
+     * read, on the reading thread.
+     */
+    public Gauge gauge(final String name, final String help, final DoubleSupplier supplier) {
+	return register(new Gauge(name, help, supplier));
+    }
+
+    public Metric get(final String name) {
+	return byName.get(name);
+    }
+
+    public List<Metric> getMetrics() {
+	return List.copyOf(metrics);
+    }
+
+    /**
+     * @param bounds ascending bucket upper bounds
+     */
+    public Histogram histogram(final String name, final String help, final double... bounds) {
+	return register(new Histogram(name, help, bounds));
+    }
+
+    private <M extends Metric> M register(final M metric) {
+	if (!VALID_NAME.matcher(metric.getName()).matches()) {
+	    throw new IllegalArgumentException("Invalid metric name: " + metric.getName());
+	}
+	if (byName.putIfAbsent(metric.getName(), metric) != null) {
+	    throw new IllegalArgumentException("Metric already registered: " + metric.getName());
+	}
+	metrics.add(metric);
+	return metric;
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format.
+     */
+    public String scrape() {
+	final var out = new StringBuilder();
+	for (final var metric : metrics) {
+	    metric.writePrometheus(out);
+	}
+	return out.toString();
+    }
+}
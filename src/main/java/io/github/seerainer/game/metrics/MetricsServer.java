@@ -0,0 +1,57 @@
+package io.github.seerainer.game.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves {@link MetricsRegistry#scrape()} at {@code /metrics} on the loopback
+ * interface only, one virtual thread per request, for a local monitoring agent.
+ */
+public class MetricsServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Starts serving right away.
+     *
+     * @param port local port, or 0 for any free one
+     */
+    public MetricsServer(final MetricsRegistry registry, final int port) throws IOException {
+	server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+	server.setExecutor(executor);
+	server.createContext("/metrics", exchange -> respond(exchange, registry));
+	server.start();
+    }
+
+    private static void respond(final HttpExchange exchange, final MetricsRegistry registry) throws IOException {
+	try (exchange) {
+	    if (!"GET".equals(exchange.getRequestMethod())) {
+		exchange.getResponseHeaders().set("Allow", "GET");
+		exchange.sendResponseHeaders(405, -1);
+		return;
+	    }
+	    final var body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+	    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+	    exchange.sendResponseHeaders(200, body.length);
+	    exchange.getResponseBody().write(body);
+	}
+    }
+
+    @Override
+    public void close() {
+	server.stop(0);
+	executor.close();
+    }
+
+    public int getPort() {
+	return server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,585 @@
+package io.github.seerainer.game.net;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.spawn.SpawnDirector;
+import io.github.seerainer.game.spectate.SpectatorClient;
+
+/**
+ * Two-player co-op in deterministic lockstep. Both peers run the same
+ * simulation from the same seed and only exchange their inputs, one byte per
+ * tick, so the traffic does not grow with the number of entities on screen.
+ * <p>
+ * A tick is simulated once both ships' inputs for it are known. Local input
+ * is scheduled {@code delay} ticks ahead, which hides that much network
+ * latency; beyond it the game waits (stalls) for the peer. Every packet
+ * repeats all inputs the peer has not acknowledged yet, up to the redundancy
+ * limit, so a lost packet is covered by the next one without any resending.
+ * Every {@link #HASH_INTERVAL} ticks both peers hash their world and send the
+ * hash along; a mismatch is reported as a desync.
+ * <p>
+ * With {@linkplain #setRollback rollback} a peer does not wait for late input
+ * but predicts that the partner keeps doing what it did last, and saves the
+ * world before every predicted tick into a ring of preallocated copies. When
+ * the real input differs from the prediction, the world is restored to the
+ * first mispredicted tick and simulated forward again to the present, all
+ * within one step; how far a peer may run ahead bounds that work. Rollback is
+ * a local choice, peers with and without it play together, and only states
+ * computed from real inputs are hashed.
+ * <p>
+ * The host picks the seed, field size and input delay and controls ship 0;
+ * the guest joins, takes them over and controls ship 1. Not thread-safe: call
+ * {@link #step} from the simulation thread once per tick.
+ */
+public class LockstepSession implements AutoCloseable {
+    /** Ticks between state hash comparisons. */
+    public static final int HASH_INTERVAL = 60;
+    private static final System.Logger LOGGER = System.getLogger(LockstepSession.class.getName());
+    private static final double TICK_SECONDS = 1.0 / World.TICKS_PER_SECOND;
+    private static final int WINDOW = 256;
+    private static final int MASK = WINDOW - 1;
+    private static final int MAX_DELAY = 60;
+    private static final int MAX_REDUNDANCY = 128;
+    private static final int MAX_ROLLBACK = 30;
+    private static final int HASHES = 16;
+    private static final int DEFAULT_DELAY = 4;
+    private static final int DEFAULT_REDUNDANCY = 32;
+    private static final byte MAGIC = (byte) 0xAD;
+    private static final byte PROTOCOL = 1;
+    private static final byte JOIN = 1;
+    private static final byte SETUP = 2;
+    private static final byte INPUT = 3;
+    private static final byte BYE = 4;
+    private static final long JOIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final PacketLink link;
+    private final World world;
+    private final boolean host;
+    private final int localPlayer;
+    private final int redundancy;
+    private final ByteBuffer in = ByteBuffer.allocate(1024);
+    private final ByteBuffer out = ByteBuffer.allocate(1024);
+    private final byte[] localInputs = new byte[WINDOW];
+    private final byte[] remoteInputs = new byte[WINDOW];
+    // Remote input each tick was simulated with, predicted or real
+    private final byte[] usedRemote = new byte[WINDOW];
+    private final int[] inputs = new int[2];
+    private final long[] localHashes = new long[HASHES];
+    private final int[] localHashTicks = new int[HASHES];
+    private final long[] remoteHashes = new long[HASHES];
+    private final int[] remoteHashTicks = new int[HASHES];
+    private long seed;
+    private int width;
+    private int height;
+    private int delay;
+    private boolean started;
+    private boolean peerLeft;
+    // Next tick to simulate
+    private int tick;
+    // Local inputs are known for ticks before this one
+    private int localScheduled;
+    // Remote inputs are known for ticks before this one
+    private int remoteKnown;
+    // The peer has our inputs for ticks before this one
+    private int remoteAcked;
+    private int lastHashTick = -1;
+    private int lastVerifiedTick;
+    private int verifiedHashes;
+    private int desyncTick = -1;
+    // World before each predicted tick, indexed by tick; null without rollback
+    private World[] saved;
+    private int rollback;
+    // Earliest tick simulated with a wrong prediction
+    private int mispredicted = Integer.MAX_VALUE;
+    private long predictedTicks;
+    private int rollbacks;
+    private long resimulatedTicks;
+    private int maxRollbackDepth;
+    private long lastReceived;
+    private long lastJoinSent;
+    private int stalls;
+    private long packetsSent;
+    private long bytesSent;
+    private long packetsReceived;
+    private long bytesReceived;
+
+    private LockstepSession(final PacketLink link, final World world, final boolean host, final int redundancy) {
+	if (redundancy < 1 || redundancy > MAX_REDUNDANCY) {
+	    throw new IllegalArgumentException("Redundancy must be in 1.." + MAX_REDUNDANCY + ": " + redundancy);
+	}
+	this.link = link;
+	this.world = world;
+	this.host = host;
+	this.localPlayer = host ? 0 : 1;
+	this.redundancy = redundancy;
+	for (var i = 0; i < HASHES; i++) {
+	    localHashTicks[i] = -1;
+	    remoteHashTicks[i] = -1;
+	}
+    }
+
+    private static int checkDelay(final int delay) {
+	if (delay < 0 || delay > MAX_DELAY) {
+	    throw new IllegalArgumentException("Input delay must be in 0.." + MAX_DELAY + ": " + delay);
+	}
+	return delay;
+    }
+
+    /**
+     * Hosts co-op when {@code game.coop.host} gives a UDP port, or joins when
+     * {@code game.coop.join} gives {@code host:port}. {@code game.coop.delay}
+     * sets the host's input delay in ticks and {@code game.coop.rollback} how
+     * many ticks this peer may predict ahead; {@code game.coop.latency} (ms),
+     * {@code game.coop.jitter} (ms) and {@code game.coop.loss} (0..1) make the
+     * outgoing side of the link worse for testing.
+     *
+     * @return the session, or null for single-player
+     */
+    public static LockstepSession fromSystemProperties(final World world, final long seed) {
+	final var hostPort = Integer.getInteger("game.coop.host", -1).intValue();
+	final var joinAddress = System.getProperty("game.coop.join");
+	if (hostPort < 0 && joinAddress == null) {
+	    return null;
+	}
+	try {
+	    final var latency = Long.getLong("game.coop.latency", 0).longValue();
+	    final var jitter = Long.getLong("game.coop.jitter", 0).longValue();
+	    final var loss = Double.parseDouble(System.getProperty("game.coop.loss", "0"));
+	    final var delay = checkDelay(Integer.getInteger("game.coop.delay", DEFAULT_DELAY).intValue());
+	    final var rollback = Integer.getInteger("game.coop.rollback", 0).intValue();
+	    if (rollback < 0 || rollback > MAX_ROLLBACK) {
+		throw new IllegalArgumentException("Rollback must be in 0.." + MAX_ROLLBACK + ": " + rollback);
+	    }
+	    final var udp = hostPort >= 0 ? UdpLink.listen(new InetSocketAddress(hostPort))
+		    : UdpLink.connect(SpectatorClient.parseAddress(joinAddress));
+	    PacketLink link = udp;
+	    if (latency > 0 || jitter > 0 || loss > 0) {
+		link = new SimulatedLink(link, TimeUnit.MILLISECONDS.toNanos(latency),
+			TimeUnit.MILLISECONDS.toNanos(jitter), loss, seed);
+	    }
+	    if (hostPort >= 0) {
+		LOGGER.log(Level.INFO, "Waiting for a co-op partner on UDP port {0,number,#}",
+			Integer.valueOf(udp.getLocalPort()));
+		final var session = host(link, world, seed, delay, DEFAULT_REDUNDANCY);
+		session.setRollback(rollback);
+		return session;
+	    }
+	    LOGGER.log(Level.INFO, "Joining co-op at {0}", joinAddress);
+	    final var session = join(link, world, DEFAULT_REDUNDANCY);
+	    session.setRollback(rollback);
+	    return session;
+	} catch (final IOException | IllegalArgumentException e) {
+	    LOGGER.log(Level.WARNING, "Could not start co-op, playing alone", e);
+	    return null;
+	}
+    }
+
+    /**
+     * Waits for a guest on the link. The world is set up for co-op once the
+     * guest has joined, from the given seed and the world's current size.
+     *
+     * @param delay      ticks local input is scheduled ahead
+     * @param redundancy most inputs repeated in one packet
+     */
+    public static LockstepSession host(final PacketLink link, final World world, final long seed, final int delay,
+	    final int redundancy) {
+	final var session = new LockstepSession(link, world, true, redundancy);
+	session.seed = seed;
+	session.width = world.getWidth();
+	session.height = world.getHeight();
+	session.delay = checkDelay(delay);
+	return session;
+    }
+
+    /**
+     * Joins the host on the other end of the link; the world is set up as soon
+     * as the host answers.
+     *
+     * @param redundancy most inputs repeated in one packet
+     */
+    public static LockstepSession join(final PacketLink link, final World world, final int redundancy) {
+	return new LockstepSession(link, world, false, redundancy);
+    }
+
+    private void begin() {
+	// Both peers start from identical worlds: same seed, size, ships and effect
+	// budget, which decides how many random particles an explosion draws
+	world.resize(width, height);
+	world.reset();
+	world.setCoop(true);
+	world.setQuality(QualityLevel.HIGH);
+	world.reseed(seed);
+	world.reset();
+	// The first ticks have no input from either side
+	localScheduled = delay;
+	remoteKnown = delay;
+	remoteAcked = delay;
+	started = true;
+	LOGGER.log(Level.INFO, "Co-op started as ship {0}, input delay {1} ticks", Integer.valueOf(localPlayer + 1),
+		Integer.valueOf(delay));
+    }
+
+    private void check(final int slot) {
+	final var hashTick = localHashTicks[slot];
+	if (hashTick < 0 || hashTick != remoteHashTicks[slot] || hashTick <= lastVerifiedTick) {
+	    return;
+	}
+	lastVerifiedTick = hashTick;
+	if (localHashes[slot] == remoteHashes[slot]) {
+	    verifiedHashes++;
+	} else if (desyncTick < 0) {
+	    desyncTick = hashTick;
+	    LOGGER.log(Level.WARNING, "Co-op desync at tick {0}: local state {1}, remote state {2}",
+		    Integer.valueOf(hashTick), Long.toHexString(localHashes[slot]), Long.toHexString(remoteHashes[slot]));
+	}
+    }
+
+    /**
+     * Tells the peer the session ends and closes the link.
+     */
+    @Override
+    public void close() throws IOException {
+	if (started) {
+	    out.clear();
+	    out.put(MAGIC).put(BYE);
+	    send();
+	}
+	link.close();
+    }
+
+    public long getBytesReceived() {
+	return bytesReceived;
+    }
+
+    public long getBytesSent() {
+	return bytesSent;
+    }
+
+    /** Input delay in ticks; the host's choice, known to the guest once joined. */
+    public int getDelay() {
+	return delay;
+    }
+
+    /** First tick whose state hashes differed, or -1. */
+    public int getDesyncTick() {
+	return desyncTick;
+    }
+
+    /** Ship this peer controls: 0 for the host, 1 for the guest. */
+    public int getLocalPlayer() {
+	return localPlayer;
+    }
+
+    /** Most ticks resimulated by a single rollback. */
+    public int getMaxRollbackDepth() {
+	return maxRollbackDepth;
+    }
+
+    /** Ticks simulated with predicted partner input, resimulations included. */
+    public long getPredictedTicks() {
+	return predictedTicks;
+    }
+
+    /** Ticks simulated again after a misprediction. */
+    public long getResimulatedTicks() {
+	return resimulatedTicks;
+    }
+
+    /** Mispredictions that made the world roll back. */
+    public int getRollbacks() {
+	return rollbacks;
+    }
+
+    /** Steps in which the tick could not be simulated for lack of peer input. */
+    public int getStalls() {
+	return stalls;
+    }
+
+    /** Ticks simulated so far. */
+    public int getTick() {
+	return tick;
+    }
+
+    /** State hashes that matched the peer's. */
+    public int getVerifiedHashes() {
+	return verifiedHashes;
+    }
+
+    /**
+     * Hashes the next hash tick if its state was predicted when the world got
+     * there and has been confirmed since. Its state is the live world or one of
+     * the saved ones.
+     */
+    private void hashConfirmed() {
+	final var hashTick = (Math.max(lastHashTick, 0) / HASH_INTERVAL + 1) * HASH_INTERVAL;
+	if (hashTick > tick || hashTick > remoteKnown) {
+	    return;
+	}
+	recordHash(hashTick, hashTick == tick ? world.stateHash() : saved[hashTick % saved.length].stateHash());
+    }
+
+    /**
+     * Whether the peer is there: joined, not gone and heard from recently.
+     */
+    public boolean isConnected() {
+	return started && !peerLeft && System.nanoTime() - lastReceived < TIMEOUT_NANOS;
+    }
+
+    public boolean isStarted() {
+	return started;
+    }
+
+    private void read() throws IOException {
+	final var now = System.nanoTime();
+	while (true) {
+	    in.clear();
+	    if (!link.receive(in)) {
+		return;
+	    }
+	    in.flip();
+	    packetsReceived++;
+	    bytesReceived += in.remaining();
+	    try {
+		if (in.get() == MAGIC) {
+		    lastReceived = now;
+		    readPacket(in.get());
+		}
+	    } catch (final BufferUnderflowException e) {
+		LOGGER.log(Level.DEBUG, "Truncated co-op packet", e);
+	    }
+	}
+    }
+
+    private void readInputs() {
+	final var ack = in.getInt();
+	final var first = in.getInt();
+	final var count = in.get() & 0xFF;
+	if (ack > remoteAcked && ack <= localScheduled) {
+	    remoteAcked = ack;
+	}
+	for (var i = 0; i < count; i++) {
+	    final var input = in.get();
+	    final var inputTick = first + i;
+	    // Only the next missing input; the ring holds no more than a window ahead
+	    if (inputTick == remoteKnown && inputTick - tick < WINDOW) {
+		remoteInputs[inputTick & MASK] = input;
+		if (inputTick < tick && usedRemote[inputTick & MASK] != input && inputTick < mispredicted) {
+		    mispredicted = inputTick;
+		}
+		remoteKnown++;
+	    }
+	}
+	final var hashTick = in.getInt();
+	final var hash = in.getLong();
+	if (hashTick > 0) {
+	    final var slot = (hashTick / HASH_INTERVAL) % HASHES;
+	    remoteHashTicks[slot] = hashTick;
+	    remoteHashes[slot] = hash;
+	    check(slot);
+	}
+    }
+
+    private void readPacket(final byte type) throws IOException {
+	switch (type) {
+	case JOIN -> {
+	    if (host && in.get() == PROTOCOL) {
+		if (!started) {
+		    begin();
+		}
+		// Also answers repeated joins whose setup got lost
+		sendSetup();
+	    }
+	}
+	case SETUP -> {
+	    if (!host && !started && in.get() == PROTOCOL) {
+		seed = in.getLong();
+		width = in.getInt();
+		height = in.getInt();
+		delay = in.get();
+		begin();
+	    }
+	}
+	case INPUT -> {
+	    if (started) {
+		readInputs();
+	    }
+	}
+	case BYE -> {
+	    peerLeft = true;
+	    LOGGER.log(Level.INFO, "Co-op partner left");
+	}
+	default -> LOGGER.log(Level.DEBUG, "Unknown co-op packet type {0}", Byte.valueOf(type));
+	}
+    }
+
+    private void recordHash(final int hashTick, final long hash) {
+	final var slot = (hashTick / HASH_INTERVAL) % HASHES;
+	localHashTicks[slot] = hashTick;
+	localHashes[slot] = hash;
+	lastHashTick = hashTick;
+	check(slot);
+    }
+
+    /**
+     * Restores the world saved before the first mispredicted tick and simulates
+     * it forward to the present again with the inputs known by now.
+     */
+    private void rollBack() {
+	final var present = tick;
+	final var depth = present - mispredicted;
+	world.restore(saved[mispredicted % saved.length]);
+	tick = mispredicted;
+	mispredicted = Integer.MAX_VALUE;
+	// These ticks were recorded when they were first predicted
+	world.setResimulating(true);
+	try {
+	    while (tick < present) {
+		simulate();
+	    }
+	} finally {
+	    world.setResimulating(false);
+	}
+	rollbacks++;
+	resimulatedTicks += depth;
+	maxRollbackDepth = Math.max(maxRollbackDepth, depth);
+    }
+
+    private void send() throws IOException {
+	out.flip();
+	packetsSent++;
+	bytesSent += out.remaining();
+	link.send(out);
+    }
+
+    private void sendInputs() throws IOException {
+	final var count = Math.min(localScheduled - remoteAcked, redundancy);
+	out.clear();
+	out.put(MAGIC).put(INPUT);
+	out.putInt(remoteKnown);
+	out.putInt(remoteAcked);
+	out.put((byte) count);
+	for (var i = 0; i < count; i++) {
+	    out.put(localInputs[(remoteAcked + i) & MASK]);
+	}
+	out.putInt(lastHashTick);
+	out.putLong(lastHashTick > 0 ? localHashes[(lastHashTick / HASH_INTERVAL) % HASHES] : 0);
+	send();
+    }
+
+    private void sendSetup() throws IOException {
+	out.clear();
+	out.put(MAGIC).put(SETUP).put(PROTOCOL);
+	out.putLong(seed);
+	out.putInt(width);
+	out.putInt(height);
+	out.put((byte) delay);
+	send();
+    }
+
+    /**
+     * Lets the world run up to the given number of ticks ahead of the partner's
+     * input on predictions instead of stalling; 0, the default, is plain
+     * lockstep. Call before the first step.
+     *
+     * @param ticks at most {@value #MAX_ROLLBACK}, which also bounds the ticks
+     *              one step may have to simulate again
+     */
+    public void setRollback(final int ticks) {
+	if (ticks < 0 || ticks > MAX_ROLLBACK) {
+	    throw new IllegalArgumentException("Rollback must be in 0.." + MAX_ROLLBACK + ": " + ticks);
+	}
+	rollback = ticks;
+	saved = new World[ticks + 1];
+	for (var i = 0; i < saved.length; i++) {
+	    saved[i] = new World(1, 1, SpawnDirector.getDefault(), 0);
+	}
+    }
+
+    /**
+     * Simulates the current tick with the partner's input, or a prediction of
+     * it after saving the world.
+     */
+    private void simulate() {
+	final int remote;
+	if (tick < remoteKnown) {
+	    remote = remoteInputs[tick & MASK];
+	} else {
+	    // The partner keeps doing what it did last, but does not start a game
+	    world.copyTo(saved[tick % saved.length]);
+	    remote = remoteInputs[(remoteKnown - 1) & MASK] & ~PlayerInput.START;
+	    predictedTicks++;
+	}
+	usedRemote[tick & MASK] = (byte) remote;
+	inputs[localPlayer] = localInputs[tick & MASK];
+	inputs[1 - localPlayer] = remote;
+	PlayerInput.apply(world, inputs, TICK_SECONDS);
+	tick++;
+	if (tick % HASH_INTERVAL == 0 && tick <= remoteKnown) {
+	    recordHash(tick, world.stateHash());
+	}
+    }
+
+    /**
+     * Runs one tick if both inputs for it are there: exchanges packets,
+     * schedules the local input {@code delay} ticks ahead and advances the
+     * world by one tick.
+     *
+     * @param localInput this peer's {@link PlayerInput} bits for this tick
+     * @return whether the world was advanced
+     */
+    public boolean step(final int localInput) throws IOException {
+	read();
+	if (!started) {
+	    final var now = System.nanoTime();
+	    if (!host && now - lastJoinSent >= JOIN_INTERVAL_NANOS) {
+		lastJoinSent = now;
+		out.clear();
+		out.put(MAGIC).put(JOIN).put(PROTOCOL);
+		send();
+	    }
+	    return false;
+	}
+	if (!peerLeft && System.nanoTime() - lastReceived >= TIMEOUT_NANOS) {
+	    peerLeft = true;
+	    LOGGER.log(Level.WARNING, "Co-op partner timed out at tick {0}", Integer.valueOf(tick));
+	}
+	if (mispredicted < tick) {
+	    rollBack();
+	}
+	hashConfirmed();
+	// Record the input once per tick, however long the tick stalls
+	if (localScheduled == tick + delay) {
+	    localInputs[localScheduled & MASK] = (byte) localInput;
+	    localScheduled++;
+	}
+	var advanced = false;
+	if (tick < remoteKnown + rollback) {
+	    simulate();
+	    advanced = true;
+	} else {
+	    stalls++;
+	}
+	sendInputs();
+	return advanced;
+    }
+
+    /**
+     * One line of statistics for reports.
+     */
+    public String summary() {
+	return String.format(Locale.ROOT,
+		"%d ticks, %d stalls, %d rollbacks (%d ticks resimulated, deepest %d), %d packets sent (%.1f bytes/tick), %d received, %d hashes verified%s",
+		Integer.valueOf(tick), Integer.valueOf(stalls), Integer.valueOf(rollbacks), Long.valueOf(resimulatedTicks),
+		Integer.valueOf(maxRollbackDepth), Long.valueOf(packetsSent),
+		Double.valueOf(tick > 0 ? (double) bytesSent / tick : 0), Long.valueOf(packetsReceived),
+		Integer.valueOf(verifiedHashes), desyncTick >= 0 ? ", desync at tick " + desyncTick : "");
+    }
+}
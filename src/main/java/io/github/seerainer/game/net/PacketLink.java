@@ -0,0 +1,27 @@
+package io.github.seerainer.game.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Unreliable, unordered datagram connection to one peer. Never blocks:
+ * packets may be lost, duplicated or reordered, and the protocols on top
+ * cope with that.
+ */
+public interface PacketLink extends Closeable {
+
+    /**
+     * Receives one packet into the buffer, from its position on, if one is
+     * waiting.
+     *
+     * @return false if no packet was waiting
+     */
+    boolean receive(ByteBuffer packet) throws IOException;
+
+    /**
+     * Sends the remaining bytes of the buffer as one packet, or drops them if
+     * the link cannot take them right now.
+     */
+    void send(ByteBuffer packet) throws IOException;
+}
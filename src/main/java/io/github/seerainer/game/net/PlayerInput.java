@@ -0,0 +1,82 @@
+package io.github.seerainer.game.net;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.ControlInput;
+
+/**
+ * One ship's input for one tick packed into a byte, the only thing peers in
+ * lockstep exchange. Directions are digital, like the keyboard; bot input is
+ * rounded to the nearest of the eight directions.
+ */
+public final class PlayerInput {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int FIRE = 1 << 4;
+    /** Starts a game from the menu or returns to it after game over. */
+    public static final int START = 1 << 5;
+
+    private PlayerInput() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Applies both ships' inputs for one tick and advances the world. A start
+     * from either ship changes the game state once; movement and fire follow,
+     * ship 0 first, so every peer applies the inputs in the same order.
+     */
+    public static void apply(final World world, final int[] inputs, final double dt) {
+	var start = false;
+	for (final var input : inputs) {
+	    start |= (input & START) != 0;
+	}
+	if (start) {
+	    switch (world.getGameState()) {
+	    case MENU -> world.startGame();
+	    case GAME_OVER -> world.reset();
+	    default -> {
+		// Starting is ignored while playing
+	    }
+	    }
+	}
+	if (world.getGameState() == GameState.PLAYING) {
+	    for (var ship = 0; ship < inputs.length; ship++) {
+		final var input = inputs[ship];
+		world.movePlayer(ship, directionX(input), directionY(input), dt);
+		if ((input & FIRE) != 0) {
+		    world.fire(ship);
+		}
+	    }
+	}
+	world.update(dt);
+    }
+
+    private static float directionX(final int input) {
+	return ((input & RIGHT) != 0 ? 1 : 0) - ((input & LEFT) != 0 ? 1 : 0);
+    }
+
+    private static float directionY(final int input) {
+	return ((input & DOWN) != 0 ? 1 : 0) - ((input & UP) != 0 ? 1 : 0);
+    }
+
+    /**
+     * Packs a bot's input; axes beyond a third of full deflection count as
+     * pressed.
+     */
+    public static int of(final ControlInput input) {
+	var packed = input.isFire() ? FIRE : 0;
+	if (input.getDirectionX() < -1 / 3f) {
+	    packed |= LEFT;
+	} else if (input.getDirectionX() > 1 / 3f) {
+	    packed |= RIGHT;
+	}
+	if (input.getDirectionY() < -1 / 3f) {
+	    packed |= UP;
+	} else if (input.getDirectionY() > 1 / 3f) {
+	    packed |= DOWN;
+	}
+	return packed;
+    }
+}
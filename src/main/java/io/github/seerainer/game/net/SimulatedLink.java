@@ -0,0 +1,104 @@
+package io.github.seerainer.game.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.PriorityQueue;
+
+import io.github.seerainer.game.util.Clock;
+import io.github.seerainer.game.util.Rng;
+
+/**
+ * Wraps a {@link PacketLink} and makes it worse on purpose: outgoing packets
+ * are dropped with the given probability and the rest are held back by the
+ * latency plus a random jitter, which also reorders them. Lets lockstep play
+ * be tested over loopback as if over a real network. Delays are measured on a
+ * {@link Clock}, wall time unless given another.
+ */
+public final class SimulatedLink implements PacketLink {
+    private final PacketLink link;
+    private final Clock clock;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double loss;
+    private final Rng random;
+    private final PriorityQueue<Delayed> queue = new PriorityQueue<>();
+    private long sequence;
+    private int dropped;
+
+    /**
+     * @param latencyNanos one-way delay added to every packet
+     * @param jitterNanos  random extra delay of up to this much
+     * @param loss         probability in 0..1 that a packet is dropped
+     * @param seed         seed of the loss and jitter sequence
+     */
+    public SimulatedLink(final PacketLink link, final long latencyNanos, final long jitterNanos, final double loss,
+	    final long seed) {
+	this(link, latencyNanos, jitterNanos, loss, seed, Clock.system());
+    }
+
+    /**
+     * @param clock measures the delays, e.g. a virtual clock a test moves on
+     *              by hand
+     */
+    public SimulatedLink(final PacketLink link, final long latencyNanos, final long jitterNanos, final double loss,
+	    final long seed, final Clock clock) {
+	if (latencyNanos < 0 || jitterNanos < 0 || loss < 0 || loss > 1) {
+	    throw new IllegalArgumentException(
+		    "Invalid link simulation: " + latencyNanos + " ns, " + jitterNanos + " ns, loss " + loss);
+	}
+	this.link = link;
+	this.clock = clock;
+	this.latencyNanos = latencyNanos;
+	this.jitterNanos = jitterNanos;
+	this.loss = loss;
+	this.random = new Rng(seed);
+    }
+
+    @Override
+    public void close() throws IOException {
+	link.close();
+    }
+
+    private void flush() throws IOException {
+	final var now = clock.nanoTime();
+	while (!queue.isEmpty() && now - queue.peek().due >= 0) {
+	    link.send(ByteBuffer.wrap(queue.poll().data));
+	}
+    }
+
+    /** Packets dropped so far. */
+    public int getDropped() {
+	return dropped;
+    }
+
+    @Override
+    public boolean receive(final ByteBuffer packet) throws IOException {
+	flush();
+	return link.receive(packet);
+    }
+
+    @Override
+    public void send(final ByteBuffer packet) throws IOException {
+	if (random.nextDouble() < loss) {
+	    dropped++;
+	    packet.position(packet.limit());
+	} else {
+	    final var data = new byte[packet.remaining()];
+	    packet.get(data);
+	    final var jitter = jitterNanos > 0 ? random.nextLong(jitterNanos + 1) : 0;
+	    queue.add(new Delayed(clock.nanoTime() + latencyNanos + jitter, sequence++, data));
+	}
+	flush();
+    }
+
+    /**
+     * A packet waiting for its delivery time; ties keep sending order.
+     */
+    private record Delayed(long due, long sequence, byte[] data) implements Comparable<Delayed> {
+	@Override
+	public int compareTo(final Delayed other) {
+	    final var order = Long.compare(due - other.due, 0);
+	    return order != 0 ? order : Long.compare(sequence, other.sequence);
+	}
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.seerainer.game.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * {@link PacketLink} over a non-blocking UDP socket. A listening link learns
+ * its peer from the first packet it receives and ignores everyone else from
+ * then on. A peer that is not there (yet) is not an error; its packets are
+ * just missing, like lost ones.
+ */
+public final class UdpLink implements PacketLink {
+    private final DatagramChannel channel;
+    private SocketAddress peer;
+
+    private UdpLink(final DatagramChannel channel, final SocketAddress peer) {
+	this.channel = channel;
+	this.peer = peer;
+    }
+
+    /**
+     * Opens a link to a listening peer.
+     */
+    public static UdpLink connect(final InetSocketAddress remote) throws IOException {
+	final var channel = DatagramChannel.open();
+	try {
+	    channel.configureBlocking(false);
+	    channel.connect(remote);
+	} catch (final IOException e) {
+	    channel.close();
+	    throw e;
+	}
+	return new UdpLink(channel, remote);
+    }
+
+    /**
+     * Opens a link waiting for a peer on the given local address; port 0 picks
+     * a free one.
+     */
+    public static UdpLink listen(final InetSocketAddress local) throws IOException {
+	final var channel = DatagramChannel.open();
+	try {
+	    channel.configureBlocking(false);
+	    channel.bind(local);
+	} catch (final IOException e) {
+	    channel.close();
+	    throw e;
+	}
+	return new UdpLink(channel, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+	channel.close();
+    }
+
+    public int getLocalPort() throws IOException {
+	return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public boolean receive(final ByteBuffer packet) throws IOException {
+	if (channel.isConnected()) {
+	    try {
+		return channel.read(packet) > 0;
+	    } catch (final PortUnreachableException e) {
+		return false;
+	    }
+	}
+	final var sender = channel.receive(packet);
+	if (sender == null) {
+	    return false;
+	}
+	// The first peer to talk to a listening link keeps it
+	channel.connect(sender);
+	peer = sender;
+	return true;
+    }
+
+    @Override
+    public void send(final ByteBuffer packet) throws IOException {
+	if (peer == null) {
+	    return;
+	}
+	try {
+	    channel.write(packet);
+	} catch (final PortUnreachableException e) {
+	    // Nobody listening on the other end, the packet is lost
+	    packet.position(packet.limit());
+	}
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.seerainer.game.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Attributes heap allocation to the phases of the game loop, using the
+ * per-thread allocated bytes counter of the HotSpot {@code ThreadMXBean}.
+ * Phases are measured back to back: {@link #begin()} reads the counter and
+ * every {@link #end(Phase, long)} charges the bytes since the previous reading
+ * to its phase and returns the new reading. Reading the counter does not
+ * allocate. Phases may be measured on different threads.
+ * <p>
+ * Where the counter is unavailable (some VMs and native images) nothing is
+ * recorded and all figures stay zero.
+ */
+public class AllocationTracker {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+    private static final Phase[] PHASES = Phase.values();
+    private final AtomicLongArray bytes = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray samples = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray max = new AtomicLongArray(PHASES.length);
+
+    /**
+     * The measured parts of a tick and of a frame.
+     */
+    public enum Phase {
+	/** Input polling and handling, simulation thread. */
+	INPUT,
+	/** World update, simulation thread. */
+	UPDATE,
+	/** Copying the world into the render snapshot, simulation thread. */
+	SNAPSHOT,
+	/** Painting a frame, UI thread. */
+	RENDER
+    }
+
+    public static boolean isSupported() {
+	return THREADS != null;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+	try {
+	    if (ManagementFactory.getThreadMXBean() instanceof final com.sun.management.ThreadMXBean threads
+		    && threads.isThreadAllocatedMemorySupported()) {
+		threads.setThreadAllocatedMemoryEnabled(true);
+		return threads;
+	    }
+	} catch (final UnsupportedOperationException | LinkageError e) {
+	    // Fall through: not measurable here
+	}
+	return null;
+    }
+
+    private static String format(final double value) {
+	if (value < 1024) {
+	    return String.format(Locale.ROOT, "%.0f B", Double.valueOf(value));
+	}
+	return String.format(Locale.ROOT, "%.1f KiB", Double.valueOf(value / 1024));
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if unsupported.
+     */
+    public static long currentThreadAllocatedBytes() {
+	return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Average bytes allocated per measurement of the phase.
+     */
+    public double averageBytes(final Phase phase) {
+	final var count = samples.get(phase.ordinal());
+	return count == 0 ? 0 : (double) bytes.get(phase.ordinal()) / count;
+    }
+
+    /**
+     * Starts a run of measurements on the current thread.
+     */
+    @SuppressWarnings("static-method")
+    public long begin() {
+	return currentThreadAllocatedBytes();
+    }
+
+    /**
+     * Charges the bytes allocated since {@code mark} to the phase and returns the
+     * current reading, which is the mark for the next phase.
+     */
+    public long end(final Phase phase, final long mark) {
+	if (mark < 0) {
+	    return mark;
+	}
+	final var now = currentThreadAllocatedBytes();
+	final var allocated = now - mark;
+	final var index = phase.ordinal();
+	bytes.addAndGet(index, allocated);
+	samples.incrementAndGet(index);
+	max.accumulateAndGet(index, allocated, Math::max);
+	return now;
+    }
+
+    public long getBytes(final Phase phase) {
+	return bytes.get(phase.ordinal());
+    }
+
+    public long getMax(final Phase phase) {
+	return max.get(phase.ordinal());
+    }
+
+    public long getSamples(final Phase phase) {
+	return samples.get(phase.ordinal());
+    }
+
+    /**
+     * Forgets everything recorded so far, e.g. after a warm-up.
+     */
+    public void reset() {
+	for (var i = 0; i < PHASES.length; i++) {
+	    bytes.set(i, 0);
+	    samples.set(i, 0);
+	    max.set(i, 0);
+	}
+    }
+
+    /**
+     * One-line summary of the average and worst allocation per phase.
+     */
+    public String summary() {
+	if (!isSupported()) {
+	    return "not measurable on this VM";
+	}
+	final var out = new StringBuilder();
+	for (final var phase : PHASES) {
+	    if (!out.isEmpty()) {
+		out.append(", ");
+	    }
+	    out.append(phase.name().toLowerCase(Locale.ROOT)).append(' ').append(format(averageBytes(phase)))
+		    .append(" (max ").append(format(getMax(phase))).append(')');
+	}
+	return out.append(" per tick or frame").toString();
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.seerainer.game.perf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when the UI thread should paint the next frame. Frames are aligned to
+ * an absolute deadline grid at the target rate, so timer jitter does not add
+ * up, and each paint is started early by the measured paint cost so it
+ * completes close to its deadline. Only ever used from the UI thread.
+ */
+public class FramePacer {
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    // Weight of the newest sample in the paint cost average
+    private static final double COST_SMOOTHING = 0.1;
+    private final int targetRate;
+    private final long periodNanos;
+    private boolean started;
+    private long deadline;
+    private double averagePaintNanos;
+    private long lastPaintNanos;
+    private long frames;
+    private long missedDeadlines;
+
+    public FramePacer(final int targetRate) {
+	if (targetRate <= 0) {
+	    throw new IllegalArgumentException("Target rate must be positive: " + targetRate);
+	}
+	this.targetRate = targetRate;
+	this.periodNanos = TimeUnit.SECONDS.toNanos(1) / targetRate;
+    }
+
+    /**
+     * Creates a pacer targeting {@code game.refreshRate} (the display refresh
+     * rate, 60 Hz unless configured), limited by {@code game.fpsCap} if set. SWT
+     * offers no portable way to query the refresh rate, hence the property.
+     */
+    public static FramePacer fromSystemProperties() {
+	final var refreshRate = Integer.getInteger("game.refreshRate", DEFAULT_REFRESH_RATE).intValue();
+	final var cap = Integer.getInteger("game.fpsCap", 0).intValue();
+	return new FramePacer(cap > 0 ? Math.min(refreshRate, cap) : refreshRate);
+    }
+
+    public double getAveragePaintMillis() {
+	return averagePaintNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getFrames() {
+	return frames;
+    }
+
+    public double getLastPaintMillis() {
+	return (double) lastPaintNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getMissedDeadlines() {
+	return missedDeadlines;
+    }
+
+    public long getPeriodNanos() {
+	return periodNanos;
+    }
+
+    public int getTargetRate() {
+	return targetRate;
+    }
+
+    /**
+     * Stops the deadline grid while nothing is painted, so the gap before the
+     * next frame is not counted as missed deadlines.
+     */
+    public void idle() {
+	started = false;
+    }
+
+    /**
+     * Records how long one paint took, measured inside the paint listener.
+     */
+    public void paintCompleted(final long startNanos, final long endNanos) {
+	lastPaintNanos = endNanos - startNanos;
+	averagePaintNanos = frames == 0 ? lastPaintNanos
+		: averagePaintNanos + (lastPaintNanos - averagePaintNanos) * COST_SMOOTHING;
+	frames++;
+    }
+
+    /**
+     * Accounts for the frame that just completed and returns how many
+     * milliseconds to wait before starting the next paint.
+     */
+    public int scheduleNext(final long now) {
+	if (!started) {
+	    started = true;
+	    deadline = now;
+	}
+	if (now > deadline) {
+	    // Late: count it and move to the next slot that can still be met
+	    missedDeadlines++;
+	    deadline += ((now - deadline) / periodNanos + 1) * periodNanos;
+	} else {
+	    deadline += periodNanos;
+	}
+	final var startBy = deadline - (long) averagePaintNanos;
+	return (int) Math.max(0, TimeUnit.NANOSECONDS.toMillis(startBy - now));
+    }
+
+    @Override
+    public String toString() {
+	return String.format("%d frames at %d Hz target, %d missed deadlines, paint avg %.2f ms", Long.valueOf(frames),
+		Integer.valueOf(targetRate), Long.valueOf(missedDeadlines), Double.valueOf(getAveragePaintMillis()));
+    }
+}
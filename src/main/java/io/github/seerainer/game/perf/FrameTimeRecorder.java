@@ -0,0 +1,70 @@
+package io.github.seerainer.game.perf;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent durations of one frame phase in a preallocated ring
+ * buffer. Recording never allocates; percentiles are computed on demand from a
+ * sorted copy. Single writer; read only once the writer has stopped or when
+ * approximate results are acceptable.
+ */
+public class FrameTimeRecorder {
+    private final long[] samples;
+    private final int mask;
+    private long count;
+    private long max;
+
+    /**
+     * @param capacity number of samples kept, rounded up to a power of two
+     */
+    public FrameTimeRecorder(final int capacity) {
+	final var size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+	this.samples = new long[size];
+	this.mask = size - 1;
+    }
+
+    private static String millis(final long nanos) {
+	return String.format("%.3f", Double.valueOf((double) nanos / TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    public long getCount() {
+	return count;
+    }
+
+    public long getMax() {
+	return max;
+    }
+
+    /**
+     * Returns the given percentile (0-100) of the retained samples in
+     * nanoseconds, or 0 if nothing was recorded.
+     */
+    public long percentile(final double percentile) {
+	final var retained = (int) Math.min(count, samples.length);
+	if (retained == 0) {
+	    return 0;
+	}
+	final var sorted = Arrays.copyOf(samples, retained);
+	Arrays.sort(sorted);
+	final var index = (int) Math.ceil(percentile / 100.0 * retained) - 1;
+	return sorted[Math.clamp(index, 0, retained - 1)];
+    }
+
+    public void record(final long nanos) {
+	samples[(int) (count & mask)] = nanos;
+	count++;
+	if (nanos > max) {
+	    max = nanos;
+	}
+    }
+
+    /**
+     * One-line percentile summary in milliseconds.
+     */
+    public String summary() {
+	return new StringBuilder().append("p50 ").append(millis(percentile(50))).append(" ms, p95 ")
+		.append(millis(percentile(95))).append(" ms, p99 ").append(millis(percentile(99)))
+		.append(" ms, max ").append(millis(max)).append(" ms").toString();
+    }
+}
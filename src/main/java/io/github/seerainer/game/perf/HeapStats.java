@@ -0,0 +1,39 @@
+package io.github.seerainer.game.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+
+/**
+ * Heap and garbage collector figures for end-of-run reports.
+ */
+public class HeapStats {
+    private static final long MIB = 1024 * 1024;
+
+    private HeapStats() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * One-line summary of current, committed, maximum and peak heap usage plus
+     * the collections done so far.
+     */
+    public static String summary() {
+	final var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+	var peak = 0L;
+	for (final var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+	    if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+		peak += pool.getPeakUsage().getUsed();
+	    }
+	}
+	var collections = 0L;
+	var collectionMillis = 0L;
+	for (final var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+	    collections += Math.max(0, gc.getCollectionCount());
+	    collectionMillis += Math.max(0, gc.getCollectionTime());
+	}
+	return new StringBuilder().append("used ").append(heap.getUsed() / MIB).append(" MiB, committed ")
+		.append(heap.getCommitted() / MIB).append(" MiB, max ").append(heap.getMax() / MIB)
+		.append(" MiB, pool peaks ").append(peak / MIB).append(" MiB; ").append(collections)
+		.append(" GCs taking ").append(collectionMillis).append(" ms").toString();
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.seerainer.game.perf;
+
+import java.lang.System.Logger.Level;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lowers the {@link QualityLevel} when frames overrun their budget and raises
+ * it again once there is sustained headroom. Downgrades react within half a
+ * second, upgrades need several seconds of headroom, and every change is
+ * followed by a settling period, so the level does not oscillate.
+ * <p>
+ * Samples are fed from the UI thread; the current level may be read from any
+ * thread.
+ */
+public class QualityGovernor {
+    private static final System.Logger LOGGER = System.getLogger(QualityGovernor.class.getName());
+    // Frames per evaluation window and how many of them may overrun
+    private static final int WINDOW_FRAMES = 30;
+    private static final int OVERRUN_FRAMES = 6;
+    // Consecutive frames below the headroom ratio needed to step up again
+    private static final int HEADROOM_FRAMES = 240;
+    private static final double HEADROOM_RATIO = 0.6;
+    // Frames ignored after a change while caches and populations settle
+    private static final int SETTLE_FRAMES = 60;
+    private final boolean adaptive;
+    private volatile QualityLevel level;
+    private volatile String lastReason;
+    private volatile long changes;
+    private int windowFrames;
+    private int overrunFrames;
+    private int headroomFrames;
+    private int settleFrames;
+    private double worstRatio;
+    private String worstPhase;
+    private long worstNanos;
+    private long worstBudget;
+
+    public QualityGovernor(final QualityLevel initial, final boolean adaptive) {
+	this.level = initial;
+	this.adaptive = adaptive;
+	this.lastReason = adaptive ? "initial level" : "fixed by configuration";
+    }
+
+    /**
+     * Reads {@code game.quality}: {@code auto} (the default) adapts to the frame
+     * budget, a level name pins that level. Stress runs default to a pinned
+     * {@link QualityLevel#HIGH} so they measure the full cost.
+     */
+    public static QualityGovernor fromSystemProperties(final boolean stress) {
+	final var setting = System.getProperty("game.quality", stress ? "high" : "auto").trim();
+	if ("auto".equalsIgnoreCase(setting)) {
+	    return new QualityGovernor(QualityLevel.HIGH, true);
+	}
+	return new QualityGovernor(QualityLevel.valueOf(setting.toUpperCase(Locale.ROOT)), false);
+    }
+
+    private static String millis(final long nanos) {
+	return String.format(Locale.ROOT, "%.2f ms", Double.valueOf((double) nanos / TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    private void change(final QualityLevel newLevel, final String reason) {
+	if (newLevel == level) {
+	    return;
+	}
+	final var oldLevel = level;
+	level = newLevel;
+	lastReason = reason;
+	changes++;
+	settleFrames = SETTLE_FRAMES;
+	windowFrames = 0;
+	overrunFrames = 0;
+	headroomFrames = 0;
+	LOGGER.log(Level.INFO, "Quality {0} -> {1}: {2}", oldLevel, newLevel, reason);
+    }
+
+    /**
+     * Feeds the cost of one painted frame and of the most recent simulation tick,
+     * each with its budget.
+     */
+    public void frame(final long paintNanos, final long paintBudget, final long tickNanos, final long tickBudget) {
+	if (!adaptive) {
+	    return;
+	}
+	if (settleFrames > 0) {
+	    settleFrames--;
+	    return;
+	}
+	final var paintRatio = (double) paintNanos / paintBudget;
+	final var tickRatio = (double) tickNanos / tickBudget;
+	final var ratio = Math.max(paintRatio, tickRatio);
+	if (ratio > 1.0) {
+	    overrunFrames++;
+	    if (ratio > worstRatio) {
+		worstRatio = ratio;
+		final var paint = paintRatio >= tickRatio;
+		worstPhase = paint ? "paint" : "simulation tick";
+		worstNanos = paint ? paintNanos : tickNanos;
+		worstBudget = paint ? paintBudget : tickBudget;
+	    }
+	}
+	headroomFrames = ratio < HEADROOM_RATIO ? headroomFrames + 1 : 0;
+
+	if (++windowFrames >= WINDOW_FRAMES) {
+	    if (overrunFrames >= OVERRUN_FRAMES && level != QualityLevel.MINIMAL) {
+		change(level.lower(),
+			new StringBuilder().append(overrunFrames).append(" of ").append(windowFrames)
+				.append(" frames over budget, worst ").append(worstPhase).append(' ')
+				.append(millis(worstNanos)).append(" for a ").append(millis(worstBudget))
+				.append(" budget").toString());
+	    }
+	    windowFrames = 0;
+	    overrunFrames = 0;
+	    worstRatio = 0;
+	}
+	if (headroomFrames >= HEADROOM_FRAMES && level != QualityLevel.HIGH) {
+	    change(level.higher(), new StringBuilder().append(headroomFrames).append(" frames below ")
+		    .append((int) (HEADROOM_RATIO * 100)).append("% of budget").toString());
+	}
+    }
+
+    public long getChanges() {
+	return changes;
+    }
+
+    public String getLastReason() {
+	return lastReason;
+    }
+
+    public QualityLevel getLevel() {
+	return level;
+    }
+
+    public boolean isAdaptive() {
+	return adaptive;
+    }
+
+    @Override
+    public String toString() {
+	return new StringBuilder().append(level).append(adaptive ? " (adaptive, " : " (fixed, ").append(changes)
+		.append(" changes, last: ").append(lastReason).append(')').toString();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.seerainer.game.perf;
+
+/**
+ * Visual quality steps, from full detail down to the cheapest presentation
+ * that still shows all gameplay relevant information.
+ */
+public enum QualityLevel {
+    HIGH(1.0f, Integer.MAX_VALUE, 1.0f, true, true), // Everything on
+    MEDIUM(0.6f, 3000, 0.75f, true, true), // Thinner explosions, fewer stars
+    LOW(0.35f, 1200, 0.5f, false, false), // No crater detail or screen shake
+    MINIMAL(0.15f, 400, 0.25f, false, false); // Bare minimum of effects
+
+    private final float particleScale;
+    private final int particleCap;
+    private final float starDensity;
+    private final boolean craterDetail;
+    private final boolean screenShake;
+
+    QualityLevel(final float particleScale, final int particleCap, final float starDensity,
+	    final boolean craterDetail, final boolean screenShake) {
+	this.particleScale = particleScale;
+	this.particleCap = particleCap;
+	this.starDensity = starDensity;
+	this.craterDetail = craterDetail;
+	this.screenShake = screenShake;
+    }
+
+    /**
+     * Maximum number of live particles; explosions beyond it are dropped.
+     */
+    public int getParticleCap() {
+	return particleCap;
+    }
+
+    /**
+     * Factor applied to the particle count of every explosion.
+     */
+    public float getParticleScale() {
+	return particleScale;
+    }
+
+    /**
+     * Fraction of the maximum star count kept in the background.
+     */
+    public float getStarDensity() {
+	return starDensity;
+    }
+
+    public boolean hasCraterDetail() {
+	return craterDetail;
+    }
+
+    public boolean hasScreenShake() {
+	return screenShake;
+    }
+
+    public QualityLevel higher() {
+	return this == HIGH ? HIGH : values()[ordinal() - 1];
+    }
+
+    public QualityLevel lower() {
+	return this == MINIMAL ? MINIMAL : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.seerainer.game.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide timestamps of the startup phases, in milliseconds since the
+ * operating system started the process. The first mark covers JVM or native
+ * image initialization; later marks are taken with {@link System#nanoTime()}
+ * relative to it. Each phase is recorded once, repeated marks are ignored.
+ * <p>
+ * {@link #export()} logs the timeline and, if {@code game.startupFile} is set,
+ * writes it to that file as {@code phase=millis} lines.
+ */
+public class StartupTimeline {
+    public static final String FIRST_FRAME = "first-frame";
+    private static final System.Logger LOGGER = System.getLogger(StartupTimeline.class.getName());
+    private static final int MAX_PHASES = 16;
+    private static final String[] phases = new String[MAX_PHASES];
+    private static final long[] offsets = new long[MAX_PHASES];
+    private static int count;
+    // nanoTime value corresponding to process start
+    private static long originNanos;
+
+    private StartupTimeline() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Logs the timeline and writes it to {@code game.startupFile} if set.
+     */
+    public static void export() {
+	LOGGER.log(Level.INFO, "Startup: {0}", summary());
+	final var file = System.getProperty("game.startupFile");
+	if (file == null || file.isBlank()) {
+	    return;
+	}
+	final var lines = new StringBuilder();
+	synchronized (StartupTimeline.class) {
+	    for (var i = 0; i < count; i++) {
+		lines.append(phases[i]).append('=').append(format(offsets[i])).append(System.lineSeparator());
+	    }
+	}
+	try {
+	    final var path = Path.of(file);
+	    if (path.getParent() != null) {
+		Files.createDirectories(path.getParent());
+	    }
+	    Files.writeString(path, lines);
+	} catch (final IOException e) {
+	    throw new UncheckedIOException("Could not write startup timeline to " + file, e);
+	}
+    }
+
+    private static String format(final long nanos) {
+	return String.format(Locale.ROOT, "%.1f", Double.valueOf((double) nanos / TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    /**
+     * Records the end of a startup phase now.
+     */
+    public static synchronized void mark(final String phase) {
+	final var now = System.nanoTime();
+	if (count == 0) {
+	    originNanos = now - sinceProcessStart();
+	}
+	if (count == MAX_PHASES || indexOf(phase) >= 0) {
+	    return;
+	}
+	phases[count] = phase;
+	offsets[count] = now - originNanos;
+	count++;
+    }
+
+    /**
+     * Milliseconds from process start to the end of the given phase, or -1 if
+     * it has not been recorded.
+     */
+    public static synchronized double millis(final String phase) {
+	final var index = indexOf(phase);
+	return index < 0 ? -1 : (double) offsets[index] / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static int indexOf(final String phase) {
+	for (var i = 0; i < count; i++) {
+	    if (phases[i].equals(phase)) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Nanoseconds since the operating system started this process, or 0 if the
+     * start time is not available.
+     */
+    private static long sinceProcessStart() {
+	return ProcessHandle.current().info().startInstant()
+		.map(processStart -> Duration.between(processStart, Instant.now()).toNanos()).orElse(Long.valueOf(0))
+		.longValue();
+    }
+
+    /**
+     * One-line timeline with the duration of each phase in parentheses.
+     */
+    public static synchronized String summary() {
+	final var summary = new StringBuilder();
+	for (var i = 0; i < count; i++) {
+	    if (i > 0) {
+		summary.append(", ");
+	    }
+	    summary.append(phases[i]).append(' ').append(format(offsets[i])).append(" ms (+")
+		    .append(format(offsets[i] - (i == 0 ? 0 : offsets[i - 1]))).append(')');
+	}
+	return summary.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.seerainer.game.perf;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Entity populations for the stress (bullet-hell) load mode.
+ *
+ * @param asteroids  asteroid population kept alive at all times
+ * @param particles  particle population kept alive at all times
+ * @param spreadFire whether the player fires SPREAD shots every tick
+ * @param multiSpawn extra asteroids forced onto every regular spawn
+ * @param level      level the run starts at, which drives the asteroid type mix
+ * @param duration   seconds until the run ends by itself, 0 to run until ESC
+ */
+public record StressConfig(int asteroids, int particles, boolean spreadFire, int multiSpawn, int level,
+	int duration) {
+
+    public static final String PROPERTY = "game.stress";
+    private static final String ARGUMENT = "--stress";
+
+    public StressConfig {
+	if (asteroids < 0 || particles < 0 || multiSpawn < 0 || level < 1 || duration < 0) {
+	    throw new IllegalArgumentException("Invalid stress configuration");
+	}
+    }
+
+    public static StressConfig defaults() {
+	return new StressConfig(20_000, 100_000, true, 2, 10, 60);
+    }
+
+    /**
+     * Returns the stress configuration requested by {@code --stress[=spec]} on
+     * the command line or the {@code game.stress} system property, or null if
+     * stress mode is off. The spec is a comma separated list of
+     * {@code key=value} pairs overriding {@link #defaults()}, e.g.
+     * {@code asteroids=50000,particles=100000,duration=30}.
+     */
+    public static StressConfig fromArgs(final String[] args) {
+	final var argument = Arrays.stream(args).filter(arg -> arg.equals(ARGUMENT) || arg.startsWith(ARGUMENT + '='))
+		.findFirst();
+	if (argument.isPresent()) {
+	    final var arg = argument.get();
+	    return parse(arg.length() > ARGUMENT.length() ? arg.substring(ARGUMENT.length() + 1) : "");
+	}
+	final var property = System.getProperty(PROPERTY);
+	if (property == null || "false".equalsIgnoreCase(property)) {
+	    return null;
+	}
+	return parse("true".equalsIgnoreCase(property) ? "" : property);
+    }
+
+    public static StressConfig parse(final String spec) {
+	var asteroids = defaults().asteroids();
+	var particles = defaults().particles();
+	var spreadFire = defaults().spreadFire();
+	var multiSpawn = defaults().multiSpawn();
+	var level = defaults().level();
+	var duration = defaults().duration();
+	for (final var entry : spec.split(",")) {
+	    if (entry.isBlank()) {
+		continue;
+	    }
+	    final var separator = entry.indexOf('=');
+	    if (separator < 0) {
+		throw new IllegalArgumentException("Expected key=value in stress spec: " + entry);
+	    }
+	    final var key = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+	    final var value = entry.substring(separator + 1).trim();
+	    switch (key) {
+	    case "asteroids" -> asteroids = Integer.parseInt(value);
+	    case "particles" -> particles = Integer.parseInt(value);
+	    case "spread" -> spreadFire = Boolean.parseBoolean(value);
+	    case "multispawn" -> multiSpawn = Integer.parseInt(value);
+	    case "level" -> level = Integer.parseInt(value);
+	    case "duration" -> duration = Integer.parseInt(value);
+	    default -> throw new IllegalArgumentException("Unknown stress option: " + key);
+	    }
+	}
+	return new StressConfig(asteroids, particles, spreadFire, multiSpawn, level, duration);
+    }
+}
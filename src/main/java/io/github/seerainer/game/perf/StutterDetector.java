@@ -0,0 +1,423 @@
+package io.github.seerainer.game.perf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+
+/**
+ * Catches hitches in the field. Every painted frame is recorded with its phase
+ * timings and entity counts, and every garbage collection with its duration and
+ * cause; when a paint, a tick or the gap between two frames exceeds a multiple
+ * of its budget, the last few seconds of both plus the world state at the spike
+ * are written to a compact binary dump. A running Flight Recorder recording is
+ * dumped alongside.
+ * <p>
+ * Recording goes into preallocated rings and never allocates. Building a dump
+ * does, but only after a spike, and the file is written on a background thread
+ * so the next frame is not held up. Dumps are rate limited. Frames are fed from
+ * the UI thread; GC notifications arrive on a JMX thread.
+ */
+public class StutterDetector implements AutoCloseable {
+    static final int MAGIC = 0x41445354; // "ADST"
+    // 2: render snapshot carries the co-op partner ship
+    // 3: render snapshot carries the world's seed, tick and state hashes
+    static final int VERSION = 3;
+    private static final System.Logger LOGGER = System.getLogger(StutterDetector.class.getName());
+    private static final QualityLevel[] QUALITY_LEVELS = QualityLevel.values();
+    private static final Trigger[] TRIGGERS = Trigger.values();
+    private static final long DUMP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_DUMPS = 10;
+    private static final int GC_HISTORY = 64;
+    // Startup frames are slow by nature (class loading, JIT, font caches)
+    private static final int WARMUP_FRAMES = 60;
+    private final double threshold;
+    private final long frameBudget;
+    private final long tickBudget;
+    private final Path directory;
+    // Frame ring, one column per field
+    private final int frameMask;
+    private final long[] frameTime;
+    private final long[] frameInterval;
+    private final long[] framePaint;
+    private final long[] frameInput;
+    private final long[] frameUpdate;
+    private final int[] frameAsteroids;
+    private final int[] frameBullets;
+    private final int[] frameParticles;
+    private final byte[] frameQuality;
+    private long frames;
+    private long lastFrameStart;
+    // GC ring, guarded by itself
+    private final long[] gcTime = new long[GC_HISTORY];
+    private final long[] gcDuration = new long[GC_HISTORY];
+    private final long[] gcUsedBefore = new long[GC_HISTORY];
+    private final long[] gcUsedAfter = new long[GC_HISTORY];
+    private final String[] gcName = new String[GC_HISTORY];
+    private final String[] gcCause = new String[GC_HISTORY];
+    private long collections;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::handleNotification;
+    private int dumps;
+    private long lastDump;
+
+    /**
+     * What went over budget.
+     */
+    public enum Trigger {
+	/** A single paint. */
+	PAINT,
+	/** The most recent simulation tick. */
+	TICK,
+	/** The gap between two consecutive frames. */
+	INTERVAL
+    }
+
+    /**
+     * Writes the world state section of a dump.
+     */
+    @FunctionalInterface
+    public interface StateWriter {
+	void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * @param threshold   multiple of a budget that counts as a stutter, 0 to
+     *                    disable
+     * @param frameBudget nanoseconds per frame
+     * @param tickBudget  nanoseconds per simulation tick
+     * @param frames      frames kept, rounded up to a power of two
+     * @param directory   where dumps are written
+     */
+    public StutterDetector(final double threshold, final long frameBudget, final long tickBudget, final int frames,
+	    final Path directory) {
+	if (threshold < 0 || frameBudget <= 0 || tickBudget <= 0 || frames <= 0) {
+	    throw new IllegalArgumentException("Invalid stutter detector configuration");
+	}
+	this.threshold = threshold;
+	this.frameBudget = frameBudget;
+	this.tickBudget = tickBudget;
+	this.directory = directory;
+	final var size = Integer.highestOneBit(Math.max(2, frames - 1)) << 1;
+	this.frameMask = size - 1;
+	this.frameTime = new long[size];
+	this.frameInterval = new long[size];
+	this.framePaint = new long[size];
+	this.frameInput = new long[size];
+	this.frameUpdate = new long[size];
+	this.frameAsteroids = new int[size];
+	this.frameBullets = new int[size];
+	this.frameParticles = new int[size];
+	this.frameQuality = new byte[size];
+    }
+
+    /**
+     * Reads {@code game.stutter.threshold} (multiple of the budget, default 3, 0
+     * disables), {@code game.stutter.seconds} (history kept, default 5) and
+     * {@code game.stutter.dir} (default {@code asteroid-dodger} in the temp
+     * directory), and starts listening for garbage collections if enabled.
+     */
+    public static StutterDetector fromSystemProperties(final long frameBudget, final long tickBudget,
+	    final int frameRate) {
+	final var threshold = Double.parseDouble(System.getProperty("game.stutter.threshold", "3"));
+	final var seconds = Integer.getInteger("game.stutter.seconds", 5).intValue();
+	final var directory = Path.of(System.getProperty("game.stutter.dir",
+		Path.of(System.getProperty("java.io.tmpdir"), "asteroid-dodger").toString()));
+	final var frames = frameRate * Math.max(1, seconds);
+	final var detector = new StutterDetector(threshold, frameBudget, tickBudget, frames, directory);
+	if (detector.isEnabled()) {
+	    detector.listenForCollections();
+	}
+	return detector;
+    }
+
+    private static String millis(final long nanos) {
+	final var value = (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	return String.format(Locale.ROOT, "%8.2f", Double.valueOf(value));
+    }
+
+    /**
+     * Prints the timeline part of a dump and returns the raw world state section,
+     * which the caller decodes.
+     */
+    public static byte[] describe(final DataInput in, final PrintStream out) throws IOException {
+	if (in.readInt() != MAGIC) {
+	    throw new IOException("Not a stutter dump");
+	}
+	final var version = in.readUnsignedShort();
+	if (version != VERSION) {
+	    throw new IOException("Unsupported stutter dump version " + version);
+	}
+	final var written = Instant.ofEpochMilli(in.readLong());
+	final var trigger = TRIGGERS[in.readUnsignedByte()];
+	final var value = in.readLong();
+	final var dumpThreshold = in.readDouble();
+	final var dumpFrameBudget = in.readLong();
+	final var dumpTickBudget = in.readLong();
+	out.printf(Locale.ROOT, "Stutter at %s: %s took %s ms (threshold %.1fx, budgets %s ms frame, %s ms tick)%n",
+		written, trigger, millis(value).trim(), Double.valueOf(dumpThreshold), millis(dumpFrameBudget).trim(),
+		millis(dumpTickBudget).trim());
+
+	final var frameCount = in.readInt();
+	out.println("Frames (ms relative to the spike):");
+	out.println("      time interval    paint    input   update asteroids  bullets particles quality");
+	for (var i = 0; i < frameCount; i++) {
+	    final var time = in.readLong();
+	    final var interval = in.readLong();
+	    final var paint = in.readLong();
+	    final var input = in.readLong();
+	    final var update = in.readLong();
+	    out.printf(Locale.ROOT, "%10s %s %s %s %s %9d %8d %9d %s%n", millis(time).trim(), millis(interval),
+		    millis(paint), millis(input), millis(update), Integer.valueOf(in.readInt()),
+		    Integer.valueOf(in.readInt()), Integer.valueOf(in.readInt()),
+		    QUALITY_LEVELS[in.readUnsignedByte()]);
+	}
+
+	final var gcCount = in.readInt();
+	out.println("Garbage collections (ms relative to the spike):");
+	for (var i = 0; i < gcCount; i++) {
+	    final var time = in.readLong();
+	    final var duration = in.readLong();
+	    final var usedBefore = in.readLong();
+	    final var usedAfter = in.readLong();
+	    out.printf(Locale.ROOT, "%10s %s (%s) %d ms, %d -> %d KiB%n", millis(time).trim(), in.readUTF(),
+		    in.readUTF(), Long.valueOf(duration), Long.valueOf(usedBefore / 1024),
+		    Long.valueOf(usedAfter / 1024));
+	}
+
+	final var state = new byte[in.readInt()];
+	in.readFully(state);
+	return state;
+    }
+
+    @Override
+    public void close() {
+	for (final var emitter : emitters) {
+	    try {
+		emitter.removeNotificationListener(gcListener);
+	    } catch (final ListenerNotFoundException e) {
+		// Already gone
+	    }
+	}
+	emitters.clear();
+    }
+
+    /**
+     * Writes a dump for the given trigger in the background. UI thread.
+     */
+    public void dump(final Trigger trigger, final StateWriter state) {
+	final byte[] bytes;
+	try {
+	    bytes = encode(trigger, state);
+	} catch (final IOException e) {
+	    LOGGER.log(Level.WARNING, "Could not encode stutter dump", e);
+	    return;
+	}
+	dumps++;
+	lastDump = frameTime[(int) ((frames - 1) & frameMask)];
+	final var name = "stutter-" + ProcessHandle.current().pid() + '-' + dumps;
+	Thread.ofVirtual().name("stutter-dump").start(() -> write(name, bytes));
+    }
+
+    /**
+     * Builds the binary dump: header, frame ring oldest first, GC ring oldest
+     * first, then the length-prefixed world state. Big-endian throughout.
+     */
+    byte[] encode(final Trigger trigger, final StateWriter state) throws IOException {
+	final var last = (int) ((frames - 1) & frameMask);
+	final var spike = frameTime[last];
+	final var bytes = new ByteArrayOutputStream(64 * 1024);
+	final var out = new DataOutputStream(bytes);
+	out.writeInt(MAGIC);
+	out.writeShort(VERSION);
+	out.writeLong(System.currentTimeMillis());
+	out.writeByte(trigger.ordinal());
+	out.writeLong(switch (trigger) {
+	case PAINT -> framePaint[last];
+	case TICK -> frameInput[last] + frameUpdate[last];
+	case INTERVAL -> frameInterval[last];
+	});
+	out.writeDouble(threshold);
+	out.writeLong(frameBudget);
+	out.writeLong(tickBudget);
+
+	final var frameCount = (int) Math.min(frames, frameMask + 1L);
+	out.writeInt(frameCount);
+	for (var n = frames - frameCount; n < frames; n++) {
+	    final var i = (int) (n & frameMask);
+	    out.writeLong(frameTime[i] - spike);
+	    out.writeLong(frameInterval[i]);
+	    out.writeLong(framePaint[i]);
+	    out.writeLong(frameInput[i]);
+	    out.writeLong(frameUpdate[i]);
+	    out.writeInt(frameAsteroids[i]);
+	    out.writeInt(frameBullets[i]);
+	    out.writeInt(frameParticles[i]);
+	    out.writeByte(frameQuality[i]);
+	}
+
+	synchronized (gcTime) {
+	    final var gcCount = (int) Math.min(collections, GC_HISTORY);
+	    out.writeInt(gcCount);
+	    for (var n = collections - gcCount; n < collections; n++) {
+		final var i = (int) (n % GC_HISTORY);
+		out.writeLong(gcTime[i] - spike);
+		out.writeLong(gcDuration[i]);
+		out.writeLong(gcUsedBefore[i]);
+		out.writeLong(gcUsedAfter[i]);
+		out.writeUTF(gcName[i]);
+		out.writeUTF(gcCause[i]);
+	    }
+	}
+
+	final var world = new ByteArrayOutputStream(16 * 1024);
+	final var worldOut = new DataOutputStream(world);
+	state.write(worldOut);
+	worldOut.flush();
+	out.writeInt(world.size());
+	world.writeTo(out);
+	out.flush();
+	return bytes.toByteArray();
+    }
+
+    /**
+     * Records one painted frame and returns what went over budget if a dump is
+     * due, or null. UI thread.
+     *
+     * @param paintStart  {@link System#nanoTime()} when painting started
+     * @param inputNanos  input phase of the most recent tick
+     * @param updateNanos update phase of the most recent tick
+     * @param quality     ordinal of the {@link QualityLevel}
+     */
+    public Trigger frame(final long paintStart, final long paintNanos, final long inputNanos, final long updateNanos,
+	    final int asteroids, final int bullets, final int particles, final int quality) {
+	final var interval = lastFrameStart == 0 ? 0 : paintStart - lastFrameStart;
+	lastFrameStart = paintStart;
+	final var i = (int) (frames & frameMask);
+	frameTime[i] = paintStart;
+	frameInterval[i] = interval;
+	framePaint[i] = paintNanos;
+	frameInput[i] = inputNanos;
+	frameUpdate[i] = updateNanos;
+	frameAsteroids[i] = asteroids;
+	frameBullets[i] = bullets;
+	frameParticles[i] = particles;
+	frameQuality[i] = (byte) quality;
+	frames++;
+
+	if (!isEnabled() || frames <= WARMUP_FRAMES || dumps >= MAX_DUMPS
+		|| (dumps > 0 && paintStart - lastDump < DUMP_INTERVAL_NANOS)) {
+	    return null;
+	}
+	if (paintNanos > threshold * frameBudget) {
+	    return Trigger.PAINT;
+	}
+	if (inputNanos + updateNanos > threshold * tickBudget) {
+	    return Trigger.TICK;
+	}
+	if (interval > threshold * frameBudget) {
+	    return Trigger.INTERVAL;
+	}
+	return null;
+    }
+
+    public int getDumps() {
+	return dumps;
+    }
+
+    private void handleNotification(final Notification notification, final Object handback) {
+	if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+	    return;
+	}
+	final var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+	final var gcInfo = info.getGcInfo();
+	var usedBefore = 0L;
+	for (final var usage : gcInfo.getMemoryUsageBeforeGc().values()) {
+	    usedBefore += usage.getUsed();
+	}
+	var usedAfter = 0L;
+	for (final var usage : gcInfo.getMemoryUsageAfterGc().values()) {
+	    usedAfter += usage.getUsed();
+	}
+	// The notification arrives right after the collection ended
+	final var now = System.nanoTime();
+	synchronized (gcTime) {
+	    final var i = (int) (collections % GC_HISTORY);
+	    gcTime[i] = now;
+	    gcDuration[i] = gcInfo.getDuration();
+	    gcUsedBefore[i] = usedBefore;
+	    gcUsedAfter[i] = usedAfter;
+	    gcName[i] = info.getGcName();
+	    gcCause[i] = info.getGcCause();
+	    collections++;
+	}
+    }
+
+    /**
+     * Forgets the previous frame while painting is stopped, so the gap is not
+     * taken for a stutter.
+     */
+    public void idle() {
+	lastFrameStart = 0;
+    }
+
+    public boolean isEnabled() {
+	return threshold > 0;
+    }
+
+    private void listenForCollections() {
+	for (final var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+	    if (gc instanceof final NotificationEmitter emitter) {
+		emitter.addNotificationListener(gcListener, null, null);
+		emitters.add(emitter);
+	    }
+	}
+    }
+
+    private void write(final String name, final byte[] bytes) {
+	try {
+	    Files.createDirectories(directory);
+	    final var file = directory.resolve(name + ".adst");
+	    Files.write(file, bytes);
+	    LOGGER.log(Level.WARNING, "Stutter detected, dump written to {0}", file);
+	} catch (final IOException e) {
+	    LOGGER.log(Level.WARNING, "Could not write stutter dump", e);
+	    return;
+	}
+	if (!FlightRecorder.isInitialized()) {
+	    return;
+	}
+	for (final var recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+	    if (recording.getState() == RecordingState.RUNNING) {
+		try {
+		    recording.dump(directory.resolve(name + ".jfr"));
+		} catch (final IOException e) {
+		    LOGGER.log(Level.WARNING, "Could not dump flight recording", e);
+		}
+		return;
+	    }
+	}
+    }
+}
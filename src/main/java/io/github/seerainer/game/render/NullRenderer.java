@@ -0,0 +1,94 @@
+package io.github.seerainer.game.render;
+
+/**
+ * Draws nothing. Text is measured with a fixed approximation of the font
+ * metrics, so layouts stay stable without a display. Used to time the scene
+ * code on its own.
+ */
+public class NullRenderer implements Renderer {
+    private RenderFont font = RenderFont.UI;
+
+    /**
+     * Approximate height in pixels of a line in the given font.
+     */
+    static int approximateHeight(final RenderFont font) {
+	return font.getHeight() * 4 / 3;
+    }
+
+    /**
+     * Approximate width in pixels of the text in the given font.
+     */
+    static int approximateWidth(final RenderFont font, final String text) {
+	return text.length() * font.getHeight() * 2 / 3;
+    }
+
+    @Override
+    public void drawOval(final int x, final int y, final int width, final int height) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void drawPoint(final int x, final int y) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void drawPolygon(final int[] points) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void drawRectangle(final int x, final int y, final int width, final int height) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void drawText(final String text, final int x, final int y) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void fillOval(final int x, final int y, final int width, final int height) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void fillPolygon(final int[] points) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void fillRectangle(final int x, final int y, final int width, final int height) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void setAlpha(final int alpha) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void setBackground(final RenderColor color) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public void setFont(final RenderFont newFont) {
+	font = newFont;
+    }
+
+    @Override
+    public void setForeground(final RenderColor color) {
+	// Nothing to draw to
+    }
+
+    @Override
+    public int textHeight(final String text) {
+	return approximateHeight(font);
+    }
+
+    @Override
+    public int textWidth(final String text) {
+	return approximateWidth(font, text);
+    }
+}
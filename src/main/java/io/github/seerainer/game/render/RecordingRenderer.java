@@ -0,0 +1,201 @@
+package io.github.seerainer.game.render;
+
+import java.util.Locale;
+
+/**
+ * Draws nothing but counts every operation, and tells state changes that
+ * actually change something apart from redundant ones. Counts accumulate until
+ * {@link #reset()}; call it at the start of each frame for per-frame figures.
+ * Text is measured like {@link NullRenderer} does.
+ */
+public class RecordingRenderer implements Renderer {
+    private static final Op[] OPS = Op.values();
+    private final long[] counts = new long[OPS.length];
+    private long redundantStateChanges;
+    private long frames;
+    private int alpha = 255;
+    private RenderColor background;
+    private RenderColor foreground;
+    private RenderFont font = RenderFont.UI;
+
+    /**
+     * The recorded operations.
+     */
+    public enum Op {
+	DRAW_OVAL(true), DRAW_POINT(true), DRAW_POLYGON(true), DRAW_RECTANGLE(true), DRAW_TEXT(true), FILL_OVAL(true),
+	FILL_POLYGON(true), FILL_RECTANGLE(true), SET_ALPHA(false), SET_BACKGROUND(false), SET_FONT(false),
+	SET_FOREGROUND(false), TEXT_EXTENT(false);
+
+	private final boolean primitive;
+
+	Op(final boolean primitive) {
+	    this.primitive = primitive;
+	}
+
+	/**
+	 * Whether the operation draws something, as opposed to changing state or
+	 * measuring.
+	 */
+	public boolean isPrimitive() {
+	    return primitive;
+	}
+    }
+
+    private void count(final Op op) {
+	counts[op.ordinal()]++;
+    }
+
+    @Override
+    public void drawOval(final int x, final int y, final int width, final int height) {
+	count(Op.DRAW_OVAL);
+    }
+
+    @Override
+    public void drawPoint(final int x, final int y) {
+	count(Op.DRAW_POINT);
+    }
+
+    @Override
+    public void drawPolygon(final int[] points) {
+	count(Op.DRAW_POLYGON);
+    }
+
+    @Override
+    public void drawRectangle(final int x, final int y, final int width, final int height) {
+	count(Op.DRAW_RECTANGLE);
+    }
+
+    @Override
+    public void drawText(final String text, final int x, final int y) {
+	count(Op.DRAW_TEXT);
+    }
+
+    @Override
+    public void fillOval(final int x, final int y, final int width, final int height) {
+	count(Op.FILL_OVAL);
+    }
+
+    @Override
+    public void fillPolygon(final int[] points) {
+	count(Op.FILL_POLYGON);
+    }
+
+    @Override
+    public void fillRectangle(final int x, final int y, final int width, final int height) {
+	count(Op.FILL_RECTANGLE);
+    }
+
+    public long getCount(final Op op) {
+	return counts[op.ordinal()];
+    }
+
+    /**
+     * Frames counted by {@link #reset()} calls so far.
+     */
+    public long getFrames() {
+	return frames;
+    }
+
+    /**
+     * Operations that draw something.
+     */
+    public long getPrimitives() {
+	var total = 0L;
+	for (final var op : OPS) {
+	    if (op.isPrimitive()) {
+		total += counts[op.ordinal()];
+	    }
+	}
+	return total;
+    }
+
+    /**
+     * Alpha, color and font changes that set the value already in effect.
+     */
+    public long getRedundantStateChanges() {
+	return redundantStateChanges;
+    }
+
+    /**
+     * Alpha, color and font changes, redundant ones included.
+     */
+    public long getStateChanges() {
+	return counts[Op.SET_ALPHA.ordinal()] + counts[Op.SET_BACKGROUND.ordinal()] + counts[Op.SET_FONT.ordinal()]
+		+ counts[Op.SET_FOREGROUND.ordinal()];
+    }
+
+    /**
+     * Clears the counts for the next frame. Current state carries over, as it
+     * does on a real graphics context reused between frames.
+     */
+    public void reset() {
+	frames++;
+	for (var i = 0; i < counts.length; i++) {
+	    counts[i] = 0;
+	}
+	redundantStateChanges = 0;
+    }
+
+    @Override
+    public void setAlpha(final int newAlpha) {
+	count(Op.SET_ALPHA);
+	if (newAlpha == alpha) {
+	    redundantStateChanges++;
+	}
+	alpha = newAlpha;
+    }
+
+    @Override
+    public void setBackground(final RenderColor color) {
+	count(Op.SET_BACKGROUND);
+	if (color == background) {
+	    redundantStateChanges++;
+	}
+	background = color;
+    }
+
+    @Override
+    public void setFont(final RenderFont newFont) {
+	count(Op.SET_FONT);
+	if (newFont == font) {
+	    redundantStateChanges++;
+	}
+	font = newFont;
+    }
+
+    @Override
+    public void setForeground(final RenderColor color) {
+	count(Op.SET_FOREGROUND);
+	if (color == foreground) {
+	    redundantStateChanges++;
+	}
+	foreground = color;
+    }
+
+    /**
+     * One-line summary of the counts since the last reset.
+     */
+    public String summary() {
+	final var out = new StringBuilder().append(getPrimitives()).append(" primitives, ").append(getStateChanges())
+		.append(" state changes (").append(redundantStateChanges).append(" redundant)");
+	for (final var op : OPS) {
+	    final var count = counts[op.ordinal()];
+	    if (count > 0) {
+		out.append(", ").append(op.name().toLowerCase(Locale.ROOT)).append(' ').append(count);
+	    }
+	}
+	return out.toString();
+    }
+
+    @Override
+    public int textHeight(final String text) {
+	count(Op.TEXT_EXTENT);
+	return NullRenderer.approximateHeight(font);
+    }
+
+    @Override
+    public int textWidth(final String text) {
+	count(Op.TEXT_EXTENT);
+	return NullRenderer.approximateWidth(font, text);
+    }
+}
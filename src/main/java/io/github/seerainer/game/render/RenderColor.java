@@ -0,0 +1,42 @@
+package io.github.seerainer.game.render;
+
+/**
+ * The colors the scene is drawn with, as RGB values. Kept free of SWT so the
+ * native image can initialize it at build time; backends map each constant to
+ * their own color objects once.
+ */
+public enum RenderColor {
+    BLACK(0, 0, 0), WHITE(255, 255, 255), RED(255, 0, 0), GREEN(0, 255, 0), BLUE(0, 0, 255), YELLOW(255, 255, 0),
+    CYAN(0, 255, 255), MAGENTA(255, 0, 255), DARK_GRAY(128, 128, 128),
+    // Asteroid types, see ASTEROID_TYPES
+    ASTEROID_NORMAL(100, 100, 100), ASTEROID_FAST(255, 100, 100), ASTEROID_TANK(100, 100, 255),
+    ASTEROID_SPLITTER(150, 100, 200);
+
+    /**
+     * Asteroid colors indexed by {@code AsteroidType} ordinal.
+     */
+    public static final RenderColor[] ASTEROID_TYPES = { ASTEROID_NORMAL, ASTEROID_FAST, ASTEROID_TANK,
+	    ASTEROID_SPLITTER };
+
+    private final int red;
+    private final int green;
+    private final int blue;
+
+    RenderColor(final int red, final int green, final int blue) {
+	this.red = red;
+	this.green = green;
+	this.blue = blue;
+    }
+
+    public int getBlue() {
+	return blue;
+    }
+
+    public int getGreen() {
+	return green;
+    }
+
+    public int getRed() {
+	return red;
+    }
+}
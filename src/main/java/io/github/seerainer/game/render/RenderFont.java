@@ -0,0 +1,27 @@
+package io.github.seerainer.game.render;
+
+/**
+ * The fonts the scene is drawn with, all in the platform's system face.
+ */
+public enum RenderFont {
+    TITLE(32, true), UI(14, false), SMALL(11, false);
+
+    private final int height;
+    private final boolean bold;
+
+    RenderFont(final int height, final boolean bold) {
+	this.height = height;
+	this.bold = bold;
+    }
+
+    /**
+     * Height in points.
+     */
+    public int getHeight() {
+	return height;
+    }
+
+    public boolean isBold() {
+	return bold;
+    }
+}
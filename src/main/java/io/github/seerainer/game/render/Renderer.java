@@ -0,0 +1,54 @@
+package io.github.seerainer.game.render;
+
+/**
+ * The drawing operations the scene is made of. Mirrors the subset of SWT's
+ * {@code GC} the game uses, with colors and fonts named by enum, so the same
+ * scene code can paint to the screen, to nothing, or to a recorder.
+ * <p>
+ * Text is always drawn with a transparent background.
+ */
+public interface Renderer {
+
+    void drawOval(int x, int y, int width, int height);
+
+    void drawPoint(int x, int y);
+
+    /**
+     * @param points x and y coordinates, alternating
+     */
+    void drawPolygon(int[] points);
+
+    void drawRectangle(int x, int y, int width, int height);
+
+    void drawText(String text, int x, int y);
+
+    void fillOval(int x, int y, int width, int height);
+
+    /**
+     * @param points x and y coordinates, alternating
+     */
+    void fillPolygon(int[] points);
+
+    void fillRectangle(int x, int y, int width, int height);
+
+    /**
+     * @param alpha 0 (transparent) to 255 (opaque)
+     */
+    void setAlpha(int alpha);
+
+    void setBackground(RenderColor color);
+
+    void setFont(RenderFont font);
+
+    void setForeground(RenderColor color);
+
+    /**
+     * Height of the text in the current font, in pixels.
+     */
+    int textHeight(String text);
+
+    /**
+     * Width of the text in the current font, in pixels.
+     */
+    int textWidth(String text);
+}
@@ -0,0 +1,146 @@
+package io.github.seerainer.game.render;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Paints to an SWT {@link GC}. Fonts and the colors that are not system colors
+ * are created once and released by {@link #dispose()}. The graphics context is
+ * handed in per paint event with {@link #setGC(GC)}. UI thread only.
+ */
+public class SwtRenderer implements Renderer {
+    private static final RenderColor[] COLORS = RenderColor.values();
+    private static final RenderFont[] FONTS = RenderFont.values();
+    private final Color[] colors = new Color[COLORS.length];
+    private final boolean[] ownedColors = new boolean[COLORS.length];
+    private final Font[] fonts = new Font[FONTS.length];
+    private GC gc;
+
+    public SwtRenderer(final Display display) {
+	for (final var color : COLORS) {
+	    final var system = systemColor(color);
+	    if (system >= 0) {
+		colors[color.ordinal()] = display.getSystemColor(system);
+	    } else {
+		colors[color.ordinal()] = new Color(display, color.getRed(), color.getGreen(), color.getBlue());
+		ownedColors[color.ordinal()] = true;
+	    }
+	}
+	final var name = display.getSystemFont().getFontData()[0].getName();
+	for (final var font : FONTS) {
+	    fonts[font.ordinal()] = new Font(display, name, font.getHeight(), font.isBold() ? SWT.BOLD : SWT.NORMAL);
+	}
+    }
+
+    /**
+     * The matching SWT system color constant, or -1 if the color has to be
+     * created.
+     */
+    private static int systemColor(final RenderColor color) {
+	return switch (color) {
+	case BLACK -> SWT.COLOR_BLACK;
+	case WHITE -> SWT.COLOR_WHITE;
+	case RED -> SWT.COLOR_RED;
+	case GREEN -> SWT.COLOR_GREEN;
+	case BLUE -> SWT.COLOR_BLUE;
+	case YELLOW -> SWT.COLOR_YELLOW;
+	case CYAN -> SWT.COLOR_CYAN;
+	case MAGENTA -> SWT.COLOR_MAGENTA;
+	case DARK_GRAY -> SWT.COLOR_DARK_GRAY;
+	default -> -1;
+	};
+    }
+
+    public void dispose() {
+	for (var i = 0; i < colors.length; i++) {
+	    if (ownedColors[i] && colors[i] != null && !colors[i].isDisposed()) {
+		colors[i].dispose();
+	    }
+	}
+	for (final var font : fonts) {
+	    if (font != null && !font.isDisposed()) {
+		font.dispose();
+	    }
+	}
+    }
+
+    @Override
+    public void drawOval(final int x, final int y, final int width, final int height) {
+	gc.drawOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawPoint(final int x, final int y) {
+	gc.drawPoint(x, y);
+    }
+
+    @Override
+    public void drawPolygon(final int[] points) {
+	gc.drawPolygon(points);
+    }
+
+    @Override
+    public void drawRectangle(final int x, final int y, final int width, final int height) {
+	gc.drawRectangle(x, y, width, height);
+    }
+
+    @Override
+    public void drawText(final String text, final int x, final int y) {
+	gc.drawText(text, x, y, true);
+    }
+
+    @Override
+    public void fillOval(final int x, final int y, final int width, final int height) {
+	gc.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void fillPolygon(final int[] points) {
+	gc.fillPolygon(points);
+    }
+
+    @Override
+    public void fillRectangle(final int x, final int y, final int width, final int height) {
+	gc.fillRectangle(x, y, width, height);
+    }
+
+    @Override
+    public void setAlpha(final int alpha) {
+	gc.setAlpha(alpha);
+    }
+
+    @Override
+    public void setBackground(final RenderColor color) {
+	gc.setBackground(colors[color.ordinal()]);
+    }
+
+    @Override
+    public void setFont(final RenderFont font) {
+	gc.setFont(fonts[font.ordinal()]);
+    }
+
+    @Override
+    public void setForeground(final RenderColor color) {
+	gc.setForeground(colors[color.ordinal()]);
+    }
+
+    /**
+     * Sets the graphics context of the current paint event.
+     */
+    public void setGC(final GC newGC) {
+	gc = newGC;
+    }
+
+    @Override
+    public int textHeight(final String text) {
+	return gc.textExtent(text).y;
+    }
+
+    @Override
+    public int textWidth(final String text) {
+	return gc.textExtent(text).x;
+    }
+}
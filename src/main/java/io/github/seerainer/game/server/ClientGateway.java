@@ -0,0 +1,208 @@
+package io.github.seerainer.game.server;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Network side of the match server: one selector thread accepts clients, reads
+ * their input bytes and writes the frames their sessions queue, without
+ * blocking any session. Sessions hand a client over through {@link #send};
+ * clients more than a limit behind are dropped.
+ */
+final class ClientGateway implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(ClientGateway.class.getName());
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+    private final MatchServer server;
+    private final Selector selector;
+    private final ServerSocketChannel channel;
+    private final Thread thread;
+    // Connections with queued data or closed by a session
+    private final Queue<Connection> ready = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(256);
+    private volatile boolean running = true;
+    private volatile long bytesSent;
+    private final AtomicInteger droppedClients = new AtomicInteger();
+
+    ClientGateway(final MatchServer server, final InetSocketAddress address) throws IOException {
+	this.server = server;
+	selector = Selector.open();
+	channel = ServerSocketChannel.open();
+	try {
+	    channel.bind(address);
+	    channel.configureBlocking(false);
+	    channel.register(selector, SelectionKey.OP_ACCEPT);
+	} catch (final IOException e) {
+	    channel.close();
+	    selector.close();
+	    throw e;
+	}
+	thread = new Thread(this::run, "match-gateway");
+	thread.setDaemon(true);
+	thread.start();
+    }
+
+    private void accept() throws IOException {
+	final var client = channel.accept();
+	if (client == null) {
+	    return;
+	}
+	client.configureBlocking(false);
+	client.socket().setTcpNoDelay(true);
+	final var connection = new Connection(client);
+	connection.key = client.register(selector, SelectionKey.OP_READ, connection);
+	if (!server.join(connection)) {
+	    LOGGER.log(Level.DEBUG, "Turning away {0}: server takes no clients", client);
+	    connection.key.cancel();
+	    client.close();
+	    return;
+	}
+	flush(connection);
+    }
+
+    @Override
+    public void close() {
+	running = false;
+	selector.wakeup();
+	try {
+	    thread.join(1000);
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	}
+    }
+
+    private void flush(final Connection connection) {
+	if (connection.isClosed()) {
+	    release(connection);
+	    return;
+	}
+	try {
+	    for (var frame = connection.peek(); frame != null; frame = connection.peek()) {
+		final var written = connection.channel.write(frame);
+		connection.sent(written);
+		bytesSent += written;
+		if (frame.hasRemaining()) {
+		    connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		    return;
+		}
+		connection.poll();
+	    }
+	    connection.key.interestOps(SelectionKey.OP_READ);
+	} catch (final IOException e) {
+	    LOGGER.log(Level.DEBUG, "Dropping client {0}: {1}", connection.channel, e.getMessage());
+	    release(connection);
+	}
+    }
+
+    public long getBytesSent() {
+	return bytesSent;
+    }
+
+    /** Clients dropped for falling too far behind. */
+    public int getDroppedClients() {
+	return droppedClients.get();
+    }
+
+    public int getPort() {
+	return channel.socket().getLocalPort();
+    }
+
+    private void read(final Connection connection) {
+	try {
+	    readBuffer.clear();
+	    if (connection.channel.read(readBuffer) < 0) {
+		release(connection);
+		return;
+	    }
+	    readBuffer.flip();
+	    while (readBuffer.hasRemaining()) {
+		connection.received(readBuffer.get());
+	    }
+	} catch (final IOException e) {
+	    LOGGER.log(Level.DEBUG, "Dropping client {0}: {1}", connection.channel, e.getMessage());
+	    release(connection);
+	}
+    }
+
+    private void release(final Connection connection) {
+	if (!connection.key.isValid()) {
+	    return;
+	}
+	connection.close();
+	connection.key.cancel();
+	try {
+	    connection.channel.close();
+	} catch (final IOException e) {
+	    LOGGER.log(Level.DEBUG, "Could not close client connection", e);
+	}
+	server.leave(connection);
+    }
+
+    private void run() {
+	try {
+	    while (running) {
+		selector.select();
+		final var keys = selector.selectedKeys().iterator();
+		while (keys.hasNext()) {
+		    final var key = keys.next();
+		    keys.remove();
+		    if (!key.isValid()) {
+			continue;
+		    }
+		    if (key.isAcceptable()) {
+			accept();
+		    } else if (key.attachment() instanceof final Connection connection) {
+			if (key.isReadable()) {
+			    read(connection);
+			}
+			if (key.isValid() && key.isWritable()) {
+			    flush(connection);
+			}
+		    }
+		}
+		for (var connection = ready.poll(); connection != null; connection = ready.poll()) {
+		    connection.flushRequested.set(false);
+		    if (connection.key.isValid()) {
+			flush(connection);
+		    }
+		}
+	    }
+	} catch (final IOException e) {
+	    LOGGER.log(Level.WARNING, "Match gateway failed", e);
+	} finally {
+	    for (final var key : selector.keys()) {
+		if (key.attachment() instanceof final Connection connection) {
+		    release(connection);
+		}
+	    }
+	    try {
+		channel.close();
+		selector.close();
+	    } catch (final IOException e) {
+		LOGGER.log(Level.DEBUG, "Could not close match gateway", e);
+	    }
+	}
+    }
+
+    /**
+     * Queues a frame for the client and wakes the gateway to write it. Called
+     * by the thread ticking the client's session.
+     */
+    void send(final Connection connection, final ByteBuffer frame) {
+	if (connection.send(frame) > MAX_PENDING_BYTES && !connection.isClosed()) {
+	    droppedClients.incrementAndGet();
+	    connection.close();
+	}
+	if (connection.flushRequested.compareAndSet(false, true)) {
+	    ready.add(connection);
+	    selector.wakeup();
+	}
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.seerainer.game.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.seerainer.game.net.PlayerInput;
+
+/**
+ * A client connected to the match server and the seat it plays. The gateway
+ * thread reads its input and writes its frames; the thread ticking its session
+ * takes the input and queues the frames.
+ */
+final class Connection {
+    final SocketChannel channel;
+    SelectionKey key;
+    // Set once when the client is seated, before it is registered
+    MatchSession session;
+    int seat;
+    // Set while the connection waits for the gateway to enable writing
+    final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Queue<ByteBuffer> outgoing = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean start = new AtomicBoolean();
+    private volatile int input;
+    // The next frame must not depend on an earlier one
+    private volatile boolean keyFrameNeeded = true;
+    private volatile boolean closed;
+
+    Connection(final SocketChannel channel) {
+	this.channel = channel;
+    }
+
+    /**
+     * Marks the connection as gone; the session stops sending to it.
+     */
+    void close() {
+	closed = true;
+    }
+
+    long getPendingBytes() {
+	return pendingBytes.get();
+    }
+
+    boolean isClosed() {
+	return closed;
+    }
+
+    /**
+     * Whether the next frame has to be a key frame, which it then is.
+     */
+    boolean needsKeyFrame() {
+	if (keyFrameNeeded) {
+	    keyFrameNeeded = false;
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * The head of the outgoing queue, or null when everything has been sent.
+     */
+    ByteBuffer peek() {
+	return outgoing.peek();
+    }
+
+    /**
+     * Takes a fully written buffer off the queue.
+     */
+    void poll() {
+	outgoing.poll();
+    }
+
+    /**
+     * Records the client's current input. Starts are latched until the next
+     * tick takes them, so a short press between two ticks is not lost.
+     */
+    void received(final byte value) {
+	input = value & ~PlayerInput.START;
+	if ((value & PlayerInput.START) != 0) {
+	    start.set(true);
+	}
+    }
+
+    /**
+     * Queues bytes to send and returns the bytes now waiting.
+     */
+    long send(final ByteBuffer data) {
+	final var size = data.remaining();
+	outgoing.add(data);
+	return pendingBytes.addAndGet(size);
+    }
+
+    void sent(final long bytes) {
+	pendingBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * The input for the coming tick.
+     */
+    int takeInput() {
+	return input | (start.getAndSet(false) ? PlayerInput.START : 0);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.seerainer.game.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SnapshotCodec;
+import io.github.seerainer.game.net.PlayerInput;
+
+/**
+ * Blocking client of a {@link MatchServer}: learns its session and seat on
+ * connecting, sends its {@link PlayerInput} bits and reads the session's
+ * snapshots. The server sends a key frame first and then deltas to the
+ * previous frame, so every frame has to be read, in order.
+ */
+public class MatchClient implements AutoCloseable {
+    private static final int MAX_FRAME = 64 << 20;
+    private final SocketChannel channel;
+    private final int sessionId;
+    private final int seat;
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+    private final ByteBuffer input = ByteBuffer.allocate(1);
+    private ByteBuffer frame = ByteBuffer.allocate(1 << 16);
+    private RenderSnapshot previous = new RenderSnapshot();
+    private RenderSnapshot next = new RenderSnapshot();
+    private int received;
+
+    public MatchClient(final InetSocketAddress address) throws IOException {
+	channel = SocketChannel.open(address);
+	try {
+	    channel.socket().setTcpNoDelay(true);
+	    final var greeting = ByteBuffer.allocate(MatchSession.GREETING);
+	    readFully(greeting);
+	    sessionId = greeting.getInt(0);
+	    seat = greeting.get(Integer.BYTES);
+	} catch (final IOException e) {
+	    channel.close();
+	    throw e;
+	}
+    }
+
+    @Override
+    public void close() throws IOException {
+	channel.close();
+    }
+
+    /** Frames read so far. */
+    public int getReceived() {
+	return received;
+    }
+
+    /** Seat within the session, 0 for the first player. */
+    public int getSeat() {
+	return seat;
+    }
+
+    public int getSessionId() {
+	return sessionId;
+    }
+
+    /**
+     * Blocks until the next frame arrives and decodes it into the target.
+     *
+     * @throws IOException if the connection ended or the frame is malformed
+     */
+    public void read(final RenderSnapshot target) throws IOException {
+	header.clear();
+	readFully(header);
+	final var length = header.getInt(0);
+	if (length < 0 || length > MAX_FRAME) {
+	    throw new IOException("Invalid frame length: " + length);
+	}
+	if (frame.capacity() < length) {
+	    frame = ByteBuffer.allocate(Math.max(length, frame.capacity() * 2));
+	}
+	frame.clear().limit(length);
+	readFully(frame);
+	frame.flip();
+	// The first frame is a key frame, which ignores the base
+	SnapshotCodec.decode(frame, received == 0 ? SnapshotCodec.EMPTY : previous, next);
+	final var swap = previous;
+	previous = next;
+	next = swap;
+	target.copyFrom(previous);
+	received++;
+    }
+
+    private void readFully(final ByteBuffer buffer) throws IOException {
+	while (buffer.hasRemaining()) {
+	    if (channel.read(buffer) < 0) {
+		throw new EOFException("Server closed the connection");
+	    }
+	}
+    }
+
+    /**
+     * Sends the current input, a combination of {@link PlayerInput} bits.
+     * Starts only need to be sent once.
+     */
+    public void send(final int bits) throws IOException {
+	input.clear();
+	input.put((byte) bits).flip();
+	while (input.hasRemaining()) {
+	    channel.write(input);
+	}
+    }
+}
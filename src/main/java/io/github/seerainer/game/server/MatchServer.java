@@ -0,0 +1,317 @@
+package io.github.seerainer.game.server;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.Bots;
+import io.github.seerainer.game.headless.BotSession;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+/**
+ * Dedicated match server without SWT: hosts many independent authoritative
+ * sessions in one JVM. Each session ticks at the simulation rate, either on a
+ * virtual thread of its own that parks until its next deadline or on one of a
+ * few platform carrier threads that take turns ticking the sessions assigned
+ * to them. Clients connect over TCP (see {@link MatchClient}); two clients
+ * share a co-op session. Bot-played sessions provide load for capacity runs.
+ * <p>
+ * Started with {@code ./gradlew matchServer -PserverArgs="..."} and the
+ * options of {@link ServerConfig}. Every ten seconds a summary is logged; with
+ * a duration the server exits with a report of tick lateness, CPU time per
+ * session and the sessions per core the machine sustains, ending with
+ * {@code key=value} lines for scripts.
+ */
+public class MatchServer implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(MatchServer.class.getName());
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final long SUMMARY_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+    private final ServerConfig config;
+    private final int frameInterval;
+    private final List<MatchSession> sessions = new CopyOnWriteArrayList<>();
+    private final List<Carrier> carriers = new ArrayList<>();
+    private final ClientGateway gateway;
+    private final long started = System.nanoTime();
+    private final long processCpuStarted = processCpuTime();
+    private volatile boolean running = true;
+    private int nextId;
+    // Client session with a free seat, joined by the next client
+    private MatchSession open;
+
+    /**
+     * Starts the carriers, the gateway and the configured bot sessions.
+     */
+    public MatchServer(final ServerConfig config) throws IOException {
+	// Unknown bot names fail here, before any thread is started
+	Bots.create(config.bot());
+	this.config = config;
+	this.frameInterval = World.TICKS_PER_SECOND / config.rate();
+	for (var i = 0; i < config.threads(); i++) {
+	    carriers.add(new Carrier(i));
+	}
+	gateway = config.port() >= 0 ? new ClientGateway(this, new InetSocketAddress(config.bind(), config.port()))
+		: null;
+	for (var i = 0; i < config.sessions(); i++) {
+	    addBotSession();
+	}
+    }
+
+    public static void main(final String[] args) throws IOException {
+	final var config = ServerConfig.fromArgs(args);
+	try (var server = new MatchServer(config)) {
+	    if (server.getPort() >= 0) {
+		LOGGER.log(Level.INFO, "Clients can connect to {0}:{1,number,#}", config.bind(),
+			Integer.valueOf(server.getPort()));
+	    }
+	    final var end = config.duration() > 0 ? System.currentTimeMillis() + config.duration() * 1000L
+		    : Long.MAX_VALUE;
+	    for (var now = System.currentTimeMillis(); now < end; now = System.currentTimeMillis()) {
+		Thread.sleep(Math.min(SUMMARY_INTERVAL_MILLIS, end - now));
+		LOGGER.log(Level.INFO, server.summary());
+	    }
+	    System.out.print(server.report());
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	}
+    }
+
+    private static double micros(final long nanos) {
+	return (double) nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * CPU time of the whole process, or -1 where it is not available.
+     */
+    private static long processCpuTime() {
+	return OS instanceof final com.sun.management.OperatingSystemMXBean os ? os.getProcessCpuTime() : -1;
+    }
+
+    /**
+     * Starts a session a bot plays game after game.
+     */
+    public synchronized MatchSession addBotSession() {
+	final var world = newWorld();
+	return start(new MatchSession(nextId++, world, new BotSession(world, Bots.create(config.bot()), 1), null,
+		frameInterval));
+    }
+
+    @Override
+    public void close() {
+	running = false;
+	for (final var carrier : carriers) {
+	    carrier.join();
+	}
+	if (gateway != null) {
+	    gateway.close();
+	}
+	sessions.forEach(MatchSession::stop);
+    }
+
+    /** Port clients connect to, -1 if the server takes no clients. */
+    public int getPort() {
+	return gateway != null ? gateway.getPort() : -1;
+    }
+
+    /** The running sessions. */
+    public List<MatchSession> getSessions() {
+	return List.copyOf(sessions);
+    }
+
+    /**
+     * Seats a new client, in the open session or a new one, and returns whether
+     * the server takes it. Gateway thread only.
+     */
+    synchronized boolean join(final Connection connection) {
+	if (!running || gateway == null) {
+	    return false;
+	}
+	if (open == null || !open.seat(connection)) {
+	    open = new MatchSession(nextId++, newWorld(), null, gateway, frameInterval);
+	    open.seat(connection);
+	    start(open);
+	}
+	return true;
+    }
+
+    /**
+     * Frees the client's seat and ends its session once the last client left.
+     */
+    synchronized void leave(final Connection connection) {
+	final var session = connection.session;
+	if (session == null) {
+	    return;
+	}
+	session.leave(connection);
+	if (session.isEmpty()) {
+	    session.stop();
+	    sessions.remove(session);
+	    if (open == session) {
+		open = null;
+	    }
+	}
+    }
+
+    /**
+     * World of the next session, with its own seed stream.
+     */
+    private World newWorld() {
+	return new World(WIDTH, HEIGHT, SpawnDirector.getDefault(), World.newSeed(nextId));
+    }
+
+    /**
+     * Final report of a capacity run.
+     */
+    public String report() {
+	final var elapsed = System.nanoTime() - started;
+	final var seconds = (double) elapsed / TimeUnit.SECONDS.toNanos(1);
+	final var cores = Runtime.getRuntime().availableProcessors();
+	final var live = getSessions();
+	final var count = Math.max(1, live.size());
+	var ticks = 0L;
+	var cpu = 0L;
+	var skipped = 0L;
+	var lateness50 = 0L;
+	var lateness99 = 0L;
+	var latenessMax = 0L;
+	MatchSession worst = null;
+	for (final var session : live) {
+	    ticks += session.getTicks();
+	    cpu += session.getCpuNanos();
+	    skipped += session.getSkippedTicks();
+	    lateness50 += session.getLateness().percentile(50);
+	    final var p99 = session.getLateness().percentile(99);
+	    if (worst == null || p99 > lateness99) {
+		lateness99 = p99;
+		worst = session;
+	    }
+	    latenessMax = Math.max(latenessMax, session.getLateness().getMax());
+	}
+	final var cpuPerTick = ticks > 0 ? cpu / ticks : 0;
+	final var processCpu = processCpuTime();
+	// Core-seconds per second one session costs, gateway, encoding and GC included
+	final var share = processCpu >= 0 ? (processCpu - processCpuStarted) / (double) elapsed / count
+		: (double) cpu / elapsed / count;
+	final var sustainable = share > 0 ? 1 / share : 0;
+
+	final var out = new StringBuilder();
+	out.append(String.format(Locale.ROOT,
+		"Match server: %d sessions on %d cores (%.2f per core), %s, %.1f s%n", Integer.valueOf(live.size()),
+		Integer.valueOf(cores), Double.valueOf((double) live.size() / cores),
+		carriers.isEmpty() ? "virtual threads" : carriers.size() + " carrier threads", Double.valueOf(seconds)));
+	out.append(String.format(Locale.ROOT, "Ticks: %.1f per second per session (target %d), %d skipped%n",
+		Double.valueOf(ticks / seconds / count), Integer.valueOf(World.TICKS_PER_SECOND),
+		Long.valueOf(skipped)));
+	out.append(String.format(Locale.ROOT, "Tick lateness: p50 %.1f us average, p99 %.1f us worst (session %d), "
+		+ "max %.1f us%n", Double.valueOf(micros(lateness50 / count)), Double.valueOf(micros(lateness99)),
+		Integer.valueOf(worst != null ? worst.getId() : -1), Double.valueOf(micros(latenessMax))));
+	out.append(String.format(Locale.ROOT, "Tick CPU: %.1f us per tick, %.2f%% of a core per session%n",
+		Double.valueOf(micros(cpuPerTick)), Double.valueOf(100.0 * cpu / elapsed / count)));
+	out.append(String.format(Locale.ROOT, "Process CPU: %.2f%% of a core per session, about %.0f sessions per core%n",
+		Double.valueOf(100 * share), Double.valueOf(sustainable)));
+	if (gateway != null) {
+	    out.append(String.format(Locale.ROOT, "Clients: %.1f KiB sent, %d dropped%n",
+		    Double.valueOf(gateway.getBytesSent() / 1024.0), Integer.valueOf(gateway.getDroppedClients())));
+	}
+	out.append(String.format(Locale.ROOT, "sessions=%d%n", Integer.valueOf(live.size())));
+	out.append(String.format(Locale.ROOT, "sessionsPerCore=%.2f%n", Double.valueOf((double) live.size() / cores)));
+	out.append(String.format(Locale.ROOT, "ticksPerSecondPerSession=%.1f%n", Double.valueOf(ticks / seconds / count)));
+	out.append(String.format(Locale.ROOT, "latenessP99Micros=%.3f%n", Double.valueOf(micros(lateness99))));
+	out.append(String.format(Locale.ROOT, "latenessMaxMicros=%.3f%n", Double.valueOf(micros(latenessMax))));
+	out.append(String.format(Locale.ROOT, "tickCpuMicros=%.3f%n", Double.valueOf(micros(cpuPerTick))));
+	out.append(String.format(Locale.ROOT, "sustainableSessionsPerCore=%.1f%n", Double.valueOf(sustainable)));
+	return out.toString();
+    }
+
+    private void run(final MatchSession session) {
+	while (running && !session.isStopped()) {
+	    final var next = session.runDue(System.nanoTime());
+	    LockSupport.parkNanos(next - System.nanoTime());
+	}
+    }
+
+    /**
+     * Hands the session to the least busy carrier, or to a virtual thread of its
+     * own without carriers.
+     */
+    private MatchSession start(final MatchSession session) {
+	sessions.add(session);
+	if (carriers.isEmpty()) {
+	    Thread.ofVirtual().name("match-session-" + session.getId()).start(() -> run(session));
+	} else {
+	    var least = carriers.getFirst();
+	    for (final var carrier : carriers) {
+		if (carrier.sessions.size() < least.sessions.size()) {
+		    least = carrier;
+		}
+	    }
+	    least.sessions.add(session);
+	}
+	return session;
+    }
+
+    /**
+     * One line of statistics for the periodic log.
+     */
+    public String summary() {
+	final var live = getSessions();
+	var ticks = 0L;
+	var lateness = 0L;
+	for (final var session : live) {
+	    ticks += session.getTicks();
+	    lateness = Math.max(lateness, session.getLateness().percentile(99));
+	}
+	return String.format(Locale.ROOT, "%d sessions, %d ticks, worst p99 lateness %.1f us",
+		Integer.valueOf(live.size()), Long.valueOf(ticks), Double.valueOf(micros(lateness)));
+    }
+
+    /**
+     * Platform thread ticking its share of the sessions in turn, sleeping until
+     * the earliest next deadline among them.
+     */
+    private final class Carrier {
+	private final List<MatchSession> sessions = new CopyOnWriteArrayList<>();
+	private final Thread thread;
+
+	Carrier(final int index) {
+	    thread = new Thread(this::run, "match-carrier-" + index);
+	    thread.setDaemon(true);
+	    thread.start();
+	}
+
+	void join() {
+	    try {
+		thread.join(1000);
+	    } catch (final InterruptedException e) {
+		Thread.currentThread().interrupt();
+	    }
+	}
+
+	private void run() {
+	    while (running) {
+		var next = System.nanoTime() + MatchSession.TICK_NANOS;
+		for (final var session : sessions) {
+		    if (session.isStopped()) {
+			sessions.remove(session);
+			continue;
+		    }
+		    final var due = session.runDue(System.nanoTime());
+		    if (due - next < 0) {
+			next = due;
+		    }
+		}
+		LockSupport.parkNanos(next - System.nanoTime());
+	    }
+	}
+    }
+}
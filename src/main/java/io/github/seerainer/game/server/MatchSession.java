@@ -0,0 +1,247 @@
+package io.github.seerainer.game.server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SnapshotCodec;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.headless.Session;
+import io.github.seerainer.game.net.PlayerInput;
+import io.github.seerainer.game.perf.FrameTimeRecorder;
+
+/**
+ * One authoritative game on the match server: a world played either by a bot
+ * or by up to two connected clients in co-op, ticked at the fixed simulation
+ * rate by whichever thread the server's scheduler assigns. Clients get a
+ * snapshot at the configured rate, encoded once per session as a delta to the
+ * previous one and shared by every client; a client that just joined gets a
+ * key frame first.
+ * <p>
+ * Every tick records how late it started against its deadline and how much
+ * CPU time it took. CPU time comes from the thread's clock on platform
+ * threads; virtual threads have none, so there it is the tick's wall time,
+ * which matches as long as the carrier is not preempted mid-tick.
+ */
+public final class MatchSession {
+    static final int SEATS = 2;
+    static final int GREETING = Integer.BYTES + 1;
+    static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / World.TICKS_PER_SECOND;
+    private static final double TICK_SECONDS = 1.0 / World.TICKS_PER_SECOND;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    // About 8.5 seconds of ticks
+    private static final int HISTORY = 1024;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private final int id;
+    private final World world;
+    private final Session bot;
+    private final ClientGateway gateway;
+    private final int frameInterval;
+    private final AtomicReferenceArray<Connection> seats = new AtomicReferenceArray<>(SEATS);
+    private final int[] inputs = new int[SEATS];
+    private final FrameTimeRecorder lateness = new FrameTimeRecorder(HISTORY);
+    private final FrameTimeRecorder cpu = new FrameTimeRecorder(HISTORY);
+    private RenderSnapshot current = new RenderSnapshot();
+    private RenderSnapshot previous = new RenderSnapshot();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private long nextTick;
+    private volatile long ticks;
+    private volatile long cpuNanos;
+    private volatile long skippedTicks;
+    private volatile long frames;
+    private volatile boolean stopped;
+
+    /**
+     * @param bot           plays the world, or null for a session played by
+     *                      clients
+     * @param gateway       sends the clients' frames, null without clients
+     * @param frameInterval ticks between snapshots sent to clients
+     */
+    MatchSession(final int id, final World world, final Session bot, final ClientGateway gateway,
+	    final int frameInterval) {
+	this.id = id;
+	this.world = world;
+	this.bot = bot;
+	this.gateway = gateway;
+	this.frameInterval = frameInterval;
+	if (bot == null) {
+	    world.setCoop(true);
+	}
+    }
+
+    private ByteBuffer encode(final RenderSnapshot base) {
+	final var size = SnapshotCodec.maxEncodedSize(current);
+	if (scratch.capacity() < size) {
+	    scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+	}
+	scratch.clear();
+	SnapshotCodec.encode(current, base, scratch);
+	scratch.flip();
+	final var frame = ByteBuffer.allocate(Integer.BYTES + scratch.remaining());
+	frame.putInt(scratch.remaining()).put(scratch).flip();
+	return frame;
+    }
+
+    /** CPU time per tick, most recent ticks. */
+    public FrameTimeRecorder getCpu() {
+	return cpu;
+    }
+
+    /** CPU time of all ticks so far. */
+    public long getCpuNanos() {
+	return cpuNanos;
+    }
+
+    /** Snapshots sent to clients so far. */
+    public long getFrames() {
+	return frames;
+    }
+
+    public int getId() {
+	return id;
+    }
+
+    /** How late ticks started against their deadline, most recent ticks. */
+    public FrameTimeRecorder getLateness() {
+	return lateness;
+    }
+
+    /** Ticks dropped because the session fell too far behind. */
+    public long getSkippedTicks() {
+	return skippedTicks;
+    }
+
+    public long getTicks() {
+	return ticks;
+    }
+
+    public boolean isBot() {
+	return bot != null;
+    }
+
+    /**
+     * Whether no client is seated.
+     */
+    boolean isEmpty() {
+	for (var seat = 0; seat < SEATS; seat++) {
+	    if (seats.get(seat) != null) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    public boolean isStopped() {
+	return stopped;
+    }
+
+    /**
+     * Empties the client's seat.
+     */
+    void leave(final Connection connection) {
+	seats.compareAndSet(connection.seat, connection, null);
+    }
+
+    /**
+     * Runs the ticks that are due, at most a few to catch up, and returns the
+     * deadline of the next one. Only one thread at a time may call this.
+     */
+    long runDue(final long now) {
+	if (nextTick == 0) {
+	    nextTick = now;
+	}
+	var ran = 0;
+	while (now - nextTick >= 0 && ran < MAX_CATCH_UP_TICKS) {
+	    tick(nextTick);
+	    nextTick += TICK_NANOS;
+	    ran++;
+	}
+	if (ran == MAX_CATCH_UP_TICKS && now - nextTick >= 0) {
+	    // Too far behind; drop the backlog instead of spiralling
+	    final var behind = (now - nextTick) / TICK_NANOS + 1;
+	    skippedTicks += behind;
+	    nextTick += behind * TICK_NANOS;
+	}
+	return nextTick;
+    }
+
+    /**
+     * Seats the client on a free seat, queueing the greeting
+     * {@code [int sessionId][byte seat]} before any frame, and returns whether
+     * there was one. Callers seat one client at a time.
+     */
+    boolean seat(final Connection connection) {
+	if (bot != null || stopped) {
+	    return false;
+	}
+	for (var seat = 0; seat < SEATS; seat++) {
+	    if (seats.get(seat) == null) {
+		connection.session = this;
+		connection.seat = seat;
+		connection.send(ByteBuffer.allocate(GREETING).putInt(id).put((byte) seat).flip());
+		seats.set(seat, connection);
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    private void sendFrame() {
+	world.writeSnapshot(current);
+	ByteBuffer delta = null;
+	ByteBuffer key = null;
+	for (var seat = 0; seat < SEATS; seat++) {
+	    final var connection = seats.get(seat);
+	    if (connection == null || connection.isClosed()) {
+		continue;
+	    }
+	    final ByteBuffer frame;
+	    if (connection.needsKeyFrame()) {
+		if (key == null) {
+		    key = encode(SnapshotCodec.EMPTY);
+		}
+		frame = key;
+	    } else {
+		if (delta == null) {
+		    delta = encode(previous);
+		}
+		frame = delta;
+	    }
+	    gateway.send(connection, frame.duplicate());
+	}
+	final var swap = previous;
+	previous = current;
+	current = swap;
+	frames++;
+    }
+
+    void stop() {
+	stopped = true;
+    }
+
+    private void tick(final long deadline) {
+	final var start = System.nanoTime();
+	final var cpuStart = THREADS.getCurrentThreadCpuTime();
+	if (bot != null) {
+	    bot.step(TICK_SECONDS);
+	} else {
+	    for (var seat = 0; seat < SEATS; seat++) {
+		final var connection = seats.get(seat);
+		inputs[seat] = connection != null ? connection.takeInput() : 0;
+	    }
+	    PlayerInput.apply(world, inputs, TICK_SECONDS);
+	}
+	ticks++;
+	if (gateway != null && ticks % frameInterval == 0 && !isEmpty()) {
+	    sendFrame();
+	}
+	final var cpuEnd = THREADS.getCurrentThreadCpuTime();
+	final var used = cpuStart >= 0 && cpuEnd >= 0 ? cpuEnd - cpuStart : System.nanoTime() - start;
+	cpu.record(used);
+	cpuNanos += used;
+	lateness.record(Math.max(0, start - deadline));
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.seerainer.game.server;
+
+import java.util.Locale;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.Bots;
+
+/**
+ * Settings of the match server, given as {@code --key=value} arguments.
+ *
+ * @param port     TCP port clients connect to, 0 for any free one, -1 for no
+ *                 clients at all
+ * @param bind     address the port is bound to, e.g. {@code 0.0.0.0} for the
+ *                 local network
+ * @param sessions bot-played sessions started right away, the load for
+ *                 capacity runs
+ * @param bot      bot playing those sessions, see {@link Bots}
+ * @param threads  platform threads ticking the sessions, or 0 for one virtual
+ *                 thread per session
+ * @param rate     snapshots per second sent to clients
+ * @param duration seconds until the server reports and exits, 0 to run until
+ *                 killed
+ */
+public record ServerConfig(int port, String bind, int sessions, String bot, int threads, int rate, int duration) {
+
+    public static final int DEFAULT_PORT = 4713;
+
+    public ServerConfig {
+	if (port < -1 || port > 65_535 || sessions < 0 || threads < 0 || rate < 1
+		|| rate > World.TICKS_PER_SECOND || duration < 0) {
+	    throw new IllegalArgumentException("Invalid server configuration");
+	}
+    }
+
+    public static ServerConfig defaults() {
+	return new ServerConfig(DEFAULT_PORT, "127.0.0.1", 0, Bots.DEFAULT, 0, 20, 0);
+    }
+
+    /**
+     * Overrides {@link #defaults()} with {@code --port}, {@code --bind},
+     * {@code --sessions}, {@code --bot}, {@code --threads} ({@code virtual} or
+     * a count), {@code --rate} and {@code --duration} arguments.
+     */
+    public static ServerConfig fromArgs(final String[] args) {
+	var port = defaults().port();
+	var bind = defaults().bind();
+	var sessions = defaults().sessions();
+	var bot = defaults().bot();
+	var threads = defaults().threads();
+	var rate = defaults().rate();
+	var duration = defaults().duration();
+	for (final var arg : args) {
+	    final var separator = arg.indexOf('=');
+	    if (!arg.startsWith("--") || separator < 0) {
+		throw new IllegalArgumentException("Expected --key=value: " + arg);
+	    }
+	    final var key = arg.substring(2, separator).toLowerCase(Locale.ROOT);
+	    final var value = arg.substring(separator + 1).trim();
+	    switch (key) {
+	    case "port" -> port = Integer.parseInt(value);
+	    case "bind" -> bind = value;
+	    case "sessions" -> sessions = Integer.parseInt(value);
+	    case "bot" -> bot = value;
+	    case "threads" -> threads = "virtual".equalsIgnoreCase(value) ? 0 : Integer.parseInt(value);
+	    case "rate" -> rate = Integer.parseInt(value);
+	    case "duration" -> duration = Integer.parseInt(value);
+	    default -> throw new IllegalArgumentException("Unknown server option: " + key);
+	    }
+	}
+	return new ServerConfig(port, bind, sessions, bot, threads, rate, duration);
+    }
+}
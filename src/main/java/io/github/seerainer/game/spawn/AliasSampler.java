@@ -0,0 +1,85 @@
+package io.github.seerainer.game.spawn;
+
+import java.util.Random;
+
+/**
+ * Draws indices with the probabilities given by a weight array in constant
+ * time (Vose's alias method). Building the tables is O(n); every draw costs a
+ * single random number and does not allocate.
+ */
+public class AliasSampler {
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasSampler(final double[] weights) {
+	final var n = weights.length;
+	if (n == 0) {
+	    throw new IllegalArgumentException("Need at least one weight");
+	}
+	var total = 0.0;
+	for (final var weight : weights) {
+	    if (weight < 0 || !Double.isFinite(weight)) {
+		throw new IllegalArgumentException("Invalid weight: " + weight);
+	    }
+	    total += weight;
+	}
+	if (total <= 0) {
+	    throw new IllegalArgumentException("Weights must not all be zero");
+	}
+	probability = new double[n];
+	alias = new int[n];
+
+	// Scale so the average bucket is 1, then pair every under-full bucket with
+	// an over-full one that tops it up
+	final var scaled = new double[n];
+	final var small = new int[n];
+	final var large = new int[n];
+	var smallCount = 0;
+	var largeCount = 0;
+	for (var i = 0; i < n; i++) {
+	    scaled[i] = weights[i] * n / total;
+	    if (scaled[i] < 1.0) {
+		small[smallCount++] = i;
+	    } else {
+		large[largeCount++] = i;
+	    }
+	}
+	while (smallCount > 0 && largeCount > 0) {
+	    final var less = small[--smallCount];
+	    final var more = large[--largeCount];
+	    probability[less] = scaled[less];
+	    alias[less] = more;
+	    scaled[more] = scaled[more] + scaled[less] - 1.0;
+	    if (scaled[more] < 1.0) {
+		small[smallCount++] = more;
+	    } else {
+		large[largeCount++] = more;
+	    }
+	}
+	// Whatever is left is full up to rounding errors
+	while (largeCount > 0) {
+	    final var index = large[--largeCount];
+	    probability[index] = 1.0;
+	    alias[index] = index;
+	}
+	while (smallCount > 0) {
+	    final var index = small[--smallCount];
+	    probability[index] = 1.0;
+	    alias[index] = index;
+	}
+    }
+
+    /**
+     * Returns an index in {@code [0, size())} with probability proportional to
+     * its weight.
+     */
+    public int sample(final Random random) {
+	final var u = random.nextDouble() * probability.length;
+	final var column = Math.min((int) u, probability.length - 1);
+	return u - column < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+	return probability.length;
+    }
+}
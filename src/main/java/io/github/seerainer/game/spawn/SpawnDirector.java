@@ -0,0 +1,143 @@
+package io.github.seerainer.game.spawn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import io.github.seerainer.game.entities.AsteroidType;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Picks the {@link SpawnTable} for a level. Tables are loaded from
+ * {@code spawn-tables.properties} next to this class, or from the file named by
+ * the {@code game.spawnTables} system property so difficulty can be tuned
+ * without a rebuild.
+ * <p>
+ * Keys have the form {@code level.<n>.<key>}. A table applies from its level
+ * until the next listed one and inherits every key it does not set from the
+ * table before it; the first table must set them all. The last table applies
+ * to every level after it.
+ */
+public class SpawnDirector {
+    public static final String PROPERTY = "game.spawnTables";
+    private static final String RESOURCE = "spawn-tables.properties";
+    private static final String[] KEYS = { "asteroids", "extra.counts", "extra.chance", "extra.chancePerLevel",
+	    "extra.chanceMax", "weapon.interval", "weapons", "powerUp.interval", "powerUps" };
+
+    private final SpawnTable[] byLevel;
+
+    private SpawnDirector(final SpawnTable[] byLevel) {
+	this.byLevel = byLevel;
+    }
+
+    /**
+     * Returns the tables shipped with the game, or the file named by
+     * {@code game.spawnTables}. Loaded once per JVM.
+     */
+    public static SpawnDirector getDefault() {
+	return Holder.DEFAULT;
+    }
+
+    public static SpawnDirector load() {
+	final var file = System.getProperty(PROPERTY);
+	try (var in = file != null ? Files.newInputStream(Path.of(file))
+		: SpawnDirector.class.getResourceAsStream(RESOURCE)) {
+	    if (in == null) {
+		throw new IllegalStateException("Missing resource " + RESOURCE);
+	    }
+	    return load(in);
+	} catch (final IOException e) {
+	    throw new UncheckedIOException("Could not read spawn tables " + (file != null ? file : RESOURCE), e);
+	}
+    }
+
+    public static SpawnDirector load(final InputStream in) throws IOException {
+	final var properties = new Properties();
+	properties.load(in);
+	return parse(properties);
+    }
+
+    public static SpawnDirector parse(final Properties properties) {
+	final var levels = new TreeSet<Integer>();
+	for (final var name : properties.stringPropertyNames()) {
+	    final var parts = name.split("\\.", 3);
+	    if (parts.length != 3 || !"level".equals(parts[0])) {
+		throw new IllegalArgumentException("Unknown spawn table key: " + name);
+	    }
+	    if (!isKey(parts[2])) {
+		throw new IllegalArgumentException("Unknown spawn table key: " + name);
+	    }
+	    levels.add(Integer.valueOf(parts[1]));
+	}
+	if (levels.isEmpty() || levels.first().intValue() != 1) {
+	    throw new IllegalArgumentException("Spawn tables must start at level 1");
+	}
+
+	final var tables = new SpawnTable[levels.last().intValue()];
+	final var inherited = new Properties();
+	SpawnTable current = null;
+	for (var level = 1; level <= tables.length; level++) {
+	    if (levels.contains(Integer.valueOf(level))) {
+		for (final var key : KEYS) {
+		    final var value = properties.getProperty("level." + level + '.' + key);
+		    if (value != null) {
+			inherited.setProperty(key, value);
+		    } else if (!inherited.containsKey(key)) {
+			throw new IllegalArgumentException("level." + level + '.' + key + " is not set");
+		    }
+		}
+		current = table(level, inherited);
+	    }
+	    tables[level - 1] = current;
+	}
+	return new SpawnDirector(tables);
+    }
+
+    private static boolean isKey(final String key) {
+	for (final var known : KEYS) {
+	    if (known.equals(key)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    private static <E extends Enum<E>> Function<String, E> enumParser(final Class<E> type) {
+	return name -> Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+    }
+
+    private static float number(final Properties values, final String key) {
+	return Float.parseFloat(values.getProperty(key).trim());
+    }
+
+    private static SpawnTable table(final int level, final Properties values) {
+	final var prefix = "level." + level + '.';
+	return new SpawnTable(level,
+		Weighted.parse(prefix + "asteroids", values.getProperty("asteroids"),
+			enumParser(AsteroidType.class)),
+		Weighted.parse(prefix + "extra.counts", values.getProperty("extra.counts"), Integer::valueOf),
+		number(values, "extra.chance"), number(values, "extra.chancePerLevel"),
+		number(values, "extra.chanceMax"), number(values, "weapon.interval"),
+		Weighted.parse(prefix + "weapons", values.getProperty("weapons"), enumParser(WeaponType.class)),
+		number(values, "powerUp.interval"),
+		Weighted.parse(prefix + "powerUps", values.getProperty("powerUps"), enumParser(PowerUpType.class)));
+    }
+
+    /**
+     * Returns the table in effect at the given level in constant time.
+     */
+    public SpawnTable forLevel(final int level) {
+	return byLevel[Math.clamp(level, 1, byLevel.length) - 1];
+    }
+
+    private static final class Holder {
+	static final SpawnDirector DEFAULT = load();
+    }
+}
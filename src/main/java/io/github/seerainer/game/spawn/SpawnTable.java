@@ -0,0 +1,97 @@
+package io.github.seerainer.game.spawn;
+
+import java.util.Random;
+
+import io.github.seerainer.game.entities.AsteroidType;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+
+/**
+ * Spawn rules for a range of levels: the asteroid type mix, multi-spawn odds
+ * and counts, and the pickup drop rates and mixes. Every weighted choice is
+ * precompiled into an {@link AliasSampler}, so draws take constant time.
+ */
+public class SpawnTable {
+    private final int level;
+    private final AsteroidType[] asteroidTypes;
+    private final AliasSampler asteroidSampler;
+    private final int[] extraCounts;
+    private final AliasSampler extraSampler;
+    private final float extraChance;
+    private final float extraChancePerLevel;
+    private final float extraChanceMax;
+    private final float weaponInterval;
+    private final WeaponType[] weapons;
+    private final AliasSampler weaponSampler;
+    private final float powerUpInterval;
+    private final PowerUpType[] powerUps;
+    private final AliasSampler powerUpSampler;
+
+    SpawnTable(final int level, final Weighted<AsteroidType> asteroids, final Weighted<Integer> extras,
+	    final float extraChance, final float extraChancePerLevel, final float extraChanceMax,
+	    final float weaponInterval, final Weighted<WeaponType> weapons, final float powerUpInterval,
+	    final Weighted<PowerUpType> powerUps) {
+	if (weaponInterval <= 0 || powerUpInterval <= 0) {
+	    throw new IllegalArgumentException("Pickup intervals must be positive at level " + level);
+	}
+	this.level = level;
+	this.asteroidTypes = asteroids.values().toArray(AsteroidType[]::new);
+	this.asteroidSampler = asteroids.sampler();
+	this.extraCounts = extras.values().stream().mapToInt(Integer::intValue).toArray();
+	this.extraSampler = extras.sampler();
+	this.extraChance = extraChance;
+	this.extraChancePerLevel = extraChancePerLevel;
+	this.extraChanceMax = extraChanceMax;
+	this.weaponInterval = weaponInterval;
+	this.weapons = weapons.values().toArray(WeaponType[]::new);
+	this.weaponSampler = weapons.sampler();
+	this.powerUpInterval = powerUpInterval;
+	this.powerUps = powerUps.values().toArray(PowerUpType[]::new);
+	this.powerUpSampler = powerUps.sampler();
+    }
+
+    public AsteroidType asteroidType(final Random random) {
+	return asteroidTypes[asteroidSampler.sample(random)];
+    }
+
+    /**
+     * Rolls whether a spawn at the given level brings extra asteroids along and
+     * returns how many, 0 for a single spawn.
+     */
+    public int extraCount(final int currentLevel, final Random random) {
+	final var chance = getExtraChance(currentLevel);
+	if (chance <= 0 || random.nextFloat() >= chance) {
+	    return 0;
+	}
+	return extraCounts[extraSampler.sample(random)];
+    }
+
+    /**
+     * Multi-spawn chance at the given level, which grows from the table's first
+     * level up to the configured maximum.
+     */
+    public float getExtraChance(final int currentLevel) {
+	return Math.min(extraChanceMax, extraChance + extraChancePerLevel * Math.max(0, currentLevel - level));
+    }
+
+    /** First level this table applies to. */
+    public int getLevel() {
+	return level;
+    }
+
+    public float getPowerUpInterval() {
+	return powerUpInterval;
+    }
+
+    public float getWeaponInterval() {
+	return weaponInterval;
+    }
+
+    public PowerUpType powerUp(final Random random) {
+	return powerUps[powerUpSampler.sample(random)];
+    }
+
+    public WeaponType weapon(final Random random) {
+	return weapons[weaponSampler.sample(random)];
+    }
+}
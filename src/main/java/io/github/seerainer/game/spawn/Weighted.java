@@ -0,0 +1,39 @@
+package io.github.seerainer.game.spawn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Weighted choices parsed from a {@code NAME:weight, NAME:weight} list.
+ */
+record Weighted<T>(List<T> values, double[] weights) {
+
+    static <T> Weighted<T> parse(final String key, final String spec, final Function<String, T> parser) {
+	final var values = new ArrayList<T>();
+	final var weights = new ArrayList<Double>();
+	for (final var entry : spec.split(",")) {
+	    if (entry.isBlank()) {
+		continue;
+	    }
+	    final var separator = entry.indexOf(':');
+	    if (separator < 0) {
+		throw new IllegalArgumentException("Expected NAME:weight in " + key + ": " + entry.trim());
+	    }
+	    final var value = parser.apply(entry.substring(0, separator).trim());
+	    if (values.contains(value)) {
+		throw new IllegalArgumentException("Duplicate entry in " + key + ": " + value);
+	    }
+	    values.add(value);
+	    weights.add(Double.valueOf(entry.substring(separator + 1).trim()));
+	}
+	if (values.isEmpty()) {
+	    throw new IllegalArgumentException(key + " is empty");
+	}
+	return new Weighted<>(List.copyOf(values), weights.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    AliasSampler sampler() {
+	return new AliasSampler(weights);
+    }
+}
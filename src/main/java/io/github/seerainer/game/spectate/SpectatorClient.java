@@ -0,0 +1,175 @@
+package io.github.seerainer.game.spectate;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SnapshotCodec;
+import io.github.seerainer.game.SnapshotExchange;
+
+/**
+ * Receives the snapshots of a {@link SpectatorServer}. A reader thread decodes
+ * every frame against the snapshot it was based on, acknowledges it and hands
+ * it over through a triple buffer, so the UI thread only ever sees complete
+ * snapshots and never waits for the network.
+ */
+public class SpectatorClient implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(SpectatorClient.class.getName());
+    private static final int MAX_FRAME = 64 << 20;
+    private final SocketChannel channel;
+    private final SnapshotExchange exchange = new SnapshotExchange();
+    private final Thread thread;
+    // Decoded snapshots by id, the bases of later deltas; owned by the reader
+    private final RenderSnapshot[] history = new RenderSnapshot[SpectatorServer.HISTORY];
+    private final int[] historyIds = new int[SpectatorServer.HISTORY];
+    private final ByteBuffer header = ByteBuffer.allocate(SpectatorServer.FRAME_HEADER);
+    private final ByteBuffer ack = ByteBuffer.allocate(Integer.BYTES);
+    private ByteBuffer frame = ByteBuffer.allocate(1 << 16);
+    private volatile boolean connected = true;
+    private volatile int received;
+    private volatile int keyFrames;
+    private volatile long bytesReceived;
+
+    public SpectatorClient(final InetSocketAddress address) throws IOException {
+	for (var i = 0; i < history.length; i++) {
+	    history[i] = new RenderSnapshot();
+	    historyIds[i] = -1;
+	}
+	channel = SocketChannel.open(address);
+	channel.socket().setTcpNoDelay(true);
+	thread = new Thread(this::run, "spectator-client");
+	thread.setDaemon(true);
+	thread.start();
+    }
+
+    /**
+     * Parses {@code host:port}.
+     */
+    public static InetSocketAddress parseAddress(final String address) {
+	final var colon = address.lastIndexOf(':');
+	if (colon <= 0) {
+	    throw new IllegalArgumentException("Expected host:port: " + address);
+	}
+	try {
+	    return new InetSocketAddress(address.substring(0, colon),
+		    Integer.parseInt(address.substring(colon + 1)));
+	} catch (final NumberFormatException e) {
+	    throw new IllegalArgumentException("Invalid port: " + address, e);
+	}
+    }
+
+    @Override
+    public void close() {
+	connected = false;
+	try {
+	    channel.close();
+	} catch (final IOException e) {
+	    LOGGER.log(Level.DEBUG, "Could not close spectator connection", e);
+	}
+    }
+
+    public long getBytesReceived() {
+	return bytesReceived;
+    }
+
+    /** Key frames received so far, at least one per connection. */
+    public int getKeyFrames() {
+	return keyFrames;
+    }
+
+    /** Snapshots received so far. */
+    public int getReceived() {
+	return received;
+    }
+
+    /**
+     * Whether a snapshot arrived since the last call of {@link #latest()}.
+     */
+    public boolean hasFresh() {
+	return exchange.hasFresh();
+    }
+
+    /**
+     * Whether the connection is still open; false once the server dropped or
+     * closed it.
+     */
+    public boolean isConnected() {
+	return connected;
+    }
+
+    /**
+     * Returns the most recent snapshot. Only one thread may consume.
+     */
+    public RenderSnapshot latest() {
+	return exchange.latest();
+    }
+
+    private void readFully(final ByteBuffer buffer) throws IOException {
+	while (buffer.hasRemaining()) {
+	    if (channel.read(buffer) < 0) {
+		throw new EOFException("Server closed the connection");
+	    }
+	}
+	bytesReceived += buffer.limit();
+    }
+
+    private void receive() throws IOException {
+	header.clear();
+	readFully(header);
+	final var length = header.getInt(0) - (SpectatorServer.FRAME_HEADER - Integer.BYTES);
+	final var id = header.getInt(4);
+	final var baseId = header.getInt(8);
+	if (length < 0 || length > MAX_FRAME || id < 0) {
+	    throw new IOException("Invalid frame: " + length + " bytes, id " + id);
+	}
+	if (frame.capacity() < length) {
+	    frame = ByteBuffer.allocate(Math.max(length, frame.capacity() * 2));
+	}
+	frame.clear().limit(length);
+	readFully(frame);
+	frame.flip();
+
+	final RenderSnapshot base;
+	if (baseId < 0) {
+	    base = SnapshotCodec.EMPTY;
+	    keyFrames++;
+	} else if (historyIds[baseId % history.length] == baseId) {
+	    base = history[baseId % history.length];
+	} else {
+	    throw new IOException("Unknown base snapshot " + baseId);
+	}
+	final var slot = id % history.length;
+	if (base == history[slot]) {
+	    throw new IOException("Snapshot " + id + " overwrites its own base");
+	}
+	SnapshotCodec.decode(frame, base, history[slot]);
+	historyIds[slot] = id;
+	exchange.back().copyFrom(history[slot]);
+	exchange.publish();
+	received++;
+
+	ack.clear();
+	ack.putInt(id).flip();
+	while (ack.hasRemaining()) {
+	    channel.write(ack);
+	}
+    }
+
+    private void run() {
+	try {
+	    while (connected) {
+		receive();
+	    }
+	} catch (final IOException e) {
+	    if (connected) {
+		LOGGER.log(Level.INFO, "Spectator connection ended: {0}", e.getMessage());
+	    }
+	} finally {
+	    close();
+	}
+    }
+}
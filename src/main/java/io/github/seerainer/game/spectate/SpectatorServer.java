@@ -0,0 +1,370 @@
+package io.github.seerainer.game.spectate;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SnapshotCodec;
+import io.github.seerainer.game.SnapshotExchange;
+
+/**
+ * Streams world snapshots to any number of spectators over TCP. The
+ * simulation thread only copies a snapshot into a triple buffer at the
+ * configured rate; a selector thread encodes it for every client as a delta
+ * against the last snapshot that client acknowledged (see
+ * {@link SnapshotCodec}) and writes without blocking. Clients whose unsent
+ * data grows beyond a limit, or that stop acknowledging, are dropped.
+ * <p>
+ * Server frames are {@code [int length][int id][int baseId][payload]}, with
+ * {@code baseId} -1 for key frames. Clients send back the id of every frame
+ * they decoded as a 4-byte big-endian int.
+ */
+public class SpectatorServer implements AutoCloseable {
+    /** Snapshots kept as delta bases; older acknowledgements get key frames. */
+    static final int HISTORY = 64;
+    static final int FRAME_HEADER = 12;
+    private static final System.Logger LOGGER = System.getLogger(SpectatorServer.class.getName());
+    private static final int DEFAULT_RATE = 20;
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+    private static final long ACK_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final SnapshotExchange exchange = new SnapshotExchange();
+    private final long periodNanos;
+    private final int maxPendingBytes;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread thread;
+    private final List<Client> clients = new ArrayList<>();
+    private final RenderSnapshot[] history = new RenderSnapshot[HISTORY];
+    private final int[] historyIds = new int[HISTORY];
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(256);
+    private volatile boolean running = true;
+    // Owned by the simulation thread
+    private long nextOffer;
+    // Owned by the server thread, read for monitoring
+    private volatile int nextId;
+    private volatile long bytesSent;
+    private volatile int droppedClients;
+    private volatile int clientCount;
+
+    /**
+     * Starts listening and broadcasting right away.
+     *
+     * @param port            local port, or 0 for any free one
+     * @param rate            snapshots per second
+     * @param maxPendingBytes unsent bytes after which a client is dropped
+     */
+    public SpectatorServer(final InetAddress address, final int port, final int rate, final int maxPendingBytes)
+	    throws IOException {
+	if (rate <= 0 || maxPendingBytes <= 0) {
+	    throw new IllegalArgumentException("Rate and pending limit must be positive: " + rate + ", "
+		    + maxPendingBytes);
+	}
+	this.periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+	this.maxPendingBytes = maxPendingBytes;
+	for (var i = 0; i < HISTORY; i++) {
+	    history[i] = new RenderSnapshot();
+	    historyIds[i] = -1;
+	}
+	selector = Selector.open();
+	server = ServerSocketChannel.open();
+	try {
+	    server.bind(new InetSocketAddress(address, port));
+	    server.configureBlocking(false);
+	    server.register(selector, SelectionKey.OP_ACCEPT);
+	} catch (final IOException e) {
+	    server.close();
+	    selector.close();
+	    throw e;
+	}
+	thread = new Thread(this::run, "spectator-server");
+	thread.setDaemon(true);
+	thread.start();
+    }
+
+    /**
+     * Starts a server if {@code game.spectate.port} is set, otherwise returns
+     * null. {@code game.spectate.rate} sets the snapshots per second (default
+     * 20) and {@code game.spectate.bind} the listening address (default
+     * loopback, e.g. {@code 0.0.0.0} for the local network). Further stations
+     * listen on the following ports. Failures are logged; the game runs
+     * without spectators rather than not at all.
+     */
+    public static SpectatorServer fromSystemProperties(final int station) {
+	final var port = Integer.getInteger("game.spectate.port", -1).intValue();
+	if (port < 0) {
+	    return null;
+	}
+	final var rate = Integer.getInteger("game.spectate.rate", DEFAULT_RATE).intValue();
+	final var bind = System.getProperty("game.spectate.bind");
+	try {
+	    final var address = bind != null ? InetAddress.getByName(bind) : InetAddress.getLoopbackAddress();
+	    final var spectators = new SpectatorServer(address, port == 0 ? 0 : port + station, rate,
+		    MAX_PENDING_BYTES);
+	    LOGGER.log(Level.INFO, "Spectators can connect to {0}:{1,number,#}", address.getHostAddress(),
+		    Integer.valueOf(spectators.getPort()));
+	    return spectators;
+	} catch (final IOException e) {
+	    LOGGER.log(Level.WARNING, "Could not start spectator server", e);
+	    return null;
+	}
+    }
+
+    private void accept() throws IOException {
+	final var channel = server.accept();
+	if (channel == null) {
+	    return;
+	}
+	channel.configureBlocking(false);
+	channel.socket().setTcpNoDelay(true);
+	final var client = new Client(channel, System.nanoTime());
+	client.key = channel.register(selector, SelectionKey.OP_READ, client);
+	clients.add(client);
+	clientCount = clients.size();
+    }
+
+    /**
+     * Returns the buffer to write the next snapshot to. Simulation thread only.
+     */
+    public RenderSnapshot back() {
+	return exchange.back();
+    }
+
+    private void broadcast(final RenderSnapshot snapshot) {
+	final var id = nextId;
+	final var slot = id % HISTORY;
+	history[slot].copyFrom(snapshot);
+	historyIds[slot] = id;
+	nextId = id + 1;
+	// Clients that acknowledged the same snapshot share one encoding
+	final Map<Integer, ByteBuffer> frames = new HashMap<>();
+	for (var i = clients.size() - 1; i >= 0; i--) {
+	    final var client = clients.get(i);
+	    final var baseId = isInHistory(client.acknowledged, id) ? client.acknowledged : -1;
+	    final var frame = frames.computeIfAbsent(Integer.valueOf(baseId), _ -> encode(id, baseId)).duplicate();
+	    if (client.pendingBytes > maxPendingBytes) {
+		drop(client, "too slow");
+		continue;
+	    }
+	    client.queue.add(frame);
+	    client.pendingBytes += frame.remaining();
+	    flush(client);
+	}
+    }
+
+    @Override
+    public void close() {
+	running = false;
+	selector.wakeup();
+	try {
+	    thread.join(1000);
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	}
+    }
+
+    private void drop(final Client client, final String reason) {
+	LOGGER.log(Level.DEBUG, "Dropping spectator {0}: {1}", client.channel, reason);
+	droppedClients++;
+	release(client);
+    }
+
+    private ByteBuffer encode(final int id, final int baseId) {
+	final var snapshot = history[id % HISTORY];
+	final var base = baseId < 0 ? SnapshotCodec.EMPTY : history[baseId % HISTORY];
+	final var frame = ByteBuffer.allocate(FRAME_HEADER + SnapshotCodec.maxEncodedSize(snapshot));
+	frame.position(FRAME_HEADER);
+	SnapshotCodec.encode(snapshot, base, frame);
+	frame.flip();
+	frame.putInt(0, frame.limit() - Integer.BYTES);
+	frame.putInt(4, id);
+	frame.putInt(8, baseId);
+	return frame;
+    }
+
+    private void flush(final Client client) {
+	try {
+	    while (!client.queue.isEmpty()) {
+		final var frame = client.queue.peek();
+		final var written = client.channel.write(frame);
+		client.pendingBytes -= written;
+		bytesSent += written;
+		if (frame.hasRemaining()) {
+		    client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		    return;
+		}
+		client.queue.poll();
+	    }
+	    client.key.interestOps(SelectionKey.OP_READ);
+	} catch (final IOException e) {
+	    drop(client, e.getMessage());
+	}
+    }
+
+    public long getBytesSent() {
+	return bytesSent;
+    }
+
+    public int getClientCount() {
+	return clientCount;
+    }
+
+    public int getDroppedClients() {
+	return droppedClients;
+    }
+
+    public int getPort() {
+	return server.socket().getLocalPort();
+    }
+
+    /** Snapshots broadcast so far. */
+    public int getSnapshotCount() {
+	return nextId;
+    }
+
+    /**
+     * Whether a snapshot is due for spectators, so the caller should write one
+     * to {@link #back()} and {@link #publish(long)} it. Simulation thread only.
+     */
+    public boolean isDue(final long now) {
+	return now - nextOffer >= 0;
+    }
+
+    private boolean isInHistory(final int id, final int current) {
+	return id >= 0 && id < current && current - id < HISTORY && historyIds[id % HISTORY] == id;
+    }
+
+    /**
+     * Hands the snapshot written to {@link #back()} to the server thread.
+     * Simulation thread only.
+     */
+    public void publish(final long now) {
+	nextOffer = now + periodNanos;
+	exchange.publish();
+	selector.wakeup();
+    }
+
+    private void read(final Client client) {
+	try {
+	    readBuffer.clear();
+	    readBuffer.put(client.partial, 0, client.partialLength);
+	    if (client.channel.read(readBuffer) < 0) {
+		release(client);
+		return;
+	    }
+	    readBuffer.flip();
+	    while (readBuffer.remaining() >= Integer.BYTES) {
+		final var id = readBuffer.getInt();
+		if (id > client.acknowledged && id < nextId) {
+		    client.acknowledged = id;
+		    client.lastAck = System.nanoTime();
+		}
+	    }
+	    client.partialLength = readBuffer.remaining();
+	    readBuffer.get(client.partial, 0, client.partialLength);
+	} catch (final IOException e) {
+	    drop(client, e.getMessage());
+	}
+    }
+
+    private void release(final Client client) {
+	clients.remove(client);
+	clientCount = clients.size();
+	client.key.cancel();
+	try {
+	    client.channel.close();
+	} catch (final IOException e) {
+	    LOGGER.log(Level.DEBUG, "Could not close spectator connection", e);
+	}
+    }
+
+    private void run() {
+	try {
+	    while (running) {
+		selector.select(TimeUnit.NANOSECONDS.toMillis(ACK_TIMEOUT_NANOS));
+		final var keys = selector.selectedKeys().iterator();
+		while (keys.hasNext()) {
+		    final var key = keys.next();
+		    keys.remove();
+		    if (!key.isValid()) {
+			continue;
+		    }
+		    if (key.isAcceptable()) {
+			accept();
+		    } else if (key.attachment() instanceof final Client client) {
+			if (key.isReadable()) {
+			    read(client);
+			}
+			if (key.isValid() && key.isWritable()) {
+			    flush(client);
+			}
+		    }
+		}
+		if (exchange.hasFresh()) {
+		    broadcast(exchange.latest());
+		}
+		final var now = System.nanoTime();
+		for (var i = clients.size() - 1; i >= 0; i--) {
+		    final var client = clients.get(i);
+		    if (now - client.lastAck > ACK_TIMEOUT_NANOS) {
+			drop(client, "no acknowledgement");
+		    }
+		}
+	    }
+	} catch (final IOException e) {
+	    LOGGER.log(Level.WARNING, "Spectator server failed", e);
+	} finally {
+	    for (var i = clients.size() - 1; i >= 0; i--) {
+		release(clients.get(i));
+	    }
+	    try {
+		server.close();
+		selector.close();
+	    } catch (final IOException e) {
+		LOGGER.log(Level.DEBUG, "Could not close spectator server", e);
+	    }
+	}
+    }
+
+    /**
+     * One line of statistics for reports.
+     */
+    public String summary() {
+	return String.format(Locale.ROOT, "%d snapshots, %d spectators connected, %d dropped, %.1f KiB sent",
+		Integer.valueOf(nextId), Integer.valueOf(clientCount), Integer.valueOf(droppedClients),
+		Double.valueOf(bytesSent / 1024.0));
+    }
+
+    /**
+     * Connection state of one spectator, owned by the server thread.
+     */
+    private static final class Client {
+	private final SocketChannel channel;
+	private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+	// Bytes of an acknowledgement split across reads
+	private final byte[] partial = new byte[Integer.BYTES];
+	private SelectionKey key;
+	private int partialLength;
+	private int pendingBytes;
+	private int acknowledged = -1;
+	private long lastAck;
+
+	Client(final SocketChannel channel, final long connected) {
+	    this.channel = channel;
+	    this.lastAck = connected;
+	}
+    }
+}
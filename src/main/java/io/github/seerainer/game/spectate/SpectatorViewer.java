@@ -0,0 +1,98 @@
+package io.github.seerainer.game.spectate;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+
+import io.github.seerainer.game.GameWindow;
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.SceneRenderer;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.render.SwtRenderer;
+
+/**
+ * Window showing a game streamed by a {@link SpectatorServer}, drawn by the
+ * same scene renderer as the game itself. Started with
+ * {@code --spectate=host:port}; Escape closes it.
+ */
+public final class SpectatorViewer {
+    private static final String ARGUMENT = "--spectate=";
+    private static final int POLL_MILLIS = 8;
+
+    private SpectatorViewer() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isRequested(final String[] args) {
+	return Arrays.stream(args).anyMatch(arg -> arg.startsWith(ARGUMENT));
+    }
+
+    public static void run(final String[] args) {
+	final var address = Arrays.stream(args).filter(arg -> arg.startsWith(ARGUMENT)).findFirst().orElseThrow()
+		.substring(ARGUMENT.length());
+	try (var client = new SpectatorClient(SpectatorClient.parseAddress(address))) {
+	    show(client);
+	    System.out.printf("Spectated %d snapshots (%d key frames), %.1f KiB received%n",
+		    Integer.valueOf(client.getReceived()), Integer.valueOf(client.getKeyFrames()),
+		    Double.valueOf(client.getBytesReceived() / 1024.0));
+	} catch (final IOException e) {
+	    System.err.println("Could not connect to " + address + ": " + e.getMessage());
+	}
+    }
+
+    private static void show(final SpectatorClient client) {
+	final var display = new Display();
+	final var renderer = new SwtRenderer(display);
+	final var scene = new SceneRenderer();
+	final var window = new GameWindow(display);
+	final var shell = window.getShell();
+	final var canvas = window.getCanvas();
+	shell.setText("Asteroid Dodger - Spectator");
+	// The last snapshot stays on screen until a newer one arrives
+	final var shown = new RenderSnapshot[1];
+	canvas.addListener(SWT.Paint, e -> {
+	    if (client.hasFresh()) {
+		shown[0] = client.latest();
+	    }
+	    if (shown[0] != null) {
+		final var area = canvas.getClientArea();
+		renderer.setGC(e.gc);
+		scene.render(renderer, shown[0], area.width, area.height, QualityLevel.HIGH,
+			System.currentTimeMillis());
+	    }
+	});
+	display.addFilter(SWT.KeyDown, e -> {
+	    if (e.keyCode == SWT.ESC) {
+		shell.close();
+	    } else if (e.keyCode == SWT.F11) {
+		window.toggleFullScreen();
+	    }
+	});
+	final Runnable poll = new Runnable() {
+	    @Override
+	    public void run() {
+		if (canvas.isDisposed()) {
+		    return;
+		}
+		if (!client.isConnected()) {
+		    shell.setText("Asteroid Dodger - Spectator (disconnected)");
+		} else if (client.hasFresh()) {
+		    canvas.redraw();
+		}
+		display.timerExec(POLL_MILLIS, this);
+	    }
+	};
+	window.open();
+	display.timerExec(POLL_MILLIS, poll);
+	while (!shell.isDisposed()) {
+	    if (!display.readAndDispatch()) {
+		display.sleep();
+	    }
+	}
+	window.dispose();
+	renderer.dispose();
+	display.dispose();
+    }
+}
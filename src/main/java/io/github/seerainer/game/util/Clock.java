@@ -0,0 +1,45 @@
+package io.github.seerainer.game.util;
+
+/**
+ * Source of time for simulation loops, so game time can run slower or faster
+ * than wall time or not depend on it at all. The loop reads
+ * {@link #nanoTime()} and waits for its next tick with
+ * {@link #sleepNanos(long)}; on a virtual clock waiting just moves time on,
+ * so a loop runs as fast as it can compute its ticks.
+ */
+public interface Clock {
+
+    /**
+     * Clock chosen by {@code game.clock}: {@code system} (the default) for
+     * wall time, scaled by {@code game.timeScale} (default 1, e.g. 0.5 for half
+     * speed), or {@code virtual} to run as fast as possible.
+     */
+    static Clock fromSystemProperties() {
+	final var clock = System.getProperty("game.clock", "system");
+	final var scale = Double.parseDouble(System.getProperty("game.timeScale", "1"));
+	return switch (clock) {
+	case "system" -> scale == 1 ? system() : new DilatedClock(system(), scale);
+	case "virtual" -> new VirtualClock();
+	default -> throw new IllegalArgumentException("Unknown clock: " + clock);
+	};
+    }
+
+    /**
+     * Wall time from {@link System#nanoTime()}; waiting parks the thread.
+     */
+    static Clock system() {
+	return SystemClock.INSTANCE;
+    }
+
+    /**
+     * Current time in nanoseconds from an arbitrary origin; only differences
+     * are meaningful.
+     */
+    long nanoTime();
+
+    /**
+     * Waits until the clock has moved on by about the given nanoseconds;
+     * returns right away if it is not positive.
+     */
+    void sleepNanos(long nanos);
+}
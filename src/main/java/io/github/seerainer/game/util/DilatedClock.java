@@ -0,0 +1,40 @@
+package io.github.seerainer.game.util;
+
+/**
+ * Runs another clock faster or slower: every nanosecond of the base clock is
+ * {@code factor} nanoseconds of this one, counted from when it was created.
+ * Waiting waits for the matching, scaled time on the base clock.
+ */
+public class DilatedClock implements Clock {
+    private final Clock base;
+    private final double factor;
+    private final long origin;
+
+    /**
+     * @param factor speed relative to the base clock, e.g. 2 for twice as fast
+     */
+    public DilatedClock(final Clock base, final double factor) {
+	if (!(factor > 0) || Double.isInfinite(factor)) {
+	    throw new IllegalArgumentException("Time scale must be positive: " + factor);
+	}
+	this.base = base;
+	this.factor = factor;
+	this.origin = base.nanoTime();
+    }
+
+    public double getFactor() {
+	return factor;
+    }
+
+    @Override
+    public long nanoTime() {
+	return origin + (long) ((base.nanoTime() - origin) * factor);
+    }
+
+    @Override
+    public void sleepNanos(final long nanos) {
+	if (nanos > 0) {
+	    base.sleepNanos(Math.max(1, (long) (nanos / factor)));
+	}
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.seerainer.game.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Free list of reusable objects. Once the pool has grown to the peak number of
+ * objects in use, obtaining and freeing never allocate. Not thread-safe;
+ * counters read from other threads for monitoring are approximate.
+ */
+public class ObjectPool<T> {
+    private final String name;
+    private final Supplier<T> factory;
+    private Object[] free;
+    private int freeCount;
+    private int created;
+
+    /**
+     * @param name            used in metrics and reports
+     * @param initialCapacity objects created up front
+     */
+    public ObjectPool(final String name, final Supplier<T> factory, final int initialCapacity) {
+	this.name = name;
+	this.factory = factory;
+	this.free = new Object[Math.max(16, initialCapacity)];
+	for (var i = 0; i < initialCapacity; i++) {
+	    free[i] = factory.get();
+	}
+	this.freeCount = initialCapacity;
+	this.created = initialCapacity;
+    }
+
+    public void free(final T object) {
+	if (freeCount == free.length) {
+	    free = Arrays.copyOf(free, free.length * 2);
+	}
+	free[freeCount] = object;
+	freeCount++;
+    }
+
+    /**
+     * Returns every element of the list to the pool and clears it.
+     */
+    public void freeAll(final List<T> objects) {
+	for (var i = 0; i < objects.size(); i++) {
+	    free(objects.get(i));
+	}
+	objects.clear();
+    }
+
+    public int getCreated() {
+	return created;
+    }
+
+    public int getFree() {
+	return freeCount;
+    }
+
+    public int getInUse() {
+	return created - freeCount;
+    }
+
+    public String getName() {
+	return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+	if (freeCount == 0) {
+	    created++;
+	    return factory.get();
+	}
+	final var index = freeCount - 1;
+	final var object = (T) free[index];
+	free[index] = null;
+	freeCount = index;
+	return object;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.seerainer.game.util;
+
+import java.util.Random;
+
+/**
+ * SplitMix64 generator whose whole state is one {@code long}, so a world can
+ * be copied together with its random sequence and a copy can be reseeded
+ * cheaply. Extends {@link Random} so it can be passed wherever one is
+ * expected, but unlike {@code Random} it is not thread-safe: each simulation
+ * owns its generator.
+ */
+public class Rng extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E37_79B9_7F4A_7C15L;
+    private long state;
+
+    public Rng(final long seed) {
+	super(seed);
+    }
+
+    /**
+     * Continues from the other generator's position, so both produce the same
+     * numbers from here on.
+     */
+    public void copyFrom(final Rng other) {
+	state = other.state;
+    }
+
+    public long getState() {
+	return state;
+    }
+
+    /**
+     * Mixes a value through the SplitMix64 finalizer; also useful to derive
+     * well-spread seeds from counters.
+     */
+    public static long mix(final long value) {
+	var z = value;
+	z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+	z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+	return z ^ (z >>> 31);
+    }
+
+    @Override
+    protected int next(final int bits) {
+	return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public double nextDouble() {
+	return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public float nextFloat() {
+	return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public long nextLong() {
+	state += GOLDEN_GAMMA;
+	return mix(state);
+    }
+
+    @Override
+    public void setSeed(final long seed) {
+	// Also called by the Random constructor
+	state = seed;
+    }
+}
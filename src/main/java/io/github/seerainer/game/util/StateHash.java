@@ -0,0 +1,35 @@
+package io.github.seerainer.game.util;
+
+/**
+ * Folds simulation state into a 64-bit hash, value by value. Floats are
+ * hashed by their exact bits, so two states only hash alike if a simulation
+ * would continue identically from both. Used to detect desyncs between peers
+ * running the same simulation; not a cryptographic hash.
+ */
+public final class StateHash {
+    private static final long MULTIPLIER = 0x9E37_79B9_7F4A_7C15L;
+
+    private StateHash() {
+	throw new IllegalStateException("Utility class");
+    }
+
+    public static long add(final long hash, final boolean value) {
+	return add(hash, value ? 1L : 0L);
+    }
+
+    public static long add(final long hash, final float value) {
+	return add(hash, Float.floatToRawIntBits(value));
+    }
+
+    public static long add(final long hash, final long value) {
+	return Long.rotateLeft((hash ^ value) * MULTIPLIER, 29);
+    }
+
+    /**
+     * Spreads the bits of a finished hash, so that similar states do not give
+     * similar hashes.
+     */
+    public static long finish(final long hash) {
+	return Rng.mix(hash);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.seerainer.game.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wall time, see {@link Clock#system()}.
+ */
+enum SystemClock implements Clock {
+    INSTANCE;
+
+    @Override
+    public long nanoTime() {
+	return System.nanoTime();
+    }
+
+    @Override
+    public void sleepNanos(final long nanos) {
+	if (nanos > 0) {
+	    LockSupport.parkNanos(nanos);
+	}
+    }
+}
@@ -1,23 +1,37 @@
 package io.github.seerainer.game.util;
 
+/**
+ * Measures the time between successive calls to {@link #update()} on a
+ * {@link Clock}. Each game loop owns its own instance, so several sessions in
+ * one JVM do not disturb each other's timing.
+ */
 public class Time {
-    private static long lastTime;
-    private static double deltaTime;
+    private final Clock clock;
+    private long lastTime;
+    private double deltaTime;
 
-    private Time() {
-	throw new IllegalStateException("Utility class");
+    public Time() {
+	this(Clock.system());
     }
 
-    public static double getDeltaTime() {
+    public Time(final Clock clock) {
+	this.clock = clock;
+    }
+
+    public Clock getClock() {
+	return clock;
+    }
+
+    public double getDeltaTime() {
 	return deltaTime;
     }
 
-    public static void init() {
-	lastTime = System.nanoTime();
+    public void init() {
+	lastTime = clock.nanoTime();
     }
 
-    public static void update() {
-	final var currentTime = System.nanoTime();
+    public void update() {
+	final var currentTime = clock.nanoTime();
 	deltaTime = (currentTime - lastTime) / 1_000_000_000.0; // Convert to seconds
 	lastTime = currentTime;
     }
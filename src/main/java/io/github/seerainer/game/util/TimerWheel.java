@@ -0,0 +1,287 @@
+package io.github.seerainer.game.util;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel counting whole simulation ticks. Timers are
+ * scheduled in ticks, so expirations are exact and do not drift, and
+ * {@link #advance()} only touches the timers that are due: four levels of 64
+ * slots cover 2^24 ticks (39 hours at 120 Hz), and timers further out are
+ * cascaded again when their slot comes up.
+ * <p>
+ * {@link Timer}s are created once and rescheduled as often as needed;
+ * scheduling, cancelling and firing do not allocate. Not thread-safe.
+ */
+public class TimerWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+    private static final Runnable NO_CALLBACK = () -> {
+    };
+
+    private final int ticksPerSecond;
+    private final Timer[][] wheel = new Timer[LEVELS][SLOTS];
+    // Timers taken out of a slot while they are fired or cascaded
+    private final Timer pending = new Timer(this, null);
+    // Timers created by this wheel, in creation order, for copying
+    private Timer[] timers = new Timer[16];
+    private int timerCount;
+    private long now;
+    private int active;
+
+    public TimerWheel(final int ticksPerSecond) {
+	if (ticksPerSecond <= 0) {
+	    throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+	}
+	this.ticksPerSecond = ticksPerSecond;
+	for (final var level : wheel) {
+	    for (var slot = 0; slot < SLOTS; slot++) {
+		level[slot] = new Timer(this, null);
+	    }
+	}
+    }
+
+    private Timer add(final Timer timer) {
+	if (timerCount == timers.length) {
+	    timers = Arrays.copyOf(timers, timerCount * 2);
+	}
+	timer.index = timerCount;
+	timers[timerCount++] = timer;
+	return timer;
+    }
+
+    /**
+     * Moves time forward by one tick and fires the timers due at the new tick,
+     * in the order they were scheduled.
+     */
+    public void advance() {
+	now++;
+	final var index = (int) (now & MASK);
+	if (index == 0) {
+	    for (var level = 1; level < LEVELS; level++) {
+		final var slot = (int) ((now >>> (BITS * level)) & MASK);
+		cascade(wheel[level][slot]);
+		if (slot != 0) {
+		    break;
+		}
+	    }
+	}
+	pending.moveAllFrom(wheel[0][index]);
+	while (pending.next != pending) {
+	    final var timer = pending.next;
+	    timer.unlink();
+	    active--;
+	    timer.onExpiry.run();
+	}
+    }
+
+    public void advance(final long ticks) {
+	for (var i = 0L; i < ticks; i++) {
+	    advance();
+	}
+    }
+
+    private void cascade(final Timer slot) {
+	pending.moveAllFrom(slot);
+	while (pending.next != pending) {
+	    final var timer = pending.next;
+	    timer.unlink();
+	    insert(timer);
+	}
+    }
+
+    /**
+     * Makes this wheel an exact copy of the other: the same tick, and each
+     * timer scheduled like the other wheel's timer created in the same
+     * position, down to its slot and its place in the slot. Timers due on the
+     * same tick then fire in the same order on both wheels, which copying timer
+     * by timer cannot promise once cascading has reordered a slot. Timers the
+     * other wheel does not have are cancelled. Only call between ticks.
+     *
+     * @throws IllegalArgumentException if the other wheel created more timers
+     */
+    public void copyFrom(final TimerWheel other) {
+	if (other.timerCount > timerCount) {
+	    throw new IllegalArgumentException(
+		    "Cannot copy " + other.timerCount + " timers into a wheel with " + timerCount);
+	}
+	for (final var level : wheel) {
+	    for (final var head : level) {
+		while (head.next != head) {
+		    head.next.unlink();
+		}
+	    }
+	}
+	now = other.now;
+	active = other.active;
+	for (var level = 0; level < LEVELS; level++) {
+	    for (var slot = 0; slot < SLOTS; slot++) {
+		final var head = other.wheel[level][slot];
+		for (var timer = head.next; timer != head; timer = timer.next) {
+		    final var copy = timers[timer.index];
+		    copy.deadline = timer.deadline;
+		    copy.linkBefore(wheel[level][slot]);
+		}
+	    }
+	}
+    }
+
+    /** Timers currently scheduled. */
+    public int getActiveCount() {
+	return active;
+    }
+
+    /** Ticks advanced since the wheel was created. */
+    public long getTick() {
+	return now;
+    }
+
+    public int getTicksPerSecond() {
+	return ticksPerSecond;
+    }
+
+    private void insert(final Timer timer) {
+	final var delay = Math.min(timer.deadline - now, MAX_DELAY);
+	var level = 0;
+	while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) {
+	    level++;
+	}
+	// Timers beyond the top level wait in the furthest slot and are placed again
+	// when it cascades
+	final var position = now + delay;
+	timer.linkBefore(wheel[level][(int) ((position >>> (BITS * level)) & MASK)]);
+    }
+
+    /**
+     * Creates an unscheduled timer without a callback, for states that last as
+     * long as the timer is active.
+     */
+    public Timer timer() {
+	return add(new Timer(this, NO_CALLBACK));
+    }
+
+    /**
+     * Creates an unscheduled timer that runs the given callback each time it
+     * expires.
+     */
+    public Timer timer(final Runnable onExpiry) {
+	if (onExpiry == null) {
+	    throw new IllegalArgumentException("Timer needs a callback");
+	}
+	return add(new Timer(this, onExpiry));
+    }
+
+    /**
+     * Converts seconds to whole ticks, rounding to the nearest tick.
+     */
+    public long toTicks(final double seconds) {
+	return Math.round(seconds * ticksPerSecond);
+    }
+
+    /**
+     * A reusable timer. Also serves as the list head of a wheel slot, in which
+     * case it has no callback and is never scheduled itself.
+     */
+    public static final class Timer {
+	private final TimerWheel owner;
+	private final Runnable onExpiry;
+	private Timer previous = this;
+	private Timer next = this;
+	private long deadline;
+	// Creation order within the owner, -1 for list heads
+	private int index = -1;
+
+	private Timer(final TimerWheel owner, final Runnable onExpiry) {
+	    this.owner = owner;
+	    this.onExpiry = onExpiry;
+	}
+
+	/**
+	 * Stops the timer if it is scheduled; its callback will not run.
+	 */
+	public void cancel() {
+	    if (isActive()) {
+		unlink();
+		owner.active--;
+	    }
+	}
+
+	/**
+	 * Takes over the other timer's remaining time, which may be on another
+	 * wheel, or cancels this one if the other is not scheduled. Used to copy
+	 * simulation state.
+	 */
+	public void copyFrom(final Timer other) {
+	    if (other.isActive()) {
+		schedule(other.remainingTicks());
+	    } else {
+		cancel();
+	    }
+	}
+
+	public boolean isActive() {
+	    return next != this;
+	}
+
+	private void linkBefore(final Timer head) {
+	    previous = head.previous;
+	    next = head;
+	    head.previous.next = this;
+	    head.previous = this;
+	}
+
+	/**
+	 * Moves every timer linked to the given list head to the end of this one.
+	 */
+	private void moveAllFrom(final Timer head) {
+	    if (head.next == head) {
+		return;
+	    }
+	    final var first = head.next;
+	    final var last = head.previous;
+	    head.next = head;
+	    head.previous = head;
+	    first.previous = previous;
+	    previous.next = first;
+	    last.next = this;
+	    previous = last;
+	}
+
+	/** Whole ticks until the timer fires, 0 when it is not scheduled. */
+	public long remainingTicks() {
+	    return isActive() ? deadline - owner.now : 0;
+	}
+
+	/** Seconds until the timer fires, for display. */
+	public float remainingSeconds() {
+	    return (float) remainingTicks() / owner.ticksPerSecond;
+	}
+
+	/**
+	 * Schedules the timer to fire the given number of ticks from now (at least
+	 * one), replacing any pending expiry.
+	 */
+	public void schedule(final long ticks) {
+	    cancel();
+	    deadline = owner.now + Math.max(1, ticks);
+	    owner.insert(this);
+	    owner.active++;
+	}
+
+	/**
+	 * Schedules the timer in seconds, rounded to the nearest tick.
+	 */
+	public void scheduleSeconds(final double seconds) {
+	    schedule(owner.toTicks(seconds));
+	}
+
+	private void unlink() {
+	    previous.next = next;
+	    next.previous = previous;
+	    previous = this;
+	    next = this;
+	}
+    }
+}
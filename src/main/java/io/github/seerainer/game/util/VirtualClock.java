@@ -0,0 +1,43 @@
+package io.github.seerainer.game.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when told to: by {@link #advance(long)}, or by
+ * {@link #sleepNanos(long)}, which returns at once with the time moved on.
+ * A loop paced by it runs as fast as it can compute its ticks, and a test
+ * driving it sees the same times on every run.
+ */
+public class VirtualClock implements Clock {
+    private final AtomicLong now;
+
+    public VirtualClock() {
+	this(0);
+    }
+
+    public VirtualClock(final long start) {
+	now = new AtomicLong(start);
+    }
+
+    /**
+     * Moves the clock on and returns the new time.
+     */
+    public long advance(final long nanos) {
+	if (nanos < 0) {
+	    throw new IllegalArgumentException("Time cannot go back: " + nanos);
+	}
+	return now.addAndGet(nanos);
+    }
+
+    @Override
+    public long nanoTime() {
+	return now.get();
+    }
+
+    @Override
+    public void sleepNanos(final long nanos) {
+	if (nanos > 0) {
+	    advance(nanos);
+	}
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.seerainer.game;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.headless.ScriptedSession;
+import io.github.seerainer.game.jfr.FrameEvent;
+import io.github.seerainer.game.jfr.TickEvent;
+import io.github.seerainer.game.metrics.GameMetrics;
+import io.github.seerainer.game.perf.AllocationTracker;
+import io.github.seerainer.game.perf.AllocationTracker.Phase;
+import io.github.seerainer.game.perf.FrameTimeRecorder;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.render.NullRenderer;
+
+/**
+ * Plays the scripted session headless, with the loop's bookkeeping and every
+ * frame drawn through the scene renderer and its HUD text, and fails if a
+ * steady-state tick and frame allocate more than the budget, or if world
+ * copies as taken for rollback and planning allocate at all. Run with {@code gradlew allocationTest};
+ * {@code game.allocationTicks} and {@code game.allocationBudget} (bytes per
+ * tick) override the defaults.
+ */
+public class AllocationBudgetTest {
+    // Long enough for the pools to reach their peak and the JIT to settle
+    private static final int WARMUP_TICKS = 20_000;
+    // Bytes per tick and frame; steady state measures 18 to 25, so a
+    // new allocation on every tick or frame fails the check
+    private static final long DEFAULT_BUDGET = 32;
+    // Copies only reuse pooled entities; this leaves room for one-off growth of
+    // the target's lists, not for an object per entity
+    private static final double COPY_BUDGET = 1;
+
+    /**
+     * One tick and frame as the windowed loop runs them: the tick with its JFR
+     * event, timing and metrics, the snapshot, and the scene drawn from it.
+     */
+    private static void frame(final World world, final ScriptedSession session, final RenderSnapshot snapshot,
+	    final SceneRenderer scene, final NullRenderer renderer, final FrameTimeRecorder tickTimes,
+	    final GameMetrics metrics, final AllocationTracker allocations, final int tick) {
+	var mark = allocations.begin();
+	final var tickEvent = TickEvent.start(world);
+	final var tickStart = System.nanoTime();
+	session.step(1.0 / World.TICKS_PER_SECOND);
+	final var tickEnd = System.nanoTime();
+	if (tickEvent != null) {
+	    tickEvent.complete(0, tickEnd - tickStart, world);
+	}
+	tickTimes.record(tickEnd - tickStart);
+	metrics.tick(world, tickEnd - tickStart);
+	mark = allocations.end(Phase.UPDATE, mark);
+	world.writeSnapshot(snapshot);
+	mark = allocations.end(Phase.SNAPSHOT, mark);
+	final var frameEvent = FrameEvent.start();
+	final var paintStart = System.nanoTime();
+	scene.render(renderer, snapshot, world.getWidth(), world.getHeight(), QualityLevel.HIGH,
+		tick * 1000L / World.TICKS_PER_SECOND);
+	metrics.frame(System.nanoTime() - paintStart);
+	if (frameEvent != null) {
+	    frameEvent.complete(tickEnd - tickStart, snapshot.getAsteroids().size(), snapshot.getBullets().size(),
+		    snapshot.getParticles().size(), snapshot.getStars().size(), QualityLevel.HIGH.name(), 0);
+	}
+	allocations.end(Phase.RENDER, mark);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("allocation")
+    void steadyStateCopiesDoNotAllocate() {
+	assertTrue(AllocationTracker.isSupported(), "Per-thread allocation counter not available");
+	final var ticks = Integer.getInteger("game.allocationTicks", 50_000).intValue();
+	final var world = new World(800, 600);
+	final var session = new ScriptedSession(world);
+	final var copy = new World(800, 600);
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var i = 0; i < WARMUP_TICKS; i++) {
+	    session.step(dt);
+	    world.copyTo(copy);
+	}
+
+	final var allocations = new AllocationTracker();
+	var pickups = 0L;
+	for (var i = 0; i < ticks; i++) {
+	    session.step(dt);
+	    final var mark = allocations.begin();
+	    world.copyTo(copy);
+	    allocations.end(Phase.UPDATE, mark);
+	    pickups += copy.getPickupCount();
+	}
+	assertTrue(pickups > 0, "The session never had pickups on screen");
+	final var perCopy = allocations.getBytes(Phase.UPDATE) / (double) ticks;
+	assertTrue(perCopy <= COPY_BUDGET, () -> String.format("%.1f bytes per copy", Double.valueOf(perCopy)));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("allocation")
+    void steadyStateTicksStayWithinBudget() {
+	assertTrue(AllocationTracker.isSupported(), "Per-thread allocation counter not available");
+	final var ticks = Integer.getInteger("game.allocationTicks", 50_000).intValue();
+	final var budget = Long.getLong("game.allocationBudget", DEFAULT_BUDGET).longValue();
+	final var world = new World(800, 600);
+	final var session = new ScriptedSession(world);
+	final var snapshot = new RenderSnapshot();
+	final var scene = new SceneRenderer();
+	final var renderer = new NullRenderer();
+	final var tickTimes = new FrameTimeRecorder(1024);
+	final var metrics = new GameMetrics();
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	final var allocations = new AllocationTracker();
+	for (var i = 0; i < WARMUP_TICKS; i++) {
+	    frame(world, session, snapshot, scene, renderer, tickTimes, metrics, allocations, i);
+	}
+
+	allocations.reset();
+	for (var i = 0; i < ticks; i++) {
+	    frame(world, session, snapshot, scene, renderer, tickTimes, metrics, allocations, WARMUP_TICKS + i);
+	}
+	final var perTick = (allocations.getBytes(Phase.UPDATE) + allocations.getBytes(Phase.SNAPSHOT)
+		+ allocations.getBytes(Phase.RENDER)) / (double) ticks;
+	assertTrue(perTick <= budget, () -> String.format("%.1f bytes per tick, budget %d", Double.valueOf(perTick),
+		Long.valueOf(budget)));
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.seerainer.game;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.entities.AsteroidType;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.render.RenderColor;
+import io.github.seerainer.game.render.RenderFont;
+
+public class NativeImageConfigTest {
+    private static final String PROPERTIES = "/META-INF/native-image/io.github.seerainer.game/AsteroidDodger/native-image.properties";
+    private static final String METADATA = "/META-INF/native-image/io.github.seerainer.game/AsteroidDodger/reachability-metadata.json";
+    private static final String BUILD_TIME_OPTION = "--initialize-at-build-time=";
+
+    private static Set<String> buildTimeClasses() throws IOException {
+	final var properties = new Properties();
+	try (var in = NativeImageConfigTest.class.getResourceAsStream(PROPERTIES)) {
+	    assertNotNull(in, "native-image.properties missing");
+	    properties.load(in);
+	}
+	final var classes = new TreeSet<String>();
+	for (final var arg : properties.getProperty("Args").trim().split("\\s+")) {
+	    if (arg.startsWith(BUILD_TIME_OPTION)) {
+		classes.addAll(Arrays.asList(arg.substring(BUILD_TIME_OPTION.length()).split(",")));
+	    }
+	}
+	return classes;
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void buildTimeClassesExist() throws IOException {
+	for (final var name : buildTimeClasses()) {
+	    assertDoesNotThrow(() -> Class.forName(name, false, NativeImageConfigTest.class.getClassLoader()), name);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void includesSpawnTables() throws IOException {
+	try (var in = NativeImageConfigTest.class.getResourceAsStream(METADATA)) {
+	    assertNotNull(in, "reachability-metadata.json missing");
+	    final var metadata = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+	    assertTrue(metadata.contains("\"io/github/seerainer/game/spawn/spawn-tables.properties\""));
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void listsAllPureJavaTables() throws IOException {
+	final var expected = new TreeSet<>(Set.of(GameState.class.getName(), AsteroidType.class.getName(),
+		PowerUpType.class.getName(), WeaponType.class.getName(), QualityLevel.class.getName(),
+		RenderColor.class.getName(), RenderFont.class.getName()));
+	assertEquals(expected, buildTimeClasses());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void paletteCoversEveryAsteroidType() {
+	assertEquals(AsteroidType.values().length, RenderColor.ASTEROID_TYPES.length);
+    }
+}
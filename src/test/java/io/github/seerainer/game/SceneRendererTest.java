@@ -0,0 +1,78 @@
+package io.github.seerainer.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.render.RecordingRenderer;
+import io.github.seerainer.game.render.RecordingRenderer.Op;
+
+public class SceneRendererTest {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    private static RenderSnapshot playing(final int bullets, final int particles) {
+	final var snapshot = new RenderSnapshot();
+	snapshot.gameState = GameState.PLAYING;
+	snapshot.playerWidth = 30;
+	snapshot.playerHeight = 30;
+	snapshot.health = 3;
+	snapshot.level = 1;
+	for (var i = 0; i < bullets; i++) {
+	    snapshot.bullets.add(i, 100, 4, 10, 0, 0, 0, 0);
+	}
+	for (var i = 0; i < particles; i++) {
+	    snapshot.particles.add(i, 200, 3, 3, 0, 0, 0, 0.5f);
+	}
+	return snapshot;
+    }
+
+    private static RecordingRenderer render(final RenderSnapshot snapshot) {
+	final var recorder = new RecordingRenderer();
+	new SceneRenderer().render(recorder, snapshot, WIDTH, HEIGHT, QualityLevel.HIGH, 0);
+	return recorder;
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void bulletsAndParticlesShareColorState() {
+	final var empty = render(playing(0, 0));
+	final var busy = render(playing(100, 200));
+
+	assertEquals(empty.getCount(Op.FILL_RECTANGLE) + 100, busy.getCount(Op.FILL_RECTANGLE));
+	assertEquals(empty.getCount(Op.DRAW_RECTANGLE) + 100, busy.getCount(Op.DRAW_RECTANGLE));
+	assertEquals(empty.getCount(Op.FILL_OVAL) + 200, busy.getCount(Op.FILL_OVAL));
+	// Colors are set once per batch, only the particle alpha changes per entity
+	assertEquals(empty.getCount(Op.SET_BACKGROUND), busy.getCount(Op.SET_BACKGROUND));
+	assertEquals(empty.getCount(Op.SET_FOREGROUND), busy.getCount(Op.SET_FOREGROUND));
+	assertEquals(empty.getCount(Op.SET_ALPHA) + 200, busy.getCount(Op.SET_ALPHA));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void menuDrawsStarFieldAndText() {
+	final var world = new World(WIDTH, HEIGHT);
+	final var snapshot = new RenderSnapshot();
+	world.writeSnapshot(snapshot);
+	var points = 0;
+	final var stars = snapshot.getStars();
+	for (var i = 0; i < stars.size(); i++) {
+	    points += switch (stars.kind(i)) {
+	    case 2 -> 5;
+	    case 1 -> 3;
+	    default -> 1;
+	    };
+	}
+
+	final var recorder = render(snapshot);
+	// The star field is drawn twice: as the background and again by the menu
+	assertEquals(2 * points, recorder.getCount(Op.DRAW_POINT));
+	assertEquals(2, recorder.getCount(Op.FILL_RECTANGLE));
+	assertEquals(9, recorder.getCount(Op.DRAW_TEXT));
+	assertEquals(2 * points + 11, recorder.getPrimitives());
+    }
+}
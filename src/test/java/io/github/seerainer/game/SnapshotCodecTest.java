@@ -0,0 +1,95 @@
+package io.github.seerainer.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class SnapshotCodecTest {
+
+    private static void assertSameScene(final RenderSnapshot expected, final RenderSnapshot actual) {
+	assertEquals(expected.getGameState(), actual.getGameState());
+	assertEquals(expected.getScore(), actual.getScore());
+	assertEquals(expected.getHealth(), actual.getHealth());
+	assertEquals(expected.getLevel(), actual.getLevel());
+	assertEquals(expected.getPlayerX(), actual.getPlayerX(), 0.125f);
+	assertEquals(expected.getPlayerY(), actual.getPlayerY(), 0.125f);
+	assertSameEntities(expected.getStars(), actual.getStars());
+	assertSameEntities(expected.getAsteroids(), actual.getAsteroids());
+	assertSameEntities(expected.getBullets(), actual.getBullets());
+	assertSameEntities(expected.getParticles(), actual.getParticles());
+    }
+
+    private static void assertSameEntities(final EntityBuffer expected, final EntityBuffer actual) {
+	assertEquals(expected.size(), actual.size());
+	for (var i = 0; i < expected.size(); i++) {
+	    assertEquals(expected.x(i), actual.x(i), 0.125f);
+	    assertEquals(expected.y(i), actual.y(i), 0.125f);
+	    assertEquals(expected.width(i), actual.width(i), 0.125f);
+	    assertEquals(expected.kind(i), actual.kind(i));
+	    assertEquals(expected.value(i), actual.value(i));
+	    assertEquals(expected.phase(i), actual.phase(i), 0.0005f);
+	}
+    }
+
+    private static ByteBuffer encode(final RenderSnapshot current, final RenderSnapshot base) {
+	final var buffer = ByteBuffer.allocate(SnapshotCodec.maxEncodedSize(current));
+	SnapshotCodec.encode(current, base, buffer);
+	return buffer.flip();
+    }
+
+    private static World playingWorld() {
+	final var world = new World(800, 600, SpawnDirector.getDefault(), 42);
+	world.startGame();
+	for (var i = 0; i < 240; i++) {
+	    world.movePlayer(i % 120 < 60 ? 1 : -1, 0, 1.0 / World.TICKS_PER_SECOND);
+	    world.fire();
+	    world.update(1.0 / World.TICKS_PER_SECOND);
+	}
+	return world;
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void deltaIsSmallerThanKeyFrameAndDecodesTheSame() throws IOException {
+	final var world = playingWorld();
+	final var first = new RenderSnapshot();
+	world.writeSnapshot(first);
+	world.update(1.0 / World.TICKS_PER_SECOND);
+	final var second = new RenderSnapshot();
+	world.writeSnapshot(second);
+
+	final var keyFrame = encode(first, SnapshotCodec.EMPTY);
+	final var decodedFirst = new RenderSnapshot();
+	SnapshotCodec.decode(keyFrame, SnapshotCodec.EMPTY, decodedFirst);
+	assertSameScene(first, decodedFirst);
+	assertEquals(0, keyFrame.remaining());
+
+	final var delta = encode(second, first);
+	assertTrue(delta.remaining() < keyFrame.limit() / 2,
+		"Delta of one tick should be far smaller: " + delta.remaining() + " vs " + keyFrame.limit());
+	// The receiver applies the delta to its own decoded copy of the base
+	final var decodedSecond = new RenderSnapshot();
+	SnapshotCodec.decode(delta, decodedFirst, decodedSecond);
+	assertSameScene(second, decodedSecond);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void rejectsTruncatedData() {
+	final var snapshot = new RenderSnapshot();
+	playingWorld().writeSnapshot(snapshot);
+	final var encoded = encode(snapshot, SnapshotCodec.EMPTY);
+	encoded.limit(encoded.limit() / 2);
+	assertThrows(IOException.class, () -> SnapshotCodec.decode(encoded, SnapshotCodec.EMPTY, new RenderSnapshot()));
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.seerainer.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class SnapshotExchangeTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void consumerSeesLatestPublishedSnapshot() {
+	final var exchange = new SnapshotExchange();
+	final var world = new World(800, 600);
+
+	world.writeSnapshot(exchange.back());
+	final var published = exchange.back();
+	exchange.publish();
+	assertNotSame(published, exchange.back(), "Producer must get a fresh buffer after publishing");
+
+	final var latest = exchange.latest();
+	assertSame(published, latest);
+	assertEquals(GameState.MENU, latest.getGameState());
+	assertEquals(80, latest.getStars().size());
+
+	// Nothing new published: the consumer keeps its buffer
+	assertSame(latest, exchange.latest());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void producerNeverWritesIntoConsumerBuffer() {
+	final var exchange = new SnapshotExchange();
+	for (var i = 0; i < 100; i++) {
+	    exchange.back().level = i;
+	    exchange.publish();
+	    final var front = exchange.latest();
+	    assertEquals(i, front.getLevel());
+	    assertNotSame(front, exchange.back());
+	    // Publish twice without the consumer reading
+	    exchange.back().level = -1;
+	    exchange.publish();
+	    exchange.back().level = i + 1000;
+	    exchange.publish();
+	    assertEquals(i, front.getLevel(), "Front buffer must stay untouched until the next latest()");
+	    assertEquals(i + 1000, exchange.latest().getLevel());
+	}
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.seerainer.game.bot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.event.GameEvent;
+import io.github.seerainer.game.headless.BotSession;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class DodgeBotTest {
+    private static final long SEED = 42;
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void playsThroughLevelsWithoutDying() {
+	final var world = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	final var session = new BotSession(world, Bots.create("dodge"), 1);
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var i = 0; i < 90 * World.TICKS_PER_SECOND; i++) {
+	    session.step(dt);
+	}
+	assertEquals(GameState.PLAYING, world.getGameState());
+	assertEquals(1, session.getGames());
+	assertTrue(session.getHighestLevel() >= 2, "Reached level " + session.getHighestLevel());
+	assertTrue(world.getEvents().getTotal(GameEvent.PICKUP) > 0);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void clampsInput() {
+	final var input = new ControlInput();
+	input.move(-3f, 0.5f);
+	input.setFire(true);
+	assertEquals(-1f, input.getDirectionX());
+	assertEquals(0.5f, input.getDirectionY());
+	input.clear();
+	assertEquals(0f, input.getDirectionX());
+	assertTrue(!input.isFire());
+    }
+}
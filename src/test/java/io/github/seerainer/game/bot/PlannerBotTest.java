@@ -0,0 +1,114 @@
+package io.github.seerainer.game.bot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.headless.BotSession;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class PlannerBotTest {
+    private static final long SEED = 42;
+
+    private static void assertSameState(final World expected, final World actual) {
+	assertEquals(expected.getGameState(), actual.getGameState());
+	assertEquals(expected.getPlayerX(), actual.getPlayerX());
+	assertEquals(expected.getPlayerY(), actual.getPlayerY());
+	assertEquals(expected.getPlayer().getScore(), actual.getPlayer().getScore());
+	assertEquals(expected.getPlayer().getHealth(), actual.getPlayer().getHealth());
+	assertEquals(expected.getBulletCount(), actual.getBulletCount());
+	assertEquals(expected.getPickupCount(), actual.getPickupCount());
+	assertEquals(expected.getAsteroidCount(), actual.getAsteroidCount());
+	for (var i = 0; i < expected.getAsteroidCount(); i++) {
+	    assertEquals(expected.getAsteroidX(i), actual.getAsteroidX(i));
+	    assertEquals(expected.getAsteroidY(i), actual.getAsteroidY(i));
+	    assertEquals(expected.getAsteroidSize(i), actual.getAsteroidSize(i));
+	}
+    }
+
+    /**
+     * Directions the planner picks on every tick of a seeded game, planned on a
+     * pool of the given size.
+     */
+    private static float[] moves(final int parallelism, final int ticks) {
+	try (final var pool = new ForkJoinPool(parallelism)) {
+	    final var world = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	    final var bot = new PlannerBot(pool, 2, 60, 12, 7);
+	    final var input = new ControlInput();
+	    final var moves = new float[ticks * 2];
+	    final var dt = 1.0 / World.TICKS_PER_SECOND;
+	    world.startGame(10);
+	    for (var i = 0; i < ticks && world.getGameState() == GameState.PLAYING; i++) {
+		input.clear();
+		bot.control(world, input);
+		moves[i * 2] = input.getDirectionX();
+		moves[i * 2 + 1] = input.getDirectionY();
+		world.movePlayer(input.getDirectionX(), input.getDirectionY(), dt);
+		world.fire();
+		world.update(dt);
+	    }
+	    return moves;
+	}
+    }
+
+    private static void play(final World world, final int ticks) {
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var i = 0; i < ticks; i++) {
+	    world.movePlayer(i % 200 < 100 ? -1 : 1, 0, dt);
+	    world.fire();
+	    world.update(dt);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void copyPlaysOnLikeTheOriginal() {
+	final var world = new World(800, 600);
+	world.startGame(3);
+	play(world, 250);
+	final var copy = new World(1, 1);
+	world.copyTo(copy);
+	assertSameState(world, copy);
+
+	play(world, 100);
+	play(copy, 100);
+	assertSameState(world, copy);
+
+	// Copying again reuses the copy's entities
+	world.copyTo(copy);
+	assertSameState(world, copy);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void picksTheSameMovesOnAnyPoolSize() {
+	final var ticks = 5 * World.TICKS_PER_SECOND;
+	assertArrayEquals(moves(1, ticks), moves(4, ticks));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void survivesAtHighLevel() {
+	try (final var pool = new ForkJoinPool(2)) {
+	    final var world = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	    final var session = new BotSession(world, new PlannerBot(pool, 2, 60, 12, 7), 10);
+	    final var dt = 1.0 / World.TICKS_PER_SECOND;
+	    for (var i = 0; i < 20 * World.TICKS_PER_SECOND; i++) {
+		session.step(dt);
+	    }
+	    assertEquals(GameState.PLAYING, world.getGameState());
+	    assertEquals(1, session.getGames());
+	    assertTrue(world.getAsteroidsDestroyed() > 0, "Destroyed " + world.getAsteroidsDestroyed());
+	}
+    }
+}
@@ -7,13 +7,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import io.github.seerainer.game.util.TimerWheel;
+
 public class PlayerTest {
+    private final TimerWheel timers = new TimerWheel(120);
 
-    @SuppressWarnings("static-method")
     @Test
     @Tag("unit")
     void movesAndTracksHealthAndScore() {
-	final var p = new Player(10f, 20f);
+	final var p = new Player(10f, 20f, timers);
 	assertEquals(10f, p.getX());
 	assertEquals(20f, p.getY());
 	assertEquals(3, p.getHealth()); // 3 lives
@@ -33,7 +35,7 @@ public class PlayerTest {
 	assertEquals(2, p.getHealth());
 
 	// Update to remove invulnerability
-	p.updateInvulnerability(3.0); // More than INVULNERABILITY_TIME
+	timers.advance(timers.toTicks(3.0)); // More than INVULNERABILITY_TIME
 	assertFalse(p.isInvulnerable());
 
 	p.takeDamage(2);
@@ -44,11 +46,10 @@ public class PlayerTest {
 	assertEquals(42, p.getScore());
     }
 
-    @SuppressWarnings("static-method")
     @Test
     @Tag("unit")
     void resetWorks() {
-	final var p = new Player(10f, 20f);
+	final var p = new Player(10f, 20f, timers);
 	p.addScore(100);
 	p.takeDamage(2);
 	p.shoot();
@@ -62,17 +63,35 @@ public class PlayerTest {
 	assertTrue(p.canShoot());
     }
 
-    @SuppressWarnings("static-method")
     @Test
     @Tag("unit")
     void shootingCooldownWorks() {
-	final var p = new Player(10f, 20f);
+	final var p = new Player(10f, 20f, timers);
 	assertTrue(p.canShoot());
 
 	p.shoot();
 	assertFalse(p.canShoot()); // Should be on cooldown
 
-	p.updateShootCooldown(0.2); // Update past cooldown time
+	timers.advance(timers.toTicks(0.2)); // Update past cooldown time
 	assertTrue(p.canShoot());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Tag("unit")
+    void timedEffectsExpireOnTheExactTick() {
+	final var p = new Player(10f, 20f, timers);
+	p.upgradeWeapon(WeaponType.RAPID);
+	p.activatePowerUp(PowerUpType.SHIELD);
+	timers.advance(timers.toTicks(PowerUpType.SHIELD.getDuration()) - 1);
+	assertTrue(p.hasShield());
+	assertEquals(1, timers.toTicks(p.getShieldTimer()));
+
+	timers.advance();
+	assertFalse(p.hasShield());
+	assertEquals(0f, p.getShieldTimer());
+	assertEquals(WeaponType.RAPID, p.getCurrentWeapon());
+
+	timers.advance(timers.toTicks(p.getWeaponUpgradeTimeRemaining()));
+	assertEquals(WeaponType.SINGLE, p.getCurrentWeapon());
+    }
+}
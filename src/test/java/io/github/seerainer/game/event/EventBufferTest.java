@@ -0,0 +1,61 @@
+package io.github.seerainer.game.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.entities.PowerUpType;
+import io.github.seerainer.game.entities.WeaponType;
+
+public class EventBufferTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void keepsOrderAndFieldsWhileGrowing() {
+	final var events = new EventBuffer(0);
+	for (var i = 0; i < 100; i++) {
+	    events.explosion(i, -i, i * 2);
+	}
+	events.pickup(WeaponType.SPREAD);
+	events.pickup(PowerUpType.SLOW_MOTION);
+	events.score(50, true);
+	events.levelUp();
+
+	assertEquals(104, events.size());
+	assertEquals(GameEvent.EXPLOSION, events.type(99));
+	assertEquals(99f, events.x(99));
+	assertEquals(-99f, events.y(99));
+	assertEquals(198, events.value(99));
+	assertEquals(WeaponType.SPREAD.ordinal(), events.value(100));
+	assertEquals(EventBuffer.PICKUP_WEAPON, events.detail(100));
+	assertEquals(EventBuffer.PICKUP_POWER_UP, events.detail(101));
+	assertEquals(1, events.detail(102));
+	assertEquals(GameEvent.LEVEL_UP, events.type(103));
+
+	events.clear();
+	events.damage(1);
+	assertEquals(1, events.size());
+	assertEquals(104, events.getPeak());
+	assertEquals(100, events.getTotal(GameEvent.EXPLOSION));
+	assertEquals(2, events.getTotal(GameEvent.PICKUP));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void worldResolvesEveryEventWithinTheTick() {
+	final var world = new World(800, 600);
+	world.startGame(12);
+	for (var i = 0; i < 20 * World.TICKS_PER_SECOND; i++) {
+	    world.fire();
+	    world.update(1.0 / World.TICKS_PER_SECOND);
+	    assertEquals(0, world.getEvents().size());
+	}
+	// Every kill and every dodge scores once
+	assertEquals(world.getAsteroidsDestroyed() + world.getAsteroidsDodged(),
+		world.getEvents().getTotal(GameEvent.SCORE));
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.seerainer.game.headless;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.StateSubsystem;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class HashTraceTest {
+    private static final long SEED = 42;
+    private static final int TICKS = 600;
+
+    /**
+     * Plays the scripted session, nudging the ship once at the given tick
+     * (counting from 1) unless it is 0.
+     */
+    private static HashTrace play(final int nudgeTick, final int capacity) {
+	final var world = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	final var session = new ScriptedSession(world);
+	final var trace = new HashTrace(SEED, capacity);
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var tick = 1; tick <= TICKS; tick++) {
+	    session.step(dt);
+	    if (tick == nudgeTick) {
+		world.getPlayer().setPosition(world.getPlayer().getX() + 0.5f, world.getPlayer().getY());
+	    }
+	    trace.record(world);
+	}
+	return trace;
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void locatesFirstDivergence() {
+	final var expected = play(0, TICKS);
+	final var nudged = play(300, TICKS);
+	assertNull(expected.compare(play(0, 1)), "Runs from one seed hash alike, however the trace grows");
+	assertEquals(expected.getChain(), play(0, TICKS).getChain());
+
+	final var divergence = expected.compare(nudged);
+	assertEquals(300, divergence.tick());
+	assertEquals(StateSubsystem.PLAYERS, divergence.subsystem());
+	assertEquals(expected.hash(300, StateSubsystem.PLAYERS), divergence.expected());
+	assertEquals(nudged.hash(300, StateSubsystem.PLAYERS), divergence.actual());
+	assertEquals(expected.hash(299, StateSubsystem.PLAYERS), nudged.hash(299, StateSubsystem.PLAYERS));
+	assertNotEquals(expected.getChain(), nudged.getChain());
+	assertThrows(IllegalArgumentException.class, () -> expected.hash(0, StateSubsystem.WORLD));
+	assertThrows(IllegalArgumentException.class, () -> expected.hash(TICKS + 1, StateSubsystem.WORLD));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void matchesTheCombinedHash() {
+	final var first = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	final var second = new World(800, 600, SpawnDirector.getDefault(), SEED);
+	final var hashes = new long[StateSubsystem.values().length];
+	first.startGame(3);
+	second.startGame(3);
+	second.stateHashes(hashes, 0);
+	assertEquals(first.stateHash(), second.stateHash());
+	second.getPlayer().takeDamage(1);
+	assertNotEquals(first.stateHash(), second.stateHash());
+	final var damaged = new long[hashes.length];
+	second.stateHashes(damaged, 0);
+	for (final var subsystem : StateSubsystem.values()) {
+	    if (subsystem == StateSubsystem.PLAYERS || subsystem == StateSubsystem.TIMERS) {
+		assertNotEquals(hashes[subsystem.ordinal()], damaged[subsystem.ordinal()], subsystem.name());
+	    } else {
+		assertEquals(hashes[subsystem.ordinal()], damaged[subsystem.ordinal()], subsystem.name());
+	    }
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void roundTripsThroughFiles() throws IOException {
+	final var trace = play(0, TICKS);
+	final var file = Files.createTempFile("trace", ".adht");
+	try {
+	    trace.write(file);
+	    final var read = HashTrace.read(file);
+	    assertEquals(SEED, read.getSeed());
+	    assertEquals(TICKS, read.getTicks());
+	    assertEquals(trace.getChain(), read.getChain());
+	    assertNull(trace.compare(read));
+
+	    Files.write(file, new byte[] { 1, 2, 3, 4 });
+	    assertThrows(IOException.class, () -> HashTrace.read(file));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+}
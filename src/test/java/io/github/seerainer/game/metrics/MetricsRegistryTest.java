@@ -0,0 +1,90 @@
+package io.github.seerainer.game.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import javax.management.JMException;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void exportsPrometheusText() {
+	final var registry = new MetricsRegistry();
+	registry.counter("ticks_total", "Ticks").add(3);
+	registry.gauge("level", "Level").set(7);
+	final var histogram = registry.histogram("tick_seconds", "Tick", 0.001, 0.01);
+	histogram.observe(0.0005);
+	histogram.observe(0.001);
+	histogram.observe(0.005);
+	histogram.observe(1);
+
+	final var text = registry.scrape();
+	assertTrue(text.contains("# TYPE ticks_total counter\nticks_total 3\n"), text);
+	assertTrue(text.contains("# TYPE level gauge\nlevel 7\n"), text);
+	assertTrue(text.contains("tick_seconds_bucket{le=\"0.001\"} 2\n"), text);
+	assertTrue(text.contains("tick_seconds_bucket{le=\"0.01\"} 3\n"), text);
+	assertTrue(text.contains("tick_seconds_bucket{le=\"+Inf\"} 4\n"), text);
+	assertTrue(text.contains("tick_seconds_count 4\n"), text);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void exposesAttributesOverJmx() throws JMException {
+	final var registry = new MetricsRegistry();
+	registry.counter("frames_total", "Frames").add(5);
+	registry.histogram("paint_seconds", "Paint", 0.01).observe(0.002);
+	final var server = MBeanServerFactory.newMBeanServer();
+	final var name = new ObjectName(GameMetrics.OBJECT_NAME);
+	server.registerMBean(new MetricsMBean(registry), name);
+
+	assertEquals(Long.valueOf(5), server.getAttribute(name, "frames_total"));
+	assertEquals(Long.valueOf(1), server.getAttribute(name, "paint_seconds_count"));
+	assertEquals(3, server.getMBeanInfo(name).getAttributes().length);
+
+	// Gauges registered later, like the pool gauges, appear as well
+	registry.gauge("pool_in_use", "In use", () -> 7);
+	assertEquals(Double.valueOf(7), server.getAttribute(name, "pool_in_use"));
+	assertEquals(4, server.getMBeanInfo(name).getAttributes().length);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void rejectsDuplicateAndInvalidNames() {
+	final var registry = new MetricsRegistry();
+	registry.counter("ticks_total", "Ticks");
+	assertThrows(IllegalArgumentException.class, () -> registry.gauge("ticks_total", "Again"));
+	assertThrows(IllegalArgumentException.class, () -> registry.gauge("bad name", "Spaces"));
+	assertThrows(IllegalArgumentException.class, () -> registry.counter("ticks_total2", "Down").add(-1));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void servesMetricsOnLoopback() throws IOException, InterruptedException {
+	final var registry = new MetricsRegistry();
+	registry.gauge("level", "Level").set(2);
+	try (var server = new MetricsServer(registry, 0); var client = HttpClient.newHttpClient()) {
+	    final var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics"))
+		    .build();
+	    final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+	    assertEquals(200, response.statusCode());
+	    assertTrue(response.body().contains("level 2\n"));
+	}
+    }
+}
@@ -0,0 +1,282 @@
+package io.github.seerainer.game.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.bot.ControlInput;
+import io.github.seerainer.game.perf.QualityLevel;
+import io.github.seerainer.game.spawn.SpawnDirector;
+import io.github.seerainer.game.util.VirtualClock;
+
+public class LockstepSessionTest {
+    private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long JITTER_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static World coopWorld(final long seed) {
+	final var world = new World(800, 600, SpawnDirector.getDefault(), seed);
+	world.setCoop(true);
+	world.setQuality(QualityLevel.HIGH);
+	return world;
+    }
+
+    /**
+     * Scripted player: starts the game, then sweeps back and forth, each ship
+     * on its own schedule, firing every few ticks.
+     */
+    private static int input(final int ship, final int tick) {
+	if (tick == 20) {
+	    return PlayerInput.START;
+	}
+	var input = tick % 3 == ship ? PlayerInput.FIRE : 0;
+	input |= (tick / (40 + 10 * ship)) % 2 == 0 ? PlayerInput.LEFT : PlayerInput.RIGHT;
+	if (tick % 90 < 30) {
+	    input |= ship == 0 ? PlayerInput.UP : PlayerInput.DOWN;
+	}
+	return input;
+    }
+
+    /**
+     * Plays the scripted inputs on a co-op world from the given tick on.
+     */
+    private static void play(final World world, final int from, final int to) {
+	final var inputs = new int[2];
+	for (var tick = from; tick < to; tick++) {
+	    inputs[0] = input(0, tick);
+	    inputs[1] = input(1, tick);
+	    PlayerInput.apply(world, inputs, 1.0 / World.TICKS_PER_SECOND);
+	}
+    }
+
+    private static LockstepSession[] open(final World hostWorld, final World guestWorld, final int delay,
+	    final double loss) throws IOException {
+	final var hostLink = UdpLink.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+	final var guestLink = UdpLink
+		.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), hostLink.getLocalPort()));
+	return new LockstepSession[] {
+		LockstepSession.host(new SimulatedLink(hostLink, LATENCY_NANOS, JITTER_NANOS, loss, 1), hostWorld, 42,
+			delay, 32),
+		LockstepSession.join(new SimulatedLink(guestLink, LATENCY_NANOS, JITTER_NANOS, loss, 2), guestWorld,
+			32) };
+    }
+
+    /**
+     * Steps both peers on this thread, each with its scripted input, until the
+     * condition holds.
+     */
+    private static void play(final LockstepSession host, final LockstepSession guest, final BooleanSupplier done)
+	    throws IOException {
+	final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+	while (!done.getAsBoolean()) {
+	    assertTrue(System.nanoTime() < deadline, "Peers did not get there in time");
+	    host.step(input(0, host.getTick()));
+	    guest.step(input(1, guest.getTick()));
+	    LockSupport.parkNanos(200_000);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void packsBotInput() {
+	final var control = new ControlInput();
+	control.move(-1, 0.2f);
+	control.setFire(true);
+	assertEquals(PlayerInput.LEFT | PlayerInput.FIRE, PlayerInput.of(control));
+	control.clear();
+	control.move(0.7f, 0.7f);
+	assertEquals(PlayerInput.RIGHT | PlayerInput.DOWN, PlayerInput.of(control));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void restoredWorldPlaysOnAlike() {
+	final var world = coopWorld(5);
+	play(world, 0, 900);
+	final var saved = new World(1, 1);
+	world.copyTo(saved);
+	play(world, 900, 1500);
+	final var expected = world.stateHash();
+	final var spawns = world.getSpawnTotal();
+	final var explosions = world.getExplosionTotal();
+
+	world.restore(saved);
+	play(world, 900, 1500);
+	assertEquals(expected, world.stateHash());
+	assertEquals(GameState.PLAYING, world.getGameState());
+	// Ticks played again are counted once
+	assertEquals(spawns, world.getSpawnTotal());
+	assertEquals(explosions, world.getExplosionTotal());
+	assertTrue(explosions > 0);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void rollsBackMispredictions() throws IOException {
+	final var hostWorld = new World(800, 600);
+	final var guestWorld = new World(1, 1);
+	final var sessions = open(hostWorld, guestWorld, 1, 0.1);
+	try (var host = sessions[0]; var guest = sessions[1]) {
+	    // Only the host predicts; the guest waits as in plain lockstep
+	    host.setRollback(12);
+	    play(host, guest, () -> host.getTick() >= 1200 && guest.getTick() >= 1200);
+	    assertEquals(-1, host.getDesyncTick());
+	    assertEquals(-1, guest.getDesyncTick());
+	    assertTrue(host.getVerifiedHashes() >= 10, host.summary());
+	    assertTrue(guest.getVerifiedHashes() >= 10, guest.summary());
+	    assertTrue(host.getRollbacks() > 0, host.summary());
+	    assertTrue(host.getMaxRollbackDepth() <= 12, host.summary());
+	    assertEquals(0, guest.getRollbacks());
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void sameInputsGiveTheSameWorld() {
+	final var first = coopWorld(11);
+	final var second = coopWorld(11);
+	assertEquals(first.stateHash(), second.stateHash());
+	final var inputs = new int[2];
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var tick = 0; tick < 1200; tick++) {
+	    inputs[0] = input(0, tick);
+	    inputs[1] = input(1, tick);
+	    PlayerInput.apply(first, inputs, dt);
+	    PlayerInput.apply(second, inputs, dt);
+	    assertEquals(first.stateHash(), second.stateHash(), "Diverged at tick " + tick);
+	}
+	assertEquals(2, first.getPlayerCount());
+
+	// One different input shows in the hash
+	inputs[1] ^= PlayerInput.LEFT | PlayerInput.RIGHT;
+	PlayerInput.apply(first, inputs, dt);
+	inputs[1] = 0;
+	PlayerInput.apply(second, inputs, dt);
+	assertNotEquals(first.stateHash(), second.stateHash());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void detectsDesync() throws IOException {
+	final var hostWorld = new World(800, 600);
+	final var guestWorld = new World(1, 1);
+	final var sessions = open(hostWorld, guestWorld, 8, 0);
+	try (var host = sessions[0]; var guest = sessions[1]) {
+	    play(host, guest, () -> host.getTick() >= 100 && guest.getTick() >= 100);
+	    assertEquals(-1, host.getDesyncTick());
+	    // A change only one peer sees, like a float computed differently
+	    hostWorld.getPlayer(1).addScore(1);
+	    play(host, guest, () -> host.getDesyncTick() >= 0 && guest.getDesyncTick() >= 0);
+	    assertTrue(host.getDesyncTick() > 100, "Desync reported before it happened");
+	    assertEquals(host.getDesyncTick(), guest.getDesyncTick());
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void playsInLockstepOnAVirtualClock() throws IOException {
+	// Link delays count in game time, so the run needs no sleeping
+	final var clock = new VirtualClock();
+	final var links = MemoryLink.pair();
+	final var hostWorld = new World(800, 600);
+	final var guestWorld = new World(1, 1);
+	try (var host = LockstepSession.host(new SimulatedLink(links[0], LATENCY_NANOS * 3, JITTER_NANOS, 0, 1, clock),
+		hostWorld, 42, 8, 32);
+		var guest = LockstepSession.join(
+			new SimulatedLink(links[1], LATENCY_NANOS * 3, JITTER_NANOS, 0, 2, clock), guestWorld, 32)) {
+	    final var tickNanos = TimeUnit.SECONDS.toNanos(1) / World.TICKS_PER_SECOND;
+	    for (var step = 0; step < 2000 && (host.getTick() < 1200 || guest.getTick() < 1200); step++) {
+		clock.advance(tickNanos);
+		host.step(input(0, host.getTick()));
+		guest.step(input(1, guest.getTick()));
+	    }
+	    assertTrue(host.getTick() >= 1200 && guest.getTick() >= 1200, host.summary());
+	    assertEquals(GameState.PLAYING, guestWorld.getGameState());
+	    assertEquals(-1, host.getDesyncTick());
+	    assertEquals(-1, guest.getDesyncTick());
+	    assertTrue(guest.getVerifiedHashes() >= 10, guest.summary());
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void playsInLockstepOverALossyLink() throws IOException {
+	final var hostWorld = new World(800, 600);
+	final var guestWorld = new World(1, 1);
+	final var sessions = open(hostWorld, guestWorld, 8, 0.1);
+	try (var host = sessions[0]; var guest = sessions[1]) {
+	    play(host, guest, () -> host.getTick() >= 1200 && guest.getTick() >= 1200);
+	    assertEquals(0, host.getLocalPlayer());
+	    assertEquals(1, guest.getLocalPlayer());
+	    assertEquals(8, guest.getDelay());
+	    assertEquals(800, guestWorld.getWidth());
+	    assertTrue(guestWorld.isCoop());
+	    assertEquals(GameState.PLAYING, guestWorld.getGameState());
+	    assertEquals(-1, host.getDesyncTick());
+	    assertEquals(-1, guest.getDesyncTick());
+	    assertTrue(host.getVerifiedHashes() >= 10, host.summary());
+	    assertTrue(guest.getVerifiedHashes() >= 10, guest.summary());
+	    // Inputs only: the traffic does not depend on what is on screen
+	    assertTrue(host.getBytesSent() / host.getTick() < 200, host.summary());
+	}
+    }
+
+    /**
+     * Packet link to a twin in the same JVM, delivering in order at once.
+     */
+    private static final class MemoryLink implements PacketLink {
+	private final Queue<byte[]> inbox = new ArrayDeque<>();
+	private MemoryLink peer;
+
+	static MemoryLink[] pair() {
+	    final var first = new MemoryLink();
+	    final var second = new MemoryLink();
+	    first.peer = second;
+	    second.peer = first;
+	    return new MemoryLink[] { first, second };
+	}
+
+	@Override
+	public void close() {
+	    inbox.clear();
+	}
+
+	@Override
+	public boolean receive(final ByteBuffer packet) {
+	    final var data = inbox.poll();
+	    if (data == null) {
+		return false;
+	    }
+	    packet.put(data);
+	    return true;
+	}
+
+	@Override
+	public void send(final ByteBuffer packet) {
+	    final var data = new byte[packet.remaining()];
+	    packet.get(data);
+	    peer.inbox.add(data);
+	}
+    }
+}
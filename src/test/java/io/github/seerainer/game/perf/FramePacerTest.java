@@ -0,0 +1,55 @@
+package io.github.seerainer.game.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class FramePacerTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void countsMissedDeadlinesAndRealigns() {
+	final var pacer = new FramePacer(50); // 20 ms period
+	var now = 1_000 * MS;
+	pacer.scheduleNext(now); // first deadline at +20 ms
+
+	// Paint finishes 45 ms later: one miss, next slot is +60 ms
+	now += 45 * MS;
+	final var delay = pacer.scheduleNext(now);
+	assertEquals(1, pacer.getMissedDeadlines());
+	assertEquals(15, delay);
+
+	// On time again
+	now += 15 * MS;
+	pacer.scheduleNext(now);
+	assertEquals(1, pacer.getMissedDeadlines());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void rejectsNonPositiveRate() {
+	assertThrows(IllegalArgumentException.class, () -> new FramePacer(0));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void startsPaintEarlyByMeasuredCost() {
+	final var pacer = new FramePacer(100); // 10 ms period
+	var now = 0L;
+	assertEquals(10, pacer.scheduleNext(now));
+
+	// Paints take 4 ms, so the next one has to start 4 ms before its deadline
+	pacer.paintCompleted(6 * MS, 10 * MS);
+	now += 10 * MS;
+	assertEquals(6, pacer.scheduleNext(now));
+	assertEquals(0, pacer.getMissedDeadlines());
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.seerainer.game.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class QualityGovernorTest {
+    private static final long BUDGET = 16_000_000L;
+
+    private static void feed(final QualityGovernor governor, final int frames, final long paintNanos) {
+	for (var i = 0; i < frames; i++) {
+	    governor.frame(paintNanos, BUDGET, 0, BUDGET);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void downgradesUnderPressureAndRecoversWithHysteresis() {
+	final var governor = new QualityGovernor(QualityLevel.HIGH, true);
+	feed(governor, 30, BUDGET * 2);
+	assertEquals(QualityLevel.MEDIUM, governor.getLevel());
+	assertTrue(governor.getLastReason().contains("paint"), governor.getLastReason());
+
+	// Headroom has to last for a while before quality comes back
+	feed(governor, 200, BUDGET / 4);
+	assertEquals(QualityLevel.MEDIUM, governor.getLevel());
+	feed(governor, 200, BUDGET / 4);
+	assertEquals(QualityLevel.HIGH, governor.getLevel());
+	assertEquals(2, governor.getChanges());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void fixedLevelNeverChanges() {
+	final var governor = new QualityGovernor(QualityLevel.LOW, false);
+	feed(governor, 1000, BUDGET * 3);
+	assertEquals(QualityLevel.LOW, governor.getLevel());
+	assertEquals(0, governor.getChanges());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void occasionalSpikesAreTolerated() {
+	final var governor = new QualityGovernor(QualityLevel.HIGH, true);
+	for (var i = 0; i < 300; i++) {
+	    governor.frame(i % 10 == 0 ? BUDGET * 2 : BUDGET / 2, BUDGET, 0, BUDGET);
+	}
+	assertEquals(QualityLevel.HIGH, governor.getLevel());
+    }
+}
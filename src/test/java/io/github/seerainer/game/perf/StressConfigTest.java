@@ -0,0 +1,47 @@
+package io.github.seerainer.game.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class StressConfigTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void bareFlagUsesDefaults() {
+	assertEquals(StressConfig.defaults(), StressConfig.fromArgs(new String[] { "--stress" }));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void noFlagMeansNormalPlay() {
+	assertNull(StressConfig.fromArgs(new String[0]));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void overridesSelectedPopulations() {
+	final var config = StressConfig
+		.fromArgs(new String[] { "--stress=asteroids=50000,spread=false,duration=0,multiSpawn=4" });
+	assertEquals(50_000, config.asteroids());
+	assertEquals(StressConfig.defaults().particles(), config.particles());
+	assertFalse(config.spreadFire());
+	assertEquals(4, config.multiSpawn());
+	assertEquals(0, config.duration());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void rejectsUnknownOptions() {
+	assertThrows(IllegalArgumentException.class, () -> StressConfig.parse("bullets=10"));
+	assertThrows(IllegalArgumentException.class, () -> StressConfig.parse("level=0"));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.seerainer.game.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.StateSubsystem;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class StutterDetectorTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FRAME = 16 * MS;
+    private static final long TICK = 8 * MS;
+
+    private static StutterDetector detector() {
+	return new StutterDetector(3, FRAME, TICK, 120, Path.of("unused"));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void dumpRoundTripsTimelineAndWorld() throws IOException {
+	final var detector = detector();
+	var now = 1_000 * MS;
+	for (var i = 0; i < 200; i++) {
+	    assertNull(detector.frame(now, 5 * MS, MS, 3 * MS, 10, 2, 40, QualityLevel.HIGH.ordinal()));
+	    now += FRAME;
+	}
+	final var trigger = detector.frame(now, 5 * MS, MS, 30 * MS, 10, 2, 40, QualityLevel.MEDIUM.ordinal());
+	assertEquals(StutterDetector.Trigger.TICK, trigger);
+
+	final var world = new World(800, 600, SpawnDirector.getDefault(), 42);
+	world.setCoop(true);
+	world.startGame();
+	world.update(0.1);
+	final var snapshot = new RenderSnapshot();
+	world.writeSnapshot(snapshot);
+	final var dump = detector.encode(trigger, snapshot::writeTo);
+
+	final var text = new ByteArrayOutputStream();
+	final var state = StutterDetector.describe(new DataInputStream(new ByteArrayInputStream(dump)),
+		new PrintStream(text, true, StandardCharsets.UTF_8));
+	final var report = text.toString(StandardCharsets.UTF_8);
+	assertTrue(report.contains("TICK took 31.00 ms"), report);
+	assertTrue(report.contains("MEDIUM"), report);
+	// The ring holds the most recent 128 frames only
+	assertEquals(128, report.lines().filter(line -> line.endsWith("HIGH") || line.endsWith("MEDIUM")).count());
+
+	final var restored = RenderSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(state)));
+	assertEquals(snapshot.getGameState(), restored.getGameState());
+	assertEquals(snapshot.getStars().size(), restored.getStars().size());
+	assertEquals(snapshot.getPlayerX(), restored.getPlayerX());
+	assertEquals(snapshot.getWeapon(), restored.getWeapon());
+	assertTrue(restored.isCoop());
+	assertEquals(snapshot.getPartnerX(), restored.getPartnerX());
+	assertEquals(snapshot.getPartnerY(), restored.getPartnerY());
+	assertEquals(snapshot.getPartnerHealth(), restored.getPartnerHealth());
+	assertEquals(snapshot.getPartnerScore(), restored.getPartnerScore());
+	// Enough to find the state again by replaying the seed to the tick
+	assertEquals(42, restored.getSeed());
+	assertEquals(12, restored.getTick());
+	final var hashes = new long[StateSubsystem.values().length];
+	world.stateHashes(hashes, 0);
+	for (final var subsystem : StateSubsystem.values()) {
+	    assertEquals(hashes[subsystem.ordinal()], restored.getStateHash(subsystem), subsystem.name());
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void ignoresWarmupAndGapsAfterIdle() {
+	final var detector = detector();
+	var now = 1_000 * MS;
+	assertNull(detector.frame(now, 200 * MS, 0, 0, 0, 0, 0, 0), "Startup frames are slow");
+	for (var i = 0; i < 100; i++) {
+	    now += FRAME;
+	    detector.frame(now, 5 * MS, 0, 0, 0, 0, 0, 0);
+	}
+	detector.idle();
+	now += TimeUnit.SECONDS.toNanos(2);
+	assertNull(detector.frame(now, 5 * MS, 0, 0, 0, 0, 0, 0), "Painting was stopped, not stuck");
+	now += 100 * MS;
+	assertEquals(StutterDetector.Trigger.INTERVAL, detector.frame(now, 5 * MS, 0, 0, 0, 0, 0, 0));
+    }
+}
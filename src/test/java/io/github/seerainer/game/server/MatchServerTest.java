@@ -0,0 +1,120 @@
+package io.github.seerainer.game.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.GameState;
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.net.PlayerInput;
+
+public class MatchServerTest {
+
+    private static void await(final BooleanSupplier condition, final String message) throws InterruptedException {
+	final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+	while (!condition.getAsBoolean()) {
+	    assertTrue(System.nanoTime() < deadline, message);
+	    Thread.sleep(5);
+	}
+    }
+
+    /**
+     * Runs three bot sessions without clients and waits until each has ticked
+     * half a second.
+     */
+    private static void ticksBotSessions(final String threads) throws IOException, InterruptedException {
+	final var config = ServerConfig.fromArgs(new String[] { "--port=-1", "--sessions=3", "--threads=" + threads });
+	try (var server = new MatchServer(config)) {
+	    assertEquals(-1, server.getPort());
+	    assertEquals(3, server.getSessions().size());
+	    await(() -> server.getSessions().stream().allMatch(session -> session.getTicks() >= 60),
+		    "Every session ticks");
+	    for (final var session : server.getSessions()) {
+		assertTrue(session.isBot());
+		assertTrue(session.getCpu().getCount() >= 60);
+		assertTrue(session.getCpuNanos() > 0);
+	    }
+	    final var report = server.report();
+	    assertTrue(report.contains("sessions=3"), report);
+	    assertTrue(report.contains("sustainableSessionsPerCore="), report);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void parsesArguments() {
+	final var config = ServerConfig.fromArgs(new String[] { "--port=0", "--bind=0.0.0.0", "--sessions=50",
+		"--bot=planner", "--threads=virtual", "--rate=30", "--duration=60" });
+	assertEquals(new ServerConfig(0, "0.0.0.0", 50, "planner", 0, 30, 60), config);
+	assertEquals(4, ServerConfig.fromArgs(new String[] { "--threads=4" }).threads());
+	assertEquals(ServerConfig.defaults(), ServerConfig.fromArgs(new String[0]));
+	assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromArgs(new String[] { "--sessions" }));
+	assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromArgs(new String[] { "--players=2" }));
+	assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromArgs(new String[] { "--rate=0" }));
+	assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromArgs(new String[] { "--rate=121" }));
+	assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromArgs(new String[] { "--port=70000" }));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void seatsTwoClientsInOneSession() throws IOException, InterruptedException {
+	final var config = ServerConfig.fromArgs(new String[] { "--port=0", "--rate=60" });
+	try (var server = new MatchServer(config)) {
+	    final var address = new InetSocketAddress("127.0.0.1", server.getPort());
+	    final var snapshot = new RenderSnapshot();
+	    try (var first = new MatchClient(address); var second = new MatchClient(address)) {
+		assertEquals(first.getSessionId(), second.getSessionId());
+		assertEquals(0, first.getSeat());
+		assertEquals(1, second.getSeat());
+		assertEquals(1, server.getSessions().size());
+
+		first.read(snapshot);
+		assertTrue(snapshot.isCoop());
+		first.send(PlayerInput.START);
+		for (var i = 0; i < 120 && snapshot.getGameState() != GameState.PLAYING; i++) {
+		    first.read(snapshot);
+		}
+		assertEquals(GameState.PLAYING, snapshot.getGameState());
+
+		// Deltas keep decoding while the ship moves
+		first.send(PlayerInput.RIGHT | PlayerInput.FIRE);
+		final var startX = snapshot.getPlayerX();
+		for (var i = 0; i < 30; i++) {
+		    first.read(snapshot);
+		}
+		assertTrue(snapshot.getPlayerX() > startX, "The ship moves right");
+		// The partner sees the same game, its frames queued since it joined
+		second.read(snapshot);
+		while (snapshot.getGameState() != GameState.PLAYING && second.getReceived() < 240) {
+		    second.read(snapshot);
+		}
+		assertEquals(GameState.PLAYING, snapshot.getGameState());
+	    }
+	    await(() -> server.getSessions().isEmpty(), "The session ends with its clients");
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void ticksBotSessionsOnCarriers() throws IOException, InterruptedException {
+	ticksBotSessions("2");
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void ticksBotSessionsOnVirtualThreads() throws IOException, InterruptedException {
+	ticksBotSessions("virtual");
+    }
+}
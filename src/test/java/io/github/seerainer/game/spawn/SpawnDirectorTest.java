@@ -0,0 +1,100 @@
+package io.github.seerainer.game.spawn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.EnumMap;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.entities.AsteroidType;
+
+public class SpawnDirectorTest {
+    private static final int DRAWS = 200_000;
+
+    private static Properties properties(final String text) throws IOException {
+	final var properties = new Properties();
+	properties.load(new StringReader(text));
+	return properties;
+    }
+
+    private static EnumMap<AsteroidType, Integer> typeCounts(final SpawnTable table) {
+	final var random = new Random(42);
+	final var counts = new EnumMap<AsteroidType, Integer>(AsteroidType.class);
+	for (var i = 0; i < DRAWS; i++) {
+	    counts.merge(table.asteroidType(random), Integer.valueOf(1), Integer::sum);
+	}
+	return counts;
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void aliasSamplerMatchesWeights() {
+	final var weights = new double[] { 5, 0, 1, 3, 1 };
+	final var sampler = new AliasSampler(weights);
+	final var counts = new int[weights.length];
+	final var random = new Random(7);
+	for (var i = 0; i < DRAWS; i++) {
+	    counts[sampler.sample(random)]++;
+	}
+	assertEquals(0, counts[1], "Zero weight is never drawn");
+	for (var i = 0; i < weights.length; i++) {
+	    assertEquals(weights[i] / 10, (double) counts[i] / DRAWS, 0.005, "index " + i);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void defaultTablesKeepTheLevelProgression() {
+	final var director = SpawnDirector.getDefault();
+	assertEquals(Integer.valueOf(DRAWS), typeCounts(director.forLevel(1)).get(AsteroidType.NORMAL));
+	assertEquals(null, typeCounts(director.forLevel(4)).get(AsteroidType.TANK), "Tanks from level 5");
+
+	final var late = typeCounts(director.forLevel(50));
+	assertEquals(0.65, late.get(AsteroidType.NORMAL).doubleValue() / DRAWS, 0.01);
+	assertEquals(0.15, late.get(AsteroidType.FAST).doubleValue() / DRAWS, 0.01);
+	assertEquals(0.10, late.get(AsteroidType.TANK).doubleValue() / DRAWS, 0.01);
+
+	assertEquals(0f, director.forLevel(9).getExtraChance(9));
+	assertEquals(0.1f, director.forLevel(30).getExtraChance(30), 1e-6f);
+	assertEquals(0.5f, director.forLevel(500).getExtraChance(500));
+	assertEquals(15f, director.forLevel(500).getWeaponInterval());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void laterTablesInheritUnsetKeys() throws IOException {
+	final var director = SpawnDirector.parse(properties("""
+		level.1.asteroids = NORMAL:1
+		level.1.extra.counts = 3:1
+		level.1.extra.chance = 1
+		level.1.extra.chancePerLevel = 0
+		level.1.extra.chanceMax = 1
+		level.1.weapon.interval = 15
+		level.1.weapons = RAPID:1
+		level.1.powerUp.interval = 12
+		level.1.powerUps = SHIELD:1
+		level.3.asteroids = FAST:1
+		level.3.powerUp.interval = 4
+		"""));
+	final var random = new Random(1);
+	assertEquals(AsteroidType.NORMAL, director.forLevel(2).asteroidType(random));
+	assertEquals(AsteroidType.FAST, director.forLevel(3).asteroidType(random));
+	assertEquals(3, director.forLevel(3).extraCount(3, random));
+	assertEquals(12f, director.forLevel(2).getPowerUpInterval());
+	assertEquals(4f, director.forLevel(99).getPowerUpInterval());
+
+	assertThrows(IllegalArgumentException.class,
+		() -> SpawnDirector.parse(properties("level.2.asteroids = NORMAL:1")));
+	assertThrows(IllegalArgumentException.class,
+		() -> SpawnDirector.parse(properties("level.1.asteroid = NORMAL:1")));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.seerainer.game.spectate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.RenderSnapshot;
+import io.github.seerainer.game.World;
+import io.github.seerainer.game.perf.StressConfig;
+import io.github.seerainer.game.spawn.SpawnDirector;
+
+public class SpectatorServerTest {
+
+    private static void await(final BooleanSupplier condition, final String message) throws InterruptedException {
+	final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+	while (!condition.getAsBoolean()) {
+	    assertTrue(System.nanoTime() < deadline, message);
+	    Thread.sleep(5);
+	}
+    }
+
+    /**
+     * Plays the simulation side: ticks the world and offers snapshots whenever
+     * the server wants one.
+     */
+    private static void play(final World world, final SpectatorServer server, final int ticks)
+	    throws InterruptedException {
+	final var dt = 1.0 / World.TICKS_PER_SECOND;
+	for (var i = 0; i < ticks; i++) {
+	    world.movePlayer(i % 120 < 60 ? 1 : -1, 0, dt);
+	    world.update(dt);
+	    final var now = System.nanoTime();
+	    if (server.isDue(now)) {
+		world.writeSnapshot(server.back());
+		server.publish(now);
+	    }
+	    Thread.sleep(1);
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void parsesAddresses() {
+	final var address = SpectatorClient.parseAddress("localhost:4711");
+	assertEquals("localhost", address.getHostString());
+	assertEquals(4711, address.getPort());
+	assertThrows(IllegalArgumentException.class, () -> SpectatorClient.parseAddress("localhost"));
+	assertThrows(IllegalArgumentException.class, () -> SpectatorClient.parseAddress("localhost:port"));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void dropsClientsThatDoNotRead() throws IOException, InterruptedException {
+	// Thousands of asteroids fill the socket buffers within a few snapshots
+	final var world = new World(800, 600, SpawnDirector.getDefault(), 7);
+	world.startStress(new StressConfig(5000, 0, false, 0, 1, 0));
+	final var start = System.nanoTime();
+	try (var server = new SpectatorServer(InetAddress.getLoopbackAddress(), 0, 200, 1 << 16);
+		var stalled = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+			server.getPort()))) {
+	    stalled.socket().setReceiveBufferSize(1024);
+	    await(() -> server.getClientCount() == 1, "Client was not accepted");
+	    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+	    while (server.getDroppedClients() == 0 && System.nanoTime() < deadline) {
+		play(world, server, 10);
+	    }
+	    assertEquals(1, server.getDroppedClients());
+	    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5),
+		    "Must be dropped for its backlog before the acknowledgement timeout");
+	    await(() -> server.getClientCount() == 0, "Dropped client is still counted");
+	}
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("integration")
+    void streamsDeltasOverLoopback() throws IOException, InterruptedException {
+	final var world = new World(800, 600, SpawnDirector.getDefault(), 7);
+	world.startGame();
+	try (var server = new SpectatorServer(InetAddress.getLoopbackAddress(), 0, 60, 1 << 20);
+		var client = new SpectatorClient(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+			server.getPort()))) {
+	    await(() -> server.getClientCount() == 1, "Client was not accepted");
+	    play(world, server, 240);
+	    final var expected = new RenderSnapshot();
+	    world.writeSnapshot(expected);
+	    world.writeSnapshot(server.back());
+	    server.publish(System.nanoTime());
+	    // The last snapshot shows the world as it is now
+	    await(() -> Math.abs(client.latest().getPlayerX() - expected.getPlayerX()) < 0.125f
+		    && client.latest().getAsteroids().size() == expected.getAsteroids().size(),
+		    "Client did not receive the last snapshot");
+	    final var received = client.latest();
+	    assertEquals(expected.getScore(), received.getScore());
+	    assertEquals(expected.getHealth(), received.getHealth());
+	    assertEquals(client.getReceived(), server.getSnapshotCount());
+	    assertTrue(client.getReceived() > 10, "Too few snapshots: " + client.getReceived());
+	    assertTrue(client.getKeyFrames() < client.getReceived() / 2,
+		    "Acknowledged snapshots must be used as delta bases: " + client.getKeyFrames() + " key frames");
+	    assertTrue(client.isConnected());
+	}
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.seerainer.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ClockTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void dilatedClockScalesTheBase() {
+	final var base = new VirtualClock(1_000);
+	final var fast = new DilatedClock(base, 4);
+	final var start = fast.nanoTime();
+	base.advance(1_000);
+	assertEquals(start + 4_000, fast.nanoTime());
+	// Waiting for 8 us of fast time takes 2 us of base time
+	fast.sleepNanos(8_000);
+	assertEquals(4_000, base.nanoTime());
+	assertEquals(start + 12_000, fast.nanoTime());
+
+	final var slow = new DilatedClock(base, 0.5);
+	slow.sleepNanos(1_000);
+	assertEquals(6_000, base.nanoTime());
+	assertThrows(IllegalArgumentException.class, () -> new DilatedClock(base, 0));
+	assertThrows(IllegalArgumentException.class, () -> new DilatedClock(base, Double.NaN));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void systemClockFollowsWallTime() {
+	final var clock = Clock.system();
+	final var start = clock.nanoTime();
+	clock.sleepNanos(TimeUnit.MILLISECONDS.toNanos(1));
+	assertTrue(clock.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1));
+	clock.sleepNanos(-1);
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void timeMeasuresItsClock() {
+	final var clock = new VirtualClock();
+	final var time = new Time(clock);
+	time.init();
+	clock.sleepNanos(TimeUnit.MILLISECONDS.toNanos(250));
+	time.update();
+	assertEquals(0.25, time.getDeltaTime());
+	time.update();
+	assertEquals(0, time.getDeltaTime());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void virtualClockOnlyMovesWhenTold() {
+	final var clock = new VirtualClock();
+	assertEquals(0, clock.nanoTime());
+	assertEquals(10, clock.advance(10));
+	clock.sleepNanos(5);
+	clock.sleepNanos(0);
+	clock.sleepNanos(-5);
+	assertEquals(15, clock.nanoTime());
+	assertThrows(IllegalArgumentException.class, () -> clock.advance(-1));
+    }
+}
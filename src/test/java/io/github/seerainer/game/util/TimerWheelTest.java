@@ -0,0 +1,116 @@
+package io.github.seerainer.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.seerainer.game.util.TimerWheel.Timer;
+
+public class TimerWheelTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void cancelAndRescheduleFromCallbacks() {
+	final var wheel = new TimerWheel(120);
+	final var fired = new int[1];
+	final var periodic = new Timer[1];
+	periodic[0] = wheel.timer(() -> {
+	    fired[0]++;
+	    periodic[0].schedule(10);
+	});
+	final var victim = wheel.timer(() -> fired[0] += 1000);
+	final var killer = wheel.timer(victim::cancel);
+	periodic[0].schedule(10);
+	victim.schedule(5);
+	killer.schedule(5);
+	// Timers due on the same tick fire in scheduling order, so the victim fires
+	// before the killer gets to cancel it
+	wheel.advance(5);
+	assertEquals(1000, fired[0]);
+
+	victim.schedule(20);
+	killer.schedule(19);
+	assertEquals(20, victim.remainingTicks());
+	wheel.advance(100);
+	assertFalse(victim.isActive());
+	assertEquals(1010, fired[0]);
+	assertEquals(1, wheel.getActiveCount());
+	assertEquals(5, periodic[0].remainingTicks());
+	assertEquals(5 / 120f, periodic[0].remainingSeconds());
+
+	periodic[0].cancel();
+	wheel.advance(100);
+	assertEquals(1010, fired[0]);
+	assertEquals(0, wheel.getActiveCount());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void copyFiresInTheSameOrder() {
+	final var original = new TimerWheel(120);
+	final var copy = new TimerWheel(120);
+	final var originalFired = new ArrayList<Integer>();
+	final var copyFired = new ArrayList<Integer>();
+	final var timers = new Timer[40];
+	for (var i = 0; i < timers.length; i++) {
+	    final var id = Integer.valueOf(i);
+	    timers[i] = original.timer(() -> originalFired.add(id));
+	    copy.timer(() -> copyFired.add(id));
+	}
+	// Many timers due on the same few ticks, some of them cascaded from
+	// higher levels and some scheduled directly, so slots are out of creation
+	// order
+	final var random = new Random(5);
+	for (var i = 0; i < timers.length; i++) {
+	    timers[i].schedule(300 - original.getTick() + random.nextInt(3));
+	    original.advance(random.nextInt(8));
+	}
+	copy.copyFrom(original);
+	assertEquals(original.getTick(), copy.getTick());
+	assertEquals(original.getActiveCount(), copy.getActiveCount());
+	while (original.getActiveCount() > 0) {
+	    original.advance();
+	    copy.advance();
+	}
+	assertEquals(timers.length, originalFired.size());
+	assertEquals(originalFired, copyFired);
+	assertEquals(0, copy.getActiveCount());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    @Tag("unit")
+    void firesEveryTimerOnItsDeadline() {
+	final var wheel = new TimerWheel(120);
+	final var random = new Random(3);
+	final var deadlines = new ArrayList<long[]>();
+	final var delays = new long[] { 1, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 16_777_215, 16_777_216,
+		40_000_000 };
+	for (var i = 0; i < delays.length + 500; i++) {
+	    // Start some timers at odd offsets so slot boundaries are crossed from
+	    // every side
+	    final var delay = i < delays.length ? delays[i] : 1 + random.nextInt(300_000);
+	    final var record = new long[] { wheel.getTick() + delay, -1 };
+	    wheel.timer(() -> record[1] = wheel.getTick()).schedule(delay);
+	    deadlines.add(record);
+	    if (i % 7 == 0) {
+		wheel.advance(1 + random.nextInt(100));
+	    }
+	}
+	while (wheel.getActiveCount() > 0) {
+	    wheel.advance();
+	}
+	for (final var record : deadlines) {
+	    assertEquals(record[0], record[1]);
+	}
+	assertTrue(wheel.getTick() >= 40_000_000);
+    }
+}